@@ -0,0 +1,50 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport of the chain events from the node subscriber to the components indexing them.
+ * <p>
+ * Two implementations are available, selected by the active Spring profile:
+ * - {@link dev.cypherfury.juniscan.kafka.KafkaPublisher}, by default, publishing the events to Kafka topics
+ *   consumed by the {@link dev.cypherfury.juniscan.kafka.KafkaProcessor}.
+ * - {@link RingBufferEventBus}, with the {@value #RING_BUFFER_PROFILE} profile, handing the events over to
+ *   the {@link RingBufferProcessor} through in-memory ring buffers, for single-node deployments.
+ *
+ * @author Cypherfury
+ */
+public interface ChainEventBus {
+
+    /**
+     * The profile replacing Kafka with the in-memory {@link RingBufferEventBus}.
+     */
+    String RING_BUFFER_PROFILE = "ring-buffer";
+
+    /**
+     * Publishes a new block head, whose parent block is then fetched and indexed.
+     *
+     * @param newHead the {@link NewHeadDTO} object representing the new block head.
+     * @return a future completed once the new head is accepted by the bus, or completed exceptionally if it is not.
+     */
+    CompletableFuture<Void> publishNewHead(NewHeadDTO newHead);
+
+    /**
+     * Publishes a whole block, to be indexed without querying the node.
+     *
+     * @param block the fetched block.
+     * @return a future completed once the block is accepted by the bus, or completed exceptionally if it is not.
+     */
+    CompletableFuture<Void> publishBlock(BlockDetailsDTO.Block block);
+
+    /**
+     * Returns a snapshot of the publisher metrics.
+     *
+     * @return the current counters and latencies.
+     */
+    PublishStatsDTO stats();
+
+}
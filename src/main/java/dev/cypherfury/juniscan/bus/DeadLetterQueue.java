@@ -0,0 +1,35 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage of the blocks that could not be indexed after every retry, until they are reprocessed.
+ * <p>
+ * Two implementations are available, selected by the active Spring profile, like the {@link ChainEventBus}:
+ * - {@link dev.cypherfury.juniscan.kafka.KafkaDeadLetterQueue}, by default, keeping them in a dead-letter topic.
+ * - {@link InMemoryDeadLetterQueue}, with the {@value ChainEventBus#RING_BUFFER_PROFILE} profile.
+ *
+ * @author Cypherfury
+ */
+public interface DeadLetterQueue {
+
+    /**
+     * Adds a dead letter to the queue.
+     *
+     * @param deadLetter the raw block and the cause of its failure.
+     * @return a future completed once the dead letter is stored, or completed exceptionally if it is not.
+     */
+    CompletableFuture<Void> publish(DeadLetterDTO deadLetter);
+
+    /**
+     * Takes the oldest dead letters out of the queue, to be reprocessed.
+     *
+     * @param max the maximum number of dead letters taken.
+     * @return the dead letters, oldest first, empty if there are none.
+     */
+    List<DeadLetterDTO> poll(int max);
+
+}
@@ -0,0 +1,59 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory {@link DeadLetterQueue}, used along with the {@link RingBufferEventBus}.
+ * <p>
+ * Responsibilities:
+ * - Keeps up to `dead-letter.capacity` dead letters, dropping the oldest one when full.
+ * - Hands them out oldest first to be reprocessed.
+ * <p>
+ * Dead letters are lost when the application stops; their blocks, missing from the database, are then
+ * recovered by the gap audit.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+@Profile(ChainEventBus.RING_BUFFER_PROFILE)
+public class InMemoryDeadLetterQueue implements DeadLetterQueue {
+
+    private final BlockingQueue<DeadLetterDTO> deadLetters;
+
+    /**
+     * Constructor for `InMemoryDeadLetterQueue`.
+     *
+     * @param capacity the maximum number of dead letters kept.
+     */
+    public InMemoryDeadLetterQueue(@Value("${dead-letter.capacity:10000}") int capacity) {
+        this.deadLetters = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> publish(DeadLetterDTO deadLetter) {
+        while (!deadLetters.offer(deadLetter)) {
+            DeadLetterDTO oldest = deadLetters.poll();
+            log.warn("Dead letters full, dropping block {}.", oldest == null ? null : oldest.getNumber());
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public List<DeadLetterDTO> poll(int max) {
+        List<DeadLetterDTO> polled = new ArrayList<>(Math.min(max, deadLetters.size()));
+        deadLetters.drainTo(polled, max);
+        return polled;
+    }
+
+}
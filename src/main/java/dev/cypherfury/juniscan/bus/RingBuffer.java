@@ -0,0 +1,174 @@
+package dev.cypherfury.juniscan.bus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, lock-free, multi-producer ring buffer, drained in batches by a single consumer thread.
+ * <p>
+ * Responsibilities:
+ * - Pre-allocates its slots, a power of two of at least two of them, so that publishing does not allocate.
+ * - Lets producers claim a slot with a compare-and-set on the tail, and publish it by advancing the
+ *   sequence of the slot, without locking.
+ * - Parks producers while the buffer is full, which pushes back on the node like the `PARK` ingest policy.
+ * - Hands the consumer every published element, up to a maximum batch size, parking it while the buffer is empty.
+ * <p>
+ * Each slot holds a sequence telling whether it is free for the producer claiming position `p`
+ * (sequence `p`) or published for the consumer reading it (sequence `p + 1`), as in a Vyukov bounded queue.
+ *
+ * @param <T> the type of the elements.
+ * @author Cypherfury
+ */
+public final class RingBuffer<T> {
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    private volatile Thread consumer;
+
+    /**
+     * Constructor for `RingBuffer`.
+     *
+     * @param capacity the minimum number of elements the buffer holds, rounded up to a power of two of at least 2,
+     *                 a single slot being unable to tell a free slot from a published one.
+     * @throws IllegalArgumentException if the capacity is not positive or too large.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+        }
+        int size = Math.max(2, Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1);
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes an element if a slot is free.
+     *
+     * @param element the element to publish.
+     * @return `true` if the element was published, `false` if the buffer is full.
+     */
+    public boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    LockSupport.unpark(consumer);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Publishes an element, parking the calling thread while the buffer is full.
+     *
+     * @param element the element to publish.
+     * @throws InterruptedException if the thread is interrupted while parked.
+     */
+    public void put(T element) throws InterruptedException {
+        if (offer(element)) {
+            return;
+        }
+        parked.incrementAndGet();
+        while (!offer(element)) {
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Moves the published elements to the given batch, waiting for at least one.
+     * Must only be called by the consumer thread.
+     *
+     * @param batch    the list receiving the elements, in publication order.
+     * @param maxBatch the maximum number of elements moved.
+     * @return the number of elements moved.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public int drainTo(List<T> batch, int maxBatch) throws InterruptedException {
+        consumer = Thread.currentThread();
+        int drained;
+        while ((drained = poll(batch, maxBatch)) == 0) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of published elements not yet consumed.
+     *
+     * @return the current depth of the buffer.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Returns the number of slots of the buffer.
+     *
+     * @return the capacity, a power of two.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the number of times a producer was parked because the buffer was full.
+     *
+     * @return the number of parked producers.
+     */
+    public long parked() {
+        return parked.get();
+    }
+
+    /**
+     * Moves the published elements to the batch without waiting, freeing their slots.
+     */
+    private int poll(List<T> batch, int maxBatch) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxBatch) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch.add(elements.get(index));
+            elements.lazySet(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+}
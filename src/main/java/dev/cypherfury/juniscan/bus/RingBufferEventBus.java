@@ -0,0 +1,124 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link ChainEventBus}, replacing Kafka in single-node deployments.
+ * <p>
+ * Responsibilities:
+ * - Publishes new heads and blocks to two pre-allocated {@link RingBuffer}s of `bus.ring-buffer.capacity` slots,
+ *   drained by the {@link RingBufferProcessor}.
+ * - Parks the publishing thread while a buffer is full, pushing back on the node.
+ * - Exposes the published, accepted and failed counters and the time spent waiting for a free slot.
+ * <p>
+ * Events are not persisted: those still in the buffers when the application stops are recovered by the
+ * gap repair on the next start. Enabled by the {@value ChainEventBus#RING_BUFFER_PROFILE} profile.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+@Profile(ChainEventBus.RING_BUFFER_PROFILE)
+public class RingBufferEventBus implements ChainEventBus {
+
+    private final RingBuffer<NewHeadDTO> newHeads;
+    private final RingBuffer<BlockDetailsDTO.Block> blocks;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Constructor for `RingBufferEventBus`.
+     *
+     * @param capacity the number of slots of each ring buffer, rounded up to a power of two.
+     */
+    public RingBufferEventBus(@Value("${bus.ring-buffer.capacity:1024}") int capacity) {
+        this.newHeads = new RingBuffer<>(capacity);
+        this.blocks = new RingBuffer<>(capacity);
+        log.info("Using in-memory ring buffers of {} events instead of Kafka.", newHeads.capacity());
+    }
+
+    @Override
+    public CompletableFuture<Void> publishNewHead(NewHeadDTO newHead) {
+        return publish(newHeads, newHead);
+    }
+
+    @Override
+    public CompletableFuture<Void> publishBlock(BlockDetailsDTO.Block block) {
+        return publish(blocks, block);
+    }
+
+    /**
+     * Returns a snapshot of the publisher metrics, the latency being the time spent waiting for a free slot.
+     *
+     * @return the current counters and latencies.
+     */
+    @Override
+    public PublishStatsDTO stats() {
+        long acknowledgedCount = acknowledged.get();
+        long failedCount = failed.get();
+        double averageLatencyMs = acknowledgedCount == 0 ? 0 : toMillis(totalLatencyNanos.get()) / acknowledgedCount;
+        return new PublishStatsDTO(sent.get(), acknowledgedCount, failedCount, sent.get() - acknowledgedCount - failedCount,
+                averageLatencyMs, toMillis(maxLatencyNanos.get()));
+    }
+
+    /**
+     * Returns the ring buffer of the new heads.
+     *
+     * @return the new heads buffer.
+     */
+    RingBuffer<NewHeadDTO> newHeads() {
+        return newHeads;
+    }
+
+    /**
+     * Returns the ring buffer of the blocks.
+     *
+     * @return the blocks buffer.
+     */
+    RingBuffer<BlockDetailsDTO.Block> blocks() {
+        return blocks;
+    }
+
+    /**
+     * Publishes an event to a ring buffer, parking the calling thread while it is full.
+     *
+     * @param buffer the buffer to publish to.
+     * @param event  the event to publish.
+     * @return a future completed once the event is in the buffer, or completed exceptionally if the
+     * calling thread is interrupted while parked.
+     */
+    private <T> CompletableFuture<Void> publish(RingBuffer<T> buffer, T event) {
+        sent.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            buffer.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+        long latency = System.nanoTime() - start;
+        acknowledged.incrementAndGet();
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+}
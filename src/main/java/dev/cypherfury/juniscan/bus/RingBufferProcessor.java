@@ -0,0 +1,134 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Service for processing the new heads and blocks published to the {@link RingBufferEventBus}.
+ * <p>
+ * This class is the in-memory counterpart of the {@link dev.cypherfury.juniscan.kafka.KafkaProcessor}:
+ * each ring buffer is drained by a dedicated consumer thread, in batches of up to `bus.ring-buffer.max-batch`
+ * events, so that the batch grows with the backlog while a lone event is processed at once.
+ * <p>
+ * Responsibilities:
+ * - Fetch the parent blocks of a batch of new heads from the node in a single JSON-RPC batch,
+ *   through the {@link WebSocketNodeService}.
+ * - Decode and save the blocks of a batch in a single transaction, through the {@link BlockRetryService}.
+ * <p>
+ * Blocks that cannot be decoded are retried in the background, the rest of their batch being saved.
+ * A batch that fails otherwise, e.g. when the node cannot be reached, is logged and not retried,
+ * the missing blocks being recovered by the gap audit.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+@Profile(ChainEventBus.RING_BUFFER_PROFILE)
+public class RingBufferProcessor {
+
+    private final RingBufferEventBus eventBus;
+    private final WebSocketNodeService webSocketNodeService;
+    private final BlockRetryService retryService;
+    private final int maxBatch;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofPlatform().name("bus-consumer-", 0).factory());
+
+    /**
+     * Constructor for `RingBufferProcessor`.
+     *
+     * @param eventBus             the bus holding the ring buffers to drain.
+     * @param webSocketNodeService the service used to fetch the blocks of the new heads.
+     * @param retryService         the service decoding and saving the blocks, retrying the failed ones.
+     * @param maxBatch             the maximum number of events processed at once.
+     */
+    public RingBufferProcessor(RingBufferEventBus eventBus, WebSocketNodeService webSocketNodeService,
+                               BlockRetryService retryService,
+                               @Value("${bus.ring-buffer.max-batch:100}") int maxBatch) {
+        this.eventBus = eventBus;
+        this.webSocketNodeService = webSocketNodeService;
+        this.retryService = retryService;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Starts a consumer thread for each ring buffer.
+     * This method is invoked automatically by the Spring framework.
+     */
+    @PostConstruct
+    public void start() {
+        executor.execute(() -> consume(eventBus.newHeads(), this::processNewHeads));
+        executor.execute(() -> consume(eventBus.blocks(), this::processBlocks));
+    }
+
+    /**
+     * Stops the consumer threads. Events still in the buffers are not processed.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fetches the parent blocks of a batch of new heads in a single JSON-RPC batch, then saves them.
+     *
+     * @param newHeads the new heads drained from the buffer.
+     */
+    public void processNewHeads(List<NewHeadDTO> newHeads) {
+        List<String> parentHashes = newHeads.stream()
+                .map(newHead -> newHead.getParams() == null || newHead.getParams().getResult() == null
+                        ? null : newHead.getParams().getResult().getParentHash())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        log.debug("Processing {} new head(s).", newHeads.size());
+        processBlocks(webSocketNodeService.fetchBlocks(parentHashes).join());
+    }
+
+    /**
+     * Decodes and saves a batch of blocks in a single transaction, the blocks that cannot be decoded being retried.
+     *
+     * @param blocks the blocks drained from the buffer, or fetched for the new heads.
+     */
+    public void processBlocks(List<BlockDetailsDTO.Block> blocks) {
+        int saved = retryService.decodeAndSaveAll(blocks);
+        log.debug("Saved {} of {} block(s).", saved, blocks.size());
+    }
+
+    /**
+     * Drains a ring buffer in batches until the thread is interrupted.
+     *
+     * @param buffer    the buffer to drain.
+     * @param processor the processing of a batch.
+     */
+    private <T> void consume(RingBuffer<T> buffer, Consumer<List<T>> processor) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<T> batch = new ArrayList<>(maxBatch);
+                buffer.drainTo(batch, maxBatch);
+                try {
+                    processor.accept(batch);
+                } catch (RuntimeException e) {
+                    log.error("Failed to process {} event(s): {}", batch.size(), e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package dev.cypherfury.juniscan.capture;
+
+import dev.cypherfury.juniscan.exception.CaptureLogException;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a capture written by {@link FrameCaptureLog} through {@link WebSocketNodeService#replayMessage}.
+ * <p>
+ * Responsibilities:
+ * - Reads the segments of a capture directory in order, mapping each of them in memory.
+ * - Feeds every captured frame to the node service, as if it had just been received from a node.
+ * - Either replays the frames at full speed, or waits between frames as long as they were apart when recorded.
+ * <p>
+ * Used to reindex, reproduce production issues and benchmark the decoding without a live node.
+ * The captured `chain_getBlock` results are indexed as they are replayed, rather than fetched again for every
+ * replayed new head: in replay mode, no node is connected and the gap repair is disabled.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class CaptureReplayer {
+
+    private final WebSocketNodeService nodeService;
+    private final Sleeper sleeper;
+
+    /**
+     * Constructor for `CaptureReplayer`.
+     *
+     * @param nodeService the service processing the replayed frames.
+     * @param sleeper     utility for waiting between frames at recorded pace.
+     */
+    public CaptureReplayer(WebSocketNodeService nodeService, Sleeper sleeper) {
+        this.nodeService = nodeService;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Replays every frame of a capture directory.
+     * A frame that fails to be processed is logged and skipped.
+     *
+     * @param directory    the capture directory.
+     * @param recordedPace `true` to wait between frames as long as when recorded, `false` to replay at full speed.
+     * @return the number of frames replayed.
+     * @throws CaptureLogException  if a segment cannot be read.
+     * @throws InterruptedException if the thread is interrupted while waiting between frames.
+     */
+    public long replay(Path directory, boolean recordedPace) throws InterruptedException {
+        long frames = 0;
+        long previousTimestamp = -1;
+        long start = System.nanoTime();
+        try {
+            for (Path path : FrameCaptureLog.segments(directory)) {
+                MappedByteBuffer segment = map(path);
+                while (segment.remaining() >= FrameCaptureLog.HEADER_BYTES) {
+                    long timestamp = segment.getLong();
+                    int length = segment.getInt();
+                    if (length <= 0 || length > segment.remaining()) {
+                        break;
+                    }
+                    String frame = StandardCharsets.UTF_8.decode(segment.slice(segment.position(), length)).toString();
+                    segment.position(segment.position() + length);
+                    if (recordedPace && previousTimestamp >= 0 && timestamp > previousTimestamp) {
+                        sleeper.sleep(TimeUnit.NANOSECONDS.toMillis(timestamp - previousTimestamp));
+                    }
+                    previousTimestamp = timestamp;
+                    process(frame);
+                    frames++;
+                }
+            }
+        } catch (IOException e) {
+            throw new CaptureLogException(directory, e);
+        }
+        log.info("Replayed {} frame(s) from {} in {} ms.", frames, directory,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return frames;
+    }
+
+    /**
+     * Processes a replayed frame, logging its failure.
+     *
+     * @param frame the captured frame.
+     */
+    private void process(String frame) {
+        try {
+            nodeService.replayMessage(frame);
+        } catch (RuntimeException e) {
+            log.error("Failed to process replayed frame: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Maps a segment in memory, read-only.
+     *
+     * @param path the segment file.
+     * @return the mapped segment.
+     * @throws IOException if the segment cannot be mapped.
+     */
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+}
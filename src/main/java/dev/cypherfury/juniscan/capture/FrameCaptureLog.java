@@ -0,0 +1,181 @@
+package dev.cypherfury.juniscan.capture;
+
+import dev.cypherfury.juniscan.exception.CaptureLogException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of the raw frames received from the blockchain nodes.
+ * <p>
+ * Responsibilities:
+ * - Appends every frame, along with its reception time, to a memory-mapped segment file.
+ * - Rotates to a new segment once the current one is full, never overwriting existing segments.
+ * - Lists the segments of a capture directory in order, for {@link CaptureReplayer}.
+ * <p>
+ * Each record is laid out as the reception time in nanoseconds since the epoch (8 bytes), the length of the
+ * frame (4 bytes) and the UTF-8 bytes of the frame. The unused tail of a segment is left zero-filled, a zero
+ * length marking the end of the segment.
+ * <p>
+ * Disabled by default; enabled with `capture.enabled=true`. A capture that fails while running is disabled
+ * rather than interrupting the processing of live frames.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class FrameCaptureLog {
+
+    /**
+     * The size of the header preceding every frame: its timestamp and its length.
+     */
+    public static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("frames-(\\d+)\\.cap");
+
+    private final Path directory;
+    private final int segmentBytes;
+
+    @Getter
+    private volatile boolean enabled;
+    private MappedByteBuffer segment;
+    private int nextSegment;
+
+    /**
+     * Constructor for `FrameCaptureLog`.
+     *
+     * @param enabled      whether the received frames are captured.
+     * @param directory    the directory the segments are written to.
+     * @param segmentBytes the size of a segment, a larger frame being written to a segment of its own.
+     */
+    public FrameCaptureLog(@Value("${capture.enabled:false}") boolean enabled,
+                           @Value("${capture.directory:capture}") Path directory,
+                           @Value("${capture.segment-bytes:67108864}") int segmentBytes) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Creates the capture directory and finds the first free segment number.
+     * This method is invoked automatically by the Spring framework.
+     *
+     * @throws CaptureLogException if the directory cannot be created or listed.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segments(directory);
+            nextSegment = segments.isEmpty() ? 0 : segmentNumber(segments.getLast()) + 1;
+            log.info("Capturing received frames to {}, starting at segment {}.", directory, nextSegment);
+        } catch (IOException e) {
+            throw new CaptureLogException(directory, e);
+        }
+    }
+
+    /**
+     * Appends a frame to the capture log, stamped with the current time.
+     * Does nothing if the capture is disabled.
+     *
+     * @param frame the raw frame received from a node.
+     */
+    public void append(String frame) {
+        if (!enabled) {
+            return;
+        }
+        Instant now = Instant.now();
+        append(now.getEpochSecond() * 1_000_000_000L + now.getNano(), frame);
+    }
+
+    /**
+     * Appends a frame to the capture log with the given timestamp.
+     *
+     * @param timestampNanos the reception time of the frame, in nanoseconds since the epoch.
+     * @param frame          the raw frame received from a node.
+     */
+    synchronized void append(long timestampNanos, String frame) {
+        if (!enabled || frame.isEmpty()) {
+            return;
+        }
+        byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (segment == null || segment.remaining() < HEADER_BYTES + bytes.length) {
+                rotate(HEADER_BYTES + bytes.length);
+            }
+            segment.putLong(timestampNanos).putInt(bytes.length).put(bytes);
+        } catch (CaptureLogException e) {
+            log.error("Disabling the frame capture: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * Flushes the current segment to disk.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+    }
+
+    /**
+     * Lists the segments of a capture directory, in the order they were written.
+     *
+     * @param directory the capture directory.
+     * @return the paths of the segments.
+     * @throws IOException if the directory cannot be listed.
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    /**
+     * Flushes the current segment and maps a new one, large enough for the next record.
+     *
+     * @param recordBytes the size of the next record.
+     * @throws CaptureLogException if the segment cannot be created.
+     */
+    private void rotate(int recordBytes) {
+        close();
+        Path path = directory.resolve(String.format("frames-%06d.cap", nextSegment++));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, recordBytes));
+            log.debug("Capturing received frames to {}.", path);
+        } catch (IOException e) {
+            throw new CaptureLogException(path, e);
+        }
+    }
+
+    private static int segmentNumber(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+}
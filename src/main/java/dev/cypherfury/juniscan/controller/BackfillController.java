@@ -0,0 +1,68 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.service.BackfillService;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for triggering and monitoring historical backfills.
+ * <p>
+ * Responsibilities:
+ * - Exposes endpoints to start a backfill of a block range and to resume an interrupted one.
+ * - Exposes the persisted `BackfillCheckpoint` entities to follow the progress.
+ * - Delegates business logic to the `BackfillService` layer.
+ *
+ * @author Cypherfury
+ */
+@RestController
+@RequestMapping("/backfill")
+public class BackfillController {
+
+    private final BackfillService backfillService;
+
+    /**
+     * Constructor for `BackfillController`.
+     *
+     * @param backfillService service for indexing historical blocks.
+     */
+    public BackfillController(BackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    /**
+     * Endpoint to start the backfill of a block range.
+     * <p>
+     * This endpoint handles POST requests to `/backfill?from=..&to=..`. The backfill runs in the
+     * background and the returned checkpoint can be polled to follow its progress.
+     *
+     * @param from the first block number to index.
+     * @param to   the last block number to index (inclusive).
+     * @return the checkpoint tracking the backfill.
+     */
+    @PostMapping
+    public BackfillCheckpoint start(@RequestParam long from, @RequestParam long to) {
+        return backfillService.start(from, to);
+    }
+
+    /**
+     * Endpoint to resume an interrupted backfill from its checkpoint.
+     *
+     * @param id the unique identifier of the checkpoint.
+     * @return the checkpoint tracking the backfill.
+     */
+    @PostMapping("/{id}/resume")
+    public BackfillCheckpoint resume(@PathVariable long id) {
+        return backfillService.resume(id);
+    }
+
+    /**
+     * Endpoint to retrieve all backfill checkpoints.
+     *
+     * @return an iterable collection of `BackfillCheckpoint` entities.
+     */
+    @GetMapping
+    public Iterable<BackfillCheckpoint> getCheckpoints() {
+        return backfillService.findAll();
+    }
+
+}
@@ -1,16 +1,25 @@
 package dev.cypherfury.juniscan.controller;
 
 import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.converter.HashConverter;
+import dev.cypherfury.juniscan.exception.InvalidHashException;
 import dev.cypherfury.juniscan.service.BlockService;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST controller for managing `Block` entities.
  * <p>
  * Responsibilities:
  * - Exposes endpoints for interacting with `Block` entities.
+ * - Lists the blocks by range of numbers or from the latest ones, with keyset pagination on the block number.
+ * - Finds a block by its hash, and the children of a block.
  * - Delegates business logic to the `BlockService` layer.
  *
  * @author Cypherfury
@@ -43,4 +52,79 @@ public class BlockController {
         return blockService.findAll();
     }
 
+    /**
+     * Endpoint to retrieve the blocks within a range of numbers.
+     * <p>
+     * This endpoint handles GET requests to `/block/range?from=..&to=..`. To page forward, request the
+     * next page from the number following the last block returned.
+     *
+     * @param from  the lowest block number.
+     * @param to    the highest block number (inclusive), unbounded by default.
+     * @param limit the maximum number of blocks, 100 by default.
+     * @return the blocks, by increasing number.
+     */
+    @GetMapping("/range")
+    public List<Block> getRange(@RequestParam long from,
+                                @RequestParam(defaultValue = "9223372036854775807") long to,
+                                @RequestParam(defaultValue = "100") int limit) {
+        return blockService.findRange(from, to, limit);
+    }
+
+    /**
+     * Endpoint to retrieve the latest blocks, page by page.
+     * <p>
+     * This endpoint handles GET requests to `/block/latest?before=..`. To page backward, request the
+     * next page before the number of the last block returned.
+     *
+     * @param before the block number the page ends before, excluded; the latest blocks by default.
+     * @param limit  the maximum number of blocks, 100 by default.
+     * @return the blocks, by decreasing number.
+     */
+    @GetMapping("/latest")
+    public List<Block> getLatest(@RequestParam(defaultValue = "9223372036854775807") long before,
+                                 @RequestParam(defaultValue = "100") int limit) {
+        return blockService.findBefore(before, limit);
+    }
+
+    /**
+     * Endpoint to retrieve a block by its hash.
+     * <p>
+     * This endpoint handles GET requests to `/block/by-hash?hash=..`, and responds with 400 if the hash
+     * is malformed, or 404 if the block is not saved.
+     *
+     * @param hash the hash of the block, as a "0x"-prefixed hex string.
+     * @return the block.
+     * @throws InvalidHashException if the hash is not a "0x"-prefixed hex string of 32 bytes.
+     */
+    @GetMapping("/by-hash")
+    public ResponseEntity<Block> getByHash(@RequestParam String hash) {
+        requireHash(hash);
+        return ResponseEntity.of(blockService.findByHash(hash));
+    }
+
+    /**
+     * Endpoint to retrieve the children of a block.
+     * <p>
+     * This endpoint handles GET requests to `/block/children?parentHash=..`, and responds with 400 if the
+     * hash is malformed.
+     *
+     * @param parentHash the hash of the block, as a "0x"-prefixed hex string.
+     * @return the blocks whose parent has the given hash.
+     * @throws InvalidHashException if the hash is not a "0x"-prefixed hex string of 32 bytes.
+     */
+    @GetMapping("/children")
+    public List<Block> getChildren(@RequestParam String parentHash) {
+        requireHash(parentHash);
+        return blockService.findChildren(parentHash);
+    }
+
+    /**
+     * Rejects a hash the database column cannot hold, before it reaches the `HashConverter`.
+     */
+    private static void requireHash(String hash) {
+        if (!ByteUtils.isHex(hash, HashConverter.HASH_LENGTH)) {
+            throw new InvalidHashException(hash);
+        }
+    }
+
 }
@@ -0,0 +1,63 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.dto.CatalogStatsDTO;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the in-memory catalogue of modules and functions.
+ * <p>
+ * Responsibilities:
+ * - Exposes the size of the catalogue and the number of lookups missing from it.
+ * - Exposes an endpoint to reload the catalogue, e.g. after the functions of a runtime upgrade were added.
+ * - Delegates business logic to the `FunctionCatalogService` and `CallDecoderRegistry` layers.
+ *
+ * @author Cypherfury
+ */
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private final FunctionCatalogService functionCatalogService;
+    private final CallDecoderRegistry callDecoderRegistry;
+
+    /**
+     * Constructor for `CatalogController`.
+     *
+     * @param functionCatalogService in-memory catalogue of the modules and functions.
+     * @param callDecoderRegistry    registry of the decoders compiled from the parameters of the functions.
+     */
+    public CatalogController(FunctionCatalogService functionCatalogService, CallDecoderRegistry callDecoderRegistry) {
+        this.functionCatalogService = functionCatalogService;
+        this.callDecoderRegistry = callDecoderRegistry;
+    }
+
+    /**
+     * Endpoint to retrieve the size of the catalogue.
+     * <p>
+     * This endpoint handles GET requests to `/catalog`.
+     *
+     * @return the number of modules, functions and misses, and the time of the last refresh.
+     */
+    @GetMapping
+    public CatalogStatsDTO getStats() {
+        return functionCatalogService.stats();
+    }
+
+    /**
+     * Endpoint to reload the catalogue from the database.
+     * <p>
+     * This endpoint handles POST requests to `/catalog/refresh`. The negative cache is cleared, and
+     * the argument decoders are compiled again on their next use.
+     *
+     * @return the size of the reloaded catalogue.
+     */
+    @PostMapping("/refresh")
+    public CatalogStatsDTO refresh() {
+        CatalogStatsDTO stats = functionCatalogService.refresh();
+        callDecoderRegistry.clear();
+        return stats;
+    }
+
+}
@@ -0,0 +1,45 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.dto.ReprocessResultDTO;
+import dev.cypherfury.juniscan.service.DeadLetterService;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for replaying the blocks that could not be indexed after every retry.
+ * <p>
+ * Responsibilities:
+ * - Exposes an endpoint to reprocess the oldest dead letters, once the cause of their failure is fixed.
+ * - Delegates business logic to the `DeadLetterService` layer.
+ *
+ * @author Cypherfury
+ */
+@RestController
+@RequestMapping("/dead-letters")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    /**
+     * Constructor for `DeadLetterController`.
+     *
+     * @param deadLetterService service replaying the dead letters.
+     */
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    /**
+     * Endpoint to reprocess the oldest dead letters in parallel.
+     * <p>
+     * This endpoint handles POST requests to `/dead-letters/reprocess?max=..`. Blocks failing again are
+     * sent back to the dead letters.
+     *
+     * @param max the maximum number of dead letters replayed, 100 by default.
+     * @return the number of dead letters read, saved, skipped and failed again.
+     */
+    @PostMapping("/reprocess")
+    public ReprocessResultDTO reprocess(@RequestParam(defaultValue = "100") int max) {
+        return deadLetterService.reprocess(max);
+    }
+
+}
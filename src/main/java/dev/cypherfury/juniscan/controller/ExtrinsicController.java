@@ -0,0 +1,57 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.entity.converter.HashConverter;
+import dev.cypherfury.juniscan.exception.InvalidHashException;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for looking up `Extrinsic` entities.
+ * <p>
+ * Responsibilities:
+ * - Exposes an endpoint to find the extrinsics by their hash, i.e. by transaction hash.
+ * - Delegates business logic to the `ExtrinsicService` layer.
+ *
+ * @author Cypherfury
+ */
+@RestController
+@RequestMapping("/extrinsic")
+public class ExtrinsicController {
+
+    private final ExtrinsicService extrinsicService;
+
+    /**
+     * Constructor for `ExtrinsicController`.
+     *
+     * @param extrinsicService service for decoding and retrieving `Extrinsic` entities.
+     */
+    public ExtrinsicController(ExtrinsicService extrinsicService) {
+        this.extrinsicService = extrinsicService;
+    }
+
+    /**
+     * Endpoint to retrieve the extrinsics with a given hash.
+     * <p>
+     * This endpoint handles GET requests to `/extrinsic?hash=..`, and responds with 400 if the hash
+     * is malformed.
+     *
+     * @param hash the hash of the extrinsic, as a "0x"-prefixed hex string.
+     * @return the extrinsics, along with the number of their block.
+     * @throws InvalidHashException if the hash is not a "0x"-prefixed hex string of 32 bytes.
+     */
+    @GetMapping
+    public List<Extrinsic> getByHash(@RequestParam String hash) {
+        if (!ByteUtils.isHex(hash, HashConverter.HASH_LENGTH)) {
+            throw new InvalidHashException(hash);
+        }
+        return extrinsicService.findByHash(hash);
+    }
+
+}
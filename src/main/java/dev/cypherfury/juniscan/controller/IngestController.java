@@ -0,0 +1,82 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.IngestStatsDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import dev.cypherfury.juniscan.dto.RetryStatsDTO;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for monitoring the ingest queue, the event bus publisher and the retry tier.
+ * <p>
+ * Responsibilities:
+ * - Exposes the depth of the queue between the WebSocket I/O thread and the indexing workers.
+ * - Exposes the submitted, processed, failed, dropped and parked counters.
+ * - Exposes the acknowledgement latencies and failures of the events published to the {@link ChainEventBus}.
+ * - Exposes the pending, recovered and dead-lettered counters of the blocks being retried.
+ * - Delegates business logic to the `BlockIngestService`, `ChainEventBus` and `BlockRetryService` layers.
+ *
+ * @author Cypherfury
+ */
+@RestController
+@RequestMapping("/ingest")
+public class IngestController {
+
+    private final BlockIngestService ingestService;
+    private final ChainEventBus eventBus;
+    private final BlockRetryService retryService;
+
+    /**
+     * Constructor for `IngestController`.
+     *
+     * @param ingestService service handing fetched blocks over to the indexing workers.
+     * @param eventBus      bus publishing new heads and blocks, to Kafka or in memory.
+     * @param retryService  service retrying the blocks that could not be indexed.
+     */
+    public IngestController(BlockIngestService ingestService, ChainEventBus eventBus, BlockRetryService retryService) {
+        this.ingestService = ingestService;
+        this.eventBus = eventBus;
+        this.retryService = retryService;
+    }
+
+    /**
+     * Endpoint to retrieve the metrics of the ingest queue.
+     * <p>
+     * This endpoint handles GET requests to `/ingest/stats`.
+     *
+     * @return a snapshot of the queue depth and counters.
+     */
+    @GetMapping("/stats")
+    public IngestStatsDTO getStats() {
+        return ingestService.stats();
+    }
+
+    /**
+     * Endpoint to retrieve the metrics of the event bus publisher.
+     * <p>
+     * This endpoint handles GET requests to `/ingest/publisher`.
+     *
+     * @return a snapshot of the publisher counters and latencies.
+     */
+    @GetMapping("/publisher")
+    public PublishStatsDTO getPublisherStats() {
+        return eventBus.stats();
+    }
+
+    /**
+     * Endpoint to retrieve the metrics of the retry tier.
+     * <p>
+     * This endpoint handles GET requests to `/ingest/retries`.
+     *
+     * @return a snapshot of the pending retries and counters.
+     */
+    @GetMapping("/retries")
+    public RetryStatsDTO getRetryStats() {
+        return retryService.stats();
+    }
+
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import lombok.Data;
  * including its header, extrinsics, and justifications.
  * <p>
  * The structure includes nested static classes to represent hierarchical data in the block.
+ * Extrinsics are decoded from hex while parsing, see {@link ExtrinsicBytes}.
  * <p>
  * Dependencies:
  * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
@@ -28,7 +29,19 @@ public class BlockDetailsDTO {
     public static class Block {
 
         private Header header;
-        private String[] extrinsics;
+        private ExtrinsicBytes[] extrinsics;
+
+        /**
+         * Returns the buffers of the extrinsics to their pool, once the block is serialized.
+         * The extrinsics must not be accessed afterwards.
+         */
+        public void release() {
+            if (extrinsics != null) {
+                for (ExtrinsicBytes extrinsic : extrinsics) {
+                    extrinsic.close();
+                }
+            }
+        }
 
         /**
          * Represents the header of a blockchain block.
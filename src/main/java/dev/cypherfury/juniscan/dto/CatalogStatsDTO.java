@@ -0,0 +1,25 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a snapshot of the module and function catalogue held in memory.
+ * <p>
+ * The misses are the distinct modules and calls looked up since the last refresh, but missing from the catalogue.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class CatalogStatsDTO {
+
+    private int modules;
+    private int functions;
+    private int misses;
+    private long refreshedAt;
+
+}
@@ -0,0 +1,30 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) representing a block that could not be indexed after every retry.
+ * <p>
+ * The raw block is kept as received from the node, its extrinsics still undecoded, along with the
+ * cause of its last failure, so that it can be reprocessed once the cause is fixed.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterDTO {
+
+    private String number;
+    private BlockDetailsDTO.Block block;
+    private String exception;
+    private String message;
+    private int attempts;
+    private long failedAt;
+
+}
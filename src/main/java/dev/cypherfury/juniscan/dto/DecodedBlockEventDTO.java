@@ -0,0 +1,46 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing a decoded block, as published to the
+ * `chain-decoded-blocks` topic once the block is committed.
+ * <p>
+ * The structure includes a nested static class representing the decoded extrinsics, so that consumers
+ * can stream decoded data without querying the database.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecodedBlockEventDTO {
+
+    private String number;
+    private String parentHash;
+    private List<Extrinsic> extrinsics;
+
+    /**
+     * Represents a decoded extrinsic of the block.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Extrinsic {
+
+        private int index;
+        private String module;
+        private String function;
+        private boolean signed;
+        private String signer;
+        private long size;
+
+    }
+}
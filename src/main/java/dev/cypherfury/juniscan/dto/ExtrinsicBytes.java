@@ -0,0 +1,177 @@
+package dev.cypherfury.juniscan.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import dev.cypherfury.juniscan.utils.ByteBufferPool;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Raw bytes of an extrinsic, decoded from its hex representation into a pooled {@link ByteBuffer}.
+ * <p>
+ * Responsibilities:
+ * - Decodes the hex string of an extrinsic straight from the characters of the JSON parser,
+ *   without creating an intermediate string or byte array.
+ * - Exposes the decoded bytes to the SCALE decoder, as an array or as the buffer itself.
+ * - Returns its buffer to the {@link ByteBufferPool} once closed.
+ * <p>
+ * The bytes must not be accessed once closed. Extrinsics that are never closed are simply
+ * reclaimed by the garbage collector.
+ * <p>
+ * Serialized back to JSON as its hex representation, prefixed with "0x".
+ *
+ * @author Cypherfury
+ */
+@JsonDeserialize(using = ExtrinsicBytes.Deserializer.class)
+public class ExtrinsicBytes implements AutoCloseable {
+
+    private final ByteBufferPool pool;
+    private final int length;
+    private ByteBuffer buffer;
+
+    private ExtrinsicBytes(ByteBuffer buffer, int length, ByteBufferPool pool) {
+        this.buffer = buffer;
+        this.length = length;
+        this.pool = pool;
+    }
+
+    /**
+     * Decodes hex characters into a buffer acquired from the given pool.
+     *
+     * @param hex  the hex characters, optionally prefixed with "0x".
+     * @param pool the pool providing the buffer.
+     * @return the decoded extrinsic bytes.
+     * @throws IllegalArgumentException if the characters are not valid hex.
+     */
+    public static ExtrinsicBytes decode(CharSequence hex, ByteBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(ByteUtils.decodedLength(hex));
+        try {
+            int length = ByteUtils.decodeHex(hex, buffer.array());
+            return new ExtrinsicBytes(buffer, length, pool);
+        } catch (IllegalArgumentException e) {
+            pool.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Copies raw bytes into a buffer acquired from the given pool.
+     *
+     * @param bytes  the array containing the bytes.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @param pool   the pool providing the buffer.
+     * @return the extrinsic bytes.
+     */
+    public static ExtrinsicBytes copyOf(byte[] bytes, int offset, int length, ByteBufferPool pool) {
+        ByteBuffer buffer = pool.acquire(length);
+        System.arraycopy(bytes, offset, buffer.array(), 0, length);
+        return new ExtrinsicBytes(buffer, length, pool);
+    }
+
+    /**
+     * Creates extrinsic bytes from a hex string, without pooling.
+     *
+     * @param hex the hex string, optionally prefixed with "0x".
+     * @return the extrinsic bytes.
+     */
+    public static ExtrinsicBytes of(String hex) {
+        byte[] bytes = ByteUtils.getBytes(hex);
+        return new ExtrinsicBytes(ByteBuffer.wrap(bytes), bytes.length, null);
+    }
+
+    /**
+     * Returns the array holding the bytes, from index 0 to {@link #length()}.
+     * The array may be larger than the extrinsic.
+     *
+     * @return the backing array.
+     * @throws IllegalStateException if the bytes were already released.
+     */
+    public byte[] array() {
+        if (buffer == null) {
+            throw new IllegalStateException("Extrinsic bytes already released");
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Returns the buffer holding the bytes, positioned at the first byte and limited to the length
+     * of the extrinsic. The buffer is not copied, so reading it moves its position.
+     *
+     * @return the backing buffer.
+     * @throws IllegalStateException if the bytes were already released.
+     */
+    public ByteBuffer buffer() {
+        array();
+        return buffer.clear().limit(length);
+    }
+
+    /**
+     * Returns the number of bytes of the extrinsic.
+     *
+     * @return the length of the extrinsic.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the hex representation of the extrinsic.
+     *
+     * @return the hex string, prefixed with "0x".
+     */
+    @JsonValue
+    public String toHex() {
+        return ByteUtils.toHex(array(), 0, length);
+    }
+
+    /**
+     * Returns the buffer to its pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (buffer != null && pool != null) {
+            pool.release(buffer);
+        }
+        buffer = null;
+    }
+
+    @Override
+    public String toString() {
+        return buffer == null ? "ExtrinsicBytes(released)" : toHex();
+    }
+
+    /**
+     * Deserializes an extrinsic from the characters of the current JSON string token.
+     * When the parser exposes its internal character buffer, the hex digits are decoded from it directly.
+     */
+    public static class Deserializer extends StdDeserializer<ExtrinsicBytes> {
+
+        public Deserializer() {
+            super(ExtrinsicBytes.class);
+        }
+
+        @Override
+        public ExtrinsicBytes deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                return (ExtrinsicBytes) context.handleUnexpectedToken(ExtrinsicBytes.class, parser);
+            }
+            CharSequence hex = parser.hasTextCharacters()
+                    ? CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                    : parser.getText();
+            try {
+                return decode(hex, ByteBufferPool.shared());
+            } catch (IllegalArgumentException e) {
+                throw context.weirdStringException(hex.toString(), ExtrinsicBytes.class, e.getMessage());
+            }
+        }
+    }
+
+}
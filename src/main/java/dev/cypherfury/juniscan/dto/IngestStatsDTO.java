@@ -0,0 +1,32 @@
+package dev.cypherfury.juniscan.dto;
+
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a snapshot of the ingest queue metrics.
+ * <p>
+ * Counters are cumulative since the application started, while the depth is the number of blocks
+ * waiting in the queue when the snapshot was taken.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class IngestStatsDTO {
+
+    private IngestOverflowPolicy overflowPolicy;
+    private int capacity;
+    private int depth;
+    private int workers;
+    private long submitted;
+    private long processed;
+    private long failed;
+    private long dropped;
+    private long parked;
+
+}
@@ -0,0 +1,26 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing an outgoing JSON-RPC 2.0 request.
+ * <p>
+ * This DTO is serialized and sent to the blockchain node over the WebSocket connection.
+ * Each request carries a unique identifier so that its response can be correlated.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class JsonRpcRequestDTO {
+
+    private final String jsonrpc = "2.0";
+    private long id;
+    private String method;
+    private Object[] params;
+
+}
@@ -10,4 +10,17 @@ public class MortalEraDTO {
     private final int period;
     private final int phase;
 
+    /**
+     * Decodes a mortal era from its two-byte encoding: the low 4 bits hold the base-2 logarithm of the
+     * period, minus 1, and the high 12 bits the phase, divided by the quantization factor of the period.
+     *
+     * @param encoded the little-endian 16-bit encoding of the era.
+     * @return the period and phase of the era.
+     */
+    public static MortalEraDTO decode(int encoded) {
+        int period = 2 << (encoded & 0x0f);
+        int quantizeFactor = Math.max(period >> 12, 1);
+        return new MortalEraDTO(period, (encoded >> 4) * quantizeFactor);
+    }
+
 }
@@ -0,0 +1,29 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a snapshot of the event bus publisher metrics.
+ * <p>
+ * Counters are cumulative since the application started, while the pending count is the number of
+ * messages sent but not yet acknowledged when the snapshot was taken. Latencies are measured from the
+ * send to its acknowledgement by the Kafka brokers, or to its insertion in the in-memory ring buffer.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class PublishStatsDTO {
+
+    private long sent;
+    private long acknowledged;
+    private long failed;
+    private long pending;
+    private double averageLatencyMs;
+    private double maxLatencyMs;
+
+}
@@ -0,0 +1,26 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing the outcome of a replay of the dead letters.
+ * <p>
+ * Every dead letter read is either saved, skipped because its block already exists, or failed again and
+ * sent back to the dead letters.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class ReprocessResultDTO {
+
+    private int read;
+    private int saved;
+    private int skipped;
+    private int failed;
+
+}
@@ -0,0 +1,27 @@
+package dev.cypherfury.juniscan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a snapshot of the block retry metrics.
+ * <p>
+ * Counters are cumulative since the application started, while the pending count is the number of
+ * blocks waiting for their next attempt when the snapshot was taken.
+ * <p>
+ * Dependencies:
+ * - Uses Lombok {@link Data} annotation to auto-generate getters, setters, and other methods.
+ *
+ * @author Cypherfury
+ */
+@Data
+@AllArgsConstructor
+public class RetryStatsDTO {
+
+    private int maxAttempts;
+    private long pending;
+    private long attempts;
+    private long recovered;
+    private long deadLettered;
+
+}
@@ -0,0 +1,49 @@
+package dev.cypherfury.juniscan.entity;
+
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class representing the progress of a historical backfill.
+ * <p>
+ * A backfill indexes an arbitrary range of blocks that were not received through the new heads
+ * subscription. Its progress is persisted in the table `backfill_checkpoint` so that an interrupted
+ * backfill can resume where it stopped.
+ * <p>
+ * Responsibilities:
+ * - Stores the requested block range.
+ * - Stores the lowest block number not yet indexed, every block below it being indexed.
+ * - Stores the status of the backfill.
+ *
+ * @author Cypherfury
+ */
+@Data
+@Table
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BackfillCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    private long fromBlock;
+
+    @Column(nullable = false)
+    private long toBlock;
+
+    @Column(nullable = false)
+    private long nextBlock;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+}
@@ -1,5 +1,6 @@
 package dev.cypherfury.juniscan.entity;
 
+import dev.cypherfury.juniscan.entity.converter.HashConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -16,6 +17,8 @@ import java.util.List;
  * - Represents a block with its unique identifier and metadata, such as the parent hash and state root.
  * - Manages the collection of logs associated with the block.
  * - Establishes a one-to-many relationship with {@link Extrinsic}s contained within the block.
+ * <p>
+ * Hashes and roots are "0x"-prefixed hex strings, stored as 32 bytes through the {@link HashConverter}.
  *
  * @author Cypherfury
  */
@@ -31,16 +34,34 @@ public class Block {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
-    @Column(nullable = false)
+    /**
+     * The hash of the block, computed from its SCALE-encoded header at ingest.
+     * Backed by a unique index, for lookups by hash.
+     */
+    @Convert(converter = HashConverter.class)
+    @Column(unique = true, columnDefinition = "BINARY(32)")
+    private String hash;
+
+    /**
+     * The hash of the parent block, backed by an index to find the children of a block.
+     */
+    @Convert(converter = HashConverter.class)
+    @Column(nullable = false, columnDefinition = "BINARY(32)")
     private String parentHash;
 
+    /**
+     * The number (height) of the block, decoded from the hex string sent by the node.
+     * Backed by a unique index, for lookups, range and keyset scans by number.
+     */
     @Column(nullable = false, unique = true)
-    private String number;
+    private long number;
 
-    @Column(nullable = false)
+    @Convert(converter = HashConverter.class)
+    @Column(nullable = false, columnDefinition = "BINARY(32)")
     private String stateRoot;
 
-    @Column(nullable = false)
+    @Convert(converter = HashConverter.class)
+    @Column(nullable = false, columnDefinition = "BINARY(32)")
     private String extrinsicsRoot;
 
     /**
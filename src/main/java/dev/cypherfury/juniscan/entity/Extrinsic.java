@@ -1,6 +1,8 @@
 package dev.cypherfury.juniscan.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.cypherfury.juniscan.entity.converter.HashConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +18,7 @@ import lombok.NoArgsConstructor;
  * <p>
  * Responsibilities:
  * - Represents an individual extrinsic with its metadata, such as header, version, and size.
+ * - Holds the decoded arguments of its call, and the hash of its raw bytes.
  * - Establishes relationships with {@link Block}, {@link Module}, and {@link Function}.
  *
  * @author Cypherfury
@@ -32,6 +35,14 @@ public class Extrinsic {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
+    /**
+     * The hash of the extrinsic, computed from its raw bytes at ingest, as a "0x"-prefixed hex string.
+     * Backed by an index, for lookups by transaction hash.
+     */
+    @Convert(converter = HashConverter.class)
+    @Column(columnDefinition = "BINARY(32)")
+    private String hash;
+
     @Column(nullable = false)
     private boolean signed;
 
@@ -57,6 +68,13 @@ public class Extrinsic {
 
     private Long tip;
 
+    /**
+     * The arguments of the call, as a compact JSON object keyed by parameter name,
+     * or `null` if they could not be decoded.
+     */
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String arguments;
+
     /**
      * The block containing this extrinsic.
      * Represents a many-to-one relationship with the {@link Block} entity.
@@ -79,4 +97,14 @@ public class Extrinsic {
     @ManyToOne(cascade = CascadeType.MERGE)
     private Function function;
 
+    /**
+     * Returns the number of the block containing this extrinsic, the block itself not being serialized.
+     *
+     * @return the number of the block, or `null` if the extrinsic is not tied to a block.
+     */
+    @JsonProperty("blockNumber")
+    public Long getBlockNumber() {
+        return block == null ? null : block.getNumber();
+    }
+
 }
@@ -0,0 +1,47 @@
+package dev.cypherfury.juniscan.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing an event waiting to be relayed to Kafka.
+ * <p>
+ * Events are written in the same transaction as the data they describe, in the table `outbox_event`,
+ * so that an event exists if and only if its data was committed. A relay then publishes them to Kafka
+ * and deletes them.
+ * <p>
+ * Responsibilities:
+ * - Stores the topic, key and JSON payload of the event.
+ * - Stores the time the event was written.
+ *
+ * @author Cypherfury
+ */
+@Data
+@Table
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    private String messageKey;
+
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+}
@@ -0,0 +1,14 @@
+package dev.cypherfury.juniscan.entity.enums;
+
+/**
+ * Status of a historical backfill of a block range.
+ *
+ * @author Cypherfury
+ */
+public enum BackfillStatus {
+
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
@@ -0,0 +1,21 @@
+package dev.cypherfury.juniscan.entity.enums;
+
+/**
+ * How blocks announced by the new heads subscription reach the indexers.
+ *
+ * @author Cypherfury
+ */
+public enum IngestMode {
+
+    /**
+     * Publishes the new head to Kafka, the consumer fetching the block from the node before indexing it.
+     */
+    HEAD,
+
+    /**
+     * Fetches the block once and publishes it whole to Kafka, keyed by block number, so that any number
+     * of indexers can consume it without querying the node.
+     */
+    BLOCK
+
+}
@@ -0,0 +1,20 @@
+package dev.cypherfury.juniscan.entity.enums;
+
+/**
+ * Behaviour of the ingest queue when a block is submitted while the queue is full.
+ *
+ * @author Cypherfury
+ */
+public enum IngestOverflowPolicy {
+
+    /**
+     * Parks the submitting thread until a worker frees a slot, pushing back on the WebSocket reader.
+     */
+    PARK,
+
+    /**
+     * Drops the submitted block and fails its future, keeping the WebSocket reader responsive.
+     */
+    DROP
+
+}
@@ -0,0 +1,21 @@
+package dev.cypherfury.juniscan.entity.enums;
+
+/**
+ * Format of the chain events written to Kafka.
+ *
+ * @author Cypherfury
+ */
+public enum KafkaSerdeFormat {
+
+    /**
+     * JSON, with the hashes and numbers as hex strings and the type of the event in the record headers.
+     */
+    JSON,
+
+    /**
+     * Compact binary, with the hashes as raw bytes and the numbers as varints, prefixed with a schema version.
+     * JSON records are still read, for topics written before switching.
+     */
+    BINARY
+
+}
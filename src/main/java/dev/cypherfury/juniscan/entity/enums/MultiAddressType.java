@@ -0,0 +1,54 @@
+package dev.cypherfury.juniscan.entity.enums;
+
+/**
+ * Variants of the `MultiAddress` identifying the signer of an extrinsic, by their SCALE index.
+ *
+ * @author Cypherfury
+ */
+public enum MultiAddressType {
+
+    /**
+     * A 32-byte account id.
+     */
+    ID("Id"),
+
+    /**
+     * A compact account index.
+     */
+    INDEX("Index"),
+
+    /**
+     * A length-prefixed sequence of bytes.
+     */
+    RAW("Raw"),
+
+    /**
+     * A 32-byte address.
+     */
+    ADDRESS32("Address32"),
+
+    /**
+     * A 20-byte address, as used by Ethereum-compatible accounts.
+     */
+    ADDRESS20("Address20");
+
+    private static final MultiAddressType[] VALUES = values();
+
+    private final String typeName;
+
+    MultiAddressType(String typeName) {
+        this.typeName = typeName;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public static MultiAddressType fromByte(int addressTypeByte) {
+        if (addressTypeByte < 0 || addressTypeByte >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown address type: " + addressTypeByte);
+        }
+        return VALUES[addressTypeByte];
+    }
+
+}
@@ -2,20 +2,26 @@ package dev.cypherfury.juniscan.entity.enums;
 
 public enum SignatureType {
 
-    ED25519("Ed25519"),
-    SR25519("Sr25519"),
-    ECDSA("ECDSA");
+    ED25519("Ed25519", 64),
+    SR25519("Sr25519", 64),
+    ECDSA("ECDSA", 65);
 
     private final String typeName;
+    private final int length;
 
-    SignatureType(String typeName) {
+    SignatureType(String typeName, int length) {
         this.typeName = typeName;
+        this.length = length;
     }
 
     public String getTypeName() {
         return typeName;
     }
 
+    public int getLength() {
+        return length;
+    }
+
     public static SignatureType fromByte(byte signatureTypeByte) {
         return switch (signatureTypeByte) {
             case 0x00 -> ED25519;
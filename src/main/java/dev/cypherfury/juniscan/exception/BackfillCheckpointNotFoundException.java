@@ -0,0 +1,23 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling errors related to missing backfill checkpoints.
+ * <p>
+ * This exception is thrown when a backfill is resumed from a checkpoint that does not exist.
+ *
+ * @author Cypherfury
+ */
+public class BackfillCheckpointNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code BackfillCheckpointNotFoundException}.
+     *
+     * @param id the unique identifier of the missing checkpoint.
+     */
+    public BackfillCheckpointNotFoundException(long id) {
+        super(format("Backfill checkpoint with id {0} not found.", id));
+    }
+
+}
@@ -0,0 +1,24 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling block numbers unknown to the blockchain node.
+ * <p>
+ * This exception is thrown when `chain_getBlockHash` returns no hash for a block number,
+ * typically because the block has not been produced yet.
+ *
+ * @author Cypherfury
+ */
+public class BlockHashNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code BlockHashNotFoundException}.
+     *
+     * @param number the block number without known hash.
+     */
+    public BlockHashNotFoundException(long number) {
+        super(format("No block hash found for block number {0}.", number));
+    }
+
+}
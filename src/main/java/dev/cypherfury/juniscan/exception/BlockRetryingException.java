@@ -0,0 +1,26 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling blocks handed to the retry tier.
+ * <p>
+ * This exception completes the future of a block submitted to the ingest queue when the block cannot be
+ * indexed and is retried in the background, so that callers tracking their progress, such as the backfill,
+ * do not count it as indexed.
+ *
+ * @author Cypherfury
+ */
+public class BlockRetryingException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code BlockRetryingException}.
+     *
+     * @param number the number of the block being retried.
+     * @param cause  the reason why the block could not be indexed.
+     */
+    public BlockRetryingException(String number, Throwable cause) {
+        super(format("Block {0} could not be indexed and is being retried.", number), cause);
+    }
+
+}
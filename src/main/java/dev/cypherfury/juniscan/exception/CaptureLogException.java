@@ -0,0 +1,26 @@
+package dev.cypherfury.juniscan.exception;
+
+import java.nio.file.Path;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling errors while writing or reading a capture log.
+ * <p>
+ * This exception is thrown when a segment of the capture log cannot be created, mapped or read.
+ *
+ * @author Cypherfury
+ */
+public class CaptureLogException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code CaptureLogException}.
+     *
+     * @param path  the segment or directory of the capture log.
+     * @param cause the underlying I/O error.
+     */
+    public CaptureLogException(Path path, Throwable cause) {
+        super(format("Error while accessing the capture log {0}: {1}", path, cause.getMessage()), cause);
+    }
+
+}
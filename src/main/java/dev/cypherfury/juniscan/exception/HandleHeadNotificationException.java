@@ -1,7 +1,6 @@
 package dev.cypherfury.juniscan.exception;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 
 import static java.text.MessageFormat.format;
 
@@ -9,12 +8,12 @@ import static java.text.MessageFormat.format;
  * Custom exception class for handling errors during the processing of head notifications.
  * <p>
  * This exception is thrown when a {@link JsonProcessingException} occurs while attempting to process
- * a new head notification from a {@link JsonNode}. It encapsulates the original exception and provides
- * additional context about the problematic JSON node.
+ * a new head notification. It encapsulates the original exception and provides
+ * additional context about the problematic payload.
  * <p>
  * Responsibilities:
  * - Wraps the {@link JsonProcessingException} with a more descriptive message.
- * - Provides context by including the JSON node that caused the failure.
+ * - Provides context by including the payload that caused the failure.
  * <p>
  *
  * @author Cypherfury
@@ -24,11 +23,11 @@ public class HandleHeadNotificationException extends RuntimeException {
     /**
      * Constructs a new {@code HandleHeadNotificationException}.
      *
-     * @param jsonNode the {@link JsonNode} representing the head notification that caused the error.
-     * @param e        the underlying {@link JsonProcessingException} that caused the failure.
+     * @param payload the WebSocket message payload containing the head notification that caused the error.
+     * @param e       the underlying {@link JsonProcessingException} that caused the failure.
      */
-    public HandleHeadNotificationException(JsonNode jsonNode, JsonProcessingException e) {
-        super(format("Unhandled head notification exception: {0}", jsonNode.toString()), e);
+    public HandleHeadNotificationException(String payload, JsonProcessingException e) {
+        super(format("Unhandled head notification exception: {0}", payload), e);
     }
 
 }
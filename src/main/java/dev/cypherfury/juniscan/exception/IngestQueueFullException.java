@@ -0,0 +1,25 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling blocks dropped by the ingest queue.
+ * <p>
+ * This exception is thrown when a block is submitted while the ingest queue is full
+ * and its overflow policy is `DROP`.
+ *
+ * @author Cypherfury
+ */
+public class IngestQueueFullException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code IngestQueueFullException}.
+     *
+     * @param blockNumber the number of the dropped block.
+     * @param capacity    the capacity of the ingest queue.
+     */
+    public IngestQueueFullException(String blockNumber, int capacity) {
+        super(format("Ingest queue full ({0} blocks), block {1} dropped.", capacity, blockNumber));
+    }
+
+}
@@ -0,0 +1,24 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling block numbers that cannot be decoded.
+ * <p>
+ * This exception is thrown when the number of a block sent by the node is not a "0x"-prefixed
+ * hex string of a non-negative 64-bit number.
+ *
+ * @author Cypherfury
+ */
+public class InvalidBlockNumberException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code InvalidBlockNumberException}.
+     *
+     * @param number the block number that cannot be decoded.
+     */
+    public InvalidBlockNumberException(String number) {
+        super(format("Invalid block number: {0}.", number));
+    }
+
+}
@@ -0,0 +1,28 @@
+package dev.cypherfury.juniscan.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling malformed hashes in requests.
+ * <p>
+ * This exception is thrown when a block or extrinsic hash passed to an endpoint is not a "0x"-prefixed
+ * hex string of 32 bytes, and is answered with a 400 Bad Request.
+ *
+ * @author Cypherfury
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidHashException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code InvalidHashException}.
+     *
+     * @param hash the malformed hash.
+     */
+    public InvalidHashException(String hash) {
+        super(format("Invalid hash: {0}.", hash));
+    }
+
+}
@@ -0,0 +1,30 @@
+package dev.cypherfury.juniscan.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling JSON-RPC error responses returned by the blockchain node.
+ * <p>
+ * This exception is used to complete a pending request when the node answers with an
+ * {@code error} object instead of a {@code result}.
+ * <p>
+ * Responsibilities:
+ * - Provides a descriptive error message including the method and the error returned by the node.
+ *
+ * @author Cypherfury
+ */
+public class JsonRpcErrorException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code JsonRpcErrorException}.
+     *
+     * @param method the JSON-RPC method of the failed request.
+     * @param error  the {@link JsonNode} representing the error object returned by the node.
+     */
+    public JsonRpcErrorException(String method, JsonNode error) {
+        super(format("JSON-RPC call {0} failed: {1}", method, error.toString()));
+    }
+
+}
@@ -0,0 +1,27 @@
+package dev.cypherfury.juniscan.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling errors while writing an outbox event.
+ * <p>
+ * This exception is thrown when the payload of an event cannot be serialized, rolling back the
+ * transaction of the data the event describes.
+ *
+ * @author Cypherfury
+ */
+public class OutboxEventException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code OutboxEventException}.
+     *
+     * @param key the key of the event.
+     * @param e   the underlying {@link JsonProcessingException}.
+     */
+    public OutboxEventException(String key, JsonProcessingException e) {
+        super(format("Unable to serialize the outbox event {0}: {1}", key, e.getMessage()), e);
+    }
+
+}
@@ -0,0 +1,20 @@
+package dev.cypherfury.juniscan.exception;
+
+/**
+ * Custom exception class for JSON-RPC requests interrupted by the loss of the WebSocket connection.
+ * <p>
+ * This exception is used to fail every pending request when the connection to the node is closed,
+ * since their responses will never be received.
+ *
+ * @author Cypherfury
+ */
+public class RpcConnectionClosedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code RpcConnectionClosedException}.
+     */
+    public RpcConnectionClosedException() {
+        super("The WebSocket connection was closed before the response was received.");
+    }
+
+}
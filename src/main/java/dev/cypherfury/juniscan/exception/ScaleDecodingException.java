@@ -0,0 +1,25 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling malformed SCALE-encoded data.
+ * <p>
+ * This exception is thrown when the bytes of an extrinsic end before the value being read,
+ * or hold a value out of the range of its Java type.
+ *
+ * @author Cypherfury
+ */
+public class ScaleDecodingException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code ScaleDecodingException}.
+     *
+     * @param message  the description of the malformed value.
+     * @param position the offset of the malformed value in the data.
+     */
+    public ScaleDecodingException(String message, int position) {
+        super(format("Invalid SCALE data at offset {0}: {1}", position, message));
+    }
+
+}
@@ -0,0 +1,34 @@
+package dev.cypherfury.juniscan.exception;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Custom exception class for handling SCALE type strings that cannot be compiled into a codec.
+ * <p>
+ * This exception is thrown when the type of a function parameter is malformed, or refers to a type
+ * that the decoder does not know.
+ *
+ * @author Cypherfury
+ */
+public class ScaleTypeException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code ScaleTypeException}.
+     *
+     * @param type the type string that cannot be compiled.
+     */
+    public ScaleTypeException(String type) {
+        super(format("Unsupported SCALE type: {0}", type));
+    }
+
+    /**
+     * Constructs a new {@code ScaleTypeException} caused by another exception.
+     *
+     * @param type the type string that cannot be compiled.
+     * @param e    the cause of the failure.
+     */
+    public ScaleTypeException(String type, Throwable e) {
+        super(format("Unsupported SCALE type: {0}", type), e);
+    }
+
+}
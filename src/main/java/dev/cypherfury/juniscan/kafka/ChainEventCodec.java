@@ -0,0 +1,329 @@
+package dev.cypherfury.juniscan.kafka;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.utils.ByteBufferPool;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+
+/**
+ * Compact binary encoding of the chain events published to Kafka.
+ * <p>
+ * Responsibilities:
+ * - Encodes new heads and blocks into a schema version byte followed by their fields, in declaration order.
+ * - Decodes them back, rejecting unknown schema versions.
+ * <p>
+ * Field encodings:
+ * - Hashes, digest logs and extrinsics: raw bytes, prefixed with their length as a varint (33 bytes for a hash).
+ * - Block numbers: their value as a varint, rather than a hex string.
+ * - Other strings: UTF-8 bytes, prefixed with their length as a varint.
+ * - Arrays: their elements, prefixed with their count as a varint.
+ * <p>
+ * Lengths and counts are incremented by one so that 0 encodes `null`, and nested objects are prefixed
+ * with a presence byte. Varints are unsigned LEB128.
+ *
+ * @author Cypherfury
+ */
+public final class ChainEventCodec {
+
+    /**
+     * The version of the binary schema, written as the first byte of every event.
+     */
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final String UNSUPPORTED_VERSION = "Unsupported chain event schema version: {0}";
+    private static final String INVALID_NUMBER = "Block number is not a hex string: {0}";
+
+    private ChainEventCodec() {
+    }
+
+    /**
+     * Encodes a new head notification.
+     *
+     * @param newHead the new head.
+     * @return the encoded event.
+     * @throws SerializationException if a hash or the number is not valid hex.
+     */
+    public static byte[] encodeNewHead(NewHeadDTO newHead) {
+        Writer writer = new Writer();
+        writer.out.write(SCHEMA_VERSION);
+        writer.writeString(newHead.getJsonrpc());
+        writer.writeString(newHead.getMethod());
+        NewHeadDTO.Params params = newHead.getParams();
+        if (writer.writePresence(params)) {
+            writer.writeString(params.getSubscription());
+            NewHeadDTO.Params.Result result = params.getResult();
+            if (writer.writePresence(result)) {
+                String[] logs = result.getDigest() == null ? null : result.getDigest().getLogs();
+                writer.writeHeader(result.getParentHash(), result.getNumber(), result.getStateRoot(),
+                        result.getExtrinsicsRoot(), result.getDigest() != null, logs);
+            }
+        }
+        return writer.out.toByteArray();
+    }
+
+    /**
+     * Decodes a new head notification.
+     *
+     * @param data the encoded event.
+     * @return the new head.
+     * @throws SerializationException if the event is truncated or its schema version is unknown.
+     */
+    public static NewHeadDTO decodeNewHead(byte[] data) {
+        Reader reader = new Reader(data);
+        NewHeadDTO newHead = new NewHeadDTO();
+        newHead.setJsonrpc(reader.readString());
+        newHead.setMethod(reader.readString());
+        if (reader.readPresence()) {
+            NewHeadDTO.Params params = new NewHeadDTO.Params();
+            params.setSubscription(reader.readString());
+            if (reader.readPresence()) {
+                NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+                result.setParentHash(reader.readHex());
+                result.setNumber(reader.readNumber());
+                result.setStateRoot(reader.readHex());
+                result.setExtrinsicsRoot(reader.readHex());
+                if (reader.readPresence()) {
+                    NewHeadDTO.Params.Result.Digest digest = new NewHeadDTO.Params.Result.Digest();
+                    digest.setLogs(reader.readHexArray());
+                    result.setDigest(digest);
+                }
+                params.setResult(result);
+            }
+            newHead.setParams(params);
+        }
+        return newHead;
+    }
+
+    /**
+     * Encodes a block.
+     *
+     * @param block the block.
+     * @return the encoded event.
+     * @throws SerializationException if a hash or the number is not valid hex.
+     */
+    public static byte[] encodeBlock(BlockDetailsDTO.Block block) {
+        Writer writer = new Writer();
+        writer.out.write(SCHEMA_VERSION);
+        BlockDetailsDTO.Block.Header header = block.getHeader();
+        if (writer.writePresence(header)) {
+            String[] logs = header.getDigest() == null ? null : header.getDigest().getLogs();
+            writer.writeHeader(header.getParentHash(), header.getNumber(), header.getStateRoot(),
+                    header.getExtrinsicsRoot(), header.getDigest() != null, logs);
+        }
+        ExtrinsicBytes[] extrinsics = block.getExtrinsics();
+        writer.writeLength(extrinsics == null ? -1 : extrinsics.length);
+        if (extrinsics != null) {
+            for (ExtrinsicBytes extrinsic : extrinsics) {
+                writer.writeLength(extrinsic.length());
+                writer.out.write(extrinsic.array(), 0, extrinsic.length());
+            }
+        }
+        return writer.out.toByteArray();
+    }
+
+    /**
+     * Decodes a block, its extrinsics being copied into buffers of the shared {@link ByteBufferPool}.
+     *
+     * @param data the encoded event.
+     * @return the block.
+     * @throws SerializationException if the event is truncated or its schema version is unknown.
+     */
+    public static BlockDetailsDTO.Block decodeBlock(byte[] data) {
+        Reader reader = new Reader(data);
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        if (reader.readPresence()) {
+            BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+            header.setParentHash(reader.readHex());
+            header.setNumber(reader.readNumber());
+            header.setStateRoot(reader.readHex());
+            header.setExtrinsicsRoot(reader.readHex());
+            if (reader.readPresence()) {
+                BlockDetailsDTO.Block.Header.Digest digest = new BlockDetailsDTO.Block.Header.Digest();
+                digest.setLogs(reader.readHexArray());
+                header.setDigest(digest);
+            }
+            block.setHeader(header);
+        }
+        int count = reader.readLength();
+        if (count >= 0) {
+            ExtrinsicBytes[] extrinsics = new ExtrinsicBytes[count];
+            for (int i = 0; i < count; i++) {
+                int length = reader.readLength();
+                extrinsics[i] = ExtrinsicBytes.copyOf(data, reader.skip(length), length, ByteBufferPool.shared());
+            }
+            block.setExtrinsics(extrinsics);
+        }
+        return block;
+    }
+
+    /**
+     * Appends the fields of an event to a growing byte array.
+     */
+    private static final class Writer {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+
+        private void writeHeader(String parentHash, String number, String stateRoot, String extrinsicsRoot,
+                                 boolean hasDigest, String[] logs) {
+            writeHex(parentHash);
+            writeNumber(number);
+            writeHex(stateRoot);
+            writeHex(extrinsicsRoot);
+            out.write(hasDigest ? 1 : 0);
+            if (hasDigest) {
+                writeLength(logs == null ? -1 : logs.length);
+                if (logs != null) {
+                    for (String log : logs) {
+                        writeHex(log);
+                    }
+                }
+            }
+        }
+
+        private boolean writePresence(Object value) {
+            out.write(value == null ? 0 : 1);
+            return value != null;
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7fL) != 0) {
+                out.write((int) (value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        private void writeLength(int length) {
+            writeVarint(length + 1L);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeLength(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeLength(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        private void writeHex(String hex) {
+            if (hex == null) {
+                writeLength(-1);
+                return;
+            }
+            try {
+                byte[] bytes = new byte[ByteUtils.decodedLength(hex)];
+                ByteUtils.decodeHex(hex, bytes);
+                writeLength(bytes.length);
+                out.write(bytes, 0, bytes.length);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException(e.getMessage(), e);
+            }
+        }
+
+        private void writeNumber(String number) {
+            if (number == null) {
+                writeVarint(0);
+                return;
+            }
+            if (!number.startsWith(ByteUtils.HEX_PREFIX)) {
+                throw new SerializationException(MessageFormat.format(INVALID_NUMBER, number));
+            }
+            try {
+                writeVarint(Long.parseLong(number, ByteUtils.HEX_PREFIX.length(), number.length(), 16) + 1);
+            } catch (NumberFormatException e) {
+                throw new SerializationException(MessageFormat.format(INVALID_NUMBER, number), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of an event, after checking its schema version.
+     */
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+
+        private Reader(byte[] data) {
+            this.buffer = ByteBuffer.wrap(data);
+            byte version = data.length == 0 ? 0 : buffer.get();
+            if (version != SCHEMA_VERSION) {
+                throw new SerializationException(MessageFormat.format(UNSUPPORTED_VERSION, version));
+            }
+        }
+
+        private boolean readPresence() {
+            return get() != 0;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = get();
+                value |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in chain event");
+        }
+
+        private int readLength() {
+            return Math.toIntExact(readVarint() - 1);
+        }
+
+        private int skip(int length) {
+            int offset = buffer.position();
+            if (length > buffer.remaining()) {
+                throw new SerializationException("Truncated chain event");
+            }
+            buffer.position(offset + length);
+            return offset;
+        }
+
+        private String readString() {
+            int length = readLength();
+            return length < 0 ? null : new String(buffer.array(), skip(length), length, StandardCharsets.UTF_8);
+        }
+
+        private String readHex() {
+            int length = readLength();
+            return length < 0 ? null : ByteUtils.toHex(buffer.array(), skip(length), length);
+        }
+
+        private String readNumber() {
+            long value = readVarint();
+            return value == 0 ? null : ByteUtils.HEX_PREFIX + Long.toHexString(value - 1);
+        }
+
+        private String[] readHexArray() {
+            int count = readLength();
+            if (count < 0) {
+                return null;
+            }
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = readHex();
+            }
+            return values;
+        }
+
+        private byte get() {
+            try {
+                return buffer.get();
+            } catch (BufferUnderflowException e) {
+                throw new SerializationException("Truncated chain event", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.cypherfury.juniscan.kafka;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Kafka {@link Deserializer} reading chain events in the compact binary format of {@link ChainEventCodec}.
+ * <p>
+ * Records starting with `{` were written as JSON, before switching to the binary format, and are
+ * handed over to the JSON fallback deserializer.
+ *
+ * @param <T> the type of the events.
+ * @author Cypherfury
+ */
+public class ChainEventDeserializer<T> implements Deserializer<T> {
+
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final Function<byte[], T> decoder;
+    private final Deserializer<T> jsonFallback;
+
+    /**
+     * Constructor for `ChainEventDeserializer`.
+     *
+     * @param decoder      the {@link ChainEventCodec} method decoding the events.
+     * @param jsonFallback the deserializer of the records written as JSON.
+     */
+    public ChainEventDeserializer(Function<byte[], T> decoder, Deserializer<T> jsonFallback) {
+        this.decoder = decoder;
+        this.jsonFallback = jsonFallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonFallback.configure(configs, isKey);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return isJson(data) ? jsonFallback.deserialize(topic, data) : decoder.apply(data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return isJson(data) ? jsonFallback.deserialize(topic, headers, data) : decoder.apply(data);
+    }
+
+    @Override
+    public void close() {
+        jsonFallback.close();
+    }
+
+    private static boolean isJson(byte[] data) {
+        return data.length > 0 && data[0] == JSON_OBJECT_START;
+    }
+
+}
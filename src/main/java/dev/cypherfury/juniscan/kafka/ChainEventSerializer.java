@@ -0,0 +1,31 @@
+package dev.cypherfury.juniscan.kafka;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.function.Function;
+
+/**
+ * Kafka {@link Serializer} writing chain events in the compact binary format of {@link ChainEventCodec}.
+ *
+ * @param <T> the type of the events.
+ * @author Cypherfury
+ */
+public class ChainEventSerializer<T> implements Serializer<T> {
+
+    private final Function<T, byte[]> encoder;
+
+    /**
+     * Constructor for `ChainEventSerializer`.
+     *
+     * @param encoder the {@link ChainEventCodec} method encoding the events.
+     */
+    public ChainEventSerializer(Function<T, byte[]> encoder) {
+        this.encoder = encoder;
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return data == null ? null : encoder.apply(data);
+    }
+
+}
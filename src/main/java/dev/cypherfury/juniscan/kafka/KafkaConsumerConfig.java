@@ -1,85 +1,129 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.enums.KafkaSerdeFormat;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Configuration class for setting up Kafka consumers in the application.
  * <p>
  * This configuration enables Kafka in the application context and provides the required beans
- * to consume messages from a Kafka topic. The messages are deserialized into {@link NewHeadDTO}
- * objects for further processing.
+ * to consume messages from Kafka topics. The messages are deserialized into {@link NewHeadDTO}
+ * or {@link BlockDetailsDTO.Block} objects for further processing.
  * <p>
  * Responsibilities:
  * - Configures the Kafka ConsumerFactory with custom deserialization for {@link NewHeadDTO}.
- * - Provides a ConcurrentKafkaListenerContainerFactory for handling Kafka listener methods.
+ * - Configures a second ConsumerFactory deserializing whole blocks.
+ * - Reads the chain events in the compact binary format of {@link ChainEventCodec}, or in JSON, depending
+ *   on `kafka.serde.format`.
+ * - Provides a ConcurrentKafkaListenerContainerFactory for handling Kafka listener methods of each type.
+ * - Makes the new heads listener a batch listener, receiving up to `kafka.consumer.max-poll-records` records,
+ *   run by `kafka.consumer.concurrency` consumers sharing the partitions, and committing offsets manually.
+ * - Makes the blocks listener a batch listener as well, committing offsets manually once the blocks are indexed.
+ * - Retries the records whose processing fails with an exponential backoff, then logs and skips them,
+ *   so that a poison record never stalls a partition. Records that cannot be deserialized are skipped at once.
  * <p>
  * Dependencies:
- * - The Kafka server address and group ID are injected via application properties.
+ * - The Kafka server address, group ID, concurrency, batch size and retry backoff are injected via application properties.
  *
  * @author Cypherfury
  */
 @Configuration
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
 @EnableKafka
 public class KafkaConsumerConfig {
 
+    /**
+     * The consumer group reprocessing the dead letters.
+     */
+    public static final String DEAD_LETTER_GROUP_ID = "chain-dlt-reprocess";
+
     private final String serverAddress;
     private final String groupId;
+    private final int concurrency;
+    private final int maxPollRecords;
+    private final KafkaSerdeFormat serdeFormat;
+    private final int retryMaxAttempts;
+    private final long retryInitialBackoffMs;
+    private final double retryMultiplier;
+    private final long retryMaxBackoffMs;
 
     /**
      * Constructor to initialize KafkaConsumerConfig with server address and consumer group ID.
      *
-     * @param serverAddress the address of the Kafka server, injected from application properties.
-     * @param groupId       the Kafka consumer group ID, injected from application properties.
+     * @param serverAddress  the address of the Kafka server, injected from application properties.
+     * @param groupId        the Kafka consumer group ID, injected from application properties.
+     * @param concurrency    the number of consumers of the new heads, at most one per partition being useful.
+     * @param maxPollRecords the maximum number of records handed to a batch listener at once.
+     * @param serdeFormat    the format the chain events are read in.
+     * @param retryMaxAttempts      the number of times the processing of a record is retried before it is skipped.
+     * @param retryInitialBackoffMs the delay before the first retry, in milliseconds.
+     * @param retryMultiplier       the factor applied to the delay after every retry.
+     * @param retryMaxBackoffMs     the maximum delay between two retries, in milliseconds.
      */
     public KafkaConsumerConfig(@Value("${spring.kafka.bootstrap-servers}") String serverAddress,
-                               @Value("${spring.kafka.consumer.group-id}") String groupId) {
+                               @Value("${spring.kafka.consumer.group-id}") String groupId,
+                               @Value("${kafka.consumer.concurrency:3}") int concurrency,
+                               @Value("${kafka.consumer.max-poll-records:100}") int maxPollRecords,
+                               @Value("${kafka.serde.format:BINARY}") KafkaSerdeFormat serdeFormat,
+                               @Value("${retry.max-attempts:5}") int retryMaxAttempts,
+                               @Value("${retry.initial-backoff-ms:1000}") long retryInitialBackoffMs,
+                               @Value("${retry.multiplier:2.0}") double retryMultiplier,
+                               @Value("${retry.max-backoff-ms:60000}") long retryMaxBackoffMs) {
         this.serverAddress = serverAddress;
         this.groupId = groupId;
+        this.concurrency = concurrency;
+        this.maxPollRecords = maxPollRecords;
+        this.serdeFormat = serdeFormat;
+        this.retryMaxAttempts = retryMaxAttempts;
+        this.retryInitialBackoffMs = retryInitialBackoffMs;
+        this.retryMultiplier = retryMultiplier;
+        this.retryMaxBackoffMs = retryMaxBackoffMs;
     }
 
     /**
      * Creates a {@link ConsumerFactory} for consuming Kafka messages with {@link NewHeadDTO} as the value type.
      * <p>
      * The configuration includes:
-     * - Custom deserialization for {@link NewHeadDTO}.
-     * - Trusted package configuration for deserialization.
+     * - Custom deserialization for {@link NewHeadDTO}, in the configured {@link KafkaSerdeFormat}.
+     * - Trusted package configuration for JSON deserialization.
      * - Standard Kafka consumer configurations like server address and group ID.
      *
      * @return a configured {@link ConsumerFactory} instance.
      */
     @Bean
     public ConsumerFactory<String, NewHeadDTO> consumerFactory() {
-        JsonDeserializer<NewHeadDTO> deserializer = new JsonDeserializer<>(NewHeadDTO.class);
-        deserializer.setRemoveTypeHeaders(false);
-        deserializer.addTrustedPackages("*");
-        deserializer.setUseTypeMapperForKey(false);
-
-        Map<String, Object> config = new HashMap<>();
-        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, serverAddress);
-        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, deserializer);
-
-        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
+        return consumerFactory(NewHeadDTO.class, ChainEventCodec::decodeNewHead);
     }
 
     /**
      * Creates a {@link ConcurrentKafkaListenerContainerFactory} for Kafka listeners to consume messages asynchronously.
      * <p>
      * The factory uses the configured {@link ConsumerFactory} to handle message deserialization and processing.
+     * Listeners receive the records of a poll as a list, and acknowledge them once processed, the offsets
+     * being committed immediately. A failed batch is retried as a whole with the configured backoff, then skipped.
      *
      * @return a configured {@link ConcurrentKafkaListenerContainerFactory} instance.
      */
@@ -87,7 +131,109 @@ public class KafkaConsumerConfig {
     public ConcurrentKafkaListenerContainerFactory<String, NewHeadDTO> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, NewHeadDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(errorHandler());
+        return factory;
+    }
+
+    /**
+     * Creates a {@link ConsumerFactory} for consuming Kafka messages with {@link BlockDetailsDTO.Block} as the value type,
+     * with the same configuration as the new heads one.
+     *
+     * @return a configured {@link ConsumerFactory} instance.
+     */
+    @Bean
+    public ConsumerFactory<String, BlockDetailsDTO.Block> blockConsumerFactory() {
+        return consumerFactory(BlockDetailsDTO.Block.class, ChainEventCodec::decodeBlock);
+    }
+
+    /**
+     * Creates a {@link ConcurrentKafkaListenerContainerFactory} for Kafka listeners consuming whole blocks.
+     * Like the new heads ones, listeners receive the records of a poll as a list, and acknowledge them once
+     * the blocks are indexed, rather than once they are queued.
+     *
+     * @return a configured {@link ConcurrentKafkaListenerContainerFactory} instance.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, BlockDetailsDTO.Block> blockKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, BlockDetailsDTO.Block> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(blockConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(errorHandler());
         return factory;
     }
 
+    /**
+     * Creates a {@link ConsumerFactory} reading the dead letters, in JSON, on demand rather than from a listener.
+     * The dead letters are read from the oldest one, in their own consumer group, unreadable ones being read as `null`.
+     *
+     * @return a configured {@link ConsumerFactory} instance.
+     */
+    @Bean
+    public ConsumerFactory<String, DeadLetterDTO> deadLetterConsumerFactory() {
+        JsonDeserializer<DeadLetterDTO> deserializer = new JsonDeserializer<>(DeadLetterDTO.class, false);
+        Map<String, Object> config = consumerConfig();
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, DEAD_LETTER_GROUP_ID);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), new ErrorHandlingDeserializer<>(deserializer));
+    }
+
+    /**
+     * Creates the error handler retrying the failed records with an exponential backoff, then logging and
+     * skipping them. Deserialization failures are not retried.
+     *
+     * @return the error handler of the listener containers.
+     */
+    private DefaultErrorHandler errorHandler() {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(retryMaxAttempts);
+        backOff.setInitialInterval(retryInitialBackoffMs);
+        backOff.setMultiplier(retryMultiplier);
+        backOff.setMaxInterval(retryMaxBackoffMs);
+        return new DefaultErrorHandler(backOff);
+    }
+
+    /**
+     * Creates a {@link ConsumerFactory} deserializing values in the configured {@link KafkaSerdeFormat}.
+     * In the `BINARY` format, records written as JSON are still deserialized, as a fallback.
+     * The deserializer is wrapped in an {@link ErrorHandlingDeserializer}, so that an undeserializable record
+     * is handed to the error handler rather than failing every poll.
+     *
+     * @param type    the type of the values.
+     * @param decoder the {@link ChainEventCodec} method decoding binary values.
+     * @param <T>     the type of the values.
+     * @return a configured {@link ConsumerFactory} instance.
+     */
+    private <T> ConsumerFactory<String, T> consumerFactory(Class<T> type, Function<byte[], T> decoder) {
+        JsonDeserializer<T> jsonDeserializer = new JsonDeserializer<>(type);
+        jsonDeserializer.setRemoveTypeHeaders(false);
+        jsonDeserializer.addTrustedPackages("*");
+        jsonDeserializer.setUseTypeMapperForKey(false);
+        Deserializer<T> deserializer = serdeFormat == KafkaSerdeFormat.BINARY
+                ? new ChainEventDeserializer<>(decoder, jsonDeserializer)
+                : jsonDeserializer;
+
+        return new DefaultKafkaConsumerFactory<>(consumerConfig(), new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(deserializer));
+    }
+
+    /**
+     * Builds the configuration shared by the consumers. Offsets are never committed automatically,
+     * only once the records are processed.
+     * The value deserializer is not configured here, since it is passed as an instance to the factory.
+     *
+     * @return the consumer configuration.
+     */
+    private Map<String, Object> consumerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, serverAddress);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return config;
+    }
+
 }
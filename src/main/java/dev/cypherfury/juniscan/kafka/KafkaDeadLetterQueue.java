@@ -0,0 +1,144 @@
+package dev.cypherfury.juniscan.kafka;
+
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.bus.DeadLetterQueue;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link DeadLetterQueue} backed by the {@link KafkaPublisher#DEAD_LETTER_TOPIC}.
+ * <p>
+ * Responsibilities:
+ * - Publishes the dead letters to the topic as JSON, keyed by block number, then releases the extrinsics of their block.
+ * - Reads them back on demand, oldest first within each partition, committing the offsets of the dead letters handed out.
+ * <p>
+ * The consumer is assigned every partition of the topic directly rather than subscribing to it, so that a replay
+ * does not wait for a group rebalance. It is not thread-safe, so reads are serialized.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
+public class KafkaDeadLetterQueue implements DeadLetterQueue {
+
+    private final KafkaTemplate<String, DeadLetterDTO> deadLetterKafkaTemplate;
+    private final ConsumerFactory<String, DeadLetterDTO> deadLetterConsumerFactory;
+    private final Duration pollTimeout;
+
+    private Consumer<String, DeadLetterDTO> consumer;
+
+    /**
+     * Constructor for `KafkaDeadLetterQueue`.
+     *
+     * @param deadLetterKafkaTemplate   the template sending the dead letters.
+     * @param deadLetterConsumerFactory the factory of the consumer reading them back.
+     * @param pollTimeoutMs             the maximum time waited for dead letters on a read, in milliseconds.
+     */
+    public KafkaDeadLetterQueue(KafkaTemplate<String, DeadLetterDTO> deadLetterKafkaTemplate,
+                                ConsumerFactory<String, DeadLetterDTO> deadLetterConsumerFactory,
+                                @Value("${dead-letter.poll-timeout-ms:1000}") long pollTimeoutMs) {
+        this.deadLetterKafkaTemplate = deadLetterKafkaTemplate;
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMs);
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(DeadLetterDTO deadLetter) {
+        try {
+            return deadLetterKafkaTemplate.send(KafkaPublisher.DEAD_LETTER_TOPIC, deadLetter.getNumber(), deadLetter)
+                    .thenAccept(result -> log.debug("Dead letter for block {} acknowledged.", deadLetter.getNumber()));
+        } finally {
+            if (deadLetter.getBlock() != null) {
+                deadLetter.getBlock().release();
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<DeadLetterDTO> poll(int max) {
+        Consumer<String, DeadLetterDTO> deadLetterConsumer = consumer();
+        List<DeadLetterDTO> polled = new ArrayList<>();
+        if (deadLetterConsumer == null) {
+            return polled;
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        while (polled.size() < max) {
+            ConsumerRecords<String, DeadLetterDTO> records = deadLetterConsumer.poll(pollTimeout);
+            if (records.isEmpty()) {
+                break;
+            }
+            for (TopicPartition partition : records.partitions()) {
+                for (ConsumerRecord<String, DeadLetterDTO> record : records.records(partition)) {
+                    if (polled.size() >= max) {
+                        deadLetterConsumer.seek(partition, record.offset());
+                        break;
+                    }
+                    if (record.value() == null) {
+                        log.warn("Skipping unreadable dead letter at offset {} of {}.", record.offset(), partition);
+                    } else {
+                        polled.add(record.value());
+                    }
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+        }
+        if (!offsets.isEmpty()) {
+            deadLetterConsumer.commitSync(offsets);
+        }
+        return polled;
+    }
+
+    /**
+     * Closes the consumer, if it was created.
+     * This method is invoked automatically by the Spring framework.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (consumer != null) {
+            consumer.close();
+            consumer = null;
+        }
+    }
+
+    /**
+     * Creates the consumer on the first read, assigning it every partition of the topic.
+     *
+     * @return the consumer, or `null` if the topic does not exist yet.
+     */
+    private Consumer<String, DeadLetterDTO> consumer() {
+        if (consumer == null) {
+            Consumer<String, DeadLetterDTO> created = deadLetterConsumerFactory.createConsumer();
+            List<PartitionInfo> partitions = created.partitionsFor(KafkaPublisher.DEAD_LETTER_TOPIC, pollTimeout);
+            if (partitions == null || partitions.isEmpty()) {
+                created.close();
+                return null;
+            }
+            created.assign(partitions.stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList());
+            consumer = created;
+        }
+        return consumer;
+    }
+
+}
@@ -1,56 +1,143 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.exception.BlockRetryingException;
+import dev.cypherfury.juniscan.exception.IngestQueueFullException;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
 import dev.cypherfury.juniscan.service.WebSocketNodeService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
- * Service for processing new block head events received from Kafka.
+ * Service for processing new block head and block events received from Kafka.
  * <p>
  * This class listens to the Kafka topic defined in {@link KafkaPublisher#NEW_HEAD_TOPIC}
- * and processes {@link NewHeadDTO} messages by fetching the associated block details
- * from the blockchain node using {@link WebSocketNodeService}.
+ * and processes batches of {@link NewHeadDTO} messages by fetching the associated block details
+ * from the blockchain node using {@link WebSocketNodeService}, in a single JSON-RPC batch.
+ * It also listens to the {@link KafkaPublisher#BLOCK_TOPIC}, whose blocks are indexed
+ * without querying the node.
  * <p>
  * Responsibilities:
- * - Consume Kafka messages for new block heads.
+ * - Consume Kafka messages for new block heads, in batches.
  * - Delegate fetching of block details to {@link WebSocketNodeService}.
+ * - Save the blocks of a batch in a single transaction, then commit the offsets of the batch, the blocks
+ *   that cannot be decoded being retried in the background rather than failing the batch.
+ * - Consume Kafka messages for whole blocks, in batches, and submit them to the {@link BlockIngestService},
+ *   committing the offsets of the batch only once every block is indexed or handed to the retry tier.
  * <p>
  * Dependencies:
  * - {@link WebSocketNodeService}: Interacts with the blockchain node to retrieve block details.
+ * - {@link BlockIngestService}: Decodes and saves the consumed blocks.
+ * - {@link BlockRetryService}: Decodes and saves the blocks of a batch of new heads, retrying the failed ones.
  *
  * @author Cypherfury
  */
 @Service
 @Slf4j
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
 public class KafkaProcessor {
 
     private final WebSocketNodeService webSocketNodeService;
+    private final BlockIngestService ingestService;
+    private final BlockRetryService retryService;
 
     /**
      * Constructs a new {@code NewHeadProcessor}.
      *
      * @param webSocketNodeService the service used to interact with the blockchain node.
+     * @param ingestService        the queue handing consumed blocks over to the indexing workers.
+     * @param retryService         the service decoding and saving the blocks of the new heads, retrying the failed ones.
      */
-    public KafkaProcessor(WebSocketNodeService webSocketNodeService) {
+    public KafkaProcessor(WebSocketNodeService webSocketNodeService, BlockIngestService ingestService,
+                          BlockRetryService retryService) {
         this.webSocketNodeService = webSocketNodeService;
+        this.ingestService = ingestService;
+        this.retryService = retryService;
     }
 
     /**
-     * Listens to the Kafka topic for new block head events and processes them.
+     * Listens to the Kafka topic for new block head events and processes them in batches.
      * <p>
-     * This method is invoked automatically whenever a new {@link NewHeadDTO} message
-     * is published to the {@link KafkaPublisher#NEW_HEAD_TOPIC}.
-     * It logs the incoming message and delegates the task of fetching block details
-     * to the {@link WebSocketNodeService}.
+     * This method is invoked automatically with the records of a poll whenever new {@link NewHeadDTO} messages
+     * are published to the {@link KafkaPublisher#NEW_HEAD_TOPIC}. The parent blocks of the new heads are
+     * fetched in a single JSON-RPC batch and saved in a single transaction, after which the batch is acknowledged.
+     * Blocks that cannot be decoded are handed to the {@link BlockRetryService}, the rest of the batch being saved.
+     * If anything else fails, the exception is left to the container and the batch is not acknowledged,
+     * so that it is retried with a backoff. Records that could not be deserialized are ignored.
      *
-     * @param newHead the {@link NewHeadDTO} object representing the new block head.
+     * @param newHeads       the {@link NewHeadDTO} objects representing the new block heads.
+     * @param acknowledgment the handle committing the offsets of the batch.
      */
     @KafkaListener(topics = KafkaPublisher.NEW_HEAD_TOPIC, groupId = "chain-group")
-    public void processNewHead(NewHeadDTO newHead) {
-        log.info("Processing new head: {}", newHead);
-        webSocketNodeService.fetchBlockDetails(newHead.getParams().getResult().getParentHash());
+    public void processNewHeads(List<NewHeadDTO> newHeads, Acknowledgment acknowledgment) {
+        List<String> parentHashes = newHeads.stream()
+                .filter(Objects::nonNull)
+                .map(newHead -> newHead.getParams() == null || newHead.getParams().getResult() == null
+                        ? null : newHead.getParams().getResult().getParentHash())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        log.info("Processing {} new head(s).", newHeads.size());
+        List<BlockDetailsDTO.Block> blocks = webSocketNodeService.fetchBlocks(parentHashes).join();
+        int saved = retryService.decodeAndSaveAll(blocks);
+        acknowledgment.acknowledge();
+        log.info("Saved {} of {} fetched block(s).", saved, blocks.size());
+    }
+
+    /**
+     * Listens to the Kafka topic for whole blocks and submits them to the ingest queue, in batches.
+     * <p>
+     * This method is invoked automatically with the records of a poll whenever blocks are published to the
+     * {@link KafkaPublisher#BLOCK_TOPIC}, in the `BLOCK` ingest mode. The batch is acknowledged once every block
+     * is indexed, or handed to the {@link BlockRetryService} since it cannot be. If a block is dropped because
+     * the ingest queue is full, the exception is left to the container and the batch is not acknowledged, so
+     * that it is retried with a backoff, the blocks already indexed being skipped. Records that could not be
+     * deserialized are ignored.
+     *
+     * @param blocks         the blocks published by the node subscriber.
+     * @param acknowledgment the handle committing the offsets of the batch.
+     * @throws CompletionException if a block is dropped by the ingest queue.
+     */
+    @KafkaListener(topics = KafkaPublisher.BLOCK_TOPIC, groupId = "chain-group",
+            containerFactory = "blockKafkaListenerContainerFactory")
+    public void processBlocks(List<BlockDetailsDTO.Block> blocks, Acknowledgment acknowledgment) {
+        log.info("Processing {} block(s).", blocks.size());
+        CompletableFuture<?>[] futures = blocks.stream()
+                .filter(Objects::nonNull)
+                .map(this::submit)
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Submits a block to the ingest queue, a block handed to the retry tier counting as processed.
+     *
+     * @param block the consumed block.
+     * @return a future completed once the block is indexed or retried, or completed exceptionally with an
+     * {@link IngestQueueFullException} if the block is dropped.
+     */
+    private CompletableFuture<Void> submit(BlockDetailsDTO.Block block) {
+        return ingestService.submit(block)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof BlockRetryingException) {
+                        log.warn("Consumed block handed to the retry tier: {}", cause.getMessage());
+                        return null;
+                    }
+                    throw new CompletionException(cause);
+                });
     }
 
 }
@@ -1,11 +1,16 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.enums.KafkaSerdeFormat;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -13,54 +18,75 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Configuration class for setting up Kafka producers in the application.
  * <p>
  * This configuration provides the necessary beans to produce messages to a Kafka topic.
- * The messages are serialized into JSON format, using {@link JsonSerializer} for values
- * and {@link StringSerializer} for keys.
+ * The messages are serialized into the compact binary format of {@link ChainEventCodec}, or into JSON
+ * format using {@link JsonSerializer}, depending on `kafka.serde.format`, and {@link StringSerializer} is used for keys.
  * <p>
  * Responsibilities:
- * - Configures the Kafka ProducerFactory with JSON serialization for {@link NewHeadDTO}.
- * - Provides a KafkaTemplate for sending messages to Kafka topics.
+ * - Configures the Kafka ProducerFactories for {@link NewHeadDTO} and blocks, with binary or JSON serialization.
+ * - Tunes the producers for throughput: messages are batched for up to `kafka.producer.linger-ms`
+ *   or `kafka.producer.batch-size` bytes, and compressed with `kafka.producer.compression-type`.
+ * - Enables idempotence, so that retries neither duplicate nor reorder the messages of a partition.
+ * - Provides a KafkaTemplate for sending each type of message to Kafka topics.
  * <p>
  * Dependencies:
- * - The Kafka server address is injected via application properties.
+ * - The Kafka server address and producer tuning are injected via application properties.
  * <p>
  * @author Cypherfury
  */
 @Configuration
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
 public class KafkaProducerConfig {
 
     private final String serverAddress;
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+    private final boolean idempotence;
+    private final KafkaSerdeFormat serdeFormat;
 
     /**
-     * Constructor to initialize KafkaProducerConfig with the server address.
+     * Constructor to initialize KafkaProducerConfig with the server address and producer tuning.
      *
-     * @param serverAddress the address of the Kafka server, injected from application properties.
+     * @param serverAddress   the address of the Kafka server, injected from application properties.
+     * @param lingerMs        how long a batch waits for more messages before being sent.
+     * @param batchSize       the maximum size of a batch, in bytes, per partition.
+     * @param compressionType the compression codec of the batches (`none`, `gzip`, `snappy`, `lz4` or `zstd`).
+     * @param idempotence     whether the producer is idempotent, requiring the acknowledgement of all replicas.
+     * @param serdeFormat     the format the chain events are written in.
      */
-    public KafkaProducerConfig(@Value("${spring.kafka.bootstrap-servers}") String serverAddress) {
+    public KafkaProducerConfig(@Value("${spring.kafka.bootstrap-servers}") String serverAddress,
+                               @Value("${kafka.producer.linger-ms:20}") int lingerMs,
+                               @Value("${kafka.producer.batch-size:131072}") int batchSize,
+                               @Value("${kafka.producer.compression-type:lz4}") String compressionType,
+                               @Value("${kafka.producer.idempotence:true}") boolean idempotence,
+                               @Value("${kafka.serde.format:BINARY}") KafkaSerdeFormat serdeFormat) {
         this.serverAddress = serverAddress;
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+        this.idempotence = idempotence;
+        this.serdeFormat = serdeFormat;
     }
 
     /**
      * Creates a {@link ProducerFactory} for producing Kafka messages with {@link NewHeadDTO} as the value type.
      * <p>
      * The configuration includes:
-     * - JSON serialization for values.
+     * - JSON or binary serialization for values, depending on the configured {@link KafkaSerdeFormat}.
      * - String serialization for keys.
-     * - Kafka server address.
+     * - Kafka server address, batching, compression and idempotence.
      *
      * @return a configured {@link ProducerFactory} instance.
      */
     @Bean
     public ProducerFactory<String, NewHeadDTO> producerFactory() {
-        Map<String, Object> config = new HashMap<>();
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, serverAddress);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        return producerFactory(ChainEventCodec::encodeNewHead);
     }
 
     /**
@@ -75,4 +101,87 @@ public class KafkaProducerConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates a {@link ProducerFactory} for producing Kafka messages with {@link BlockDetailsDTO.Block} as the value type,
+     * with the same configuration as the new heads one.
+     *
+     * @return a configured {@link ProducerFactory} instance.
+     */
+    @Bean
+    public ProducerFactory<String, BlockDetailsDTO.Block> blockProducerFactory() {
+        return producerFactory(ChainEventCodec::encodeBlock);
+    }
+
+    /**
+     * Creates a {@link KafkaTemplate} for sending blocks to Kafka topics.
+     *
+     * @return a configured {@link KafkaTemplate} instance.
+     */
+    @Bean
+    public KafkaTemplate<String, BlockDetailsDTO.Block> blockKafkaTemplate() {
+        return new KafkaTemplate<>(blockProducerFactory());
+    }
+
+    /**
+     * Creates a {@link KafkaTemplate} for relaying the outbox events, whose payloads are already serialized
+     * as JSON, with the same configuration as the other producers.
+     *
+     * @return a configured {@link KafkaTemplate} instance.
+     */
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerConfig(), new StringSerializer(), new StringSerializer()));
+    }
+
+    /**
+     * Creates a {@link KafkaTemplate} for sending dead letters, always serialized as JSON so that they can be
+     * inspected on the topic, with the same configuration as the other producers.
+     *
+     * @return a configured {@link KafkaTemplate} instance.
+     */
+    @Bean
+    public KafkaTemplate<String, DeadLetterDTO> deadLetterKafkaTemplate() {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerConfig(), new StringSerializer(), new JsonSerializer<>()));
+    }
+
+    /**
+     * Creates a {@link ProducerFactory} serializing values in the configured {@link KafkaSerdeFormat}.
+     *
+     * @param encoder the {@link ChainEventCodec} method encoding binary values.
+     * @param <T>     the type of the values.
+     * @return a configured {@link ProducerFactory} instance.
+     */
+    private <T> ProducerFactory<String, T> producerFactory(Function<T, byte[]> encoder) {
+        if (serdeFormat == KafkaSerdeFormat.BINARY) {
+            return new DefaultKafkaProducerFactory<>(producerConfig(), new StringSerializer(), new ChainEventSerializer<>(encoder));
+        }
+        return new DefaultKafkaProducerFactory<>(producerConfig());
+    }
+
+    /**
+     * Builds the configuration shared by the producers.
+     * <p>
+     * With idempotence, every replica must acknowledge a batch and up to 5 batches may be in flight per
+     * connection, the brokers rejecting duplicates and out of order batches on retry.
+     *
+     * @return the producer configuration.
+     */
+    private Map<String, Object> producerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, serverAddress);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        if (serdeFormat == KafkaSerdeFormat.JSON) {
+            config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        }
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            config.put(ProducerConfig.ACKS_CONFIG, "all");
+            config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        }
+        return config;
+    }
+
+}
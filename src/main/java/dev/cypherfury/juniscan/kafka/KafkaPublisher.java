@@ -1,17 +1,32 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Service for publishing events to Kafka topics.
+ * Service for publishing events to Kafka topics, the default {@link ChainEventBus}.
  * <p>
- * This class is responsible for sending {@link NewHeadDTO} messages to a specific Kafka topic.
+ * This class is responsible for sending {@link NewHeadDTO} messages and whole blocks to their Kafka topics.
  * It encapsulates the interaction with the KafkaTemplate, ensuring that messages are sent
  * reliably and providing logging for debugging and monitoring.
  * <p>
+ * Responsibilities:
+ * - Keys every message by its block number, so that the messages of a block always land on the same
+ *   partition, in order.
+ * - Tracks the completion of every send: its acknowledgement latency, or its failure.
+ * - Exposes the sent, acknowledged, failed and pending counters and the acknowledgement latencies.
+ * <p>
  * Dependencies:
  * - {@link KafkaTemplate}: Handles the serialization and delivery of messages to Kafka.
  *
@@ -19,35 +34,128 @@ import org.springframework.stereotype.Service;
  */
 @Slf4j
 @Service
-public class KafkaPublisher {
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
+public class KafkaPublisher implements ChainEventBus {
 
     /**
      * The Kafka topic used for publishing new block head events.
      */
     public static final String NEW_HEAD_TOPIC = "chain-new-head";
 
+    /**
+     * The Kafka topic used for publishing whole blocks, keyed by block number.
+     */
+    public static final String BLOCK_TOPIC = "chain-block";
+
+    /**
+     * The Kafka topic the decoded blocks are relayed to from the transactional outbox, keyed by block number.
+     */
+    public static final String DECODED_BLOCK_TOPIC = "chain-decoded-blocks";
+
+    /**
+     * The Kafka topic keeping the blocks that could not be indexed after every retry, keyed by block number.
+     */
+    public static final String DEAD_LETTER_TOPIC = "chain-block-dlt";
+
     private final KafkaTemplate<String, NewHeadDTO> kafkaTemplate;
+    private final KafkaTemplate<String, BlockDetailsDTO.Block> blockKafkaTemplate;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
 
     /**
      * Constructs a new {@code KafkaEventPublisher}.
      *
-     * @param kafkaTemplate the {@link KafkaTemplate} used to send messages to Kafka.
+     * @param kafkaTemplate      the {@link KafkaTemplate} used to send new heads to Kafka.
+     * @param blockKafkaTemplate the {@link KafkaTemplate} used to send blocks to Kafka.
      */
-    public KafkaPublisher(KafkaTemplate<String, NewHeadDTO> kafkaTemplate) {
+    public KafkaPublisher(KafkaTemplate<String, NewHeadDTO> kafkaTemplate,
+                          KafkaTemplate<String, BlockDetailsDTO.Block> blockKafkaTemplate) {
         this.kafkaTemplate = kafkaTemplate;
+        this.blockKafkaTemplate = blockKafkaTemplate;
     }
 
     /**
-     * Publishes a new block head event to the Kafka topic.
+     * Publishes a new block head event to the Kafka topic, keyed by its number.
      * <p>
      * The method serializes the provided {@link NewHeadDTO} and sends it to the
-     * {@link #NEW_HEAD_TOPIC}. A log entry is created to confirm the publication.
+     * {@link #NEW_HEAD_TOPIC}. A log entry is created once the brokers acknowledge it.
      *
      * @param newHead the {@link NewHeadDTO} object representing the new block head.
+     * @return a future completed once the new head is acknowledged, or completed exceptionally if the send fails.
+     */
+    @Override
+    public CompletableFuture<Void> publishNewHead(NewHeadDTO newHead) {
+        String number = newHead.getParams() == null || newHead.getParams().getResult() == null
+                ? null : newHead.getParams().getResult().getNumber();
+        return track(NEW_HEAD_TOPIC, number, System.nanoTime(), kafkaTemplate.send(NEW_HEAD_TOPIC, number, newHead));
+    }
+
+    /**
+     * Publishes a whole block to the {@link #BLOCK_TOPIC}, keyed by its number.
+     * <p>
+     * The block is serialized while being sent, so the pooled buffers of its extrinsics are released afterwards.
+     *
+     * @param block the fetched block.
+     * @return a future completed once the block is acknowledged, or completed exceptionally if the send fails.
+     */
+    @Override
+    public CompletableFuture<Void> publishBlock(BlockDetailsDTO.Block block) {
+        String number = block.getHeader() == null ? null : block.getHeader().getNumber();
+        long start = System.nanoTime();
+        try {
+            return track(BLOCK_TOPIC, number, start, blockKafkaTemplate.send(BLOCK_TOPIC, number, block));
+        } finally {
+            block.release();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the publisher metrics.
+     *
+     * @return the current counters and acknowledgement latencies.
      */
-    public void publishNewHead(NewHeadDTO newHead) {
-        kafkaTemplate.send(NEW_HEAD_TOPIC, newHead);
-        log.info("Published new head to Kafka: {}", newHead);
+    @Override
+    public PublishStatsDTO stats() {
+        long acknowledgedCount = acknowledged.get();
+        long failedCount = failed.get();
+        double averageLatencyMs = acknowledgedCount == 0 ? 0 : toMillis(totalLatencyNanos.get()) / acknowledgedCount;
+        return new PublishStatsDTO(sent.get(), acknowledgedCount, failedCount, sent.get() - acknowledgedCount - failedCount,
+                averageLatencyMs, toMillis(maxLatencyNanos.get()));
+    }
+
+    /**
+     * Records the outcome of a send once it completes.
+     *
+     * @param topic  the topic the message was sent to.
+     * @param key    the key of the message.
+     * @param start  the {@link System#nanoTime()} at which the message was sent.
+     * @param result the future of the send.
+     * @return a future completed once the message is acknowledged.
+     */
+    private <V> CompletableFuture<Void> track(String topic, String key, long start,
+                                              CompletableFuture<SendResult<String, V>> result) {
+        sent.incrementAndGet();
+        return result.handle((sendResult, e) -> {
+            if (e != null) {
+                failed.incrementAndGet();
+                log.error("Unable to publish {} to {}: {}", key, topic, e.getMessage());
+                throw e instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e);
+            }
+            long latency = System.nanoTime() - start;
+            acknowledged.incrementAndGet();
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            log.info("Published {} to {} in {} ms.", key, topic, TimeUnit.NANOSECONDS.toMillis(latency));
+            return null;
+        });
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
     }
 
 }
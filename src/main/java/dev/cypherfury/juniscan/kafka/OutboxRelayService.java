@@ -0,0 +1,124 @@
+package dev.cypherfury.juniscan.kafka;
+
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.entity.OutboxEvent;
+import dev.cypherfury.juniscan.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays the events of the transactional outbox to Kafka.
+ * <p>
+ * Responsibilities:
+ * - Polls the `outbox_event` table every `outbox.poll-interval-ms` for the oldest events.
+ * - Sends them to Kafka in batches of `outbox.batch-size`, by increasing id.
+ * - Deletes a batch once every event of it is acknowledged, and drains the table batch after batch.
+ * <p>
+ * Delivery is at least once: if the relay stops between the acknowledgement and the deletion of a batch,
+ * the batch is sent again on the next poll, so consumers must tolerate duplicates, e.g. by block number.
+ * <p>
+ * Ids are allocated when the events are inserted, not when their transaction commits, so an event may be
+ * committed, and relayed, after one with a higher id. The relay gives no ordering guarantee beyond the id order,
+ * not even between two events of the same block key.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+@Profile("!" + ChainEventBus.RING_BUFFER_PROFILE)
+public class OutboxRelayService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong relayed = new AtomicLong();
+
+    /**
+     * Constructor for `OutboxRelayService`.
+     *
+     * @param outboxEventRepository repository for interacting with `OutboxEvent` entities.
+     * @param outboxKafkaTemplate   the {@link KafkaTemplate} sending the JSON payloads of the events.
+     * @param batchSize             the maximum number of events sent at once.
+     * @param sendTimeoutMs         how long to wait for a batch to be acknowledged.
+     */
+    public OutboxRelayService(OutboxEventRepository outboxEventRepository,
+                              KafkaTemplate<String, String> outboxKafkaTemplate,
+                              @Value("${outbox.batch-size:500}") int batchSize,
+                              @Value("${outbox.send-timeout-ms:30000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    /**
+     * Relays the pending events, batch after batch, until the outbox is drained or a batch fails.
+     * Events of a failed batch stay in the outbox and are sent again on the next poll.
+     *
+     * @return the number of events relayed.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public int relay() {
+        int total = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findByOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty() || !send(batch)) {
+                break;
+            }
+            outboxEventRepository.deleteByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+            total += batch.size();
+        } while (batch.size() == batchSize);
+        if (total > 0) {
+            log.debug("Relayed {} outbox event(s).", total);
+        }
+        relayed.addAndGet(total);
+        return total;
+    }
+
+    /**
+     * Returns the number of events relayed since the application started.
+     *
+     * @return the number of relayed events.
+     */
+    public long getRelayed() {
+        return relayed.get();
+    }
+
+    /**
+     * Sends a batch of events and waits for all of them to be acknowledged.
+     *
+     * @param batch the events to send.
+     * @return `true` if every event was acknowledged, `false` otherwise.
+     */
+    private boolean send(List<OutboxEvent> batch) {
+        CompletableFuture<?>[] results = batch.stream()
+                .map(event -> outboxKafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(results).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Unable to relay {} outbox event(s), retrying on the next poll: {}", batch.size(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
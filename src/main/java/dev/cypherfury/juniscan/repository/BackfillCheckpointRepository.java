@@ -0,0 +1,32 @@
+package dev.cypherfury.juniscan.repository;
+
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing `BackfillCheckpoint` entities.
+ * <p>
+ * Responsibilities:
+ * - Provides CRUD (Create, Read, Update, Delete) operations for `BackfillCheckpoint` entities.
+ * - Supports finding an unfinished checkpoint for a given block range so it can be resumed.
+ *
+ * @author Cypherfury
+ */
+@Repository
+public interface BackfillCheckpointRepository extends CrudRepository<BackfillCheckpoint, Long> {
+
+    /**
+     * Finds a checkpoint covering the given block range whose status differs from the given one.
+     *
+     * @param fromBlock the first block number of the range.
+     * @param toBlock   the last block number of the range.
+     * @param status    the status the checkpoint must not have.
+     * @return an {@code Optional} containing the checkpoint if found, or empty if not.
+     */
+    Optional<BackfillCheckpoint> findFirstByFromBlockAndToBlockAndStatusNot(long fromBlock, long toBlock, BackfillStatus status);
+
+}
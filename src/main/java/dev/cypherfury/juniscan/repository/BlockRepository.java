@@ -1,9 +1,15 @@
 package dev.cypherfury.juniscan.repository;
 
 import dev.cypherfury.juniscan.entity.Block;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing `Block` entities.
  * <p>
@@ -20,6 +26,58 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BlockRepository extends CrudRepository<Block, Long> {
 
-    boolean existsByNumber(String number);
+    /**
+     * Finds the blocks within a range of numbers, along the unique index of the number. Also used to page
+     * forward through the blocks, each page starting after the last block of the previous one.
+     *
+     * @param from  the lowest block number.
+     * @param to    the highest block number (inclusive).
+     * @param limit the maximum number of blocks.
+     * @return the blocks, by increasing number.
+     */
+    List<Block> findByNumberBetweenOrderByNumberAsc(long from, long to, Limit limit);
+
+    /**
+     * Finds the blocks preceding a block number, to page backward through the blocks, from the latest ones.
+     *
+     * @param number the number of the last block of the previous page, or {@link Long#MAX_VALUE} for the first page.
+     * @param limit  the maximum number of blocks.
+     * @return the blocks, by decreasing number.
+     */
+    List<Block> findByNumberLessThanOrderByNumberDesc(long number, Limit limit);
+
+    /**
+     * Finds the blocks whose parent has the given hash, along the index of the parent hash.
+     *
+     * @param parentHash the hash of the parent block, as a "0x"-prefixed hex string.
+     * @return the children of the block, several of them if the chain forked.
+     */
+    List<Block> findByParentHash(String parentHash);
+
+    /**
+     * Finds a block by its hash, along the unique index of the hash.
+     *
+     * @param hash the hash of the block, as a "0x"-prefixed hex string.
+     * @return the block, or empty if it is not saved.
+     */
+    Optional<Block> findByHash(String hash);
+
+    /**
+     * Checks whether a block with the given number is saved, along the unique index of the number.
+     *
+     * @param number the block number.
+     * @return `true` if the block is saved, `false` otherwise.
+     */
+    boolean existsByNumber(long number);
+
+    /**
+     * Finds the block numbers following a block number, to page through every indexed block number.
+     *
+     * @param number the last block number of the previous page, or -1 for the first page.
+     * @param limit  the maximum number of block numbers.
+     * @return the block numbers, in ascending order.
+     */
+    @Query("SELECT b.number FROM Block b WHERE b.number > :number ORDER BY b.number")
+    List<Long> findNumbersAfter(@Param("number") long number, Limit limit);
 
 }
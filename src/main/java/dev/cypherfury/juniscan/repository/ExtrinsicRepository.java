@@ -4,6 +4,8 @@ import dev.cypherfury.juniscan.entity.Extrinsic;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing `Extrinsic` entities.
  * <p>
@@ -19,4 +21,13 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ExtrinsicRepository extends CrudRepository<Extrinsic, Long> {
+
+    /**
+     * Finds the extrinsics with the given hash, along the index of the hash.
+     *
+     * @param hash the hash of the extrinsic, as a "0x"-prefixed hex string.
+     * @return the extrinsics, several of them if identical bytes were included in several blocks.
+     */
+    List<Extrinsic> findByHash(String hash);
+
 }
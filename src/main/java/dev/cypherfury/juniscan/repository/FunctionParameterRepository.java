@@ -0,0 +1,30 @@
+package dev.cypherfury.juniscan.repository;
+
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.FunctionParameter;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing `FunctionParameter` entities.
+ * <p>
+ * Responsibilities:
+ * - Provides CRUD (Create, Read, Update, Delete) operations for `FunctionParameter` entities.
+ * - Reads the parameters of a function in the order they are encoded in a call.
+ *
+ * @author Cypherfury
+ */
+@Repository
+public interface FunctionParameterRepository extends CrudRepository<FunctionParameter, Long> {
+
+    /**
+     * Finds the parameters of a function.
+     *
+     * @param function the `Function` entity.
+     * @return the parameters, by increasing id, i.e. in the order of the call arguments.
+     */
+    List<FunctionParameter> findByFunctionOrderByIdAsc(Function function);
+
+}
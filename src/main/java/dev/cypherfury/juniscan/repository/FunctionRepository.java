@@ -2,9 +2,11 @@ package dev.cypherfury.juniscan.repository;
 
 import dev.cypherfury.juniscan.entity.Function;
 import dev.cypherfury.juniscan.entity.Module;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,6 +16,7 @@ import java.util.Optional;
  * - Provides CRUD (Create, Read, Update, Delete) operations for `Function` entities.
  * - Extends Spring Data's `CrudRepository` to inherit basic repository functionality.
  * - Supports custom query methods for finding `Function` entities by module and call index.
+ * - Reads every function along with its module, in a single query, to preload the catalogue.
  * Usage:
  * - Inject this repository wherever database access for `Function` entities is needed.
  * - Use the {@code findByModuleAndCallIndex} method to retrieve a specific function
@@ -33,4 +36,12 @@ public interface FunctionRepository extends CrudRepository<Function, Long> {
      */
     Optional<Function> findByModuleAndCallIndex(Module module, int callIndex);
 
+    /**
+     * Finds every `Function` entity, with its module fetched in the same query.
+     *
+     * @return all the functions.
+     */
+    @Query("select f from Function f join fetch f.module")
+    List<Function> findAllWithModule();
+
 }
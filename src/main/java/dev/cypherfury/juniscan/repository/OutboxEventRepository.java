@@ -0,0 +1,46 @@
+package dev.cypherfury.juniscan.repository;
+
+import dev.cypherfury.juniscan.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing `OutboxEvent` entities.
+ * <p>
+ * Responsibilities:
+ * - Provides CRUD (Create, Read, Update, Delete) operations for `OutboxEvent` entities.
+ * - Reads the oldest events first, in the order their ids were allocated, which may differ from their commit order.
+ * - Deletes relayed events in a single statement.
+ *
+ * @author Cypherfury
+ */
+@Repository
+public interface OutboxEventRepository extends CrudRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the oldest events.
+     *
+     * @param limit the maximum number of events.
+     * @return the events, by increasing id.
+     */
+    List<OutboxEvent> findByOrderByIdAsc(Limit limit);
+
+    /**
+     * Deletes the events with the given ids.
+     *
+     * @param ids the ids of the events.
+     * @return the number of deleted events.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+}
@@ -0,0 +1,81 @@
+package dev.cypherfury.juniscan.rpc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the number of requests sent in a single JSON-RPC batch to the observed behaviour of the node.
+ * <p>
+ * Responsibilities:
+ * - Grows the batch size by a quarter while full batches are answered within the target latency and payload size.
+ * - Halves the batch size as soon as a batch is too slow or its response too large.
+ * - Keeps the batch size within the configured bounds.
+ * <p>
+ * The batch size therefore converges to the largest batch the node answers comfortably, without producing
+ * frames larger than the WebSocket buffers.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class AdaptiveBatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyNanos;
+    private final long maxPayloadBytes;
+
+    private volatile int currentSize;
+
+    /**
+     * Constructor for `AdaptiveBatchSizer`.
+     *
+     * @param minSize         the smallest batch size.
+     * @param maxSize         the largest batch size.
+     * @param targetLatencyMs the latency above which the batch size is reduced.
+     * @param maxPayloadBytes the response size above which the batch size is reduced.
+     */
+    public AdaptiveBatchSizer(@Value("${rpc.batch.min-size:1}") int minSize,
+                              @Value("${rpc.batch.max-size:100}") int maxSize,
+                              @Value("${rpc.batch.target-latency-ms:500}") long targetLatencyMs,
+                              @Value("${rpc.batch.max-payload-bytes:4194304}") long maxPayloadBytes) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid batch size bounds: " + minSize + " - " + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.currentSize = minSize;
+    }
+
+    /**
+     * Returns the number of requests to send in the next batch.
+     *
+     * @return the current batch size.
+     */
+    public int current() {
+        return currentSize;
+    }
+
+    /**
+     * Records the outcome of a batch and adapts the batch size.
+     *
+     * @param batchSize     the number of requests in the batch.
+     * @param latencyNanos  the time between sending the batch and receiving its response.
+     * @param payloadLength the length of the response frame.
+     */
+    public synchronized void record(int batchSize, long latencyNanos, long payloadLength) {
+        if (latencyNanos > targetLatencyNanos || payloadLength > maxPayloadBytes) {
+            currentSize = Math.max(minSize, currentSize / 2);
+            log.debug("Batch of {} took {} ms for {} bytes, reducing batch size to {}",
+                    batchSize, TimeUnit.NANOSECONDS.toMillis(latencyNanos), payloadLength, currentSize);
+        } else if (batchSize >= currentSize) {
+            currentSize = Math.min(maxSize, currentSize + Math.max(1, currentSize / 4));
+        }
+    }
+
+}
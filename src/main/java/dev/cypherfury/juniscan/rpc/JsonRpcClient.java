@@ -0,0 +1,340 @@
+package dev.cypherfury.juniscan.rpc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.JsonRpcRequestDTO;
+import dev.cypherfury.juniscan.exception.JsonRpcErrorException;
+import dev.cypherfury.juniscan.exception.SendSocketMessageException;
+import dev.cypherfury.juniscan.service.WebSocketConnectionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JSON-RPC 2.0 client running on top of the {@link WebSocketConnectionManager}.
+ * <p>
+ * Responsibilities:
+ * - Assigns a unique identifier to every outgoing request.
+ * - Keeps track of pending requests and completes their {@link CompletableFuture} when the
+ *   matching response is received.
+ * - Fails requests that are not answered within the configured timeout.
+ * - Routes every request to the healthiest node of the pool, and reports its latency or failure to the node.
+ * <p>
+ * Any number of requests can be in flight at the same time on the WebSocket connections,
+ * responses being matched to their request by identifier rather than by arrival order or connection.
+ * Requests can also be grouped in a JSON-RPC batch sent as a single frame; once every request of the batch is
+ * answered, the latency and size of the batch are reported to the {@link AdaptiveBatchSizer}.
+ * <p>
+ * Results are bound from a {@link JsonParser} straight to the type expected by the pending request,
+ * without building an intermediate {@link JsonNode} tree.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class JsonRpcClient {
+
+    /**
+     * The first identifier handed out by the client. Identifier 1 is reserved for the head subscription.
+     */
+    public static final long FIRST_REQUEST_ID = 2;
+
+    private final WebSocketConnectionManager connectionManager;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveBatchSizer batchSizer;
+    private final long timeoutMs;
+
+    private final AtomicLong nextId = new AtomicLong(FIRST_REQUEST_ID);
+    private final Map<Long, PendingRequest<?>> pendingRequests = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for `JsonRpcClient`.
+     *
+     * @param connectionManager manages the WebSocket connection used to send requests.
+     * @param objectMapper      JSON parser and serializer.
+     * @param batchSizer        adapts the batch size to the observed batch responses.
+     * @param timeoutMs         maximum time in milliseconds to wait for a response.
+     */
+    public JsonRpcClient(WebSocketConnectionManager connectionManager,
+                         ObjectMapper objectMapper,
+                         AdaptiveBatchSizer batchSizer,
+                         @Value("${rpc.request-timeout-ms:30000}") long timeoutMs) {
+        this.connectionManager = connectionManager;
+        this.objectMapper = objectMapper;
+        this.batchSizer = batchSizer;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Sends a JSON-RPC request and returns a future completed with its result.
+     * <p>
+     * The future is completed exceptionally with a {@link JsonRpcErrorException} if the node answers
+     * with an error, or with a {@link java.util.concurrent.TimeoutException} if no response is received
+     * within the configured timeout.
+     *
+     * @param method     the JSON-RPC method to invoke.
+     * @param resultType the type the `result` field is bound to.
+     * @param params     the positional parameters of the request.
+     * @param <T>        the type of the result.
+     * @return a future completed with the result of the call.
+     * @throws SendSocketMessageException if the request cannot be sent.
+     */
+    public <T> CompletableFuture<T> call(String method, Class<T> resultType, Object... params) {
+        long id = nextId.getAndIncrement();
+        String request = serialize(new JsonRpcRequestDTO(id, method, params));
+        RpcNode node = selectNode(request);
+        CompletableFuture<T> future = register(id, method, resultType, node, System.nanoTime(), null);
+        send(node, request, List.of(id));
+        return future;
+    }
+
+    /**
+     * Sends a JSON-RPC batch invoking the same method once per parameter, in a single frame.
+     * <p>
+     * The returned futures are in the order of the given parameters, each of them being completed
+     * like the future returned by {@link #call}.
+     *
+     * @param method     the JSON-RPC method to invoke.
+     * @param resultType the type the `result` field of each response is bound to.
+     * @param params     the single positional parameter of each request.
+     * @param <T>        the type of the results.
+     * @return the futures completed with the result of each call.
+     * @throws SendSocketMessageException if the batch cannot be sent.
+     */
+    public <T> List<CompletableFuture<T>> callBatch(String method, Class<T> resultType, List<?> params) {
+        if (params.isEmpty()) {
+            return List.of();
+        }
+        List<JsonRpcRequestDTO> requests = new ArrayList<>(params.size());
+        List<Long> ids = new ArrayList<>(params.size());
+        for (Object param : params) {
+            long id = nextId.getAndIncrement();
+            requests.add(new JsonRpcRequestDTO(id, method, new Object[]{param}));
+            ids.add(id);
+        }
+        String message = serialize(requests);
+        RpcNode node = selectNode(message);
+        long sentAt = System.nanoTime();
+        Batch batch = new Batch(ids.size(), sentAt);
+        List<CompletableFuture<T>> futures = new ArrayList<>(params.size());
+        for (long id : ids) {
+            futures.add(register(id, method, resultType, node, sentAt, batch));
+        }
+        send(node, message, ids);
+        return futures;
+    }
+
+    /**
+     * Completes the pending request matching the given identifier with its result.
+     *
+     * @param id           the identifier of the response.
+     * @param result       a parser positioned on the first token of the `result` field,
+     *                     or `null` if the response has no result.
+     * @param resultLength the length of the `result` field in the received frame.
+     * @return `true` if the response matched a pending request, `false` otherwise.
+     */
+    public boolean complete(long id, JsonParser result, long resultLength) {
+        PendingRequest<?> pending = pendingRequests.remove(id);
+        if (pending == null) {
+            return false;
+        }
+        pending.node().recordSuccess(System.nanoTime() - pending.sentAt());
+        if (pending.batch() != null) {
+            pending.batch().received(resultLength);
+        }
+        pending.completeWith(objectMapper, result);
+        return true;
+    }
+
+    /**
+     * Fails the pending request matching the given identifier with the error returned by the node.
+     *
+     * @param id    the identifier of the response.
+     * @param error the `error` field of the response.
+     * @return `true` if the response matched a pending request, `false` otherwise.
+     */
+    public boolean fail(long id, JsonNode error) {
+        PendingRequest<?> pending = pendingRequests.remove(id);
+        if (pending == null) {
+            return false;
+        }
+        pending.node().recordSuccess(System.nanoTime() - pending.sentAt());
+        if (pending.batch() != null) {
+            pending.batch().received(0);
+        }
+        pending.future().completeExceptionally(new JsonRpcErrorException(pending.method(), error));
+        return true;
+    }
+
+    /**
+     * Fails every request pending on the given node with the given cause.
+     * Used when the connection to the node is lost and no more responses can be received from it.
+     *
+     * @param node  the node whose connection was lost.
+     * @param cause the reason why the pending requests are failed.
+     */
+    public void failAll(RpcNode node, Throwable cause) {
+        pendingRequests.values().removeIf(pending -> {
+            if (pending.node() != node) {
+                return false;
+            }
+            node.recordFailure();
+            pending.future().completeExceptionally(cause);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the number of requests waiting for a response.
+     *
+     * @return the number of pending requests.
+     */
+    public int pendingCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Selects the node a message is routed to.
+     *
+     * @param message the JSON message to send.
+     * @return the healthiest open node.
+     * @throws SendSocketMessageException if no node is available.
+     */
+    private RpcNode selectNode(String message) {
+        try {
+            return connectionManager.selectNode();
+        } catch (RuntimeException e) {
+            throw new SendSocketMessageException(message, e);
+        }
+    }
+
+    /**
+     * Registers a pending request, removed once completed or timed out.
+     * A timed out request is recorded as a failure of the node it was sent to.
+     *
+     * @param id         the identifier of the request.
+     * @param method     the JSON-RPC method of the request.
+     * @param resultType the type the result is bound to.
+     * @param node       the node the request is sent to.
+     * @param sentAt     the time the request is sent, in nanoseconds.
+     * @param batch      the batch the request belongs to, or `null` if sent on its own.
+     * @param <T>        the type of the result.
+     * @return the future completed with the result.
+     */
+    private <T> CompletableFuture<T> register(long id, String method, Class<T> resultType,
+                                              RpcNode node, long sentAt, Batch batch) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        pendingRequests.put(id, new PendingRequest<>(method, resultType, future, node, sentAt, batch));
+        node.requestSent();
+        future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> {
+                    boolean timedOut = pendingRequests.remove(id) != null && e instanceof TimeoutException;
+                    if (timedOut) {
+                        node.recordFailure();
+                    }
+                    if (batch != null) {
+                        batch.requestDone(timedOut);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * Sends a message to a node, failing its pending requests if it cannot be sent.
+     *
+     * @param node    the node to send the message to.
+     * @param message the JSON message to send.
+     * @param ids     the identifiers of the requests contained in the message.
+     * @throws SendSocketMessageException if the message cannot be sent.
+     */
+    private void send(RpcNode node, String message, List<Long> ids) {
+        try {
+            connectionManager.sendMessage(node, message);
+        } catch (IOException | RuntimeException e) {
+            ids.forEach(id -> {
+                PendingRequest<?> pending = pendingRequests.remove(id);
+                if (pending != null) {
+                    node.recordFailure();
+                    pending.future().completeExceptionally(e);
+                }
+            });
+            throw new SendSocketMessageException(message, e);
+        }
+    }
+
+    /**
+     * Serializes a request or a batch of requests into its JSON representation.
+     *
+     * @param request the request or list of requests to serialize.
+     * @return the JSON message.
+     */
+    private String serialize(Object request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new SendSocketMessageException(request.toString(), e);
+        }
+    }
+
+    /**
+     * A request waiting for its response, along with the type its result is bound to and the node it was sent to.
+     */
+    private record PendingRequest<T>(String method, Class<T> resultType, CompletableFuture<T> future,
+                                     RpcNode node, long sentAt, Batch batch) {
+
+        void completeWith(ObjectMapper objectMapper, JsonParser result) {
+            try {
+                future.complete(result == null ? null : objectMapper.readValue(result, resultType));
+            } catch (IOException | IllegalArgumentException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * The requests sent together in a JSON-RPC batch. Reports the batch to the {@link AdaptiveBatchSizer}
+     * once every request is done, unless none of them was answered or timed out, e.g. if the batch could not be sent.
+     */
+    private final class Batch {
+
+        private final int size;
+        private final long sentAt;
+        private final AtomicInteger remaining;
+        private final AtomicLong payloadLength = new AtomicLong();
+        private volatile boolean observed;
+
+        Batch(int size, long sentAt) {
+            this.size = size;
+            this.sentAt = sentAt;
+            this.remaining = new AtomicInteger(size);
+        }
+
+        void received(long resultLength) {
+            payloadLength.addAndGet(resultLength);
+            observed = true;
+        }
+
+        void requestDone(boolean timedOut) {
+            if (timedOut) {
+                observed = true;
+            }
+            if (remaining.decrementAndGet() == 0 && observed) {
+                batchSizer.record(size, System.nanoTime() - sentAt, payloadLength.get());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package dev.cypherfury.juniscan.rpc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A node of the RPC connection pool, along with its WebSocket session and health statistics.
+ * <p>
+ * Responsibilities:
+ * - Holds the current WebSocket session to the node, if any.
+ * - Tracks an exponentially weighted moving average of the response latency and of the error rate.
+ * - Counts the requests sent to the node and not answered yet.
+ * - Computes a health score used to route requests, the lowest score being the healthiest node.
+ * <p>
+ * Sends on the same session are serialized, a WebSocket session not supporting concurrent sends.
+ *
+ * @author Cypherfury
+ */
+public class RpcNode {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double ERROR_PENALTY = 20;
+    private static final long BASE_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Getter
+    private final String url;
+
+    @Getter
+    @Setter
+    private volatile WebSocketSession session;
+
+    private volatile double latencyNanos;
+    private volatile double errorRate;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructor for `RpcNode`.
+     *
+     * @param url the WebSocket URL of the node.
+     */
+    public RpcNode(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Indicates whether the session to the node is currently open.
+     *
+     * @return `true` if messages can be sent to the node, `false` otherwise.
+     */
+    public boolean isOpen() {
+        WebSocketSession current = session;
+        return current != null && current.isOpen();
+    }
+
+    /**
+     * Sends a message to the node.
+     *
+     * @param message the JSON-RPC message to send.
+     * @throws IOException           if there is an error sending the message.
+     * @throws IllegalStateException if the session to the node is not open.
+     */
+    public void send(String message) throws IOException {
+        WebSocketSession current = session;
+        if (current == null || !current.isOpen()) {
+            throw new IllegalStateException("WebSocket session to " + url + " is closed.");
+        }
+        synchronized (current) {
+            current.sendMessage(new TextMessage(message));
+        }
+    }
+
+    /**
+     * Records a request sent to the node.
+     */
+    public void requestSent() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records a response received from the node.
+     *
+     * @param latencyNanos the time between sending the request and receiving its response.
+     */
+    public synchronized void recordSuccess(long latencyNanos) {
+        this.latencyNanos += SMOOTHING * (latencyNanos - this.latencyNanos);
+        this.errorRate -= SMOOTHING * this.errorRate;
+        inFlight.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Records a request that failed or was not answered by the node.
+     */
+    public synchronized void recordFailure() {
+        this.errorRate += SMOOTHING * (1 - this.errorRate);
+        inFlight.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Returns the health score of the node. The score grows with the latency, the error rate and
+     * the number of requests in flight, so that requests are spread across the healthy nodes.
+     *
+     * @return the health score, the lowest being the healthiest.
+     */
+    public double score() {
+        return (latencyNanos + BASE_LATENCY_NANOS) * (1 + ERROR_PENALTY * errorRate) * (1 + inFlight.get());
+    }
+
+    /**
+     * Returns the average response latency of the node.
+     *
+     * @return the average latency, in milliseconds.
+     */
+    public double latencyMs() {
+        return latencyNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the average error rate of the node.
+     *
+     * @return the error rate, between 0 and 1.
+     */
+    public double errorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Returns the number of requests sent to the node and not answered yet.
+     *
+     * @return the number of requests in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+}
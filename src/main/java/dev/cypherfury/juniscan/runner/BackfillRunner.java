@@ -0,0 +1,56 @@
+package dev.cypherfury.juniscan.runner;
+
+import dev.cypherfury.juniscan.service.BackfillService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Starts a historical backfill from the command line.
+ * <p>
+ * The backfill is triggered when both `--backfill.from` and `--backfill.to` options are given, e.g.
+ * <pre>
+ *     java -jar juniscan.war --backfill.from=0 --backfill.to=100000
+ * </pre>
+ * The application keeps indexing new heads while the backfill runs in the background.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class BackfillRunner implements ApplicationRunner {
+
+    static final String FROM_OPTION = "backfill.from";
+    static final String TO_OPTION = "backfill.to";
+
+    private final BackfillService backfillService;
+
+    /**
+     * Constructor for `BackfillRunner`.
+     *
+     * @param backfillService service for indexing historical blocks.
+     */
+    public BackfillRunner(BackfillService backfillService) {
+        this.backfillService = backfillService;
+    }
+
+    /**
+     * Starts the backfill if the range options are present.
+     *
+     * @param args the application arguments.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> from = args.getOptionValues(FROM_OPTION);
+        List<String> to = args.getOptionValues(TO_OPTION);
+        if (from == null || to == null || from.isEmpty() || to.isEmpty()) {
+            return;
+        }
+        log.info("Starting backfill from the command line: {} to {}", from.getFirst(), to.getFirst());
+        backfillService.start(Long.parseLong(from.getFirst()), Long.parseLong(to.getFirst()));
+    }
+
+}
@@ -0,0 +1,60 @@
+package dev.cypherfury.juniscan.runner;
+
+import dev.cypherfury.juniscan.capture.CaptureReplayer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Replays a capture of raw frames from the command line.
+ * <p>
+ * The replay is triggered when the `--replay.from` option is given, e.g.
+ * <pre>
+ *     java -jar juniscan.war --replay.from=capture --replay.pace=recorded
+ * </pre>
+ * Frames are replayed at full speed unless `--replay.pace=recorded` is given.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Component
+public class ReplayRunner implements ApplicationRunner {
+
+    static final String FROM_OPTION = "replay.from";
+    static final String PACE_OPTION = "replay.pace";
+    static final String RECORDED_PACE = "recorded";
+
+    private final CaptureReplayer captureReplayer;
+
+    /**
+     * Constructor for `ReplayRunner`.
+     *
+     * @param captureReplayer replays captured frames.
+     */
+    public ReplayRunner(CaptureReplayer captureReplayer) {
+        this.captureReplayer = captureReplayer;
+    }
+
+    /**
+     * Replays the capture if the directory option is present.
+     *
+     * @param args the application arguments.
+     * @throws InterruptedException if the thread is interrupted while replaying at recorded pace.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        List<String> from = args.getOptionValues(FROM_OPTION);
+        if (from == null || from.isEmpty()) {
+            return;
+        }
+        List<String> pace = args.getOptionValues(PACE_OPTION);
+        boolean recordedPace = pace != null && pace.contains(RECORDED_PACE);
+        log.info("Replaying capture {} ({} pace).", from.getFirst(), recordedPace ? "recorded" : "full");
+        captureReplayer.replay(Path.of(from.getFirst()), recordedPace);
+    }
+
+}
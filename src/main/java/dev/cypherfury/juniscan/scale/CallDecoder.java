@@ -0,0 +1,92 @@
+package dev.cypherfury.juniscan.scale;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Decoder of the arguments of a function, compiled once from the types of its parameters.
+ * <p>
+ * Responsibilities:
+ * - Holds the codec of every parameter of the function, in the order they are encoded.
+ * - Decodes the arguments of a call into a compact JSON object, keyed by parameter name.
+ * <p>
+ * Instances are immutable and shared between threads.
+ *
+ * @author Cypherfury
+ */
+public final class CallDecoder {
+
+    private static final int ESTIMATED_ARGUMENT_LENGTH = 32;
+
+    @Getter
+    private final String name;
+    private final String quotedName;
+    private final String[] keys;
+    private final ScaleCodec[] codecs;
+
+    /**
+     * Constructor for `CallDecoder`.
+     *
+     * @param name   the name of the call, such as `Balances.transfer_keep_alive`.
+     * @param names  the names of the parameters, in order.
+     * @param codecs the codecs of the parameters, in the same order.
+     */
+    public CallDecoder(String name, List<String> names, List<ScaleCodec> codecs) {
+        this.name = name;
+        this.quotedName = quote(name);
+        this.keys = names.stream().map(parameter -> quote(parameter) + ':').toArray(String[]::new);
+        this.codecs = codecs.toArray(ScaleCodec[]::new);
+    }
+
+    /**
+     * Decodes the arguments of a call into a JSON object.
+     *
+     * @param reader reader positioned after the call index.
+     * @return the arguments, as a JSON object.
+     * @throws ScaleDecodingException if the data does not hold valid arguments.
+     */
+    public String decode(ScaleReader reader) {
+        StringBuilder json = new StringBuilder(2 + codecs.length * ESTIMATED_ARGUMENT_LENGTH);
+        decode(reader, json);
+        return json.toString();
+    }
+
+    /**
+     * Decodes the arguments of a call and appends them to a JSON document, as an object.
+     *
+     * @param reader reader positioned after the call index.
+     * @param json   the JSON document being written.
+     * @throws ScaleDecodingException if the data does not hold valid arguments.
+     */
+    public void decode(ScaleReader reader, StringBuilder json) {
+        json.append('{');
+        for (int i = 0; i < codecs.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(keys[i]);
+            codecs[i].decode(reader, json);
+        }
+        json.append('}');
+    }
+
+    /**
+     * Decodes a nested call and appends it to a JSON document, as an object holding its name and arguments.
+     *
+     * @param reader reader positioned after the call index.
+     * @param json   the JSON document being written.
+     */
+    public void decodeNested(ScaleReader reader, StringBuilder json) {
+        json.append("{\"call\":").append(quotedName).append(",\"args\":");
+        decode(reader, json);
+        json.append('}');
+    }
+
+    private static String quote(String value) {
+        return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + '"';
+    }
+
+}
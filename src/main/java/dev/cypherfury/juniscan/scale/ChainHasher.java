@@ -0,0 +1,124 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import dev.cypherfury.juniscan.utils.Blake2b;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Computes the BLAKE2b-256 hashes of blocks and extrinsics, as the node does.
+ * <p>
+ * Responsibilities:
+ * - Hashes the SCALE encoding of a block header: its parent hash, compact number, state root,
+ *   extrinsics root, then the vector of its digest logs.
+ * - Hashes the raw bytes of an extrinsic, length prefix included.
+ * <p>
+ * The header is encoded straight into the {@link Blake2b} digest, the hex strings of its fields being
+ * decoded into a reusable scratch array, so that no encoded header is ever built. Only the hex strings of
+ * the hashes returned are allocated. Instances are not thread-safe, and are meant to hash a batch of
+ * blocks or extrinsics on a single thread.
+ *
+ * @author Cypherfury
+ */
+public final class ChainHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final int SCRATCH_LENGTH = 256;
+
+    private final Blake2b blake2b = new Blake2b(HASH_LENGTH);
+    private final byte[] hash = new byte[HASH_LENGTH];
+    private byte[] scratch = new byte[SCRATCH_LENGTH];
+
+    /**
+     * Computes the hash of a block from its header.
+     *
+     * @param header the header of the block.
+     * @param number the number of the block, decoded from the header.
+     * @return the hash of the block, as a "0x"-prefixed hex string.
+     * @throws IllegalArgumentException if a hash or root is not a 32-byte hex string, or a log is not hex.
+     */
+    public String hashHeader(BlockDetailsDTO.Block.Header header, long number) {
+        blake2b.reset();
+        updateHash(header.getParentHash());
+        updateCompact(number);
+        updateHash(header.getStateRoot());
+        updateHash(header.getExtrinsicsRoot());
+        String[] logs = header.getDigest() == null ? null : header.getDigest().getLogs();
+        if (logs == null) {
+            updateCompact(0);
+        } else {
+            updateCompact(logs.length);
+            for (String log : logs) {
+                updateHex(log);
+            }
+        }
+        return digest();
+    }
+
+    /**
+     * Computes the hash of an extrinsic from its raw bytes.
+     *
+     * @param extrinsic the bytes of the extrinsic, length prefix included.
+     * @return the hash of the extrinsic, as a "0x"-prefixed hex string.
+     */
+    public String hashExtrinsic(ExtrinsicBytes extrinsic) {
+        blake2b.reset().update(extrinsic.array(), 0, extrinsic.length());
+        return digest();
+    }
+
+    /**
+     * Feeds the bytes of a 32-byte hash, from its hex string.
+     */
+    private void updateHash(String hex) {
+        if (hex == null || ByteUtils.decodedLength(hex) != HASH_LENGTH) {
+            throw new IllegalArgumentException(format("Invalid hash length: {0}", hex));
+        }
+        updateHex(hex);
+    }
+
+    /**
+     * Feeds the bytes of a hex string, decoded into the scratch array.
+     */
+    private void updateHex(String hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException(ByteUtils.NULL_HEX_STRING);
+        }
+        int length = ByteUtils.decodedLength(hex);
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        blake2b.update(scratch, 0, ByteUtils.decodeHex(hex, scratch));
+    }
+
+    /**
+     * Feeds the SCALE compact encoding of a non-negative number.
+     */
+    private void updateCompact(long value) {
+        if (value < 1L << 6) {
+            blake2b.update((byte) (value << 2));
+        } else if (value < 1L << 14) {
+            updateLittleEndian(value << 2 | 0b01, 2);
+        } else if (value < 1L << 30) {
+            updateLittleEndian(value << 2 | 0b10, 4);
+        } else {
+            int bytes = (Long.SIZE - Long.numberOfLeadingZeros(value) + 7) >>> 3;
+            blake2b.update((byte) ((bytes - 4) << 2 | 0b11));
+            updateLittleEndian(value, bytes);
+        }
+    }
+
+    private void updateLittleEndian(long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            blake2b.update((byte) (value >>> (i << 3)));
+        }
+    }
+
+    private String digest() {
+        blake2b.digest(hash, 0);
+        return ByteUtils.toHex(hash, 0, HASH_LENGTH);
+    }
+
+}
@@ -0,0 +1,30 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+
+/**
+ * Decoder of a single SCALE type, compiled once from its type string by {@link ScaleTypeParser}.
+ * <p>
+ * Responsibilities:
+ * - Reads a value of its type from a {@link ScaleReader}.
+ * - Appends it to a JSON document, without building an intermediate tree: numbers as JSON numbers, byte
+ *   sequences as hex strings, sequences and tuples as arrays, structs as objects and enum variants as their
+ *   name, or as an object holding their value under their name.
+ * <p>
+ * Codecs are stateless and can be shared between threads.
+ *
+ * @author Cypherfury
+ */
+@FunctionalInterface
+public interface ScaleCodec {
+
+    /**
+     * Decodes a value and appends it to the JSON document.
+     *
+     * @param reader reader positioned at the start of the value.
+     * @param json   the JSON document being written.
+     * @throws ScaleDecodingException if the data ends before the value, or does not hold a valid value.
+     */
+    void decode(ScaleReader reader, StringBuilder json);
+
+}
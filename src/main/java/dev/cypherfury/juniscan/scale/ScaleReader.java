@@ -0,0 +1,217 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Cursor reading SCALE-encoded values from a heap {@link ByteBuffer}.
+ * <p>
+ * Responsibilities:
+ * - Reads fixed-width little-endian integers and SCALE compact integers as primitives.
+ * - Encodes byte sequences straight from the backing array into hex strings, without copying them.
+ * - Fails with a {@link ScaleDecodingException} when the data ends before the value being read.
+ * <p>
+ * Values are read from the position of the buffer up to its limit, the position being advanced past
+ * every value read. No object is allocated to read a value, other than the hex strings returned, and the
+ * reader can be reused for another buffer with {@link #reset(ByteBuffer)}.
+ * Typical usage:
+ * <pre>
+ *     ScaleReader reader = new ScaleReader(ByteBuffer.wrap(bytes));
+ *     int tag = reader.readUByte();
+ *     long nonce = reader.readCompact();
+ * </pre>
+ *
+ * @author Cypherfury
+ */
+public final class ScaleReader {
+
+    private ByteBuffer buffer;
+
+    /**
+     * Constructor for `ScaleReader`, with nothing to read until {@link #reset(ByteBuffer)} is called.
+     */
+    public ScaleReader() {
+        this(ByteBuffer.allocate(0));
+    }
+
+    /**
+     * Constructor for `ScaleReader`.
+     *
+     * @param buffer the buffer to read, from its position to its limit.
+     */
+    public ScaleReader(ByteBuffer buffer) {
+        reset(buffer);
+    }
+
+    /**
+     * Moves the reader to another buffer. Its byte order is set to little-endian.
+     *
+     * @param buffer the buffer to read, from its position to its limit.
+     * @return this reader.
+     */
+    public ScaleReader reset(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return this;
+    }
+
+    /**
+     * Returns the offset of the next value, from the start of the buffer.
+     *
+     * @return the position of the reader.
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Returns the number of bytes left to read.
+     *
+     * @return the remaining bytes.
+     */
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Reads an unsigned byte.
+     *
+     * @return the value, from 0 to 255.
+     */
+    public int readUByte() {
+        require(1);
+        return buffer.get() & 0xff;
+    }
+
+    /**
+     * Reads an unsigned 16-bit little-endian integer.
+     *
+     * @return the value, from 0 to 65535.
+     */
+    public int readU16() {
+        require(2);
+        return buffer.getShort() & 0xffff;
+    }
+
+    /**
+     * Reads an unsigned 32-bit little-endian integer.
+     *
+     * @return the value, from 0 to 2^32 - 1.
+     */
+    public long readU32() {
+        require(4);
+        return buffer.getInt() & 0xffffffffL;
+    }
+
+    /**
+     * Reads a 64-bit little-endian integer.
+     *
+     * @return the value, as a signed long holding the same bits.
+     */
+    public long readU64() {
+        require(8);
+        return buffer.getLong();
+    }
+
+    /**
+     * Reads a SCALE compact integer. The two least significant bits of the first byte select the mode:
+     * a single byte, two bytes, four bytes, or the number of bytes that follow, minus 4.
+     * <p>
+     * The single, two and four-byte modes are decoded from one read of the buffer, the mode being
+     * known from the first byte without consuming it; only the big-integer mode reads byte by byte.
+     * Non-canonical encodings, such as a small value in a wider mode, are accepted.
+     *
+     * @return the value.
+     * @throws ScaleDecodingException if the value does not fit in a signed long.
+     */
+    public long readCompact() {
+        int position = buffer.position();
+        require(1);
+        int first = buffer.get(position);
+        switch (first & 0b11) {
+            case 0b00 -> {
+                buffer.position(position + 1);
+                return (first & 0xff) >>> 2;
+            }
+            case 0b01 -> {
+                require(2);
+                return (buffer.getShort() & 0xffff) >>> 2;
+            }
+            case 0b10 -> {
+                require(4);
+                return (buffer.getInt() & 0xffffffffL) >>> 2;
+            }
+            default -> {
+                buffer.position(position + 1);
+                return readBigCompact(first & 0xff, position);
+            }
+        }
+    }
+
+    /**
+     * Reads a SCALE compact integer expected to fit in an int, such as a length.
+     *
+     * @return the value.
+     * @throws ScaleDecodingException if the value does not fit in a signed int.
+     */
+    public int readCompactInt() {
+        int position = buffer.position();
+        long value = readCompact();
+        if (value > Integer.MAX_VALUE) {
+            throw new ScaleDecodingException("compact integer " + value + " does not fit in an int", position);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a sequence of bytes as a hex string.
+     *
+     * @param length the number of bytes.
+     * @return the hex string, prefixed with "0x".
+     */
+    public String readHex(int length) {
+        require(length);
+        String hex = ByteUtils.toHex(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return hex;
+    }
+
+    /**
+     * Skips a sequence of bytes.
+     *
+     * @param length the number of bytes.
+     */
+    public void skip(int length) {
+        require(length);
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Reads the big-integer mode of a compact integer: a little-endian integer of `(first >>> 2) + 4` bytes.
+     */
+    private long readBigCompact(int first, int position) {
+        int length = (first >>> 2) + 4;
+        require(length);
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            long b = buffer.get() & 0xffL;
+            if (b != 0 && (i >= 8 || (i == 7 && b > 0x7f))) {
+                throw new ScaleDecodingException("compact integer of " + length + " bytes does not fit in a long", position);
+            }
+            value |= i < 8 ? b << (8 * i) : 0;
+        }
+        return value;
+    }
+
+    /**
+     * Ensures the given number of bytes is left to read.
+     */
+    private void require(int length) {
+        if (length < 0 || buffer.remaining() < length) {
+            throw new ScaleDecodingException(length + " byte(s) expected, " + buffer.remaining() + " left", buffer.position());
+        }
+    }
+
+}
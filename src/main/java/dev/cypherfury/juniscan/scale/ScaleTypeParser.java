@@ -0,0 +1,362 @@
+package dev.cypherfury.juniscan.scale;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.exception.ScaleTypeException;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiler of the SCALE type strings of the runtime metadata into trees of {@link ScaleCodec}s.
+ * <p>
+ * Responsibilities:
+ * - Parses the primitive types (`u8` to `u128`, `i8` to `i64`, `bool`, `Null`), the byte types (`Bytes`,
+ *   `H256`, `AccountId32`, `[u8;N]`), the generic types (`Compact<T>`, `Vec<T>`, `Option<T>`, `Box<T>`),
+ *   tuples, fixed-size arrays, and the JSON structs and enums (`{"_enum": ...}`) of the metadata.
+ * - Resolves a few well-known named types, such as `MultiAddress`, to their definition.
+ * - Decodes nested calls (`Call`) with the codec given at construction.
+ * - Caches the codec of every type string, so that a type shared by several functions is compiled once.
+ * <p>
+ * Type strings are parsed when a function is first decoded, never per extrinsic. Decoding with the
+ * compiled codecs only reads the bytes and appends to the JSON document.
+ *
+ * @author Cypherfury
+ */
+public final class ScaleTypeParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ENUM_KEY = "_enum";
+    private static final String NULL_TYPE = "Null";
+
+    /**
+     * Named types resolved to their definition before being parsed.
+     */
+    private static final Map<String, String> ALIASES = Map.of(
+            "H256", "[u8;32]",
+            "AccountId32", "[u8;32]",
+            "Perbill", "u32",
+            "Vec<u8>", "Bytes",
+            "MultiAddress", "{\"_enum\":{\"Id\":\"AccountId32\",\"Index\":\"Compact<u32>\",\"Raw\":\"Bytes\","
+                    + "\"Address32\":\"H256\",\"Address20\":\"[u8;20]\"}}");
+
+    private static final ScaleCodec NULL = (reader, json) -> json.append("null");
+
+    private final Map<String, ScaleCodec> primitives;
+    private final Map<String, ScaleCodec> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for `ScaleTypeParser`.
+     *
+     * @param callCodec the codec decoding nested calls, whose arguments depend on their module and call index.
+     */
+    public ScaleTypeParser(ScaleCodec callCodec) {
+        this.primitives = Map.ofEntries(
+                Map.entry("u8", (reader, json) -> json.append(reader.readUByte())),
+                Map.entry("u16", (reader, json) -> json.append(reader.readU16())),
+                Map.entry("u32", (reader, json) -> json.append(reader.readU32())),
+                Map.entry("u64", (reader, json) -> json.append(Long.toUnsignedString(reader.readU64()))),
+                Map.entry("u128", ScaleTypeParser::decodeU128),
+                Map.entry("i8", (reader, json) -> json.append((byte) reader.readUByte())),
+                Map.entry("i16", (reader, json) -> json.append((short) reader.readU16())),
+                Map.entry("i32", (reader, json) -> json.append((int) reader.readU32())),
+                Map.entry("i64", (reader, json) -> json.append(reader.readU64())),
+                Map.entry("bool", ScaleTypeParser::decodeBool),
+                Map.entry("Bytes", (reader, json) -> appendHex(reader, reader.readCompactInt(), json)),
+                Map.entry(NULL_TYPE, NULL),
+                Map.entry("()", NULL),
+                Map.entry("Call", callCodec));
+    }
+
+    /**
+     * Compiles a type string into its codec, or returns the codec already compiled for it.
+     *
+     * @param type the type string, as stored in the `function_parameter` table.
+     * @return the codec.
+     * @throws ScaleTypeException if the type is malformed or unknown.
+     */
+    public ScaleCodec parse(String type) {
+        String normalized = type.strip();
+        ScaleCodec codec = cache.get(normalized);
+        if (codec == null) {
+            codec = compile(normalized);
+            cache.putIfAbsent(normalized, codec);
+        }
+        return codec;
+    }
+
+    /**
+     * Compiles a type string, its nested types being parsed recursively.
+     */
+    private ScaleCodec compile(String type) {
+        String alias = ALIASES.get(type);
+        if (alias != null) {
+            return parse(alias);
+        }
+        ScaleCodec primitive = primitives.get(type);
+        if (primitive != null) {
+            return primitive;
+        }
+        if (type.startsWith("{")) {
+            return compileJson(type);
+        }
+        if (type.startsWith("(") && type.endsWith(")")) {
+            return compileTuple(split(type.substring(1, type.length() - 1), ',', type));
+        }
+        if (type.startsWith("[") && type.endsWith("]")) {
+            return compileArray(type);
+        }
+        int open = type.indexOf('<');
+        if (open > 0 && type.endsWith(">")) {
+            return compileGeneric(type.substring(0, open), type.substring(open + 1, type.length() - 1).strip(), type);
+        }
+        throw new ScaleTypeException(type);
+    }
+
+    /**
+     * Compiles `Compact<T>`, `Vec<T>`, `Option<T>` and `Box<T>`.
+     */
+    private ScaleCodec compileGeneric(String name, String parameter, String type) {
+        return switch (name) {
+            case "Compact" -> (reader, json) -> json.append(reader.readCompact());
+            case "Box" -> parse(parameter);
+            case "Vec" -> vec(parse(parameter));
+            case "Option" -> option(parse(parameter));
+            default -> throw new ScaleTypeException(type);
+        };
+    }
+
+    /**
+     * Compiles a fixed-size array, `[T;N]`, encoded as its `N` elements without a length prefix.
+     */
+    private ScaleCodec compileArray(String type) {
+        List<String> parts = split(type.substring(1, type.length() - 1), ';', type);
+        if (parts.size() != 2) {
+            throw new ScaleTypeException(type);
+        }
+        int length;
+        try {
+            length = Integer.parseInt(parts.get(1));
+        } catch (NumberFormatException e) {
+            throw new ScaleTypeException(type, e);
+        }
+        if ("u8".equals(parts.get(0))) {
+            return (reader, json) -> appendHex(reader, length, json);
+        }
+        ScaleCodec element = parse(parts.get(0));
+        return (reader, json) -> {
+            json.append('[');
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                element.decode(reader, json);
+            }
+            json.append(']');
+        };
+    }
+
+    /**
+     * Compiles a tuple, encoded as its elements in order.
+     */
+    private ScaleCodec compileTuple(List<String> types) {
+        ScaleCodec[] elements = types.stream().map(this::parse).toArray(ScaleCodec[]::new);
+        return (reader, json) -> {
+            json.append('[');
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                elements[i].decode(reader, json);
+            }
+            json.append(']');
+        };
+    }
+
+    /**
+     * Compiles the JSON definition of a struct, or of an enum when it holds an `_enum` key.
+     */
+    private ScaleCodec compileJson(String type) {
+        JsonNode definition;
+        try {
+            definition = OBJECT_MAPPER.readTree(type);
+        } catch (JsonProcessingException e) {
+            throw new ScaleTypeException(type, e);
+        }
+        JsonNode variants = definition.get(ENUM_KEY);
+        if (variants == null) {
+            return struct(fields(definition, type));
+        }
+        if (variants.isArray()) {
+            List<String> names = new ArrayList<>();
+            variants.forEach(variant -> names.add(variant.asText()));
+            return unitEnum(names.stream().map(ScaleTypeParser::quote).toArray(String[]::new));
+        }
+        if (variants.isObject()) {
+            List<Map.Entry<String, String>> fields = fields(variants, type);
+            String[] names = fields.stream().map(field -> quote(field.getKey())).toArray(String[]::new);
+            ScaleCodec[] codecs = fields.stream()
+                    .map(field -> NULL_TYPE.equals(field.getValue()) ? null : parse(field.getValue()))
+                    .toArray(ScaleCodec[]::new);
+            return valueEnum(names, codecs);
+        }
+        throw new ScaleTypeException(type);
+    }
+
+    /**
+     * Reads the fields of a JSON definition, in declaration order.
+     */
+    private static List<Map.Entry<String, String>> fields(JsonNode definition, String type) {
+        if (!definition.isObject()) {
+            throw new ScaleTypeException(type);
+        }
+        List<Map.Entry<String, String>> fields = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> iterator = definition.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            if (!field.getValue().isTextual()) {
+                throw new ScaleTypeException(type);
+            }
+            fields.add(Map.entry(field.getKey(), field.getValue().asText()));
+        }
+        return fields;
+    }
+
+    private ScaleCodec struct(List<Map.Entry<String, String>> fields) {
+        String[] keys = fields.stream().map(field -> quote(field.getKey()) + ':').toArray(String[]::new);
+        ScaleCodec[] codecs = fields.stream().map(field -> parse(field.getValue())).toArray(ScaleCodec[]::new);
+        return (reader, json) -> {
+            json.append('{');
+            for (int i = 0; i < codecs.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(keys[i]);
+                codecs[i].decode(reader, json);
+            }
+            json.append('}');
+        };
+    }
+
+    private static ScaleCodec unitEnum(String[] names) {
+        return (reader, json) -> json.append(names[variant(reader, names.length)]);
+    }
+
+    private static ScaleCodec valueEnum(String[] names, ScaleCodec[] codecs) {
+        return (reader, json) -> {
+            int index = variant(reader, names.length);
+            if (codecs[index] == null) {
+                json.append(names[index]);
+            } else {
+                json.append('{').append(names[index]).append(':');
+                codecs[index].decode(reader, json);
+                json.append('}');
+            }
+        };
+    }
+
+    private static ScaleCodec vec(ScaleCodec element) {
+        return (reader, json) -> {
+            int position = reader.position();
+            int length = reader.readCompactInt();
+            if (length > reader.remaining()) {
+                throw new ScaleDecodingException("sequence of " + length + " element(s) longer than the data", position);
+            }
+            json.append('[');
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                element.decode(reader, json);
+            }
+            json.append(']');
+        };
+    }
+
+    private static ScaleCodec option(ScaleCodec value) {
+        return (reader, json) -> {
+            int position = reader.position();
+            switch (reader.readUByte()) {
+                case 0 -> json.append("null");
+                case 1 -> value.decode(reader, json);
+                default -> throw new ScaleDecodingException("invalid option tag", position);
+            }
+        };
+    }
+
+    /**
+     * Reads the index of an enum variant, checking it is in range.
+     */
+    private static int variant(ScaleReader reader, int count) {
+        int position = reader.position();
+        int index = reader.readUByte();
+        if (index >= count) {
+            throw new ScaleDecodingException("enum variant " + index + " out of " + count, position);
+        }
+        return index;
+    }
+
+    private static void decodeBool(ScaleReader reader, StringBuilder json) {
+        int position = reader.position();
+        switch (reader.readUByte()) {
+            case 0 -> json.append("false");
+            case 1 -> json.append("true");
+            default -> throw new ScaleDecodingException("invalid boolean", position);
+        }
+    }
+
+    private static void decodeU128(ScaleReader reader, StringBuilder json) {
+        long low = reader.readU64();
+        long high = reader.readU64();
+        if (high == 0) {
+            json.append(Long.toUnsignedString(low));
+        } else {
+            json.append(new BigInteger(Long.toUnsignedString(high)).shiftLeft(64)
+                    .add(new BigInteger(Long.toUnsignedString(low))));
+        }
+    }
+
+    private static void appendHex(ScaleReader reader, int length, StringBuilder json) {
+        json.append('"').append(reader.readHex(length)).append('"');
+    }
+
+    /**
+     * Splits a list of types on a separator, ignoring the separators nested in brackets.
+     */
+    private static List<String> split(String types, char separator, String type) {
+        List<String> parts = new ArrayList<>();
+        if (types.isBlank()) {
+            return parts;
+        }
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < types.length(); i++) {
+            char c = types.charAt(i);
+            if (c == '<' || c == '(' || c == '[' || c == '{') {
+                depth++;
+            } else if (c == '>' || c == ')' || c == ']' || c == '}') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(types.substring(start, i).strip());
+                start = i + 1;
+            }
+            if (depth < 0) {
+                throw new ScaleTypeException(type);
+            }
+        }
+        parts.add(types.substring(start).strip());
+        return parts;
+    }
+
+    private static String quote(String name) {
+        return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(name)) + '"';
+    }
+
+}
@@ -0,0 +1,332 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import dev.cypherfury.juniscan.exception.BackfillCheckpointNotFoundException;
+import dev.cypherfury.juniscan.exception.BlockHashNotFoundException;
+import dev.cypherfury.juniscan.exception.BlockRetryingException;
+import dev.cypherfury.juniscan.repository.BackfillCheckpointRepository;
+import dev.cypherfury.juniscan.rpc.AdaptiveBatchSizer;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Service indexing historical blocks that were not received through the new heads subscription.
+ * <p>
+ * Responsibilities:
+ * - Resolves the hash of every block of a range with `chain_getBlockHash`, then fetches it with `chain_getBlock`.
+ * - Sends both calls as JSON-RPC batches sized by the {@link AdaptiveBatchSizer}.
+ * - Keeps a bounded number of batches in flight on the JSON-RPC connection.
+ * - Feeds the fetched blocks through the {@link BlockIngestService}, sharing its back-pressure with the new heads.
+ * - Persists a {@link BackfillCheckpoint} so that an interrupted backfill resumes where it stopped.
+ * <p>
+ * The checkpoint always points to the lowest block not yet indexed, so blocks indexed out of order above it
+ * may be fetched again on resume; they are then skipped as already existing. Blocks handed to the retry tier
+ * are not indexed: the checkpoint stays below them, and the backfill ends `FAILED` rather than `COMPLETED`
+ * while any of them is retried, so that resuming it fetches them again.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class BackfillService {
+
+    private static final String GET_BLOCK_HASH_METHOD = "chain_getBlockHash";
+    private static final String GET_BLOCK_METHOD = "chain_getBlock";
+    private static final long CONNECTION_WAIT_MS = 1000;
+
+    private final JsonRpcClient rpcClient;
+    private final AdaptiveBatchSizer batchSizer;
+    private final BlockIngestService ingestService;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final WebSocketConnectionManager connectionManager;
+    private final Sleeper sleeper;
+    private final int concurrency;
+    private final int checkpointInterval;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor for `BackfillService`.
+     *
+     * @param rpcClient            JSON-RPC client used to fetch the blocks.
+     * @param batchSizer           provides the number of blocks fetched in a single batch.
+     * @param ingestService        queue handing fetched blocks over to the indexing workers.
+     * @param checkpointRepository repository persisting the backfill progress.
+     * @param connectionManager    manages the WebSocket connection to the node.
+     * @param sleeper              utility for waiting until the connection is established.
+     * @param concurrency          maximum number of batches fetched at the same time.
+     * @param checkpointInterval   number of blocks between two checkpoint updates.
+     */
+    public BackfillService(JsonRpcClient rpcClient,
+                           AdaptiveBatchSizer batchSizer,
+                           BlockIngestService ingestService,
+                           BackfillCheckpointRepository checkpointRepository,
+                           WebSocketConnectionManager connectionManager,
+                           Sleeper sleeper,
+                           @Value("${backfill.concurrency:4}") int concurrency,
+                           @Value("${backfill.checkpoint-interval:100}") int checkpointInterval) {
+        this.rpcClient = rpcClient;
+        this.batchSizer = batchSizer;
+        this.ingestService = ingestService;
+        this.checkpointRepository = checkpointRepository;
+        this.connectionManager = connectionManager;
+        this.sleeper = sleeper;
+        this.concurrency = concurrency;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Starts the backfill of a block range in the background.
+     * If an unfinished backfill of the same range exists, it is resumed from its checkpoint.
+     *
+     * @param from the first block number to index.
+     * @param to   the last block number to index (inclusive).
+     * @return the checkpoint tracking the backfill.
+     * @throws IllegalArgumentException if the range is invalid.
+     */
+    public BackfillCheckpoint start(long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid backfill range: " + from + " - " + to);
+        }
+        BackfillCheckpoint checkpoint = checkpointRepository
+                .findFirstByFromBlockAndToBlockAndStatusNot(from, to, BackfillStatus.COMPLETED)
+                .orElseGet(() -> BackfillCheckpoint.builder().fromBlock(from).toBlock(to).nextBlock(from).build());
+        return submit(checkpoint);
+    }
+
+    /**
+     * Resumes a backfill from its persisted checkpoint in the background.
+     *
+     * @param id the unique identifier of the checkpoint.
+     * @return the checkpoint tracking the backfill.
+     * @throws BackfillCheckpointNotFoundException if no checkpoint matches the given ID.
+     */
+    public BackfillCheckpoint resume(long id) {
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(id)
+                .orElseThrow(() -> new BackfillCheckpointNotFoundException(id));
+        if (checkpoint.getStatus() == BackfillStatus.COMPLETED) {
+            return checkpoint;
+        }
+        return submit(checkpoint);
+    }
+
+    /**
+     * Find all backfill checkpoints.
+     *
+     * @return an Iterable of checkpoints.
+     */
+    public Iterable<BackfillCheckpoint> findAll() {
+        return checkpointRepository.findAll();
+    }
+
+    /**
+     * Indicates whether a backfill is currently running in the background.
+     *
+     * @return `true` if at least one backfill is running, `false` otherwise.
+     */
+    public boolean isRunning() {
+        return !running.isEmpty();
+    }
+
+    /**
+     * Marks the checkpoint as running and runs the backfill in the background,
+     * unless the backfill of this checkpoint is already running.
+     *
+     * @param checkpoint the checkpoint tracking the backfill.
+     * @return the saved checkpoint.
+     */
+    private BackfillCheckpoint submit(BackfillCheckpoint checkpoint) {
+        if (running.contains(checkpoint.getId())) {
+            log.info("Backfill of blocks {} to {} is already running.", checkpoint.getFromBlock(), checkpoint.getToBlock());
+            return checkpoint;
+        }
+        checkpoint.setStatus(BackfillStatus.RUNNING);
+        BackfillCheckpoint saved = checkpointRepository.save(checkpoint);
+        running.add(saved.getId());
+        executor.execute(() -> {
+            try {
+                run(saved);
+            } finally {
+                running.remove(saved.getId());
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Indexes every block from the checkpoint to the end of the range in batches, keeping at most
+     * {@code concurrency} batches in flight. Stops dispatching new batches at the first failure.
+     *
+     * @param checkpoint the checkpoint tracking the backfill.
+     */
+    void run(BackfillCheckpoint checkpoint) {
+        log.info("Backfilling blocks {} to {}.", checkpoint.getNextBlock(), checkpoint.getToBlock());
+        Semaphore permits = new Semaphore(concurrency);
+        NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        NavigableSet<Long> retrying = new ConcurrentSkipListSet<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long next = checkpoint.getNextBlock();
+        try {
+            awaitConnection();
+            while (next <= checkpoint.getToBlock() && failure.get() == null) {
+                permits.acquire();
+                long last = Math.min(checkpoint.getToBlock(), next + batchSizer.current() - 1);
+                List<Long> numbers = LongStream.rangeClosed(next, last).boxed().toList();
+                inFlight.addAll(numbers);
+                fetchAndSave(numbers, retrying).whenComplete((ignored, e) -> {
+                    if (e == null) {
+                        numbers.forEach(inFlight::remove);
+                    } else {
+                        failure.compareAndSet(null, e);
+                    }
+                    permits.release();
+                });
+                if ((last - checkpoint.getFromBlock() + 1) / checkpointInterval > (next - checkpoint.getFromBlock()) / checkpointInterval) {
+                    persist(checkpoint, lowestNotIndexed(inFlight, retrying, last + 1), BackfillStatus.RUNNING);
+                }
+                next = last + 1;
+            }
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
+        if (failure.get() != null) {
+            log.error("Backfill of blocks {} to {} failed: {}", checkpoint.getFromBlock(), checkpoint.getToBlock(), failure.get().getMessage());
+            persist(checkpoint, lowestNotIndexed(inFlight, retrying, next), BackfillStatus.FAILED);
+        } else if (!retrying.isEmpty()) {
+            log.warn("Backfill of blocks {} to {} incomplete: {} block(s) are being retried, from block {}.",
+                    checkpoint.getFromBlock(), checkpoint.getToBlock(), retrying.size(), retrying.first());
+            persist(checkpoint, retrying.first(), BackfillStatus.FAILED);
+        } else {
+            log.info("Backfill of blocks {} to {} completed.", checkpoint.getFromBlock(), checkpoint.getToBlock());
+            persist(checkpoint, checkpoint.getToBlock() + 1, BackfillStatus.COMPLETED);
+        }
+    }
+
+    /**
+     * Resolves the hashes of a batch of blocks, fetches them and saves those that do not already exist.
+     * Both steps are sent as a single JSON-RPC batch.
+     *
+     * @param numbers  the numbers of the blocks to index.
+     * @param retrying the numbers of the blocks handed to the retry tier, to which those of the batch are added.
+     * @return a future completed once every block of the batch is indexed or retried.
+     */
+    private CompletableFuture<Void> fetchAndSave(List<Long> numbers, Set<Long> retrying) {
+        try {
+            List<CompletableFuture<String>> hashes = rpcClient.callBatch(GET_BLOCK_HASH_METHOD, String.class, numbers);
+            return allOf(hashes)
+                    .thenCompose(resolved -> {
+                        for (int i = 0; i < resolved.size(); i++) {
+                            if (resolved.get(i) == null) {
+                                throw new BlockHashNotFoundException(numbers.get(i));
+                            }
+                        }
+                        return allOf(rpcClient.callBatch(GET_BLOCK_METHOD, BlockDetailsDTO.class, resolved));
+                    })
+                    .thenCompose(blocks -> allOf(IntStream.range(0, blocks.size())
+                            .mapToObj(i -> save(numbers.get(i), blocks.get(i), retrying))
+                            .toList()))
+                    .thenApply(ignored -> null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Combines the futures of a batch into a single future completed with their results, in order.
+     *
+     * @param futures the futures of the batch.
+     * @param <T>     the type of the results.
+     * @return a future completed once every future of the batch is completed.
+     */
+    private static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Submits a fetched block to the ingest queue, which saves it if it does not already exist.
+     * A block handed to the retry tier is recorded as retrying rather than failing the batch.
+     *
+     * @param number       the number of the block.
+     * @param blockDetails the fetched block details.
+     * @param retrying     the numbers of the blocks handed to the retry tier.
+     * @return a future completed once the block is indexed or retried.
+     */
+    private CompletableFuture<Void> save(long number, BlockDetailsDTO blockDetails, Set<Long> retrying) {
+        BlockDetailsDTO.Block block = blockDetails == null ? null : blockDetails.getBlock();
+        if (block == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return ingestService.submit(block).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (!(cause instanceof BlockRetryingException)) {
+                throw new CompletionException(cause);
+            }
+            retrying.add(number);
+            return null;
+        });
+    }
+
+    /**
+     * Waits until the WebSocket connection to the node is established.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private void awaitConnection() throws InterruptedException {
+        while (!connectionManager.isConnected()) {
+            log.info("Waiting for the WebSocket connection before backfilling...");
+            sleeper.sleep(CONNECTION_WAIT_MS);
+        }
+    }
+
+    /**
+     * Returns the lowest block number not yet indexed.
+     *
+     * @param inFlight the block numbers dispatched but not indexed.
+     * @param retrying the block numbers handed to the retry tier.
+     * @param next     the next block number to dispatch.
+     * @return the block number the backfill must resume from.
+     */
+    private long lowestNotIndexed(NavigableSet<Long> inFlight, NavigableSet<Long> retrying, long next) {
+        Long lowestInFlight = inFlight.ceiling(Long.MIN_VALUE);
+        Long lowestRetrying = retrying.ceiling(Long.MIN_VALUE);
+        long lowest = lowestInFlight == null ? next : Math.min(lowestInFlight, next);
+        return lowestRetrying == null ? lowest : Math.min(lowestRetrying, lowest);
+    }
+
+    /**
+     * Updates and saves the checkpoint.
+     *
+     * @param checkpoint the checkpoint to update.
+     * @param nextBlock  the lowest block number not yet indexed.
+     * @param status     the status of the backfill.
+     */
+    private void persist(BackfillCheckpoint checkpoint, long nextBlock, BackfillStatus status) {
+        checkpoint.setNextBlock(nextBlock);
+        checkpoint.setStatus(status);
+        checkpointRepository.save(checkpoint);
+    }
+
+}
@@ -0,0 +1,172 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.utils.BlockBitmap;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory index of the numbers of the blocks saved in the `block` table.
+ * <p>
+ * Responsibilities:
+ * - Loads every indexed block number at startup into a {@link BlockBitmap}, page by page along the
+ *   unique index of the block number.
+ * - Adds the numbers of the blocks saved by a transaction once it commits, so that the index never
+ *   reports a block that was rolled back.
+ * - Tells whether a block is already indexed, finds the highest indexed block and the ranges of
+ *   missing blocks, without querying the database.
+ * <p>
+ * Blocks saved while the index loads are added on commit as well, so none of them is missed. If the
+ * database is not reachable at startup, the index is loaded on first use.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class BlockIndexService {
+
+    private static final int LOAD_PAGE_SIZE = 50_000;
+
+    private final BlockRepository blockRepository;
+    private final BlockBitmap bitmap = new BlockBitmap();
+
+    private volatile boolean loaded;
+
+    /**
+     * Constructor for `BlockIndexService`.
+     *
+     * @param blockRepository repository reading the indexed block numbers.
+     */
+    public BlockIndexService(BlockRepository blockRepository) {
+        this.blockRepository = blockRepository;
+    }
+
+    /**
+     * Loads the index. If the database is not reachable yet, the index is loaded on first use.
+     * This method is invoked automatically by the Spring framework.
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.warn("Unable to load the block index, it will be loaded on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Checks if a block is indexed.
+     *
+     * @param number the number of the block.
+     * @return `true` if the block is indexed, `false` otherwise.
+     */
+    public boolean contains(long number) {
+        return bitmap().contains(number);
+    }
+
+    /**
+     * Adds blocks to the index once the current transaction commits, or right away outside of a transaction.
+     *
+     * @param numbers the numbers of the saved blocks.
+     */
+    public void addOnCommit(List<Long> numbers) {
+        if (numbers.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(numbers);
+                }
+            });
+        } else {
+            add(numbers);
+        }
+    }
+
+    /**
+     * Finds the highest indexed block number.
+     *
+     * @return the highest block number, or empty if no block is indexed.
+     */
+    public Optional<Long> findMaxNumber() {
+        long last = bitmap().last();
+        return last < 0 ? Optional.empty() : Optional.of(last);
+    }
+
+    /**
+     * Finds the ranges of block numbers missing between the lowest and the highest indexed blocks.
+     *
+     * @return the missing ranges, in ascending order.
+     */
+    public List<BlockBitmap.Range> findGaps() {
+        BlockBitmap index = bitmap();
+        long first = index.first();
+        return first < 0 ? List.of() : index.missing(first, index.last());
+    }
+
+    /**
+     * Finds the ranges of block numbers missing between two bounds.
+     *
+     * @param from the lowest block number to look at.
+     * @param to   the highest block number to look at (inclusive).
+     * @return the missing ranges, in ascending order.
+     */
+    public List<BlockBitmap.Range> findMissing(long from, long to) {
+        return bitmap().missing(from, to);
+    }
+
+    /**
+     * Returns the number of indexed blocks.
+     *
+     * @return the number of blocks in the index.
+     */
+    public long size() {
+        return bitmap().cardinality();
+    }
+
+    /**
+     * Returns the bitmap, loading it if it could not be loaded at startup.
+     */
+    private BlockBitmap bitmap() {
+        if (!loaded) {
+            load();
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds every block number of the `block` table to the bitmap, unless already done.
+     */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        long start = System.nanoTime();
+        long after = -1;
+        List<Long> page;
+        do {
+            page = blockRepository.findNumbersAfter(after, Limit.of(LOAD_PAGE_SIZE));
+            for (long number : page) {
+                bitmap.add(number);
+                after = number;
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        loaded = true;
+        log.info("Loaded {} block number(s) into the block index in {} ms.", bitmap.cardinality(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void add(List<Long> numbers) {
+        numbers.forEach(bitmap::add);
+    }
+
+}
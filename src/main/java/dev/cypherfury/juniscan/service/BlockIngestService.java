@@ -0,0 +1,223 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.IngestStatsDTO;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.exception.BlockRetryingException;
+import dev.cypherfury.juniscan.exception.IngestQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded hand-off between the threads receiving blocks and the workers indexing them.
+ * <p>
+ * Responsibilities:
+ * - Queues fetched blocks in a bounded queue, so that the WebSocket I/O thread only parses frames
+ *   while decoding and persistence run on a pool of indexing workers.
+ * - Applies the configured {@link IngestOverflowPolicy} when the queue is full: parking the submitting
+ *   thread, which stops reading frames and pushes back on the node, or dropping the block.
+ * - Decodes and saves every queued block that does not already exist through {@link BlockService}.
+ * - Hands the blocks that cannot be indexed to the {@link BlockRetryService}, so that they never stall the
+ *   workers, and fails their future with a {@link BlockRetryingException} so that the caller does not count them as indexed.
+ * - Exposes the queue depth and the submitted, processed, failed, dropped and parked counters.
+ * <p>
+ * Workers run on virtual threads by default, or on platform threads if `ingest.virtual-threads` is disabled.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class BlockIngestService {
+
+    private final BlockService blockService;
+    private final BlockRetryService retryService;
+    private final BlockingQueue<Task> queue;
+    private final int capacity;
+    private final int workers;
+    private final IngestOverflowPolicy overflowPolicy;
+    private final ExecutorService executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    /**
+     * Constructor for `BlockIngestService`.
+     *
+     * @param blockService   service for decoding and saving blocks.
+     * @param retryService   service retrying the blocks that cannot be indexed.
+     * @param capacity       maximum number of blocks waiting to be indexed.
+     * @param workers        number of workers indexing blocks concurrently.
+     * @param virtualThreads whether the workers run on virtual threads rather than platform threads.
+     * @param overflowPolicy behaviour when a block is submitted while the queue is full.
+     */
+    public BlockIngestService(BlockService blockService, BlockRetryService retryService,
+                              @Value("${ingest.queue-capacity:1024}") int capacity,
+                              @Value("${ingest.workers:4}") int workers,
+                              @Value("${ingest.virtual-threads:true}") boolean virtualThreads,
+                              @Value("${ingest.overflow-policy:PARK}") IngestOverflowPolicy overflowPolicy) {
+        this.blockService = blockService;
+        this.retryService = retryService;
+        this.capacity = capacity;
+        this.workers = workers;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("ingest-", 0).factory()
+                : Thread.ofPlatform().name("ingest-", 0).factory();
+        this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+    }
+
+    /**
+     * Starts the indexing workers.
+     * This method is invoked automatically by the Spring framework.
+     */
+    @PostConstruct
+    public void start() {
+        log.info("Starting {} ingest worker(s) on a queue of {} blocks ({}).", workers, capacity, overflowPolicy);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    /**
+     * Stops the indexing workers. Blocks still queued are not indexed.
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits a fetched block to be decoded and saved by a worker.
+     * <p>
+     * If the queue is full, the calling thread is parked until a slot is freed with the `PARK` policy,
+     * while the block is dropped with the `DROP` policy.
+     *
+     * @param block the fetched block.
+     * @return a future completed once the block is indexed, or completed exceptionally with a
+     * {@link BlockRetryingException} once the block is handed to the retry tier, or with an
+     * {@link IngestQueueFullException} if the block is dropped.
+     */
+    public CompletableFuture<Void> submit(BlockDetailsDTO.Block block) {
+        Task task = new Task(block, new CompletableFuture<>());
+        submitted.incrementAndGet();
+        if (queue.offer(task)) {
+            return task.done();
+        }
+        if (overflowPolicy == IngestOverflowPolicy.DROP) {
+            dropped.incrementAndGet();
+            String number = number(block);
+            log.warn("Ingest queue full, dropping block {}.", number);
+            task.done().completeExceptionally(new IngestQueueFullException(number, capacity));
+            return task.done();
+        }
+        parked.incrementAndGet();
+        log.debug("Ingest queue full, parking {}.", Thread.currentThread().getName());
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            task.done().completeExceptionally(e);
+        }
+        return task.done();
+    }
+
+    /**
+     * Returns a snapshot of the queue metrics.
+     *
+     * @return the current queue depth and counters.
+     */
+    public IngestStatsDTO stats() {
+        return new IngestStatsDTO(overflowPolicy, capacity, queue.size(), workers,
+                submitted.get(), processed.get(), failed.get(), dropped.get(), parked.get());
+    }
+
+    /**
+     * Takes blocks from the queue and indexes them until the worker is interrupted.
+     */
+    private void work() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                index(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Decodes and saves a queued block if it does not already exist, then completes its future.
+     * A block failing on a unique constraint because another worker saved it meanwhile counts as already existing.
+     * A block that cannot be indexed is counted as failed and retried in the background, its future failing with
+     * a {@link BlockRetryingException}.
+     *
+     * @param task the queued block.
+     */
+    private void index(Task task) {
+        try {
+            if (blockService.alreadyExist(task.block())) {
+                log.debug("Block already exists in DB, skipping it.");
+            } else {
+                blockService.decodeAndSave(task.block());
+            }
+            processed.incrementAndGet();
+            task.done().complete(null);
+        } catch (RuntimeException e) {
+            if (savedConcurrently(task.block(), e)) {
+                log.debug("Block saved concurrently by another worker, skipping it.");
+                processed.incrementAndGet();
+                task.done().complete(null);
+            } else {
+                failed.incrementAndGet();
+                retryService.retry(task.block(), e);
+                task.done().completeExceptionally(new BlockRetryingException(number(task.block()), e));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a block failed to be saved because another transaction saved it first. If the database
+     * cannot tell, the block is handed to the retry tier, which checks again whether it exists.
+     *
+     * @param block   the queued block.
+     * @param failure the exception thrown while saving the block.
+     * @return `true` if the failure is an integrity violation and the block is now saved.
+     */
+    private boolean savedConcurrently(BlockDetailsDTO.Block block, RuntimeException failure) {
+        if (!(failure instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        try {
+            return blockService.existsInDatabase(block);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String number(BlockDetailsDTO.Block block) {
+        return block.getHeader() == null ? null : block.getHeader().getNumber();
+    }
+
+    /**
+     * A block waiting in the queue, along with the future completed once it is indexed.
+     */
+    private record Task(BlockDetailsDTO.Block block, CompletableFuture<Void> done) {
+    }
+
+}
@@ -0,0 +1,174 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.RetryStatsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry tier of the blocks that could not be indexed, so that a single undecodable block never stalls the pipeline.
+ * <p>
+ * Responsibilities:
+ * - Saves batches of blocks through {@link BlockService}, setting aside the blocks that cannot be decoded
+ *   rather than failing the whole batch.
+ * - Retries a failed block in the background with an exponential backoff: `retry.initial-backoff-ms`,
+ *   multiplied by `retry.multiplier` after every attempt, up to `retry.max-backoff-ms`.
+ * - Sends the block to the dead letters through the {@link DeadLetterService} once `retry.max-attempts`
+ *   attempts have failed.
+ * - Exposes the pending, attempts, recovered and dead-lettered counters.
+ * <p>
+ * Pending retries are held in memory and lost when the application stops; their blocks, missing from
+ * the database, are then recovered by the gap audit.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class BlockRetryService {
+
+    private final BlockService blockService;
+    private final DeadLetterService deadLetterService;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final double multiplier;
+    private final long maxBackoffMs;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    /**
+     * Constructor for `BlockRetryService`.
+     *
+     * @param blockService      service for decoding and saving blocks.
+     * @param deadLetterService service sending the blocks to the dead letters once every attempt failed.
+     * @param maxAttempts       number of attempts before a block is sent to the dead letters.
+     * @param initialBackoffMs  delay before the first attempt, in milliseconds.
+     * @param multiplier        factor applied to the delay after every attempt.
+     * @param maxBackoffMs      maximum delay between two attempts, in milliseconds.
+     */
+    public BlockRetryService(BlockService blockService, DeadLetterService deadLetterService,
+                             @Value("${retry.max-attempts:5}") int maxAttempts,
+                             @Value("${retry.initial-backoff-ms:1000}") long initialBackoffMs,
+                             @Value("${retry.multiplier:2.0}") double multiplier,
+                             @Value("${retry.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.blockService = blockService;
+        this.deadLetterService = deadLetterService;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.multiplier = multiplier;
+        this.maxBackoffMs = maxBackoffMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("block-retry").daemon().factory());
+    }
+
+    /**
+     * Stops retrying. Pending retries are abandoned.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Decodes a batch of blocks and saves those that do not already exist in a single transaction,
+     * the blocks that cannot be decoded being retried in the background rather than failing the batch.
+     *
+     * @param blocks the fetched blocks.
+     * @return the number of blocks saved in the batch.
+     */
+    public int decodeAndSaveAll(List<BlockDetailsDTO.Block> blocks) {
+        return blockService.decodeAndSaveAll(blocks, this::retry);
+    }
+
+    /**
+     * Schedules the first retry of a block that could not be indexed.
+     *
+     * @param block the raw block, its extrinsics still undecoded.
+     * @param cause the cause of the failure.
+     */
+    public void retry(BlockDetailsDTO.Block block, Throwable cause) {
+        log.warn("Unable to index block {}, retrying it: {}", number(block), cause.getMessage());
+        pending.incrementAndGet();
+        schedule(block, 1, cause);
+    }
+
+    /**
+     * Returns a snapshot of the retry metrics.
+     *
+     * @return the pending retries and counters.
+     */
+    public RetryStatsDTO stats() {
+        return new RetryStatsDTO(maxAttempts, pending.get(), attempts.get(), recovered.get(), deadLettered.get());
+    }
+
+    /**
+     * Returns the delay before an attempt.
+     *
+     * @param attempt the attempt number, starting at 1.
+     * @return the delay in milliseconds.
+     */
+    long backoff(int attempt) {
+        return (long) Math.min(maxBackoffMs, initialBackoffMs * Math.pow(multiplier, attempt - 1));
+    }
+
+    /**
+     * Schedules an attempt, or sends the block to the dead letters if every attempt failed.
+     *
+     * @param block   the raw block.
+     * @param attempt the attempt number, starting at 1.
+     * @param cause   the cause of the last failure.
+     */
+    private void schedule(BlockDetailsDTO.Block block, int attempt, Throwable cause) {
+        if (attempt > maxAttempts) {
+            pending.decrementAndGet();
+            deadLettered.incrementAndGet();
+            deadLetterService.deadLetter(block, cause, attempt - 1);
+            return;
+        }
+        try {
+            scheduler.schedule(() -> attempt(block, attempt), backoff(attempt), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            log.warn("Retries stopped, abandoning block {}.", number(block));
+        }
+    }
+
+    /**
+     * Tries to index a block again, scheduling the next attempt if it fails.
+     *
+     * @param block   the raw block.
+     * @param attempt the attempt number, starting at 1.
+     */
+    private void attempt(BlockDetailsDTO.Block block, int attempt) {
+        attempts.incrementAndGet();
+        try {
+            if (blockService.alreadyExist(block)) {
+                block.release();
+            } else {
+                blockService.decodeAndSave(block);
+            }
+            pending.decrementAndGet();
+            recovered.incrementAndGet();
+            log.info("Block {} indexed on attempt {}.", number(block), attempt);
+        } catch (RuntimeException e) {
+            log.warn("Attempt {} of {} failed for block {}: {}", attempt, maxAttempts, number(block), e.getMessage());
+            schedule(block, attempt + 1, e);
+        }
+    }
+
+    private static String number(BlockDetailsDTO.Block block) {
+        return block.getHeader() == null ? null : block.getHeader().getNumber();
+    }
+
+}
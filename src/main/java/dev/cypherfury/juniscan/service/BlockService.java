@@ -3,58 +3,204 @@ package dev.cypherfury.juniscan.service;
 import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.entity.Block;
 import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.exception.InvalidBlockNumberException;
 import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.scale.ChainHasher;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 
 /**
  * Service class for managing `Block` entities.
  * <p>
  * Responsibilities:
- * - Handles the decoding and persistence of blockchain blocks.
+ * - Handles the decoding and persistence of blockchain blocks, one by one or in a single transaction.
  * - Coordinates with the `ExtrinsicService` to process extrinsics within a block.
+ * - Writes a decoded block event to the outbox through the `OutboxService`, in the transaction saving the block.
+ * - Checks whether a block already exists in the in-memory `BlockIndexService`, and adds the saved blocks to it
+ *   once their transaction commits.
+ * - Releases the pooled extrinsic bytes of the saved blocks once their transaction commits, so that a block whose
+ *   save or commit fails can still be retried or dead-lettered.
  * - Provides utility methods for building and verifying blocks.
+ * - Computes the hash of each block from its header, with a {@link ChainHasher} reused across a batch.
+ * - Finds the saved blocks by range of numbers, page by page, by hash and by parent hash.
  *
  * @author Cypherfury
  */
 @Service
 public class BlockService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final BlockRepository blockRepository;
     private final ExtrinsicService extrinsicService;
+    private final OutboxService outboxService;
+    private final BlockIndexService blockIndexService;
 
     /**
      * Constructor for `BlockService`.
      *
-     * @param blockRepository  repository for interacting with `Block` entities.
-     * @param extrinsicService service for decoding and managing extrinsics.
+     * @param blockRepository   repository for interacting with `Block` entities.
+     * @param extrinsicService  service for decoding and managing extrinsics.
+     * @param outboxService     service writing the decoded block events to the outbox.
+     * @param blockIndexService in-memory index of the numbers of the saved blocks.
      */
-    public BlockService(BlockRepository blockRepository, ExtrinsicService extrinsicService) {
+    public BlockService(BlockRepository blockRepository, ExtrinsicService extrinsicService, OutboxService outboxService,
+                        BlockIndexService blockIndexService) {
         this.blockRepository = blockRepository;
         this.extrinsicService = extrinsicService;
+        this.outboxService = outboxService;
+        this.blockIndexService = blockIndexService;
     }
 
     /**
-     * Decodes block details and saves the block if it does not already exist.
+     * Decodes block details and saves the block, along with its decoded block event, unless it already exists.
+     * The block index is checked again within the transaction, since another worker may have saved the block
+     * after the caller checked it. Two transactions saving the same block at once still both miss it, in which
+     * case the last one fails on the unique number, see {@link #existsInDatabase}.
      *
      * @param blockDTO DTO containing block details for processing.
      */
+    @Transactional
     public void decodeAndSave(BlockDetailsDTO.Block blockDTO) {
-        List<Extrinsic> extrinsics = extrinsicService.decode(List.of(blockDTO.getExtrinsics()));
-        Block block = build(blockDTO, extrinsics);
-        extrinsics.forEach(extrinsic -> extrinsic.setBlock(block));
+        if (alreadyExist(blockDTO)) {
+            blockDTO.release();
+            return;
+        }
+        Block block = decode(blockDTO, new ChainHasher());
         blockRepository.save(block);
+        outboxService.recordDecodedBlocks(List.of(block));
+        blockIndexService.addOnCommit(List.of(block.getNumber()));
+        releaseOnCommit(List.of(blockDTO));
+    }
+
+    /**
+     * Decodes a batch of blocks and saves those that do not already exist, along with their decoded block
+     * events, in a single transaction.
+     * A block listed several times is saved once.
+     *
+     * @param blockDTOs DTOs containing the details of the blocks.
+     * @return the number of blocks saved.
+     */
+    @Transactional
+    public int decodeAndSaveAll(List<BlockDetailsDTO.Block> blockDTOs) {
+        return decodeAndSaveAll(blockDTOs, (blockDTO, e) -> {
+            throw e;
+        });
     }
 
     /**
-     * Checks if a block with the given number already exists.
+     * Decodes a batch of blocks and saves those that do not already exist, along with their decoded block
+     * events, in a single transaction, handing the blocks that cannot be decoded to the given handler
+     * rather than failing the batch.
+     * A block listed several times is saved once. The extrinsics of the saved blocks are released once the
+     * transaction commits, and those of a block that cannot be decoded are not, so that it can be retried.
+     *
+     * @param blockDTOs       DTOs containing the details of the blocks.
+     * @param decodingFailure handler of the blocks that cannot be decoded, along with the cause.
+     * @return the number of blocks saved.
+     */
+    @Transactional
+    public int decodeAndSaveAll(List<BlockDetailsDTO.Block> blockDTOs,
+                                BiConsumer<BlockDetailsDTO.Block, RuntimeException> decodingFailure) {
+        Map<String, BlockDetailsDTO.Block> byNumber = new LinkedHashMap<>();
+        blockDTOs.forEach(blockDTO -> byNumber.putIfAbsent(blockDTO.getHeader().getNumber(), blockDTO));
+        List<Block> blocks = new ArrayList<>(byNumber.size());
+        List<BlockDetailsDTO.Block> decoded = new ArrayList<>(byNumber.size());
+        ChainHasher hasher = new ChainHasher();
+        for (BlockDetailsDTO.Block blockDTO : byNumber.values()) {
+            if (alreadyExist(blockDTO)) {
+                continue;
+            }
+            try {
+                blocks.add(decode(blockDTO, hasher));
+                decoded.add(blockDTO);
+            } catch (RuntimeException e) {
+                decodingFailure.accept(blockDTO, e);
+            }
+        }
+        blockRepository.saveAll(blocks);
+        outboxService.recordDecodedBlocks(blocks);
+        blockIndexService.addOnCommit(blocks.stream().map(Block::getNumber).toList());
+        releaseOnCommit(decoded);
+        return blocks.size();
+    }
+
+    /**
+     * Checks if a block with the given number already exists, in the block index rather than in the database.
      *
      * @param block the block details containing the number to check.
      * @return `true` if the block exists, `false` otherwise.
      */
     public boolean alreadyExist(BlockDetailsDTO.Block block) {
-        return blockRepository.existsByNumber(block.getHeader().getNumber());
+        Long number = parseNumber(block.getHeader().getNumber());
+        return number != null && blockIndexService.contains(number);
+    }
+
+    /**
+     * Checks if a block with the given number is saved, in the database rather than in the block index, which
+     * is only updated once the saving transaction commits. Used to tell a block saved concurrently by another
+     * transaction from any other integrity violation.
+     *
+     * @param block the block details containing the number to check.
+     * @return `true` if the block is saved, `false` otherwise.
+     */
+    public boolean existsInDatabase(BlockDetailsDTO.Block block) {
+        Long number = parseNumber(block.getHeader().getNumber());
+        return number != null && blockRepository.existsByNumber(number);
+    }
+
+    /**
+     * Finds the saved blocks within a range of numbers.
+     *
+     * @param from  the lowest block number.
+     * @param to    the highest block number (inclusive).
+     * @param limit the maximum number of blocks, capped at {@value #MAX_PAGE_SIZE}.
+     * @return the blocks, by increasing number.
+     */
+    public List<Block> findRange(long from, long to, int limit) {
+        return blockRepository.findByNumberBetweenOrderByNumberAsc(from, to, pageLimit(limit));
+    }
+
+    /**
+     * Finds the saved blocks preceding a block number, to page through the blocks from the latest ones.
+     *
+     * @param before the number of the last block of the previous page, excluded.
+     * @param limit  the maximum number of blocks, capped at {@value #MAX_PAGE_SIZE}.
+     * @return the blocks, by decreasing number.
+     */
+    public List<Block> findBefore(long before, int limit) {
+        return blockRepository.findByNumberLessThanOrderByNumberDesc(before, pageLimit(limit));
+    }
+
+    /**
+     * Finds the saved children of a block.
+     *
+     * @param parentHash the hash of the block, as a "0x"-prefixed hex string.
+     * @return the blocks whose parent has the given hash.
+     */
+    public List<Block> findChildren(String parentHash) {
+        return blockRepository.findByParentHash(parentHash);
+    }
+
+    /**
+     * Finds a saved block by its hash.
+     *
+     * @param hash the hash of the block, as a "0x"-prefixed hex string.
+     * @return the block, or empty if it is not saved.
+     */
+    public Optional<Block> findByHash(String hash) {
+        return blockRepository.findByHash(hash);
     }
 
     /**
@@ -66,22 +212,90 @@ public class BlockService {
         return blockRepository.findAll();
     }
 
+    /**
+     * Decodes the extrinsics of a block and builds its `Block` entity.
+     *
+     * @param blockDTO DTO containing block details for processing.
+     * @param hasher   hasher of the headers, reused across the blocks of a batch.
+     * @return the `Block` entity, along with its extrinsics.
+     */
+    private Block decode(BlockDetailsDTO.Block blockDTO, ChainHasher hasher) {
+        List<Extrinsic> extrinsics = extrinsicService.decode(List.of(blockDTO.getExtrinsics()));
+        Block block = build(blockDTO, extrinsics, hasher);
+        extrinsics.forEach(extrinsic -> extrinsic.setBlock(block));
+        return block;
+    }
+
     /**
      * Builds a `Block` entity from block details and associated extrinsics.
      *
      * @param blockDTO DTO containing the block header and extrinsics data.
      * @param extrinsics   list of decoded extrinsics for the block.
+     * @param hasher       hasher computing the hash of the block from its header.
      * @return the constructed `Block` entity.
+     * @throws InvalidBlockNumberException if the number of the block is not a hex number.
+     * @throws IllegalArgumentException if the hashes, roots or logs of the header are not valid hex.
      */
-    private Block build(BlockDetailsDTO.Block blockDTO, List<Extrinsic> extrinsics) {
+    private Block build(BlockDetailsDTO.Block blockDTO, List<Extrinsic> extrinsics, ChainHasher hasher) {
+        String number = blockDTO.getHeader().getNumber();
+        Long decodedNumber = parseNumber(number);
+        if (decodedNumber == null) {
+            throw new InvalidBlockNumberException(number);
+        }
         return Block.builder()
+                .hash(hasher.hashHeader(blockDTO.getHeader(), decodedNumber))
                 .parentHash(blockDTO.getHeader().getParentHash())
                 .logs(List.of(blockDTO.getHeader().getDigest().getLogs()))
                 .extrinsicsRoot(blockDTO.getHeader().getExtrinsicsRoot())
                 .stateRoot(blockDTO.getHeader().getStateRoot())
-                .number(blockDTO.getHeader().getNumber())
+                .number(decodedNumber)
                 .extrinsics(extrinsics)
                 .build();
     }
 
+    /**
+     * Returns the pooled extrinsic bytes of saved blocks to their pool once the current transaction commits,
+     * or right away outside of a transaction. They are kept if the transaction rolls back, for the retry tier
+     * and the dead letters to read them again.
+     *
+     * @param blockDTOs the details of the saved blocks.
+     */
+    private static void releaseOnCommit(List<BlockDetailsDTO.Block> blockDTOs) {
+        if (blockDTOs.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    blockDTOs.forEach(BlockDetailsDTO.Block::release);
+                }
+            });
+        } else {
+            blockDTOs.forEach(BlockDetailsDTO.Block::release);
+        }
+    }
+
+    /**
+     * Decodes a block number sent by the node, as a "0x"-prefixed hex string.
+     *
+     * @param number the hex string of the number.
+     * @return the block number, or `null` if it is not a hex number.
+     */
+    private static Long parseNumber(String number) {
+        if (number == null || !number.startsWith(ByteUtils.HEX_PREFIX)) {
+            return null;
+        }
+        try {
+            long parsed = Long.parseLong(number, ByteUtils.HEX_PREFIX.length(), number.length(), 16);
+            return parsed < 0 ? null : parsed;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Limit pageLimit(int limit) {
+        return Limit.of(Math.clamp(limit, 1, MAX_PAGE_SIZE));
+    }
+
 }
@@ -0,0 +1,141 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.FunctionParameter;
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.exception.ScaleTypeException;
+import dev.cypherfury.juniscan.repository.FunctionParameterRepository;
+import dev.cypherfury.juniscan.scale.CallDecoder;
+import dev.cypherfury.juniscan.scale.ScaleReader;
+import dev.cypherfury.juniscan.scale.ScaleTypeParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Registry of the {@link CallDecoder}s decoding the arguments of calls, compiled once per `(module, callIndex)`.
+ * <p>
+ * Responsibilities:
+ * - Compiles the decoder of a function from the type strings of its `function_parameter` rows, with a
+ *   {@link ScaleTypeParser}, the first time one of its calls is decoded, and caches it.
+ * - Caches the functions whose parameters cannot be compiled too, so that they are not parsed again.
+ * - Looks the functions up in the {@link FunctionCatalogService}, without querying the database.
+ * - Decodes the arguments of a call into a compact JSON object, nested calls included.
+ * <p>
+ * Arguments are decoded on a best-effort basis: a call whose types are unknown, or whose arguments
+ * do not match its types, is logged and left without arguments rather than failing its block.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class CallDecoderRegistry {
+
+    private static final String UNDECODABLE_CALL = "call {0}:{1} is unknown or has parameters of unsupported types";
+
+    private final FunctionCatalogService functionCatalogService;
+    private final FunctionParameterRepository functionParameterRepository;
+    private final ScaleTypeParser typeParser = new ScaleTypeParser(this::decodeNestedCall);
+    private final Map<Integer, Optional<CallDecoder>> decoders = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for `CallDecoderRegistry`.
+     *
+     * @param functionCatalogService      in-memory catalogue of the `Module` and `Function` entities.
+     * @param functionParameterRepository repository reading the parameters of the functions.
+     */
+    public CallDecoderRegistry(FunctionCatalogService functionCatalogService,
+                               FunctionParameterRepository functionParameterRepository) {
+        this.functionCatalogService = functionCatalogService;
+        this.functionParameterRepository = functionParameterRepository;
+    }
+
+    /**
+     * Decodes the arguments of a call, which must span the rest of the data.
+     *
+     * @param moduleIndex the index of the module of the call.
+     * @param callIndex   the index of the call within its module.
+     * @param reader      reader positioned after the call index.
+     * @return the arguments as a JSON object, or `null` if they cannot be decoded.
+     */
+    public String decodeArguments(int moduleIndex, int callIndex, ScaleReader reader) {
+        Optional<CallDecoder> decoder = decoder(moduleIndex, callIndex);
+        if (decoder.isEmpty()) {
+            return null;
+        }
+        try {
+            String arguments = decoder.get().decode(reader);
+            if (reader.remaining() != 0) {
+                throw new ScaleDecodingException(reader.remaining() + " byte(s) left after the arguments", reader.position());
+            }
+            return arguments;
+        } catch (ScaleDecodingException e) {
+            log.warn("Unable to decode the arguments of {}: {}", decoder.get().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the decoder of a call, compiling it on first use.
+     *
+     * @param moduleIndex the index of the module of the call.
+     * @param callIndex   the index of the call within its module.
+     * @return the decoder, or empty if the call is not in the catalogue or its parameters have unsupported types.
+     */
+    public Optional<CallDecoder> decoder(int moduleIndex, int callIndex) {
+        int key = moduleIndex << 8 | callIndex;
+        Optional<CallDecoder> decoder = decoders.get(key);
+        if (decoder != null) {
+            return decoder;
+        }
+        Function function = functionCatalogService.getFunction(moduleIndex, callIndex);
+        if (function == null) {
+            return Optional.empty();
+        }
+        return decoders.computeIfAbsent(key, ignored -> compile(function));
+    }
+
+    /**
+     * Drops the compiled decoders, so that they are compiled again from the current parameters.
+     */
+    public void clear() {
+        decoders.clear();
+    }
+
+    /**
+     * Compiles the decoder of a call from the types of its parameters.
+     */
+    private Optional<CallDecoder> compile(Function function) {
+        String name = function.getModule().getName() + "." + function.getName();
+        List<FunctionParameter> parameters = functionParameterRepository.findByFunctionOrderByIdAsc(function);
+        try {
+            CallDecoder decoder = new CallDecoder(name,
+                    parameters.stream().map(FunctionParameter::getName).toList(),
+                    parameters.stream().map(parameter -> typeParser.parse(parameter.getType())).toList());
+            log.debug("Compiled the decoder of {} ({} parameter(s)).", name, parameters.size());
+            return Optional.of(decoder);
+        } catch (ScaleTypeException e) {
+            log.info("Arguments of {} will not be decoded: {}", name, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Decodes a nested call, such as those of a batch: its module and call index, then its arguments.
+     */
+    private void decodeNestedCall(ScaleReader reader, StringBuilder json) {
+        int position = reader.position();
+        int moduleIndex = reader.readUByte();
+        int callIndex = reader.readUByte();
+        decoder(moduleIndex, callIndex)
+                .orElseThrow(() -> new ScaleDecodingException(format(UNDECODABLE_CALL, moduleIndex, callIndex), position))
+                .decodeNested(reader, json);
+    }
+
+}
@@ -0,0 +1,152 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.bus.DeadLetterQueue;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import dev.cypherfury.juniscan.dto.ReprocessResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service sending the blocks that could not be indexed to the {@link DeadLetterQueue}, and replaying them.
+ * <p>
+ * Responsibilities:
+ * - Builds a dead letter from a raw block and the cause of its last failure.
+ * - Replays the oldest dead letters in parallel, saving the blocks that can now be decoded,
+ *   skipping those already indexed and sending the others back to the queue.
+ * <p>
+ * Dependencies:
+ * - {@link BlockService}: Decodes and saves the replayed blocks.
+ * - {@link DeadLetterQueue}: Keeps the dead letters, in Kafka or in memory.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class DeadLetterService {
+
+    private final BlockService blockService;
+    private final DeadLetterQueue deadLetterQueue;
+    private final int parallelism;
+
+    /**
+     * Constructor for `DeadLetterService`.
+     *
+     * @param blockService    service for decoding and saving blocks.
+     * @param deadLetterQueue queue keeping the dead letters.
+     * @param parallelism     number of dead letters replayed concurrently.
+     */
+    public DeadLetterService(BlockService blockService, DeadLetterQueue deadLetterQueue,
+                             @Value("${dead-letter.reprocess-parallelism:8}") int parallelism) {
+        this.blockService = blockService;
+        this.deadLetterQueue = deadLetterQueue;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sends a block that could not be indexed to the dead letters, along with the cause of its last failure.
+     * Failures to store the dead letter are logged, the block being recovered by the gap audit in that case.
+     *
+     * @param block    the raw block, its extrinsics still undecoded.
+     * @param cause    the cause of the last failure.
+     * @param attempts the number of times the block was tried.
+     * @return a future completed once the dead letter is stored.
+     */
+    public CompletableFuture<Void> deadLetter(BlockDetailsDTO.Block block, Throwable cause, int attempts) {
+        String number = block.getHeader() == null ? null : block.getHeader().getNumber();
+        log.error("Sending block {} to the dead letters after {} attempt(s): {}", number, attempts, cause.getMessage());
+        DeadLetterDTO deadLetter = new DeadLetterDTO(number, block, cause.getClass().getName(), cause.getMessage(),
+                attempts, System.currentTimeMillis());
+        return publish(deadLetter);
+    }
+
+    /**
+     * Replays up to `max` of the oldest dead letters in parallel.
+     * A block that fails again is sent back to the dead letters with one more attempt, so that it does
+     * not prevent the others from being replayed.
+     *
+     * @param max the maximum number of dead letters replayed.
+     * @return the number of dead letters read, saved, skipped and failed again.
+     */
+    public ReprocessResultDTO reprocess(int max) {
+        List<DeadLetterDTO> deadLetters = deadLetterQueue.poll(max);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        if (!deadLetters.isEmpty()) {
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, deadLetters.size()))) {
+                deadLetters.forEach(deadLetter -> executor.execute(() -> {
+                    switch (reprocess(deadLetter)) {
+                        case SAVED -> saved.incrementAndGet();
+                        case SKIPPED -> skipped.incrementAndGet();
+                        case FAILED -> failed.incrementAndGet();
+                    }
+                }));
+            }
+        }
+        log.info("Reprocessed {} dead letter(s): {} saved, {} skipped, {} failed.",
+                deadLetters.size(), saved.get(), skipped.get(), failed.get());
+        return new ReprocessResultDTO(deadLetters.size(), saved.get(), skipped.get(), failed.get());
+    }
+
+    /**
+     * Replays a single dead letter.
+     *
+     * @param deadLetter the dead letter.
+     * @return the outcome of the replay.
+     */
+    private Outcome reprocess(DeadLetterDTO deadLetter) {
+        BlockDetailsDTO.Block block = deadLetter.getBlock();
+        try {
+            if (blockService.alreadyExist(block)) {
+                block.release();
+                return Outcome.SKIPPED;
+            }
+            blockService.decodeAndSave(block);
+            return Outcome.SAVED;
+        } catch (RuntimeException e) {
+            log.warn("Dead letter for block {} failed again: {}", deadLetter.getNumber(), e.getMessage());
+            deadLetter.setAttempts(deadLetter.getAttempts() + 1);
+            deadLetter.setException(e.getClass().getName());
+            deadLetter.setMessage(e.getMessage());
+            deadLetter.setFailedAt(System.currentTimeMillis());
+            publish(deadLetter);
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Stores a dead letter, logging the failures.
+     *
+     * @param deadLetter the dead letter.
+     * @return a future completed once the dead letter is stored.
+     */
+    private CompletableFuture<Void> publish(DeadLetterDTO deadLetter) {
+        try {
+            return deadLetterQueue.publish(deadLetter)
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.error("Unable to store the dead letter for block {}: {}", deadLetter.getNumber(), e.getMessage());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.error("Unable to store the dead letter for block {}: {}", deadLetter.getNumber(), e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * The outcome of the replay of a dead letter.
+     */
+    private enum Outcome {
+        SAVED, SKIPPED, FAILED
+    }
+
+}
@@ -1,21 +1,38 @@
 package dev.cypherfury.juniscan.service;
 
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import dev.cypherfury.juniscan.dto.MortalEraDTO;
 import dev.cypherfury.juniscan.entity.Extrinsic;
 import dev.cypherfury.juniscan.entity.Function;
 import dev.cypherfury.juniscan.entity.Module;
-import dev.cypherfury.juniscan.utils.ByteUtils;
-import io.emeraldpay.polkaj.scale.ScaleCodecReader;
+import dev.cypherfury.juniscan.entity.enums.MultiAddressType;
+import dev.cypherfury.juniscan.entity.enums.SignatureType;
+import dev.cypherfury.juniscan.exception.FunctionNotFoundException;
+import dev.cypherfury.juniscan.exception.ModuleNotFoundException;
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.scale.ChainHasher;
+import dev.cypherfury.juniscan.scale.ScaleReader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+import static java.text.MessageFormat.format;
+
 /**
  * Service class for managing `Extrinsic` entities.
  * <p>
  * Responsibilities:
- * - Decodes extrinsic data from raw byte arrays.
- * - Builds `Extrinsic` entities with associated `Module` and `Function`.
+ * - Decodes extrinsic data from raw bytes with a {@link ScaleReader}, without copying them.
+ * - Hashes the raw bytes of each extrinsic with a {@link ChainHasher}, to look extrinsics up by hash.
+ * - Decodes the compact length prefix and the version byte, rejecting extrinsics whose length does not
+ *   match their bytes and the versions or types that cannot be decoded.
+ * - Decodes the signer, signature, era, nonce and tip of signed extrinsics.
+ * - Leaves the pooled buffers of the extrinsics to be released by the caller, once the block is committed.
+ * - Builds `Extrinsic` entities with associated `Module` and `Function`, looked up in the in-memory
+ *   {@link FunctionCatalogService} rather than in the database.
+ * - Decodes the arguments of the call with the compiled decoders of the {@link CallDecoderRegistry}.
  * - Provides methods to decode single or multiple extrinsics.
  *
  * @author Cypher
@@ -24,69 +41,152 @@ import java.util.List;
 @Service
 public class ExtrinsicService {
 
-    private static final byte UNSIGNED_TX_VALUE = 4;
+    private static final int VERSION_MASK = 0x3f;
+    private static final int TYPE_SHIFT = 6;
+    private static final int BARE_TYPE = 0b00;
+    private static final int SIGNED_TYPE = 0b10;
+    private static final int LEGACY_VERSION = 4;
+    private static final int GENERAL_VERSION = 5;
+    private static final int IMMORTAL_ERA = 0;
+    private static final String LENGTH_MISMATCH = "extrinsic length {0} does not match the {1} byte(s) following it";
+    private static final String UNSUPPORTED_VERSION = "unsupported extrinsic version {0} of type {1}";
 
-    private final FunctionService functionService;
-    private final ModuleService moduleService;
+    private final FunctionCatalogService functionCatalogService;
+    private final CallDecoderRegistry callDecoderRegistry;
+    private final ExtrinsicRepository extrinsicRepository;
 
     /**
      * Constructor for `ExtrinsicService`.
      *
-     * @param functionService service for retrieving `Function` entities.
-     * @param moduleService   service for retrieving `Module` entities.
+     * @param functionCatalogService in-memory catalogue of the `Module` and `Function` entities.
+     * @param callDecoderRegistry    registry of the decoders of the call arguments.
+     * @param extrinsicRepository    repository for interacting with `Extrinsic` entities.
+     */
+    public ExtrinsicService(FunctionCatalogService functionCatalogService, CallDecoderRegistry callDecoderRegistry,
+                            ExtrinsicRepository extrinsicRepository) {
+        this.functionCatalogService = functionCatalogService;
+        this.callDecoderRegistry = callDecoderRegistry;
+        this.extrinsicRepository = extrinsicRepository;
+    }
+
+    /**
+     * Finds the saved extrinsics with the given hash.
+     *
+     * @param hash the hash of the extrinsic, as a "0x"-prefixed hex string.
+     * @return the extrinsics, along with the number of their block.
      */
-    public ExtrinsicService(FunctionService functionService, ModuleService moduleService) {
-        this.functionService = functionService;
-        this.moduleService = moduleService;
+    public List<Extrinsic> findByHash(String hash) {
+        return extrinsicRepository.findByHash(hash);
     }
 
     /**
-     * Decodes a list of extrinsics from their string representations.
+     * Decodes and hashes a list of extrinsics from their raw bytes.
+     * The bytes are not released, since the block may still fail to be saved and be retried or dead-lettered;
+     * {@link BlockService} releases them once the block is committed.
      *
-     * @param extrinsics list of string representations of extrinsics.
+     * @param extrinsics list of raw extrinsic bytes.
      * @return a list of decoded `Extrinsic` entities.
      */
-    public List<Extrinsic> decode(List<String> extrinsics) {
+    public List<Extrinsic> decode(List<ExtrinsicBytes> extrinsics) {
+        ScaleReader reader = new ScaleReader();
+        ChainHasher hasher = new ChainHasher();
         return extrinsics.stream()
-                .map(ByteUtils::getBytes)
-                .map(this::decodeBytes)
+                .map(extrinsic -> decodeBytes(reader.reset(extrinsic.buffer()), hasher.hashExtrinsic(extrinsic)))
                 .toList();
     }
 
     /**
-     * Decodes a single extrinsic from its raw byte representation.
+     * Decodes a single extrinsic: its compact length and version byte, the signature of signed extrinsics,
+     * then the module, function and arguments of its call.
+     * <p>
+     * The two most significant bits of the version byte hold the type of the extrinsic, bare (`00`),
+     * signed (`10`) or general (`01`), and the others its version. Version 4 extrinsics are bare or signed,
+     * version 5 extrinsics bare or general; general extrinsics are not supported, their extensions depending
+     * on the runtime metadata.
      *
-     * @param extrinsicBytes raw byte array representing the extrinsic.
+     * @param reader reader positioned at the start of the extrinsic.
+     * @param hash   the hash of the extrinsic.
      * @return the decoded `Extrinsic` entity.
+     * @throws ScaleDecodingException if the length does not match the bytes, or the version or type is not supported.
+     * @throws ModuleNotFoundException if the module of the call is not in the catalogue.
+     * @throws FunctionNotFoundException if the function of the call is not in the catalogue.
+     */
+    private Extrinsic decodeBytes(ScaleReader reader, String hash) {
+        int length = reader.readCompactInt();
+        if (length != reader.remaining()) {
+            throw new ScaleDecodingException(format(LENGTH_MISMATCH, length, reader.remaining()), reader.position());
+        }
+        int versionByte = reader.readUByte();
+        int version = versionByte & VERSION_MASK;
+        int type = versionByte >>> TYPE_SHIFT;
+        boolean signed = type == SIGNED_TYPE && version == LEGACY_VERSION;
+        if (!signed && (type != BARE_TYPE || (version != LEGACY_VERSION && version != GENERAL_VERSION))) {
+            throw new ScaleDecodingException(format(UNSUPPORTED_VERSION, version, type), reader.position() - 1);
+        }
+        Extrinsic.ExtrinsicBuilder extrinsic = Extrinsic.builder()
+                .hash(hash)
+                .signed(signed)
+                .version(version)
+                .size(length);
+        if (signed) {
+            decodeSignature(reader, extrinsic);
+        }
+        int moduleIndex = reader.readUByte();
+        Module module = functionCatalogService.getModule(moduleIndex);
+        if (module == null) {
+            throw new ModuleNotFoundException(moduleIndex);
+        }
+        int callIndex = reader.readUByte();
+        Function function = functionCatalogService.getFunction(moduleIndex, callIndex);
+        if (function == null) {
+            throw new FunctionNotFoundException(module, callIndex);
+        }
+        return extrinsic
+                .module(module)
+                .function(function)
+                .arguments(callDecoderRegistry.decodeArguments(moduleIndex, callIndex, reader))
+                .build();
+    }
+
+    /**
+     * Decodes the signature of a signed extrinsic: the `MultiAddress` of the signer, the `MultiSignature`,
+     * then the signed extensions, i.e. the era, the compact nonce and the compact tip.
+     *
+     * @param reader    reader positioned after the version byte.
+     * @param extrinsic builder of the `Extrinsic` entity receiving the decoded fields.
      */
-    private Extrinsic decodeBytes(byte[] extrinsicBytes) {
-        ScaleCodecReader reader = new ScaleCodecReader(extrinsicBytes);
-        int size = reader.readByte();
-        boolean signed = reader.readByte() != UNSIGNED_TX_VALUE;
-        if (!signed) {
-            Module module = moduleService.getById(reader.readByte());
-            Function function = functionService.getByModuleAndId(module, reader.readByte());
-            return build(size, signed, module, function);
+    private void decodeSignature(ScaleReader reader, Extrinsic.ExtrinsicBuilder extrinsic) {
+        MultiAddressType addressType = MultiAddressType.fromByte(reader.readUByte());
+        extrinsic.addressPrefix(addressType.getTypeName())
+                .issuerAddress(decodeAddress(reader, addressType));
+        SignatureType signatureType = SignatureType.fromByte((byte) reader.readUByte());
+        extrinsic.signatureType(signatureType.getTypeName())
+                .signature(reader.readHex(signatureType.getLength()));
+        int era = reader.readUByte();
+        if (era != IMMORTAL_ERA) {
+            MortalEraDTO mortalEra = MortalEraDTO.decode(era | reader.readUByte() << 8);
+            extrinsic.eraPeriod(mortalEra.getPeriod())
+                    .eraPhase(mortalEra.getPhase());
         }
-        return null;
+        extrinsic.nonce(reader.readCompact())
+                .tip(reader.readCompact());
     }
 
     /**
-     * Builds an `Extrinsic` entity with the given properties.
+     * Decodes the address of the signer of an extrinsic, as a hex string, or as a decimal string
+     * for an account index.
      *
-     * @param size   the size of the extrinsic.
-     * @param signed  the type of the extrinsic.
-     * @param module   the associated `Module`.
-     * @param function the associated `Function`.
-     * @return the constructed `Extrinsic` entity.
+     * @param reader      reader positioned after the address type.
+     * @param addressType the variant of the `MultiAddress`.
+     * @return the address of the signer.
      */
-    private Extrinsic build(int size, boolean signed, Module module, Function function) {
-        return Extrinsic.builder()
-                .function(function)
-                .signed(signed)
-                .module(module)
-                .size(size)
-                .build();
+    private String decodeAddress(ScaleReader reader, MultiAddressType addressType) {
+        return switch (addressType) {
+            case ID, ADDRESS32 -> reader.readHex(32);
+            case ADDRESS20 -> reader.readHex(20);
+            case INDEX -> Long.toString(reader.readCompact());
+            case RAW -> reader.readHex(reader.readCompactInt());
+        };
     }
 
 }
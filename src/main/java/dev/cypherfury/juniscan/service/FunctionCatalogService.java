@@ -0,0 +1,187 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.CatalogStatsDTO;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.repository.FunctionRepository;
+import dev.cypherfury.juniscan.repository.ModuleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory catalogue of the modules and functions, looked up by the indices encoded in an extrinsic.
+ * <p>
+ * Responsibilities:
+ * - Loads every module and function at startup into flat tables indexed by module index and call index,
+ *   so that decoding an extrinsic needs no query.
+ * - Reloads the catalogue on demand, e.g. after a runtime upgrade added functions to the database.
+ * - Records the lookups missing from the catalogue in a negative cache, returning `null` rather than
+ *   throwing, and logs each of them once until the next refresh.
+ * <p>
+ * Module and call indices are single bytes in an extrinsic, hence tables of 256 entries. A refresh builds
+ * new tables and swaps them in, so lookups never see a partially loaded catalogue. The entities are detached,
+ * and their lazy collections must not be read.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class FunctionCatalogService {
+
+    private static final int INDEX_COUNT = 256;
+
+    private final ModuleRepository moduleRepository;
+    private final FunctionRepository functionRepository;
+    private final Set<Integer> misses = ConcurrentHashMap.newKeySet();
+
+    private volatile Catalog catalog;
+
+    /**
+     * Constructor for `FunctionCatalogService`.
+     *
+     * @param moduleRepository   repository reading the modules.
+     * @param functionRepository repository reading the functions.
+     */
+    public FunctionCatalogService(ModuleRepository moduleRepository, FunctionRepository functionRepository) {
+        this.moduleRepository = moduleRepository;
+        this.functionRepository = functionRepository;
+    }
+
+    /**
+     * Preloads the catalogue. If the database is not reachable yet, the catalogue is loaded on first use.
+     * This method is invoked automatically by the Spring framework.
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Unable to preload the module and function catalogue, it will be loaded on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads every module and function from the database, and clears the negative cache.
+     *
+     * @return the size of the reloaded catalogue.
+     */
+    public synchronized CatalogStatsDTO refresh() {
+        Module[] modules = new Module[INDEX_COUNT];
+        Function[][] functions = new Function[INDEX_COUNT][];
+        int moduleCount = 0;
+        int functionCount = 0;
+        for (Module module : moduleRepository.findAll()) {
+            if (isIndex(module.getId())) {
+                modules[(int) module.getId()] = module;
+                moduleCount++;
+            } else {
+                log.warn("Ignoring module {} ({}): its id is not a module index.", module.getId(), module.getName());
+            }
+        }
+        for (Function function : functionRepository.findAllWithModule()) {
+            long moduleIndex = function.getModule().getId();
+            if (!isIndex(moduleIndex) || modules[(int) moduleIndex] == null || !isIndex(function.getCallIndex())) {
+                log.warn("Ignoring function {} ({}): module {} or call index {} out of the catalogue.",
+                        function.getId(), function.getName(), moduleIndex, function.getCallIndex());
+                continue;
+            }
+            function.setModule(modules[(int) moduleIndex]);
+            if (functions[(int) moduleIndex] == null) {
+                functions[(int) moduleIndex] = new Function[INDEX_COUNT];
+            }
+            functions[(int) moduleIndex][function.getCallIndex()] = function;
+            functionCount++;
+        }
+        catalog = new Catalog(modules, functions, moduleCount, functionCount, System.currentTimeMillis());
+        misses.clear();
+        log.info("Loaded {} module(s) and {} function(s) into the catalogue.", moduleCount, functionCount);
+        return stats();
+    }
+
+    /**
+     * Looks up a module by its index.
+     *
+     * @param moduleIndex the index of the module, as encoded in the call.
+     * @return the module, or `null` if it is not in the catalogue.
+     */
+    public Module getModule(int moduleIndex) {
+        Module module = isIndex(moduleIndex) ? catalog().modules()[moduleIndex] : null;
+        if (module == null) {
+            miss(moduleIndex, -1);
+        }
+        return module;
+    }
+
+    /**
+     * Looks up a function by the index of its module and its call index.
+     *
+     * @param moduleIndex the index of the module, as encoded in the call.
+     * @param callIndex   the index of the function within the module.
+     * @return the function, or `null` if it is not in the catalogue.
+     */
+    public Function getFunction(int moduleIndex, int callIndex) {
+        Function[] calls = isIndex(moduleIndex) ? catalog().functions()[moduleIndex] : null;
+        Function function = calls != null && isIndex(callIndex) ? calls[callIndex] : null;
+        if (function == null) {
+            miss(moduleIndex, callIndex);
+        }
+        return function;
+    }
+
+    /**
+     * Returns a snapshot of the size of the catalogue.
+     *
+     * @return the number of modules, functions and misses, and the time of the last refresh.
+     */
+    public CatalogStatsDTO stats() {
+        Catalog current = catalog;
+        return current == null
+                ? new CatalogStatsDTO(0, 0, misses.size(), 0)
+                : new CatalogStatsDTO(current.moduleCount(), current.functionCount(), misses.size(), current.refreshedAt());
+    }
+
+    /**
+     * Returns the catalogue, loading it if it could not be preloaded.
+     */
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                if (catalog == null) {
+                    refresh();
+                }
+                current = catalog;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Records a lookup missing from the catalogue, logging it the first time.
+     */
+    private void miss(int moduleIndex, int callIndex) {
+        if (misses.add(moduleIndex << 16 | (callIndex & 0xffff))) {
+            if (callIndex < 0) {
+                log.warn("Module {} is not in the catalogue.", moduleIndex);
+            } else {
+                log.warn("Call {} of module {} is not in the catalogue.", callIndex, moduleIndex);
+            }
+        }
+    }
+
+    private static boolean isIndex(long index) {
+        return index >= 0 && index < INDEX_COUNT;
+    }
+
+    /**
+     * Immutable tables of the catalogue, swapped as a whole on refresh.
+     */
+    private record Catalog(Module[] modules, Function[][] functions, int moduleCount, int functionCount,
+                           long refreshedAt) {
+    }
+
+}
@@ -0,0 +1,132 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.utils.BlockBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects and repairs the blocks missed while the new heads subscription was interrupted.
+ * <p>
+ * Responsibilities:
+ * - Remembers the number of the last block indexed from the new heads, or the highest block in DB after a restart.
+ * - On every resubscription, compares it with the first new head received and backfills the missing range.
+ * - Periodically audits the `block` table for holes between indexed blocks and backfills them.
+ * <p>
+ * The indexed block numbers are read from the in-memory {@link BlockIndexService}, so neither check queries the database.
+ * <p>
+ * A new head of number N triggers the indexing of its parent N - 1, so the range repaired after a
+ * resubscription ends at N - 2. Missing ranges are fetched concurrently by the {@link BackfillService}
+ * while live indexing resumes, already existing blocks being skipped.
+ * <p>
+ * The audit is disabled in replay mode, i.e. when `replay.from` is set, since no node can be asked for the missing blocks.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Service
+public class GapRepairService {
+
+    private static final long UNKNOWN = -1;
+
+    private final BlockIndexService blockIndexService;
+    private final BackfillService backfillService;
+    private final boolean replay;
+
+    private final AtomicLong lastIndexed = new AtomicLong(UNKNOWN);
+    private final AtomicBoolean resubscribed = new AtomicBoolean();
+
+    /**
+     * Constructor for `GapRepairService`.
+     *
+     * @param blockIndexService in-memory index of the indexed block numbers.
+     * @param backfillService   service fetching the missing blocks.
+     * @param replay            whether a capture is replayed, in which case the audit is disabled.
+     */
+    public GapRepairService(BlockIndexService blockIndexService, BackfillService backfillService,
+                            @Value("#{'${replay.from:}' != ''}") boolean replay) {
+        this.blockIndexService = blockIndexService;
+        this.backfillService = backfillService;
+        this.replay = replay;
+    }
+
+    /**
+     * Records that the new heads subscription was (re)established, so that the next new head is
+     * compared with the last indexed block.
+     */
+    public void onResubscribe() {
+        resubscribed.set(true);
+    }
+
+    /**
+     * Records a new head received from the subscription, backfilling the blocks missed since the
+     * last indexed one if it is the first new head after a resubscription.
+     *
+     * @param number the number of the new head, as a "0x"-prefixed hex string.
+     */
+    public void onNewHead(String number) {
+        long head;
+        try {
+            head = Long.decode(String.valueOf(number));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring new head with invalid number {}.", number);
+            return;
+        }
+        if (resubscribed.compareAndSet(true, false)) {
+            long last = lastIndexed.get() == UNKNOWN ? blockIndexService.findMaxNumber().orElse(UNKNOWN) : lastIndexed.get();
+            if (last != UNKNOWN) {
+                repair(last + 1, head - 2);
+            }
+        }
+        lastIndexed.accumulateAndGet(head - 1, Math::max);
+    }
+
+    /**
+     * Looks for holes in the `block` table and backfills them.
+     * Skipped while a backfill is running, since the holes it is filling would be reported again,
+     * and in replay mode.
+     */
+    @Scheduled(fixedDelayString = "${gap.audit-interval-ms:3600000}", initialDelayString = "${gap.audit-initial-delay-ms:60000}")
+    public void audit() {
+        if (replay) {
+            log.debug("Replay mode, skipping gap audit.");
+            return;
+        }
+        if (backfillService.isRunning()) {
+            log.debug("Backfill in progress, skipping gap audit.");
+            return;
+        }
+        List<BlockBitmap.Range> gaps = blockIndexService.findGaps();
+        log.info("Gap audit found {} missing range(s).", gaps.size());
+        gaps.forEach(gap -> repair(gap.from(), gap.to()));
+    }
+
+    /**
+     * Returns the number of the last block indexed from the new heads.
+     *
+     * @return the last indexed block number, or -1 if no new head has been received yet.
+     */
+    public long getLastIndexed() {
+        return lastIndexed.get();
+    }
+
+    /**
+     * Backfills a range of missing blocks, if not empty.
+     *
+     * @param from the first missing block number.
+     * @param to   the last missing block number (inclusive).
+     */
+    private void repair(long from, long to) {
+        if (to < from) {
+            return;
+        }
+        log.warn("Blocks {} to {} are missing, backfilling them.", from, to);
+        backfillService.start(from, to);
+    }
+
+}
@@ -0,0 +1,105 @@
+package dev.cypherfury.juniscan.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.DecodedBlockEventDTO;
+import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.entity.OutboxEvent;
+import dev.cypherfury.juniscan.exception.OutboxEventException;
+import dev.cypherfury.juniscan.kafka.KafkaPublisher;
+import dev.cypherfury.juniscan.repository.OutboxEventRepository;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the events describing committed data to the transactional outbox.
+ * <p>
+ * Responsibilities:
+ * - Builds a {@link DecodedBlockEventDTO} from every saved block and its decoded extrinsics.
+ * - Writes it to the `outbox_event` table, in the transaction saving the block, so that the event is
+ *   committed or rolled back with the block.
+ * <p>
+ * The events are relayed to the {@link KafkaPublisher#DECODED_BLOCK_TOPIC} by the `OutboxRelayService`.
+ * Writing them can be disabled with `outbox.enabled=false`.
+ *
+ * @author Cypherfury
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    /**
+     * Constructor for `OutboxService`.
+     *
+     * @param outboxEventRepository repository for interacting with `OutboxEvent` entities.
+     * @param objectMapper          JSON serializer of the event payloads.
+     * @param enabled               whether events are written.
+     */
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                         @Value("${outbox.enabled:true}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Writes a decoded block event for each of the given blocks.
+     * Must be called within the transaction saving the blocks.
+     *
+     * @param blocks the saved blocks, along with their extrinsics.
+     * @throws OutboxEventException if an event cannot be serialized.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDecodedBlocks(List<Block> blocks) {
+        if (!enabled || blocks.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        outboxEventRepository.saveAll(blocks.stream().map(block -> toEvent(block, now)).toList());
+    }
+
+    /**
+     * Builds the outbox event of a block, keyed by its number as a "0x"-prefixed hex string, as sent by the node.
+     *
+     * @param block the saved block.
+     * @param now   the time the event is written.
+     * @return the outbox event.
+     * @throws OutboxEventException if the event cannot be serialized.
+     */
+    private OutboxEvent toEvent(Block block, Instant now) {
+        String number = ByteUtils.HEX_PREFIX + Long.toHexString(block.getNumber());
+        List<Extrinsic> extrinsics = block.getExtrinsics() == null ? List.of() : block.getExtrinsics();
+        List<DecodedBlockEventDTO.Extrinsic> decoded = new ArrayList<>(extrinsics.size());
+        for (int i = 0; i < extrinsics.size(); i++) {
+            Extrinsic extrinsic = extrinsics.get(i);
+            decoded.add(new DecodedBlockEventDTO.Extrinsic(i,
+                    extrinsic.getModule() == null ? null : extrinsic.getModule().getName(),
+                    extrinsic.getFunction() == null ? null : extrinsic.getFunction().getName(),
+                    extrinsic.isSigned(), extrinsic.getIssuerAddress(), extrinsic.getSize()));
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(
+                    new DecodedBlockEventDTO(number, block.getParentHash(), decoded));
+            return OutboxEvent.builder()
+                    .topic(KafkaPublisher.DECODED_BLOCK_TOPIC)
+                    .messageKey(number)
+                    .payload(payload)
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new OutboxEventException(number, e);
+        }
+    }
+
+}
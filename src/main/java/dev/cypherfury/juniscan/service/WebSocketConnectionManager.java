@@ -1,9 +1,13 @@
 package dev.cypherfury.juniscan.service;
 
+import dev.cypherfury.juniscan.capture.FrameCaptureLog;
 import dev.cypherfury.juniscan.exception.HandleTransportException;
 import dev.cypherfury.juniscan.exception.ReconnectWebSocketException;
+import dev.cypherfury.juniscan.rpc.RpcNode;
 import dev.cypherfury.juniscan.utils.Sleeper;
 import jakarta.annotation.PostConstruct;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -13,35 +17,47 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Manages the WebSocket connection to the blockchain node.
+ * Manages the WebSocket connections to the pool of blockchain nodes.
  * <p>
  * Responsibilities:
- * - Establish and maintain the WebSocket connection.
+ * - Establish and maintain a WebSocket connection to every configured node.
+ * - Keep the new heads subscription on a primary session, failing over to another open node
+ *   as soon as the primary session is closed.
+ * - Route JSON-RPC requests to the healthiest open node, see {@link RpcNode#score()}.
  * - Forward incoming messages to {@link WebSocketNodeService} for processing.
+ * - Record incoming messages to the {@link FrameCaptureLog}, when the capture is enabled.
  * - Handle WebSocket lifecycle events and errors.
+ * - Stay disconnected in replay mode, i.e. when `replay.from` is set, the frames being replayed from a capture instead.
  * <p>
  * Improvements:
  * - Prevents multiple threads from attempting reconnection simultaneously.
  * - Uses {@link ScheduledExecutorService} for reconnection attempts to ensure proper thread management.
- * - Ensures a single active WebSocket connection at all times.
+ * - Ensures a single active WebSocket connection per node at all times.
  * <p>
  * Dependencies:
  * - {@link Sleeper} for introducing delays between reconnection attempts.
  * - {@link WebSocketNodeService} for handling blockchain events.
+ * - {@link FrameCaptureLog} for recording the raw frames received.
  * <p>
  * Usage:
  * - Automatically initialized by Spring via the `@Service` annotation.
- * - Manages connection lifecycle and reestablishes connection if interrupted.
+ * - Manages connection lifecycle and reestablishes connections if interrupted.
  *
  * @author Cypherfury
  */
@@ -51,11 +67,15 @@ public class WebSocketConnectionManager extends TextWebSocketHandler {
 
     private final WebSocketNodeService nodeService;
     private final Sleeper sleeper;
-    private final String rpcUrl;
+    private final FrameCaptureLog captureLog;
+    @Getter
+    private final List<RpcNode> nodes;
+    private final int maxFrameBytes;
+    private final boolean replay;
 
     @Setter
     @Getter
-    private WebSocketSession currentSession;
+    private volatile WebSocketSession currentSession;
 
     private static final int RECONNECT_DELAY_MS = 5000;
     private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor();
@@ -65,61 +85,105 @@ public class WebSocketConnectionManager extends TextWebSocketHandler {
     /**
      * Constructor to initialize the WebSocketConnectionManager.
      *
-     * @param rpcUrl     The WebSocket URL of the blockchain node.
-     * @param nodeService The service that processes blockchain events.
-     * @param sleeper    Utility for introducing delays in reconnection attempts.
+     * @param rpcUrls       The WebSocket URLs of the blockchain nodes.
+     * @param nodeService   The service that processes blockchain events.
+     * @param sleeper       Utility for introducing delays in reconnection attempts.
+     * @param maxFrameBytes The largest text frame accepted from a node, batch responses being much larger than single ones.
+     * @param captureLog    The log recording the raw frames received.
+     * @param replay        Whether a capture is replayed instead, in which case no node is connected.
      */
-    public WebSocketConnectionManager(@Value("${rpc.url}") String rpcUrl,
+    public WebSocketConnectionManager(@Value("${rpc.urls:${rpc.url}}") List<String> rpcUrls,
                                       @Lazy WebSocketNodeService nodeService,
-                                      Sleeper sleeper) {
+                                      Sleeper sleeper,
+                                      @Value("${rpc.max-frame-bytes:16777216}") int maxFrameBytes,
+                                      FrameCaptureLog captureLog,
+                                      @Value("#{'${replay.from:}' != ''}") boolean replay) {
         this.nodeService = nodeService;
         this.sleeper = sleeper;
-        this.rpcUrl = rpcUrl;
+        this.nodes = rpcUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).distinct().map(RpcNode::new).toList();
+        this.maxFrameBytes = maxFrameBytes;
+        this.captureLog = captureLog;
+        this.replay = replay;
     }
 
     /**
-     * Initializes the WebSocket connection after the service is created.
+     * Initializes the WebSocket connections after the service is created, unless a capture is replayed.
      * This method is invoked automatically by the Spring framework.
      */
     @PostConstruct
     public void initializeConnection() {
-        if (currentSession != null && currentSession.isOpen()) {
-            log.info("WebSocket session already open. Skipping new connection.");
+        if (replay) {
+            log.info("Replay mode, not connecting to any node.");
             return;
         }
-        log.info("Initializing WebSocket connection...");
-        connect();
+        log.info("Initializing WebSocket connections to {} node(s)...", nodes.size());
+        for (RpcNode node : nodes) {
+            if (node.isOpen()) {
+                log.info("WebSocket session to {} already open. Skipping new connection.", node.getUrl());
+            } else {
+                connect(node);
+            }
+        }
     }
 
     /**
-     * Establishes a new WebSocket connection.
+     * Establishes a new WebSocket connection to a node.
+     *
+     * @param node The node to connect to.
      */
-    private void connect() {
+    private void connect(RpcNode node) {
         synchronized (lock) {
+            if (node.isOpen()) {
+                return;
+            }
             try {
-                log.info("Attempting to open WebSocket connection...");
-                StandardWebSocketClient webSocketClient = new StandardWebSocketClient();
-                webSocketClient.execute(this, rpcUrl);
+                log.info("Attempting to open WebSocket connection to {}...", node.getUrl());
+                WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+                container.setDefaultMaxTextMessageBufferSize(maxFrameBytes);
+                StandardWebSocketClient webSocketClient = new StandardWebSocketClient(container);
+                webSocketClient.execute(handlerFor(node), node.getUrl());
             } catch (Exception e) {
-                log.error("Failed to establish WebSocket connection: {}", e.getMessage());
-                scheduleReconnect();
+                log.error("Failed to establish WebSocket connection to {}: {}", node.getUrl(), e.getMessage());
+                scheduleReconnect(node);
             }
         }
     }
 
     /**
-     * Called when the WebSocket connection is established.
-     * Delegates subscription handling to {@link WebSocketNodeService}.
+     * Wraps this handler so that the session is bound to its node before being handled,
+     * client sessions not exposing the URL they are connected to.
+     *
+     * @param node The node the connection is opened to.
+     * @return the handler of the connection.
+     */
+    private WebSocketHandler handlerFor(RpcNode node) {
+        return new WebSocketHandlerDecorator(this) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                node.setSession(session);
+                super.afterConnectionEstablished(session);
+            }
+        };
+    }
+
+    /**
+     * Called when a WebSocket connection is established.
+     * The first open session becomes the primary one, and delegates subscription handling to {@link WebSocketNodeService}.
      */
     @Override
     public synchronized void afterConnectionEstablished(@NonNull WebSocketSession session) {
-        log.info("WebSocket connection established.");
-        currentSession = session;
-        nodeService.onConnectionEstablished();
+        Optional<RpcNode> node = nodeFor(session);
+        node.ifPresent(n -> n.setSession(session));
+        log.info("WebSocket connection established to {}.", node.map(RpcNode::getUrl).orElse("unknown node"));
+        if (currentSession == null || !currentSession.isOpen()) {
+            currentSession = session;
+            nodeService.onConnectionEstablished();
+        }
     }
 
     /**
-     * Handles incoming WebSocket messages and forwards them to {@link WebSocketNodeService} for processing.
+     * Handles incoming WebSocket messages, records them to the capture log and forwards them to
+     * {@link WebSocketNodeService} for processing.
      *
      * @param session The active WebSocket session.
      * @param message The incoming message.
@@ -127,7 +191,8 @@ public class WebSocketConnectionManager extends TextWebSocketHandler {
     @Override
     protected void handleTextMessage(@NonNull WebSocketSession session, TextMessage message) {
         String payload = message.getPayload();
-        log.info("Message received: {}", payload);
+        log.debug("Message received: {} characters", payload.length());
+        captureLog.append(payload);
         nodeService.processMessage(payload);
     }
 
@@ -144,8 +209,9 @@ public class WebSocketConnectionManager extends TextWebSocketHandler {
     }
 
     /**
-     * Called when the WebSocket connection is closed.
-     * Logs the reason and triggers a reconnection attempt.
+     * Called when a WebSocket connection is closed.
+     * Logs the reason, fails the requests pending on the node, fails over the subscription to another
+     * open node if the primary session was closed, and triggers a reconnection attempt to the node.
      *
      * @param session The closed WebSocket session.
      * @param status  The close status.
@@ -153,29 +219,111 @@ public class WebSocketConnectionManager extends TextWebSocketHandler {
     @Override
     public synchronized void afterConnectionClosed(@NonNull WebSocketSession session, CloseStatus status) {
         log.info("WebSocket connection closed: {}", status.getReason());
-        currentSession = null; // Reset the session
-        scheduleReconnect();
+        Optional<RpcNode> node = nodes.stream().filter(n -> n.getSession() == session).findFirst();
+        node.ifPresent(n -> {
+            n.setSession(null);
+            n.recordFailure();
+            nodeService.onConnectionClosed(n);
+        });
+        if (currentSession == session || currentSession == null) {
+            failOver();
+        }
+        node.ifPresent(this::scheduleReconnect);
+    }
+
+    /**
+     * Promotes the healthiest open node to primary session and subscribes again,
+     * without waiting for the closed node to reconnect.
+     */
+    private void failOver() {
+        currentSession = healthiestNode().map(RpcNode::getSession).orElse(null);
+        if (currentSession != null) {
+            log.info("Failing over the subscription to {}.", currentSession.getUri());
+            nodeService.onConnectionEstablished();
+        }
     }
 
     /**
-     * Schedules a reconnection attempt to the WebSocket server.
+     * Schedules a reconnection attempt to a node.
+     *
+     * @param node The node to reconnect to.
+     */
+    private void scheduleReconnect(RpcNode node) {
+        reconnectExecutor.schedule(() -> connect(node), RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indicates whether at least one WebSocket session is currently open.
+     *
+     * @return `true` if messages can be sent, `false` otherwise.
      */
-    private void scheduleReconnect() {
-        reconnectExecutor.schedule(this::connect, RECONNECT_DELAY_MS, TimeUnit.MILLISECONDS);
+    public boolean isConnected() {
+        WebSocketSession session = currentSession;
+        return (session != null && session.isOpen()) || nodes.stream().anyMatch(RpcNode::isOpen);
     }
 
     /**
-     * Sends a message through the current WebSocket session.
+     * Selects the open node requests should be routed to.
+     *
+     * @return the healthiest open node.
+     * @throws IllegalStateException if no session is open.
+     */
+    public RpcNode selectNode() {
+        return healthiestNode().orElseThrow(() -> {
+            log.error("No WebSocket session is open.");
+            return new IllegalStateException("WebSocket session is closed.");
+        });
+    }
+
+    /**
+     * Sends a message through the primary WebSocket session, which holds the subscription.
      *
      * @param message The JSON-RPC message to send.
      * @throws IOException if there is an error sending the message.
      */
-    public synchronized void sendMessage(String message) throws IOException {
-        if (currentSession != null && currentSession.isOpen()) {
-            currentSession.sendMessage(new TextMessage(message));
+    public void sendMessage(String message) throws IOException {
+        WebSocketSession session = currentSession;
+        if (session != null && session.isOpen()) {
+            synchronized (session) {
+                session.sendMessage(new TextMessage(message));
+            }
         } else {
             log.error("WebSocket session is not open.");
             throw new IllegalStateException("WebSocket session is closed.");
         }
     }
+
+    /**
+     * Sends a message to a given node of the pool.
+     *
+     * @param node    The node to send the message to, usually returned by {@link #selectNode()}.
+     * @param message The JSON-RPC message to send.
+     * @throws IOException if there is an error sending the message.
+     */
+    public void sendMessage(RpcNode node, String message) throws IOException {
+        node.send(message);
+    }
+
+    /**
+     * Returns the healthiest open node, if any.
+     *
+     * @return the open node with the lowest health score.
+     */
+    private Optional<RpcNode> healthiestNode() {
+        return nodes.stream().filter(RpcNode::isOpen).min(Comparator.comparingDouble(RpcNode::score));
+    }
+
+    /**
+     * Finds the node a session is connected to: the node it is bound to, or else the node with its URL,
+     * falling back to the first node without an open session.
+     *
+     * @param session The WebSocket session.
+     * @return the node of the session, if any.
+     */
+    private Optional<RpcNode> nodeFor(WebSocketSession session) {
+        String uri = Objects.toString(session.getUri(), null);
+        return nodes.stream().filter(node -> node.getSession() == session).findFirst()
+                .or(() -> nodes.stream().filter(node -> node.getUrl().equals(uri)).findFirst())
+                .or(() -> nodes.stream().filter(node -> !node.isOpen()).findFirst());
+    }
 }
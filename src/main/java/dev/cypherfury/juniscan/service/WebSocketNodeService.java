@@ -1,25 +1,39 @@
 package dev.cypherfury.juniscan.service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.cypherfury.juniscan.kafka.KafkaPublisher;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import dev.cypherfury.juniscan.bus.ChainEventBus;
 import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.enums.IngestMode;
 import dev.cypherfury.juniscan.exception.*;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.rpc.RpcNode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Handles business logic related to blockchain events received via WebSocket.
  * <p>
  * Responsibilities:
  * - Process messages from the WebSocket.
- * - Publish relevant events to Kafka.
- * - Handle JSON-RPC requests and responses.
+ * - Publish relevant events to the {@link ChainEventBus}, Kafka or in memory: the new heads, or the blocks they announce in the `BLOCK` {@link IngestMode}.
+ * - Handle JSON-RPC requests and responses, delegating request correlation to {@link JsonRpcClient}.
+ * - Demultiplex JSON-RPC batch responses, received as a single array.
+ * - Hand fetched blocks over to the {@link BlockIngestService}, so that they are not indexed on the WebSocket I/O thread.
+ * - Report resubscriptions and new heads to the {@link GapRepairService}, which backfills the blocks missed meanwhile.
+ * - Replay captured frames without a node, submitting the captured blocks straight to the {@link BlockIngestService}.
  *
  *  @author Cypherfury
  */
@@ -28,46 +42,64 @@ import java.util.Objects;
 public class WebSocketNodeService {
 
     private static final String SUBSCRIPTION_REQUEST = "{\"id\": 1,\"jsonrpc\":\"2.0\",\"method\":\"chain_subscribeNewHeads\",\"params\":[]}";
-    private static final String FETCH_BLOCK_REQUEST = "{\"id\": 2,\"jsonrpc\":\"2.0\",\"method\":\"chain_getBlock\",\"params\":[\"%s\"]}";
+    private static final String GET_BLOCK_METHOD = "chain_getBlock";
 
     private static final String NEW_HEAD_FIELD = "chain_newHead";
     private static final String METHOD_FIELD = "method";
     private static final String RESULT_FIELD = "result";
+    private static final String ERROR_FIELD = "error";
+    private static final String PARAMS_FIELD = "params";
+    private static final String JSONRPC_FIELD = "jsonrpc";
     private static final String ID_FIELD = "id";
 
-    private static final int BLOCK_DETAILS_ID = 2;
     private static final int SUBSCRIPTION_ID = 1;
 
     private final WebSocketConnectionManager connectionManager;
-    private final KafkaPublisher eventPublisher;
+    private final ChainEventBus eventPublisher;
     private final ObjectMapper objectMapper;
-    private final BlockService blockService;
+    private final BlockIngestService ingestService;
+    private final JsonRpcClient rpcClient;
+    private final GapRepairService gapRepairService;
+    private final IngestMode ingestMode;
 
     /**
      * Constructor to initialize the service with required dependencies.
      *
-     * @param eventPublisher    Kafka event publisher for blockchain events.
+     * @param eventPublisher    Event bus publishing the blockchain events.
      * @param connectionManager Manages WebSocket connections and message sending.
      * @param objectMapper      JSON parser and serializer.
-     * @param blockService      The service to manage blocks.
+     * @param ingestService     The queue handing fetched blocks over to the indexing workers.
+     * @param rpcClient         The JSON-RPC client correlating requests and responses.
+     * @param gapRepairService  The service repairing the blocks missed while the subscription was interrupted.
+     * @param ingestMode        Whether new heads or the blocks they announce are published to the bus.
      */
     public WebSocketNodeService(WebSocketConnectionManager connectionManager,
-                                KafkaPublisher eventPublisher, ObjectMapper objectMapper,
-                                BlockService blockService) {
+                                ChainEventBus eventPublisher, ObjectMapper objectMapper,
+                                BlockIngestService ingestService, JsonRpcClient rpcClient,
+                                GapRepairService gapRepairService,
+                                @Value("${ingest.mode:HEAD}") IngestMode ingestMode) {
         this.eventPublisher = eventPublisher;
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
-        this.blockService = blockService;
+        this.ingestService = ingestService;
+        this.rpcClient = rpcClient;
+        this.gapRepairService = gapRepairService;
+        this.ingestMode = ingestMode;
     }
 
     /**
-     * Sends the subscription request after the connection is established.
+     * Sends the subscription request after the connection is established, and lets the
+     * {@link GapRepairService} check the first new head received for missed blocks.
+     * <p>
+     * The resubscription is recorded before the request is sent, since the first new head may be
+     * received on the I/O thread before `sendMessage` returns, and would then be taken for a regular one.
      *
      * @throws SendSocketMessageException If an error occurs while sending the subscription request.
      */
     public void onConnectionEstablished() {
         try {
             log.info("Sending subscription request...");
+            gapRepairService.onResubscribe();
             connectionManager.sendMessage(SUBSCRIPTION_REQUEST);
         } catch (IOException e) {
             log.error("Error during subscription: {}", e.getMessage());
@@ -75,106 +107,357 @@ public class WebSocketNodeService {
         }
     }
 
+    /**
+     * Fails every JSON-RPC request pending on a node once its connection is closed,
+     * since their responses will never be received.
+     *
+     * @param node The node whose connection was closed.
+     */
+    public void onConnectionClosed(RpcNode node) {
+        rpcClient.failAll(node, new RpcConnectionClosedException());
+    }
+
     /**
      * Processes incoming messages from the WebSocket.
+     * <p>
+     * The message is read with a streaming {@link JsonParser}: only the `id` and `method` fields are peeked at,
+     * and the `result` or `params` field is bound straight to its target type. Since nodes write the `id` after
+     * the `result`, the result is skipped and only its offset in the payload remembered; once the pending
+     * request, and therefore its type, is known, a second parser binds it from that offset. Neither a
+     * {@link JsonNode} tree nor a copy of its strings is created, so the extrinsics are decoded from the
+     * characters of the parser.
      *
      * @param payload The raw JSON message payload.
      * @throws HandleWebSocketTextException If an error occurs while parsing the JSON payload.
      */
     public void processMessage(String payload) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            if (jsonNode.has(ID_FIELD)) {
-                handleResponseMessage(jsonNode);
-            } else if (jsonNode.has(METHOD_FIELD) && NEW_HEAD_FIELD.equals(jsonNode.get(METHOD_FIELD).asText())) {
-                handleNewHeadNotification(jsonNode);
+        processMessage(payload, false);
+    }
+
+    /**
+     * Processes a frame replayed from a capture, without any node connected.
+     * <p>
+     * The `chain_getBlock` results of the captured responses are submitted straight to the
+     * {@link BlockIngestService}, since no request is pending for them. New head notifications are ignored:
+     * their parent block is indexed from the captured response to its own request, and neither the bus nor the
+     * {@link GapRepairService} must ask the absent node for blocks.
+     *
+     * @param payload The raw JSON frame payload.
+     * @throws HandleWebSocketTextException If an error occurs while parsing the JSON payload.
+     */
+    public void replayMessage(String payload) {
+        processMessage(payload, true);
+    }
+
+    /**
+     * Processes a message received from the WebSocket, or replayed from a capture.
+     *
+     * @param payload The raw JSON message payload.
+     * @param replay  Whether the message is replayed from a capture rather than received from a node.
+     * @throws HandleWebSocketTextException If an error occurs while parsing the JSON payload.
+     */
+    private void processMessage(String payload, boolean replay) {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                handleBatchResponse(parser, payload, replay);
+            } else if (token == JsonToken.START_OBJECT) {
+                handleMessage(parser, payload, replay);
             } else {
                 log.warn("Unknown message type received: {}", payload);
             }
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             throw new HandleWebSocketTextException(payload, e);
         }
     }
 
     /**
-     * Handles response messages based on their ID and processes corresponding data.
+     * Handles a JSON-RPC batch response, completing the pending request of each of its elements.
+     *
+     * @param parser  The parser positioned on the start of the array.
+     * @param payload The raw JSON message payload.
+     * @param replay  Whether the message is replayed from a capture.
+     * @throws IOException If an error occurs while parsing the payload.
+     */
+    private void handleBatchResponse(JsonParser parser, String payload, boolean replay) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            handleMessage(parser, payload, replay);
+        }
+    }
+
+    /**
+     * Handles a single JSON-RPC message: a response, identified by its `id`, or a new head notification.
      *
-     * @param jsonNode The JSON node representing the response message.
+     * @param parser  The parser positioned on the start of the message object.
+     * @param payload The raw JSON message payload.
+     * @param replay  Whether the message is replayed from a capture.
+     * @throws IOException If an error occurs while parsing the payload.
      */
-    private void handleResponseMessage(JsonNode jsonNode) {
-        int id = jsonNode.get(ID_FIELD).asInt();
-        if (id == SUBSCRIPTION_ID && jsonNode.has(RESULT_FIELD)) {
-            handleSubscriptionResponse(jsonNode);
-        } else if (id == BLOCK_DETAILS_ID && jsonNode.has(RESULT_FIELD)) {
-            handleBlockDetailsResponse(jsonNode);
+    private void handleMessage(JsonParser parser, String payload, boolean replay) throws IOException {
+        Long id = null;
+        String jsonrpc = null;
+        String method = null;
+        long resultStart = -1;
+        long resultLength = 0;
+        JsonNode error = null;
+        NewHeadDTO.Params newHeadParams = null;
+        TokenBuffer params = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case ID_FIELD -> id = parser.getValueAsLong();
+                case JSONRPC_FIELD -> jsonrpc = parser.getValueAsString();
+                case METHOD_FIELD -> method = parser.getValueAsString();
+                case RESULT_FIELD -> {
+                    resultStart = parser.currentTokenLocation().getCharOffset();
+                    parser.skipChildren();
+                    parser.finishToken();
+                    resultLength = parser.currentLocation().getCharOffset() - resultStart;
+                }
+                case ERROR_FIELD -> error = parser.readValueAsTree();
+                case PARAMS_FIELD -> {
+                    if (NEW_HEAD_FIELD.equals(method)) {
+                        newHeadParams = readNewHeadParams(parser, payload);
+                    } else {
+                        params = TokenBuffer.asCopyOfValue(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (id != null && replay) {
+            handleReplayedResponse(id, payload, resultStart);
+        } else if (id != null) {
+            handleResponseMessage(id, payload, resultStart, resultLength, error);
+        } else if (NEW_HEAD_FIELD.equals(method) && replay) {
+            log.debug("Ignoring replayed new head notification.");
+        } else if (NEW_HEAD_FIELD.equals(method)) {
+            if (newHeadParams == null && params != null) {
+                newHeadParams = readNewHeadParams(params.asParserOnFirstToken(), payload);
+            }
+            handleNewHeadNotification(jsonrpc, method, newHeadParams);
         } else {
-            log.warn("Unexpected response received: {}", jsonNode);
+            log.warn("Unknown message type received: {}", payload);
         }
     }
 
+    /**
+     * Handles response messages based on their ID.
+     * Responses to requests sent through the {@link JsonRpcClient} complete their pending future.
+     *
+     * @param id           The identifier of the response.
+     * @param payload      The raw JSON message payload.
+     * @param resultStart  The offset of the `result` field in the payload, or -1 if the response has none.
+     * @param resultLength The length of the `result` field in the received frame.
+     * @param error        The `error` field, or `null` if the response has none.
+     * @throws IOException If an error occurs while reading the result.
+     */
+    private void handleResponseMessage(long id, String payload, long resultStart, long resultLength,
+                                       JsonNode error) throws IOException {
+        boolean matched;
+        if (id == SUBSCRIPTION_ID && resultStart >= 0) {
+            try (JsonParser result = resultParser(payload, resultStart)) {
+                handleSubscriptionResponse(result.getValueAsString());
+            }
+            matched = true;
+        } else if (error != null) {
+            matched = rpcClient.fail(id, error);
+        } else if (resultStart < 0) {
+            matched = rpcClient.complete(id, null, resultLength);
+        } else {
+            try (JsonParser result = resultParser(payload, resultStart)) {
+                matched = rpcClient.complete(id, result, resultLength);
+            }
+        }
+        if (!matched) {
+            log.warn("Unexpected response received with id {}.", id);
+        }
+    }
+
+    /**
+     * Handles a response replayed from a capture, whose request is not pending.
+     * A result holding a block, i.e. the response to a `chain_getBlock` request, is submitted to the ingest
+     * queue; any other result, such as the subscription ID or a block hash, is ignored.
+     *
+     * @param id          The identifier of the response.
+     * @param payload     The raw JSON message payload.
+     * @param resultStart The offset of the `result` field in the payload, or -1 if the response has none.
+     * @throws IOException If an error occurs while reading the result.
+     */
+    private void handleReplayedResponse(long id, String payload, long resultStart) throws IOException {
+        if (id == SUBSCRIPTION_ID || resultStart < 0) {
+            return;
+        }
+        BlockDetailsDTO blockDetails;
+        try (JsonParser result = resultParser(payload, resultStart)) {
+            if (result.currentToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            blockDetails = objectMapper.readValue(result, BlockDetailsDTO.class);
+        }
+        if (blockDetails.getBlock() != null) {
+            handleBlockDetails(blockDetails)
+                    .exceptionally(e -> {
+                        log.warn("Unable to index replayed block of response {}: {}", id, e.getMessage());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Creates a parser positioned on the first token of the `result` field, reading the payload from the
+     * offset of the field rather than from a copy of it.
+     *
+     * @param payload     The raw JSON message payload.
+     * @param resultStart The offset of the `result` field in the payload.
+     * @return the parser, to be closed once the result is bound.
+     * @throws IOException If an error occurs while parsing the payload.
+     */
+    private JsonParser resultParser(String payload, long resultStart) throws IOException {
+        StringReader reader = new StringReader(payload);
+        reader.skip(resultStart);
+        JsonParser parser = objectMapper.createParser(reader);
+        parser.nextToken();
+        return parser;
+    }
+
     /**
      * Handles the subscription response received from the WebSocket.
      *
-     * @param jsonNode The JSON node representing the subscription response.
+     * @param subscriptionId The identifier of the subscription.
      */
-    private void handleSubscriptionResponse(JsonNode jsonNode) {
-        String subscriptionId = jsonNode.get(RESULT_FIELD).asText();
+    private void handleSubscriptionResponse(String subscriptionId) {
         log.info("Subscription successful. Subscription ID: {}", subscriptionId);
     }
 
     /**
-     * Processes block details from the given JSON response.
+     * Submits the block details received in response to a `chain_getBlock` request to the ingest queue.
      *
-     * @param jsonNode The JSON node containing block details.
-     * @throws HandleBlockDetailsException If an error occurs while processing block details.
+     * @param blockDetails The block details, or `null` if the node does not know the block.
+     * @return a future completed once the block has been indexed.
      */
-    private void handleBlockDetailsResponse(JsonNode jsonNode) {
+    private CompletableFuture<Void> handleBlockDetails(BlockDetailsDTO blockDetails) {
+        log.debug("Processing block details: {}", blockDetails);
+        BlockDetailsDTO.Block block = blockDetails == null ? null : blockDetails.getBlock();
+        if (block == null) {
+            log.warn("Block details are null for the provided block.");
+            return CompletableFuture.completedFuture(null);
+        }
+        return ingestService.submit(block);
+    }
+
+    /**
+     * Binds the parameters of a new head notification.
+     *
+     * @param parser  The parser positioned on the first token of the `params` field.
+     * @param payload The raw JSON message payload.
+     * @return the notification parameters.
+     * @throws HandleHeadNotificationException If the parameters cannot be bound.
+     * @throws IOException If an error occurs while parsing the payload.
+     */
+    private NewHeadDTO.Params readNewHeadParams(JsonParser parser, String payload) throws IOException {
         try {
-            BlockDetailsDTO blockDetails = objectMapper.treeToValue(jsonNode.get(RESULT_FIELD), BlockDetailsDTO.class);
-            log.info("Processing block details: {}", blockDetails);
-            BlockDetailsDTO.Block block = blockDetails.getBlock();
-            if (block != null && !blockService.alreadyExist(block)) {
-                blockService.decodeAndSave(block);
-            } else {
-                log.warn("Block details are null for the provided block, or the block already exist in DB.");
-            }
+            return objectMapper.readValue(parser, NewHeadDTO.Params.class);
         } catch (JsonProcessingException e) {
-            throw new HandleBlockDetailsException(jsonNode, e);
+            throw new HandleHeadNotificationException(payload, e);
         }
     }
 
     /**
      * Processes a new head notification received from the WebSocket.
+     * <p>
+     * In the `HEAD` mode, the notification is published to Kafka as is. In the `BLOCK` mode, the parent block
+     * of the new head is fetched and published instead, since a new head triggers the indexing of its parent.
      *
-     * @param jsonNode The JSON node containing the new head notification.
-     * @throws HandleHeadNotificationException If an error occurs while processing the head notification.
+     * @param jsonrpc The JSON-RPC version of the notification.
+     * @param method  The method of the notification.
+     * @param params  The parameters of the notification.
      */
-    private void handleNewHeadNotification(JsonNode jsonNode) {
-        try {
-            NewHeadDTO newHeadMessage = objectMapper.treeToValue(jsonNode, NewHeadDTO.class);
+    private void handleNewHeadNotification(String jsonrpc, String method, NewHeadDTO.Params params) {
+        NewHeadDTO newHeadMessage = new NewHeadDTO();
+        newHeadMessage.setJsonrpc(jsonrpc);
+        newHeadMessage.setMethod(method);
+        newHeadMessage.setParams(params);
+        if (params != null && params.getResult() != null) {
+            gapRepairService.onNewHead(params.getResult().getNumber());
+        }
+        if (ingestMode == IngestMode.BLOCK && params != null && params.getResult() != null) {
+            String parentHash = params.getResult().getParentHash();
+            fetchAndPublishBlock(parentHash)
+                    .exceptionally(e -> {
+                        log.error("Unable to publish block {}: {}", parentHash, e.getMessage());
+                        return null;
+                    });
+        } else {
             eventPublisher.publishNewHead(newHeadMessage);
-        } catch (JsonProcessingException e) {
-            throw new HandleHeadNotificationException(jsonNode, e);
         }
     }
 
     /**
-     * Fetches details of a block using its hash by sending a JSON-RPC request to the WebSocket.
+     * Publishes the block received in response to a `chain_getBlock` request to Kafka.
+     *
+     * @param blockDetails The block details, or `null` if the node does not know the block.
+     * @return a future completed once the block is acknowledged by Kafka.
+     */
+    private CompletableFuture<Void> publishBlockDetails(BlockDetailsDTO blockDetails) {
+        BlockDetailsDTO.Block block = blockDetails == null ? null : blockDetails.getBlock();
+        if (block == null) {
+            log.warn("Block details are null for the provided block.");
+            return CompletableFuture.completedFuture(null);
+        }
+        return eventPublisher.publishBlock(block);
+    }
+
+    /**
+     * Fetches details of a block using its hash by sending a JSON-RPC request to the WebSocket,
+     * then submits the block to the ingest queue once the response is received.
      *
      * @param blockHash The hash of the block whose details are to be fetched.
+     * @return a future completed once the block has been indexed.
      * @throws IllegalArgumentException If the block hash is null or empty.
      * @throws SendSocketMessageException If an error occurs while sending the fetch request.
      */
-    public void fetchBlockDetails(String blockHash) {
+    public CompletableFuture<Void> fetchBlockDetails(String blockHash) {
         if (blockHash == null || blockHash.isEmpty()) {
             throw new IllegalArgumentException("Block hash must not be null or empty");
         }
-        try {
-            String request = String.format(FETCH_BLOCK_REQUEST, blockHash);
-            connectionManager.sendMessage(request);
-        } catch (IOException e) {
-            throw new SendSocketMessageException(blockHash, e);
+        return rpcClient.call(GET_BLOCK_METHOD, BlockDetailsDTO.class, blockHash)
+                .thenCompose(this::handleBlockDetails);
+    }
+
+    /**
+     * Fetches a block using its hash by sending a JSON-RPC request to the WebSocket, then publishes it
+     * whole to Kafka once the response is received, for the indexers to consume it.
+     *
+     * @param blockHash The hash of the block to fetch.
+     * @return a future completed once the block has been acknowledged by Kafka.
+     * @throws IllegalArgumentException If the block hash is null or empty.
+     * @throws SendSocketMessageException If an error occurs while sending the fetch request.
+     */
+    public CompletableFuture<Void> fetchAndPublishBlock(String blockHash) {
+        if (blockHash == null || blockHash.isEmpty()) {
+            throw new IllegalArgumentException("Block hash must not be null or empty");
         }
+        return rpcClient.call(GET_BLOCK_METHOD, BlockDetailsDTO.class, blockHash)
+                .thenCompose(this::publishBlockDetails);
+    }
+
+    /**
+     * Fetches a list of blocks using their hashes in a single JSON-RPC batch.
+     *
+     * @param blockHashes The hashes of the blocks to fetch.
+     * @return a future completed with the blocks known by the node, in the order of their hashes.
+     * @throws SendSocketMessageException If an error occurs while sending the batch.
+     */
+    public CompletableFuture<List<BlockDetailsDTO.Block>> fetchBlocks(List<String> blockHashes) {
+        List<CompletableFuture<BlockDetailsDTO>> futures = rpcClient.callBatch(GET_BLOCK_METHOD, BlockDetailsDTO.class, blockHashes);
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .map(blockDetails -> blockDetails == null ? null : blockDetails.getBlock())
+                        .filter(Objects::nonNull)
+                        .toList());
     }
 
 }
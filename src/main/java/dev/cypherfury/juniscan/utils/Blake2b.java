@@ -0,0 +1,271 @@
+package dev.cypherfury.juniscan.utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Unkeyed BLAKE2b message digest (RFC 7693), the hash function of Substrate block and extrinsic hashes.
+ * <p>
+ * Responsibilities:
+ * - Hashes bytes fed in any number of {@link #update} calls into a digest of 1 to 64 bytes.
+ * - Writes the digest into an existing array, then resets itself, ready for the next message.
+ * <p>
+ * The state, the message words and the block buffer are allocated once per instance: hashing a message
+ * allocates nothing. Full blocks are compressed straight from the input array, only the last block of an
+ * update being copied into the buffer, since the final block must be compressed with its own flag.
+ * Instances are not thread-safe; each thread hashes with its own.
+ * Typical usage:
+ * <pre>
+ *     Blake2b blake2b = new Blake2b(32);
+ *     blake2b.update(bytes, 0, bytes.length);
+ *     blake2b.digest(hash, 0);
+ * </pre>
+ *
+ * @author Cypherfury
+ */
+public final class Blake2b {
+
+    public static final int BLOCK_LENGTH = 128;
+    public static final int MAX_DIGEST_LENGTH = 64;
+
+    private static final int ROUNDS = 12;
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long[] IV = {
+            0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+            0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    private static final byte[][] SIGMA = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+            {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+            {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+            {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+            {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+            {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+            {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+            {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+            {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+            {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0}
+    };
+
+    private final int digestLength;
+    private final long[] h = new long[8];
+    private final long[] m = new long[16];
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+    private int buffered;
+    private long counter;
+
+    /**
+     * Constructor for `Blake2b`.
+     *
+     * @param digestLength the length of the digest, in bytes, e.g. 32 for BLAKE2b-256.
+     * @throws IllegalArgumentException if the length is not between 1 and {@value #MAX_DIGEST_LENGTH}.
+     */
+    public Blake2b(int digestLength) {
+        if (digestLength < 1 || digestLength > MAX_DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Invalid digest length: " + digestLength);
+        }
+        this.digestLength = digestLength;
+        reset();
+    }
+
+    /**
+     * Hashes bytes into a 32-byte BLAKE2b-256 digest.
+     *
+     * @param bytes  the array containing the bytes.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return the digest.
+     */
+    public static byte[] hash256(byte[] bytes, int offset, int length) {
+        byte[] digest = new byte[32];
+        new Blake2b(32).update(bytes, offset, length).digest(digest, 0);
+        return digest;
+    }
+
+    /**
+     * Returns the length of the digest.
+     *
+     * @return the length of the digest, in bytes.
+     */
+    public int digestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Discards the bytes fed so far, to hash another message.
+     *
+     * @return this digest.
+     */
+    public Blake2b reset() {
+        System.arraycopy(IV, 0, h, 0, IV.length);
+        h[0] ^= 0x01010000L ^ digestLength;
+        buffered = 0;
+        counter = 0;
+        return this;
+    }
+
+    /**
+     * Feeds a byte.
+     *
+     * @param value the byte.
+     * @return this digest.
+     */
+    public Blake2b update(byte value) {
+        if (buffered == BLOCK_LENGTH) {
+            counter += BLOCK_LENGTH;
+            compress(buffer, 0, false);
+            buffered = 0;
+        }
+        buffer[buffered++] = value;
+        return this;
+    }
+
+    /**
+     * Feeds bytes.
+     *
+     * @param bytes  the array containing the bytes.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return this digest.
+     */
+    public Blake2b update(byte[] bytes, int offset, int length) {
+        if (length <= 0) {
+            return this;
+        }
+        if (buffered > 0) {
+            int fill = BLOCK_LENGTH - buffered;
+            if (length <= fill) {
+                System.arraycopy(bytes, offset, buffer, buffered, length);
+                buffered += length;
+                return this;
+            }
+            System.arraycopy(bytes, offset, buffer, buffered, fill);
+            counter += BLOCK_LENGTH;
+            compress(buffer, 0, false);
+            buffered = 0;
+            offset += fill;
+            length -= fill;
+        }
+        while (length > BLOCK_LENGTH) {
+            counter += BLOCK_LENGTH;
+            compress(bytes, offset, false);
+            offset += BLOCK_LENGTH;
+            length -= BLOCK_LENGTH;
+        }
+        System.arraycopy(bytes, offset, buffer, 0, length);
+        buffered = length;
+        return this;
+    }
+
+    /**
+     * Completes the hash, writes the digest into an array, then resets this digest.
+     *
+     * @param out    the array receiving the digest.
+     * @param offset the index of the first byte of the digest.
+     * @throws IndexOutOfBoundsException if the digest does not fit in the array.
+     */
+    public void digest(byte[] out, int offset) {
+        Objects.checkFromIndexSize(offset, digestLength, out.length);
+        counter += buffered;
+        Arrays.fill(buffer, buffered, BLOCK_LENGTH, (byte) 0);
+        compress(buffer, 0, true);
+        for (int i = 0; i < digestLength; i++) {
+            out[offset + i] = (byte) (h[i >>> 3] >>> ((i & 7) << 3));
+        }
+        reset();
+    }
+
+    /**
+     * Compresses a 128-byte block into the state. The working vector is held in local variables, so that
+     * it stays in registers, and each round applies the G mixing function to its columns then its diagonals.
+     */
+    private void compress(byte[] block, int offset, boolean last) {
+        for (int i = 0; i < 16; i++) {
+            m[i] = (long) LONG_LE.get(block, offset + (i << 3));
+        }
+        long v0 = h[0], v1 = h[1], v2 = h[2], v3 = h[3], v4 = h[4], v5 = h[5], v6 = h[6], v7 = h[7];
+        long v8 = IV[0], v9 = IV[1], v10 = IV[2], v11 = IV[3];
+        long v12 = IV[4] ^ counter, v13 = IV[5], v14 = last ? ~IV[6] : IV[6], v15 = IV[7];
+        for (int round = 0; round < ROUNDS; round++) {
+            byte[] s = SIGMA[round % SIGMA.length];
+            v0 += v4 + m[s[0]];
+            v12 = Long.rotateRight(v12 ^ v0, 32);
+            v8 += v12;
+            v4 = Long.rotateRight(v4 ^ v8, 24);
+            v0 += v4 + m[s[1]];
+            v12 = Long.rotateRight(v12 ^ v0, 16);
+            v8 += v12;
+            v4 = Long.rotateRight(v4 ^ v8, 63);
+            v1 += v5 + m[s[2]];
+            v13 = Long.rotateRight(v13 ^ v1, 32);
+            v9 += v13;
+            v5 = Long.rotateRight(v5 ^ v9, 24);
+            v1 += v5 + m[s[3]];
+            v13 = Long.rotateRight(v13 ^ v1, 16);
+            v9 += v13;
+            v5 = Long.rotateRight(v5 ^ v9, 63);
+            v2 += v6 + m[s[4]];
+            v14 = Long.rotateRight(v14 ^ v2, 32);
+            v10 += v14;
+            v6 = Long.rotateRight(v6 ^ v10, 24);
+            v2 += v6 + m[s[5]];
+            v14 = Long.rotateRight(v14 ^ v2, 16);
+            v10 += v14;
+            v6 = Long.rotateRight(v6 ^ v10, 63);
+            v3 += v7 + m[s[6]];
+            v15 = Long.rotateRight(v15 ^ v3, 32);
+            v11 += v15;
+            v7 = Long.rotateRight(v7 ^ v11, 24);
+            v3 += v7 + m[s[7]];
+            v15 = Long.rotateRight(v15 ^ v3, 16);
+            v11 += v15;
+            v7 = Long.rotateRight(v7 ^ v11, 63);
+            v0 += v5 + m[s[8]];
+            v15 = Long.rotateRight(v15 ^ v0, 32);
+            v10 += v15;
+            v5 = Long.rotateRight(v5 ^ v10, 24);
+            v0 += v5 + m[s[9]];
+            v15 = Long.rotateRight(v15 ^ v0, 16);
+            v10 += v15;
+            v5 = Long.rotateRight(v5 ^ v10, 63);
+            v1 += v6 + m[s[10]];
+            v12 = Long.rotateRight(v12 ^ v1, 32);
+            v11 += v12;
+            v6 = Long.rotateRight(v6 ^ v11, 24);
+            v1 += v6 + m[s[11]];
+            v12 = Long.rotateRight(v12 ^ v1, 16);
+            v11 += v12;
+            v6 = Long.rotateRight(v6 ^ v11, 63);
+            v2 += v7 + m[s[12]];
+            v13 = Long.rotateRight(v13 ^ v2, 32);
+            v8 += v13;
+            v7 = Long.rotateRight(v7 ^ v8, 24);
+            v2 += v7 + m[s[13]];
+            v13 = Long.rotateRight(v13 ^ v2, 16);
+            v8 += v13;
+            v7 = Long.rotateRight(v7 ^ v8, 63);
+            v3 += v4 + m[s[14]];
+            v14 = Long.rotateRight(v14 ^ v3, 32);
+            v9 += v14;
+            v4 = Long.rotateRight(v4 ^ v9, 24);
+            v3 += v4 + m[s[15]];
+            v14 = Long.rotateRight(v14 ^ v3, 16);
+            v9 += v14;
+            v4 = Long.rotateRight(v4 ^ v9, 63);
+        }
+        h[0] ^= v0 ^ v8;
+        h[1] ^= v1 ^ v9;
+        h[2] ^= v2 ^ v10;
+        h[3] ^= v3 ^ v11;
+        h[4] ^= v4 ^ v12;
+        h[5] ^= v5 ^ v13;
+        h[6] ^= v6 ^ v14;
+        h[7] ^= v7 ^ v15;
+    }
+
+}
@@ -0,0 +1,381 @@
+package dev.cypherfury.juniscan.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed, thread-safe bitmap of non-negative numbers, such as the numbers of the indexed blocks.
+ * <p>
+ * Responsibilities:
+ * - Tells whether a number was added, and finds the ranges of numbers missing between two bounds.
+ * - Keeps the numbers in chunks of 65536, each stored in the smallest of three containers: a sorted array
+ *   for sparse chunks, a 8 KiB bit set for dense ones, and a shared marker for full ones.
+ * <p>
+ * Block numbers are mostly contiguous, so most chunks end up full and cost a map entry only: millions of
+ * blocks take a few kilobytes. Numbers are never removed. Reads share a lock, and additions take it exclusively.
+ *
+ * @author Cypherfury
+ */
+public final class BlockBitmap {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int LOW_MASK = CHUNK_SIZE - 1;
+    private static final int SPARSE_MAX_SIZE = 4096;
+
+    private final TreeMap<Long, Container> chunks = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long cardinality;
+
+    /**
+     * Adds a number to the bitmap.
+     *
+     * @param number the number to add.
+     * @return `true` if the number was not in the bitmap yet.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public boolean add(long number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Invalid block number: " + number);
+        }
+        lock.writeLock().lock();
+        try {
+            long key = number >>> CHUNK_BITS;
+            int low = (int) number & LOW_MASK;
+            Container container = chunks.get(key);
+            if (container == null) {
+                chunks.put(key, new SparseContainer(low));
+            } else if (!container.contains(low)) {
+                chunks.put(key, container.add(low));
+            } else {
+                return false;
+            }
+            cardinality++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether a number was added to the bitmap.
+     *
+     * @param number the number to look for.
+     * @return `true` if the number is in the bitmap.
+     */
+    public boolean contains(long number) {
+        if (number < 0) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            Container container = chunks.get(number >>> CHUNK_BITS);
+            return container != null && container.contains((int) number & LOW_MASK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of numbers in the bitmap.
+     *
+     * @return the cardinality of the bitmap.
+     */
+    public long cardinality() {
+        lock.readLock().lock();
+        try {
+            return cardinality;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the lowest number in the bitmap.
+     *
+     * @return the lowest number, or -1 if the bitmap is empty.
+     */
+    public long first() {
+        lock.readLock().lock();
+        try {
+            return chunks.isEmpty() ? -1 : nextSet(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest number in the bitmap.
+     *
+     * @return the highest number, or -1 if the bitmap is empty.
+     */
+    public long last() {
+        lock.readLock().lock();
+        try {
+            Map.Entry<Long, Container> last = chunks.lastEntry();
+            return last == null ? -1 : last.getKey() << CHUNK_BITS | last.getValue().last();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ranges of numbers missing from the bitmap between two bounds.
+     *
+     * @param from the lowest number to look at.
+     * @param to   the highest number to look at (inclusive).
+     * @return the missing ranges, in ascending order.
+     */
+    public List<Range> missing(long from, long to) {
+        List<Range> ranges = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long position = Math.max(0, from);
+            while (position <= to) {
+                long start = nextClear(position);
+                if (start > to) {
+                    break;
+                }
+                long next = nextSet(start);
+                long end = next < 0 || next > to ? to : next - 1;
+                ranges.add(new Range(start, end));
+                if (end == Long.MAX_VALUE) {
+                    break;
+                }
+                position = end + 1;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranges;
+    }
+
+    /**
+     * Finds the lowest number of the bitmap at or above the given one.
+     */
+    private long nextSet(long number) {
+        long key = number >>> CHUNK_BITS;
+        for (Map.Entry<Long, Container> entry : chunks.tailMap(key, true).entrySet()) {
+            int next = entry.getValue().nextSet(entry.getKey() == key ? (int) number & LOW_MASK : 0);
+            if (next >= 0) {
+                return entry.getKey() << CHUNK_BITS | next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the lowest number missing from the bitmap at or above the given one.
+     */
+    private long nextClear(long number) {
+        long key = number >>> CHUNK_BITS;
+        int low = (int) number & LOW_MASK;
+        while (true) {
+            Container container = chunks.get(key);
+            int next = container == null ? low : container.nextClear(low);
+            if (next >= 0) {
+                return key << CHUNK_BITS | next;
+            }
+            key++;
+            low = 0;
+        }
+    }
+
+    /**
+     * A range of consecutive numbers missing from the bitmap.
+     *
+     * @param from the first missing number.
+     * @param to   the last missing number (inclusive).
+     */
+    public record Range(long from, long to) {
+    }
+
+    /**
+     * The numbers of a chunk, as the low 16 bits of each of them.
+     */
+    private interface Container {
+
+        boolean contains(int low);
+
+        /**
+         * Adds a number missing from the container, returning the container to keep, which may be another one.
+         */
+        Container add(int low);
+
+        /**
+         * Returns the lowest number at or above the given one, or -1 if there is none.
+         */
+        int nextSet(int low);
+
+        /**
+         * Returns the lowest number missing at or above the given one, or -1 if there is none.
+         */
+        int nextClear(int low);
+
+        int last();
+
+    }
+
+    /**
+     * Chunk holding fewer than {@value #SPARSE_MAX_SIZE} numbers, kept in a sorted array.
+     */
+    private static final class SparseContainer implements Container {
+
+        private char[] values = new char[4];
+        private int size;
+
+        private SparseContainer(int low) {
+            values[size++] = (char) low;
+        }
+
+        @Override
+        public boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, size, (char) low) >= 0;
+        }
+
+        @Override
+        public Container add(int low) {
+            if (size + 1 >= SPARSE_MAX_SIZE) {
+                return new DenseContainer(this).add(low);
+            }
+            int index = -Arrays.binarySearch(values, 0, size, (char) low) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = (char) low;
+            size++;
+            return this;
+        }
+
+        @Override
+        public int nextSet(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size ? values[index] : -1;
+        }
+
+        @Override
+        public int nextClear(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            if (index < 0) {
+                return low;
+            }
+            while (index + 1 < size && values[index + 1] == values[index] + 1) {
+                index++;
+            }
+            return values[index] + 1 < CHUNK_SIZE ? values[index] + 1 : -1;
+        }
+
+        @Override
+        public int last() {
+            return values[size - 1];
+        }
+
+    }
+
+    /**
+     * Chunk holding at least {@value #SPARSE_MAX_SIZE} numbers, kept in a bit set.
+     */
+    private static final class DenseContainer implements Container {
+
+        private final long[] words = new long[CHUNK_SIZE / Long.SIZE];
+        private int size;
+
+        private DenseContainer(SparseContainer sparse) {
+            for (int i = 0; i < sparse.size; i++) {
+                words[sparse.values[i] >>> 6] |= 1L << sparse.values[i];
+            }
+            size = sparse.size;
+        }
+
+        @Override
+        public boolean contains(int low) {
+            return (words[low >>> 6] & 1L << low) != 0;
+        }
+
+        @Override
+        public Container add(int low) {
+            words[low >>> 6] |= 1L << low;
+            return ++size == CHUNK_SIZE ? FullContainer.INSTANCE : this;
+        }
+
+        @Override
+        public int nextSet(int low) {
+            int index = low >>> 6;
+            long word = words[index] & -1L << low;
+            while (word == 0) {
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public int nextClear(int low) {
+            int index = low >>> 6;
+            long word = ~words[index] & -1L << low;
+            while (word == 0) {
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = ~words[index];
+            }
+            return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        public int last() {
+            int index = words.length - 1;
+            while (words[index] == 0) {
+                index--;
+            }
+            return index * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[index]);
+        }
+
+    }
+
+    /**
+     * Chunk holding all of its 65536 numbers, shared by every full chunk.
+     */
+    private static final class FullContainer implements Container {
+
+        private static final FullContainer INSTANCE = new FullContainer();
+
+        @Override
+        public boolean contains(int low) {
+            return true;
+        }
+
+        @Override
+        public Container add(int low) {
+            return this;
+        }
+
+        @Override
+        public int nextSet(int low) {
+            return low;
+        }
+
+        @Override
+        public int nextClear(int low) {
+            return -1;
+        }
+
+        @Override
+        public int last() {
+            return LOW_MASK;
+        }
+
+    }
+
+}
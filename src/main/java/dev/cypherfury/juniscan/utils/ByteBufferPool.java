@@ -0,0 +1,115 @@
+package dev.cypherfury.juniscan.utils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of reusable heap {@link ByteBuffer}s, grouped by power-of-two capacity.
+ * <p>
+ * Responsibilities:
+ * - Hands out a buffer at least as large as requested, reusing a released one when available.
+ * - Keeps a bounded number of released buffers per capacity, larger buffers not being pooled at all.
+ * <p>
+ * A buffer that is never released is simply reclaimed by the garbage collector.
+ * Typical usage:
+ * <pre>
+ *     ByteBuffer buffer = ByteBufferPool.shared().acquire(length);
+ *     try {
+ *         // use buffer.array() from 0 to length
+ *     } finally {
+ *         ByteBufferPool.shared().release(buffer);
+ *     }
+ * </pre>
+ *
+ * @author Cypherfury
+ */
+public class ByteBufferPool {
+
+    private static final int MIN_CAPACITY_SHIFT = 6;
+    private static final int MAX_CAPACITY_SHIFT = 16;
+    private static final int BUFFERS_PER_CAPACITY = 256;
+
+    private static final ByteBufferPool SHARED = new ByteBufferPool(BUFFERS_PER_CAPACITY);
+
+    private final ArrayBlockingQueue<ByteBuffer>[] buckets;
+
+    /**
+     * Constructor for `ByteBufferPool`.
+     *
+     * @param buffersPerCapacity the maximum number of released buffers kept per capacity.
+     */
+    @SuppressWarnings("unchecked")
+    public ByteBufferPool(int buffersPerCapacity) {
+        buckets = new ArrayBlockingQueue[MAX_CAPACITY_SHIFT - MIN_CAPACITY_SHIFT + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayBlockingQueue<>(buffersPerCapacity);
+        }
+    }
+
+    /**
+     * Returns the pool shared by the application.
+     *
+     * @return the shared pool.
+     */
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Acquires a buffer with a capacity of at least the given length.
+     * The returned buffer is cleared, its limit being set to the requested length.
+     *
+     * @param length the number of bytes needed.
+     * @return a heap buffer backed by an accessible array.
+     */
+    public ByteBuffer acquire(int length) {
+        int bucket = bucket(length);
+        if (bucket >= buckets.length) {
+            return ByteBuffer.allocate(length);
+        }
+        ByteBuffer buffer = buckets[bucket].poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(1 << (bucket + MIN_CAPACITY_SHIFT));
+        }
+        buffer.clear().limit(length);
+        return buffer;
+    }
+
+    /**
+     * Releases a buffer so that it can be reused. The buffer must not be used after being released.
+     *
+     * @param buffer the buffer to release.
+     */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1 || capacity < 1 << MIN_CAPACITY_SHIFT) {
+            return;
+        }
+        int bucket = bucket(capacity);
+        if (bucket < buckets.length) {
+            buckets[bucket].offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of released buffers available for reuse.
+     *
+     * @return the number of pooled buffers.
+     */
+    public int available() {
+        int available = 0;
+        for (ArrayBlockingQueue<ByteBuffer> bucket : buckets) {
+            available += bucket.size();
+        }
+        return available;
+    }
+
+    /**
+     * Returns the index of the smallest bucket holding buffers of at least the given length.
+     */
+    private static int bucket(int length) {
+        int shift = length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+        return Math.max(0, shift - MIN_CAPACITY_SHIFT);
+    }
+
+}
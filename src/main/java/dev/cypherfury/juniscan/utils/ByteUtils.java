@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
 
+import java.util.Arrays;
+
 import static java.text.MessageFormat.format;
 
 /**
@@ -17,6 +19,8 @@ import static java.text.MessageFormat.format;
  *     String hex = "0xdeadbeef";
  *     byte[] bytes = ByteUtils.getBytes(hex);
  * </pre>
+ * Hex characters can also be decoded in place, from a character buffer into an existing byte array,
+ * validating and decoding them in a single loop without any intermediate string or array.
  *
  * @author cypherfury
  */
@@ -29,6 +33,17 @@ public class ByteUtils {
     public static final String ERROR_DECODING = "Error decoding hex string: {}, reason: {}";
     public static final String NULL_HEX_STRING = "Hex string cannot be null";
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[Character.forDigit(i, 16)] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(Character.forDigit(i, 16))] = (byte) i;
+        }
+    }
+
     /**
      * Converts a hex string to a byte array after cleaning and validation.
      *
@@ -87,4 +102,98 @@ public class ByteUtils {
         return string.matches(VALID_HEX_REGEX);
     }
 
+    /**
+     * Returns the number of bytes encoded by hex characters, optionally prefixed with "0x".
+     *
+     * @param hex the hex characters, e.g. a {@link java.nio.CharBuffer} wrapping a parser buffer
+     * @return the number of decoded bytes
+     * @throws IllegalArgumentException if the number of hex digits is odd
+     */
+    public static int decodedLength(CharSequence hex) {
+        int digits = hex.length() - prefixLength(hex);
+        if ((digits & 1) != 0) {
+            throw new IllegalArgumentException(format(INVALID_HEX_STRING, hex));
+        }
+        return digits >> 1;
+    }
+
+    /**
+     * Decodes hex characters, optionally prefixed with "0x", into an existing byte array.
+     * The characters are validated while being decoded, without any intermediate string.
+     *
+     * @param hex  the hex characters, e.g. a {@link java.nio.CharBuffer} wrapping a parser buffer
+     * @param dest the array receiving the bytes, starting at index 0
+     * @return the number of decoded bytes
+     * @throws IllegalArgumentException if the characters are not valid hex or do not fit in the array
+     */
+    public static int decodeHex(CharSequence hex, byte[] dest) {
+        int size = decodedLength(hex);
+        if (size > dest.length) {
+            throw new IllegalArgumentException("Destination too small for " + size + " bytes");
+        }
+        int index = prefixLength(hex);
+        for (int i = 0; i < size; i++, index += 2) {
+            int high = hexValue(hex.charAt(index));
+            int low = hexValue(hex.charAt(index + 1));
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException(format(INVALID_HEX_STRING, hex));
+            }
+            dest[i] = (byte) ((high << 4) | low);
+        }
+        return size;
+    }
+
+    /**
+     * Checks whether a string is "0x"-prefixed hex encoding exactly the given number of bytes, e.g. a hash.
+     *
+     * @param hex    the string to check, possibly null
+     * @param length the expected number of bytes
+     * @return true if the string is "0x" followed by twice as many hex digits as bytes
+     */
+    public static boolean isHex(CharSequence hex, int length) {
+        if (hex == null || hex.length() != HEX_PREFIX.length() + length * 2 || prefixLength(hex) == 0) {
+            return false;
+        }
+        for (int i = HEX_PREFIX.length(); i < hex.length(); i++) {
+            if (hexValue(hex.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes bytes into a hex string prefixed with "0x".
+     *
+     * @param bytes  the array containing the bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the hex string
+     */
+    public static String toHex(byte[] bytes, int offset, int length) {
+        char[] chars = new char[HEX_PREFIX.length() + length * 2];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 0; i < length; i++) {
+            int value = bytes[offset + i] & 0xff;
+            chars[2 + i * 2] = HEX_DIGITS[value >>> 4];
+            chars[3 + i * 2] = HEX_DIGITS[value & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the length of the "0x" prefix, if present.
+     */
+    private static int prefixLength(CharSequence hex) {
+        return hex.length() >= 2 && hex.charAt(0) == '0' && hex.charAt(1) == 'x' ? HEX_PREFIX.length() : 0;
+    }
+
+    /**
+     * Returns the value of a hex digit, or -1 if the character is not a hex digit.
+     */
+    private static int hexValue(char c) {
+        return c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    }
+
 }
@@ -0,0 +1,9 @@
+-- Table for BackfillCheckpoint
+CREATE TABLE backfill_checkpoint
+(
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY, -- Auto-incremented primary key
+    from_block BIGINT      NOT NULL,              -- First block number of the backfilled range
+    to_block   BIGINT      NOT NULL,              -- Last block number of the backfilled range (inclusive)
+    next_block BIGINT      NOT NULL,              -- Lowest block number not yet indexed, where the backfill resumes
+    status     VARCHAR(32) NOT NULL               -- Status of the backfill (RUNNING, COMPLETED, FAILED)
+);
@@ -0,0 +1,9 @@
+-- Table for OutboxEvent
+CREATE TABLE outbox_event
+(
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY, -- Auto-incremented primary key, in allocation order
+    topic       VARCHAR(255) NOT NULL,             -- Kafka topic the event is relayed to
+    message_key VARCHAR(255),                      -- Kafka key of the event (block number)
+    payload     LONGTEXT     NOT NULL,             -- JSON payload of the event
+    created_at  DATETIME(6)  NOT NULL              -- Time the event was written, with the block
+);
@@ -0,0 +1,3 @@
+-- Decoded arguments of the call of an Extrinsic
+ALTER TABLE extrinsic
+    ADD COLUMN arguments MEDIUMTEXT; -- Arguments of the call, as a JSON object keyed by parameter name
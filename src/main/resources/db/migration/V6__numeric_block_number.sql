@@ -0,0 +1,38 @@
+-- Block numbers are decoded from the "0x"-prefixed hex strings sent by the node
+ALTER TABLE block
+    ADD COLUMN decoded_number BIGINT; -- Number of the block, decoded from its hex string
+
+-- Blocks saved without a valid number cannot be kept once the number is NOT NULL; the gap audit indexes them again.
+-- Numbers above 0x7fffffffffffffff do not fit in a signed BIGINT and are rejected by the indexer as well.
+CREATE TEMPORARY TABLE invalid_block AS
+SELECT id
+FROM block
+WHERE number IS NULL
+   OR number NOT REGEXP '^0x([0-9a-fA-F]{1,15}|[0-7][0-9a-fA-F]{15})$';
+
+DELETE FROM block_logs WHERE block_id IN (SELECT id FROM invalid_block);
+DELETE FROM extrinsic WHERE block_id IN (SELECT id FROM invalid_block);
+DELETE FROM block WHERE id IN (SELECT id FROM invalid_block);
+DROP TEMPORARY TABLE invalid_block;
+
+UPDATE block
+SET decoded_number = CAST(CONV(SUBSTRING(number, 3), 16, 10) AS UNSIGNED);
+
+-- Blocks saved twice before the number was unique, keeping the first one
+CREATE TEMPORARY TABLE duplicate_block AS
+SELECT b.id
+FROM block b
+         JOIN (SELECT decoded_number, MIN(id) AS kept_id
+               FROM block
+               GROUP BY decoded_number
+               HAVING COUNT(*) > 1) d ON b.decoded_number = d.decoded_number AND b.id <> d.kept_id;
+
+DELETE FROM block_logs WHERE block_id IN (SELECT id FROM duplicate_block);
+DELETE FROM extrinsic WHERE block_id IN (SELECT id FROM duplicate_block);
+DELETE FROM block WHERE id IN (SELECT id FROM duplicate_block);
+DROP TEMPORARY TABLE duplicate_block;
+
+ALTER TABLE block
+    DROP COLUMN number,
+    CHANGE COLUMN decoded_number number BIGINT NOT NULL, -- Number of the block
+    ADD CONSTRAINT uk_block_number UNIQUE (number);      -- Unique index for lookups, range and keyset scans by number
@@ -0,0 +1,35 @@
+-- Hashes and roots are stored as their 32 bytes rather than as "0x"-prefixed hex strings
+ALTER TABLE block
+    ADD COLUMN binary_parent_hash     BINARY(32), -- Parent hash of the block, decoded from its hex string
+    ADD COLUMN binary_state_root      BINARY(32), -- State root of the block, decoded from its hex string
+    ADD COLUMN binary_extrinsics_root BINARY(32); -- Extrinsics root of the block, decoded from its hex string
+
+-- Blocks saved without valid hashes cannot be kept once the hashes are NOT NULL; the gap audit indexes them again
+CREATE TEMPORARY TABLE invalid_block AS
+SELECT id
+FROM block
+WHERE parent_hash IS NULL
+   OR state_root IS NULL
+   OR extrinsics_root IS NULL
+   OR parent_hash NOT REGEXP '^0x[0-9a-fA-F]{64}$'
+   OR state_root NOT REGEXP '^0x[0-9a-fA-F]{64}$'
+   OR extrinsics_root NOT REGEXP '^0x[0-9a-fA-F]{64}$';
+
+DELETE FROM block_logs WHERE block_id IN (SELECT id FROM invalid_block);
+DELETE FROM extrinsic WHERE block_id IN (SELECT id FROM invalid_block);
+DELETE FROM block WHERE id IN (SELECT id FROM invalid_block);
+DROP TEMPORARY TABLE invalid_block;
+
+UPDATE block
+SET binary_parent_hash     = UNHEX(SUBSTRING(parent_hash, 3)),
+    binary_state_root      = UNHEX(SUBSTRING(state_root, 3)),
+    binary_extrinsics_root = UNHEX(SUBSTRING(extrinsics_root, 3));
+
+ALTER TABLE block
+    DROP COLUMN parent_hash,
+    DROP COLUMN state_root,
+    DROP COLUMN extrinsics_root,
+    CHANGE COLUMN binary_parent_hash parent_hash BINARY(32) NOT NULL,         -- Parent hash of the block
+    CHANGE COLUMN binary_state_root state_root BINARY(32) NOT NULL,           -- State root of the block
+    CHANGE COLUMN binary_extrinsics_root extrinsics_root BINARY(32) NOT NULL, -- Extrinsics root of the block
+    ADD INDEX idx_block_parent_hash (parent_hash);                            -- Index for lookups by parent hash
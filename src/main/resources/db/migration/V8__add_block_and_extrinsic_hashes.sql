@@ -0,0 +1,9 @@
+-- Hashes computed at ingest with BLAKE2b-256: of the SCALE-encoded header for blocks, of the raw bytes
+-- for extrinsics. Rows indexed before this migration keep a NULL hash.
+ALTER TABLE block
+    ADD COLUMN hash BINARY(32),                 -- Hash of the block
+    ADD CONSTRAINT uk_block_hash UNIQUE (hash); -- Unique index for lookups by block hash
+
+ALTER TABLE extrinsic
+    ADD COLUMN hash BINARY(32),                 -- Hash of the extrinsic
+    ADD INDEX idx_extrinsic_hash (hash);        -- Index for lookups by transaction hash
@@ -0,0 +1,56 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link InMemoryDeadLetterQueue} class.
+ * <p>
+ * Responsibilities:
+ * - Verify that dead letters are handed out oldest first, up to the requested number.
+ * - Ensure the oldest dead letter is dropped when the queue is full.
+ *
+ * @author Cypherfury
+ */
+class InMemoryDeadLetterQueueTest {
+
+    @Test
+    void testPollReturnsOldestFirst() {
+        // Arrange
+        InMemoryDeadLetterQueue queue = new InMemoryDeadLetterQueue(10);
+        queue.publish(deadLetter("0x1"));
+        queue.publish(deadLetter("0x2"));
+        queue.publish(deadLetter("0x3"));
+
+        // Act
+        List<DeadLetterDTO> polled = queue.poll(2);
+
+        // Assert
+        assertEquals(List.of("0x1", "0x2"), polled.stream().map(DeadLetterDTO::getNumber).toList());
+        assertEquals(List.of("0x3"), queue.poll(10).stream().map(DeadLetterDTO::getNumber).toList());
+        assertTrue(queue.poll(10).isEmpty());
+    }
+
+    @Test
+    void testPublishDropsOldestWhenFull() {
+        // Arrange
+        InMemoryDeadLetterQueue queue = new InMemoryDeadLetterQueue(2);
+        queue.publish(deadLetter("0x1"));
+        queue.publish(deadLetter("0x2"));
+
+        // Act
+        queue.publish(deadLetter("0x3")).join();
+
+        // Assert
+        assertEquals(List.of("0x2", "0x3"), queue.poll(10).stream().map(DeadLetterDTO::getNumber).toList());
+    }
+
+    private static DeadLetterDTO deadLetter(String number) {
+        return new DeadLetterDTO(number, null, IllegalStateException.class.getName(), "Module not found", 5, 1L);
+    }
+
+}
@@ -0,0 +1,76 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RingBufferEventBus} class.
+ * <p>
+ * Responsibilities:
+ * - Verify that new heads and blocks are published to their own ring buffer.
+ * - Ensure the publish futures complete once the events are in the buffers.
+ * - Verify the metrics exposed by the bus.
+ *
+ * @author Cypherfury
+ */
+class RingBufferEventBusTest {
+
+    private final RingBufferEventBus eventBus = new RingBufferEventBus(4);
+
+    @Test
+    void testPublishNewHead() throws InterruptedException {
+        // Arrange
+        NewHeadDTO newHead = new NewHeadDTO();
+        List<NewHeadDTO> batch = new ArrayList<>();
+
+        // Act
+        CompletableFuture<Void> result = eventBus.publishNewHead(newHead);
+
+        // Assert
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        assertEquals(1, eventBus.newHeads().drainTo(batch, 10));
+        assertSame(newHead, batch.getFirst());
+        assertEquals(0, eventBus.blocks().size());
+    }
+
+    @Test
+    void testPublishBlock() throws InterruptedException {
+        // Arrange
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        List<BlockDetailsDTO.Block> batch = new ArrayList<>();
+
+        // Act
+        eventBus.publishBlock(block).join();
+
+        // Assert
+        assertEquals(1, eventBus.blocks().drainTo(batch, 10));
+        assertSame(block, batch.getFirst());
+        assertEquals(0, eventBus.newHeads().size());
+    }
+
+    @Test
+    void testStats() {
+        // Arrange
+        eventBus.publishNewHead(new NewHeadDTO());
+        eventBus.publishBlock(new BlockDetailsDTO.Block());
+
+        // Act
+        PublishStatsDTO stats = eventBus.stats();
+
+        // Assert
+        assertEquals(2, stats.getSent());
+        assertEquals(2, stats.getAcknowledged());
+        assertEquals(0, stats.getFailed());
+        assertEquals(0, stats.getPending());
+    }
+
+}
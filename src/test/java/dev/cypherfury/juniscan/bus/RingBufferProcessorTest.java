@@ -0,0 +1,107 @@
+package dev.cypherfury.juniscan.bus;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RingBufferProcessor} class.
+ * <p>
+ * Responsibilities:
+ * - Verify that the blocks of a batch of new heads are fetched in a single JSON-RPC batch and saved together.
+ * - Verify that the published blocks are saved without querying the node.
+ * - Ensure a failed batch does not stop the consumer.
+ *
+ * @author Cypherfury
+ */
+class RingBufferProcessorTest {
+
+    private RingBufferEventBus eventBus;
+    private WebSocketNodeService webSocketNodeService;
+    private BlockRetryService retryService;
+    private RingBufferProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = new RingBufferEventBus(16);
+        webSocketNodeService = mock(WebSocketNodeService.class);
+        retryService = mock(BlockRetryService.class);
+        processor = new RingBufferProcessor(eventBus, webSocketNodeService, retryService, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    void testProcessNewHeads() {
+        // Arrange
+        List<BlockDetailsDTO.Block> blocks = List.of(new BlockDetailsDTO.Block());
+        when(webSocketNodeService.fetchBlocks(List.of("0x1", "0x2")))
+                .thenReturn(CompletableFuture.completedFuture(blocks));
+
+        // Act
+        processor.processNewHeads(List.of(newHead("0x1"), newHead("0x2"), newHead("0x1"), new NewHeadDTO()));
+
+        // Assert
+        verify(webSocketNodeService, times(1)).fetchBlocks(List.of("0x1", "0x2"));
+        verify(retryService, times(1)).decodeAndSaveAll(blocks);
+    }
+
+    @Test
+    void testConsumesPublishedBlocks() {
+        // Arrange
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        processor.start();
+
+        // Act
+        eventBus.publishBlock(block);
+
+        // Assert
+        verify(retryService, timeout(5_000)).decodeAndSaveAll(List.of(block));
+        verifyNoInteractions(webSocketNodeService);
+    }
+
+    @Test
+    void testKeepsConsumingAfterFailure() {
+        // Arrange
+        BlockDetailsDTO.Block first = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block second = new BlockDetailsDTO.Block();
+        when(retryService.decodeAndSaveAll(anyList()))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(1);
+        processor.start();
+
+        // Act
+        eventBus.publishBlock(first);
+        verify(retryService, timeout(5_000)).decodeAndSaveAll(anyList());
+        eventBus.publishBlock(second);
+
+        // Assert
+        verify(retryService, timeout(5_000).times(2)).decodeAndSaveAll(anyList());
+        assertEquals(0, eventBus.blocks().size());
+    }
+
+    private static NewHeadDTO newHead(String parentHash) {
+        NewHeadDTO newHead = new NewHeadDTO();
+        NewHeadDTO.Params params = new NewHeadDTO.Params();
+        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+        result.setParentHash(parentHash);
+        params.setResult(result);
+        newHead.setParams(params);
+        return newHead;
+    }
+
+}
@@ -0,0 +1,174 @@
+package dev.cypherfury.juniscan.bus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RingBuffer} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the rounding of the capacity and the rejection of invalid ones.
+ * - Ensure elements are drained in publication order, in batches of at most the requested size.
+ * - Ensure producers are rejected or parked while the buffer is full.
+ * - Verify that no element is lost or duplicated with concurrent producers.
+ *
+ * @author Cypherfury
+ */
+class RingBufferTest {
+
+    @Test
+    void testCapacityIsRoundedToPowerOfTwo() {
+        // Act & Assert
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+        assertEquals(2, new RingBuffer<>(1).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    void testDrainToKeepsOrderAndBatchSize() throws InterruptedException {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        List<Integer> batch = new ArrayList<>();
+
+        // Act
+        int first = buffer.drainTo(batch, 3);
+        int second = buffer.drainTo(batch, 3);
+
+        // Assert
+        assertEquals(3, first);
+        assertEquals(2, second);
+        assertEquals(List.of(0, 1, 2, 3, 4), batch);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testOfferWhenFull() throws InterruptedException {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // Act
+        boolean rejected = buffer.offer(3);
+        buffer.drainTo(new ArrayList<>(), 1);
+        boolean accepted = buffer.offer(3);
+
+        // Assert
+        assertFalse(rejected);
+        assertTrue(accepted);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void testPutParksUntilSlotIsFreed() throws Exception {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(2);
+        buffer.put(1);
+        buffer.put(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> producer = executor.submit(() -> {
+                buffer.put(3);
+                return null;
+            });
+            Thread.sleep(50);
+            assertFalse(producer.isDone());
+
+            // Act
+            List<Integer> batch = new ArrayList<>();
+            buffer.drainTo(batch, 1);
+            producer.get(5, TimeUnit.SECONDS);
+            buffer.drainTo(batch, 2);
+
+            // Assert
+            assertEquals(List.of(1, 2, 3), batch);
+            assertEquals(1, buffer.parked());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDrainToWaitsForProducer() throws Exception {
+        // Arrange
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            List<Integer> batch = new ArrayList<>();
+            Future<Integer> consumer = executor.submit(() -> buffer.drainTo(batch, 4));
+            Thread.sleep(50);
+
+            // Act
+            buffer.offer(42);
+
+            // Assert
+            assertEquals(1, consumer.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(42), batch);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentProducers() throws Exception {
+        // Arrange
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int offset = p * perProducer;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.put(offset + i);
+                    }
+                    return null;
+                });
+            }
+            boolean[] seen = new boolean[producers * perProducer];
+            int[] last = new int[producers];
+            Arrays.fill(last, -1);
+            List<Integer> batch = new ArrayList<>();
+
+            // Act
+            start.countDown();
+            int received = 0;
+            while (received < seen.length) {
+                buffer.drainTo(batch, 32);
+                for (int value : batch) {
+                    assertFalse(seen[value], "Duplicated element " + value);
+                    seen[value] = true;
+                    int producer = value / perProducer;
+                    assertTrue(value > last[producer], "Reordered element " + value);
+                    last[producer] = value;
+                }
+                received += batch.size();
+                batch.clear();
+            }
+
+            // Assert
+            assertEquals(seen.length, received);
+            assertEquals(0, buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package dev.cypherfury.juniscan.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.entity.enums.IngestMode;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import dev.cypherfury.juniscan.service.BlockService;
+import dev.cypherfury.juniscan.service.GapRepairService;
+import dev.cypherfury.juniscan.service.WebSocketConnectionManager;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CaptureReplayer} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that every captured frame is fed back to the {@link WebSocketNodeService}, in order.
+ * - Ensure the recorded pace is reproduced only when requested.
+ * - Verify that a failing frame does not stop the replay.
+ * - Validate that the captured blocks are saved without any node, and nothing is requested or published.
+ *
+ * @author Cypherfury
+ */
+class CaptureReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private WebSocketNodeService nodeService;
+    private Sleeper sleeper;
+    private CaptureReplayer captureReplayer;
+
+    @BeforeEach
+    void setUp() {
+        nodeService = mock(WebSocketNodeService.class);
+        sleeper = mock(Sleeper.class);
+        captureReplayer = new CaptureReplayer(nodeService, sleeper);
+        FrameCaptureLog captureLog = new FrameCaptureLog(true, directory, 48);
+        captureLog.open();
+        captureLog.append(TimeUnit.SECONDS.toNanos(10), "{\"id\":2}");
+        captureLog.append(TimeUnit.SECONDS.toNanos(10), "{\"id\":3}");
+        captureLog.append(TimeUnit.SECONDS.toNanos(12), "{\"id\":4,\"result\":\"é\"}");
+        captureLog.close();
+    }
+
+    @Test
+    void testReplayAtFullSpeed() throws InterruptedException {
+        // Act
+        long frames = captureReplayer.replay(directory, false);
+
+        // Assert
+        assertEquals(3, frames);
+        InOrder inOrder = inOrder(nodeService);
+        inOrder.verify(nodeService).replayMessage("{\"id\":2}");
+        inOrder.verify(nodeService).replayMessage("{\"id\":3}");
+        inOrder.verify(nodeService).replayMessage("{\"id\":4,\"result\":\"é\"}");
+        verify(sleeper, never()).sleep(anyLong());
+    }
+
+    @Test
+    void testReplayAtRecordedPace() throws InterruptedException {
+        // Act
+        captureReplayer.replay(directory, true);
+
+        // Assert
+        verify(sleeper, times(1)).sleep(2000);
+    }
+
+    @Test
+    void testReplayContinuesAfterFailingFrame() throws InterruptedException {
+        // Arrange
+        doThrow(new IllegalStateException("Invalid frame")).when(nodeService).replayMessage("{\"id\":3}");
+
+        // Act
+        long frames = captureReplayer.replay(directory, false);
+
+        // Assert
+        assertEquals(3, frames);
+        verify(nodeService).replayMessage("{\"id\":4,\"result\":\"é\"}");
+    }
+
+    @Test
+    void testReplaySavesCapturedBlocksWithoutNode() throws InterruptedException {
+        // Arrange
+        Path capture = directory.resolve("replay");
+        FrameCaptureLog captureLog = new FrameCaptureLog(true, capture, 4096);
+        captureLog.open();
+        captureLog.append(1, "{\"jsonrpc\":\"2.0\",\"result\":\"sub-1\",\"id\":1}");
+        captureLog.append(2, "{\"jsonrpc\":\"2.0\",\"method\":\"chain_newHead\",\"params\":"
+                + "{\"subscription\":\"sub-1\",\"result\":{\"number\":\"0x12\",\"parentHash\":\"0x11\"}}}");
+        captureLog.append(3, "[{\"jsonrpc\":\"2.0\",\"result\":{\"block\":{\"header\":{\"number\":\"0x10\"},\"extrinsics\":[]}},\"id\":2},"
+                + "{\"jsonrpc\":\"2.0\",\"result\":{\"block\":{\"header\":{\"number\":\"0x11\"},\"extrinsics\":[]}},\"id\":3}]");
+        captureLog.close();
+        WebSocketConnectionManager connectionManager = mock(WebSocketConnectionManager.class);
+        ChainEventBus eventBus = mock(ChainEventBus.class);
+        JsonRpcClient rpcClient = mock(JsonRpcClient.class);
+        GapRepairService gapRepairService = mock(GapRepairService.class);
+        BlockService blockService = mock(BlockService.class);
+        BlockIngestService ingestService = new BlockIngestService(blockService, mock(BlockRetryService.class), 16, 1, true,
+                IngestOverflowPolicy.PARK);
+        ingestService.start();
+        WebSocketNodeService replayingNodeService = new WebSocketNodeService(connectionManager, eventBus, new ObjectMapper(),
+                ingestService, rpcClient, gapRepairService, IngestMode.HEAD);
+
+        try {
+            // Act
+            long frames = new CaptureReplayer(replayingNodeService, sleeper).replay(capture, false);
+
+            // Assert
+            assertEquals(3, frames);
+            ArgumentCaptor<BlockDetailsDTO.Block> blocks = ArgumentCaptor.forClass(BlockDetailsDTO.Block.class);
+            verify(blockService, timeout(1000).times(2)).decodeAndSave(blocks.capture());
+            assertEquals(List.of("0x10", "0x11"), blocks.getAllValues().stream().map(block -> block.getHeader().getNumber()).toList());
+            verifyNoInteractions(connectionManager, eventBus, rpcClient, gapRepairService);
+        } finally {
+            ingestService.stop();
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package dev.cypherfury.juniscan.capture;
+
+import dev.cypherfury.juniscan.exception.CaptureLogException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FrameCaptureLog} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the layout of the captured records.
+ * - Ensure segments are rotated once full and never overwritten.
+ * - Verify that nothing is written while the capture is disabled.
+ *
+ * @author Cypherfury
+ */
+class FrameCaptureLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppendWritesTimestampLengthAndFrame() throws IOException {
+        // Arrange
+        FrameCaptureLog captureLog = open(1024);
+
+        // Act
+        captureLog.append(42L, "{\"id\":2}");
+        captureLog.close();
+
+        // Assert
+        ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("frames-000000.cap")));
+        assertEquals(1024, segment.capacity());
+        assertEquals(42L, segment.getLong());
+        assertEquals(8, segment.getInt());
+        byte[] frame = new byte[8];
+        segment.get(frame);
+        assertEquals("{\"id\":2}", new String(frame, StandardCharsets.UTF_8));
+        assertEquals(0, segment.getLong());
+    }
+
+    @Test
+    void testAppendRotatesFullSegment() throws IOException {
+        // Arrange
+        FrameCaptureLog captureLog = open(32);
+
+        // Act
+        captureLog.append(1L, "0123456789");
+        captureLog.append(2L, "0123456789");
+        captureLog.append(3L, "a frame larger than a whole segment");
+        captureLog.close();
+
+        // Assert
+        List<Path> segments = FrameCaptureLog.segments(directory);
+        assertEquals(3, segments.size());
+        assertEquals(FrameCaptureLog.HEADER_BYTES + 35, Files.size(segments.get(2)));
+    }
+
+    @Test
+    void testOpenContinuesAfterExistingSegments() throws IOException {
+        // Arrange
+        FrameCaptureLog first = open(1024);
+        first.append(1L, "first");
+        first.close();
+        FrameCaptureLog second = open(1024);
+
+        // Act
+        second.append(2L, "second");
+        second.close();
+
+        // Assert
+        List<Path> segments = FrameCaptureLog.segments(directory);
+        assertEquals(List.of("frames-000000.cap", "frames-000001.cap"),
+                segments.stream().map(path -> path.getFileName().toString()).toList());
+    }
+
+    @Test
+    void testAppendDoesNothingWhenDisabled() throws IOException {
+        // Arrange
+        FrameCaptureLog captureLog = new FrameCaptureLog(false, directory, 1024);
+        captureLog.open();
+
+        // Act
+        captureLog.append("{\"id\":2}");
+        captureLog.close();
+
+        // Assert
+        assertFalse(captureLog.isEnabled());
+        assertTrue(FrameCaptureLog.segments(directory).isEmpty());
+    }
+
+    @Test
+    void testOpenThrowsWhenDirectoryCannotBeCreated() throws IOException {
+        // Arrange
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+        FrameCaptureLog captureLog = new FrameCaptureLog(true, file, 1024);
+
+        // Act & Assert
+        assertThrows(CaptureLogException.class, captureLog::open);
+    }
+
+    private FrameCaptureLog open(int segmentBytes) {
+        FrameCaptureLog captureLog = new FrameCaptureLog(true, directory, segmentBytes);
+        captureLog.open();
+        return captureLog;
+    }
+
+}
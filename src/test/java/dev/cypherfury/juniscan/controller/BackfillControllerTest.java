@@ -0,0 +1,86 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import dev.cypherfury.juniscan.service.BackfillService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link BackfillController} class.
+ * <p>
+ * Responsibilities:
+ * - Validate HTTP endpoints exposed by the controller.
+ * - Ensure interactions with the {@link BackfillService} are correct.
+ *
+ * @author Cypherfury
+ */
+class BackfillControllerTest {
+
+    private MockMvc mockMvc;
+    private BackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = Mockito.mock(BackfillService.class);
+        BackfillController backfillController = new BackfillController(backfillService);
+        mockMvc = MockMvcBuilders.standaloneSetup(backfillController).build();
+    }
+
+    @Test
+    void testStart_ReturnsCheckpoint() throws Exception {
+        // Arrange
+        when(backfillService.start(0, 100)).thenReturn(checkpoint());
+
+        // Act & Assert
+        mockMvc.perform(post("/backfill").param("from", "0").param("to", "100")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+
+        verify(backfillService, times(1)).start(0, 100);
+    }
+
+    @Test
+    void testResume_ReturnsCheckpoint() throws Exception {
+        // Arrange
+        when(backfillService.resume(1)).thenReturn(checkpoint());
+
+        // Act & Assert
+        mockMvc.perform(post("/backfill/1/resume")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBlock").value(50));
+
+        verify(backfillService, times(1)).resume(1);
+    }
+
+    @Test
+    void testGetCheckpoints() throws Exception {
+        // Arrange
+        when(backfillService.findAll()).thenReturn(List.of(checkpoint()));
+
+        // Act & Assert
+        mockMvc.perform(get("/backfill")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fromBlock").value(0))
+                .andExpect(jsonPath("$[0].toBlock").value(100));
+    }
+
+    private BackfillCheckpoint checkpoint() {
+        return new BackfillCheckpoint(1L, 0L, 100L, 50L, BackfillStatus.RUNNING);
+    }
+}
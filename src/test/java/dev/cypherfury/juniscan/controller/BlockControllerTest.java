@@ -10,6 +10,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -27,6 +28,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 class BlockControllerTest {
 
+    private static final String HASH = "0x" + "02".repeat(32);
+    private static final String PARENT_HASH = "0x" + "01".repeat(32);
+
     private MockMvc mockMvc;
     private BlockService blockService;
 
@@ -42,11 +46,11 @@ class BlockControllerTest {
         // Arrange
         Block block1 = new Block();
         block1.setId(1L);
-        block1.setNumber("100");
+        block1.setNumber(100);
 
         Block block2 = new Block();
         block2.setId(2L);
-        block2.setNumber("101");
+        block2.setNumber(101);
 
         when(blockService.findAll()).thenReturn(List.of(block1, block2));
 
@@ -55,9 +59,9 @@ class BlockControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].number").value("100"))
+                .andExpect(jsonPath("$[0].number").value(100))
                 .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].number").value("101"));
+                .andExpect(jsonPath("$[1].number").value(101));
 
         verify(blockService, times(1)).findAll();
     }
@@ -75,4 +79,100 @@ class BlockControllerTest {
 
         verify(blockService, times(1)).findAll();
     }
+
+    @Test
+    void testGetRange_ReturnsBlocks() throws Exception {
+        // Arrange
+        Block block = new Block();
+        block.setNumber(100);
+        when(blockService.findRange(100, 199, 50)).thenReturn(List.of(block));
+
+        // Act & Assert
+        mockMvc.perform(get("/block/range?from=100&to=199&limit=50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].number").value(100));
+
+        verify(blockService, times(1)).findRange(100, 199, 50);
+    }
+
+    @Test
+    void testGetLatest_DefaultsToLatestBlocks() throws Exception {
+        // Arrange
+        when(blockService.findBefore(Long.MAX_VALUE, 100)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/block/latest")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        verify(blockService, times(1)).findBefore(Long.MAX_VALUE, 100);
+    }
+
+    @Test
+    void testGetByHash_ReturnsBlock() throws Exception {
+        // Arrange
+        Block block = new Block();
+        block.setNumber(100);
+        block.setHash(HASH);
+        when(blockService.findByHash(HASH)).thenReturn(Optional.of(block));
+
+        // Act & Assert
+        mockMvc.perform(get("/block/by-hash?hash=" + HASH)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.number").value(100))
+                .andExpect(jsonPath("$.hash").value(HASH));
+    }
+
+    @Test
+    void testGetByHash_WhenBlockIsNotSaved() throws Exception {
+        // Arrange
+        when(blockService.findByHash(HASH)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/block/by-hash?hash=" + HASH)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetChildren_ReturnsBlocks() throws Exception {
+        // Arrange
+        Block block = new Block();
+        block.setNumber(101);
+        block.setParentHash(PARENT_HASH);
+        when(blockService.findChildren(PARENT_HASH)).thenReturn(List.of(block));
+
+        // Act & Assert
+        mockMvc.perform(get("/block/children?parentHash=" + PARENT_HASH)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].number").value(101))
+                .andExpect(jsonPath("$[0].parentHash").value(PARENT_HASH));
+
+        verify(blockService, times(1)).findChildren(PARENT_HASH);
+    }
+
+    @Test
+    void testGetByHash_WhenHashIsMalformed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/block/by-hash?hash=0x02")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(blockService);
+    }
+
+    @Test
+    void testGetChildren_WhenHashIsMalformed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/block/children?parentHash=" + PARENT_HASH.substring(2))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(blockService);
+    }
+
 }
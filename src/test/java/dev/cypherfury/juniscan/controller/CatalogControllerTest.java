@@ -0,0 +1,69 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.dto.CatalogStatsDTO;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link CatalogController} class.
+ * <p>
+ * Responsibilities:
+ * - Validate HTTP endpoints exposed by the controller.
+ * - Ensure a refresh reloads the {@link FunctionCatalogService} and clears the {@link CallDecoderRegistry}.
+ *
+ * @author Cypherfury
+ */
+class CatalogControllerTest {
+
+    private MockMvc mockMvc;
+    private FunctionCatalogService functionCatalogService;
+    private CallDecoderRegistry callDecoderRegistry;
+
+    @BeforeEach
+    void setUp() {
+        functionCatalogService = Mockito.mock(FunctionCatalogService.class);
+        callDecoderRegistry = Mockito.mock(CallDecoderRegistry.class);
+        CatalogController catalogController = new CatalogController(functionCatalogService, callDecoderRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(catalogController).build();
+    }
+
+    @Test
+    void testGetStats_ReturnsStats() throws Exception {
+        // Arrange
+        when(functionCatalogService.stats()).thenReturn(new CatalogStatsDTO(40, 212, 1, 1_700_000_000_000L));
+
+        // Act & Assert
+        mockMvc.perform(get("/catalog").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modules").value(40))
+                .andExpect(jsonPath("$.functions").value(212))
+                .andExpect(jsonPath("$.misses").value(1));
+    }
+
+    @Test
+    void testRefresh_ReloadsCatalogAndClearsDecoders() throws Exception {
+        // Arrange
+        when(functionCatalogService.refresh()).thenReturn(new CatalogStatsDTO(41, 215, 0, 1_700_000_000_000L));
+
+        // Act & Assert
+        mockMvc.perform(post("/catalog/refresh").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.modules").value(41))
+                .andExpect(jsonPath("$.misses").value(0));
+
+        verify(functionCatalogService, times(1)).refresh();
+        verify(callDecoderRegistry, times(1)).clear();
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.dto.ReprocessResultDTO;
+import dev.cypherfury.juniscan.service.DeadLetterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link DeadLetterController} class.
+ * <p>
+ * Responsibilities:
+ * - Validate HTTP endpoints exposed by the controller.
+ * - Ensure interactions with the {@link DeadLetterService} are correct.
+ *
+ * @author Cypherfury
+ */
+class DeadLetterControllerTest {
+
+    private MockMvc mockMvc;
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterService = Mockito.mock(DeadLetterService.class);
+        DeadLetterController deadLetterController = new DeadLetterController(deadLetterService);
+        mockMvc = MockMvcBuilders.standaloneSetup(deadLetterController).build();
+    }
+
+    @Test
+    void testReprocess_ReturnsResult() throws Exception {
+        // Arrange
+        when(deadLetterService.reprocess(20)).thenReturn(new ReprocessResultDTO(20, 17, 2, 1));
+
+        // Act & Assert
+        mockMvc.perform(post("/dead-letters/reprocess").param("max", "20").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(20))
+                .andExpect(jsonPath("$.saved").value(17))
+                .andExpect(jsonPath("$.skipped").value(2))
+                .andExpect(jsonPath("$.failed").value(1));
+
+        verify(deadLetterService, times(1)).reprocess(20);
+    }
+
+    @Test
+    void testReprocess_DefaultsTo100() throws Exception {
+        // Arrange
+        when(deadLetterService.reprocess(100)).thenReturn(new ReprocessResultDTO(0, 0, 0, 0));
+
+        // Act & Assert
+        mockMvc.perform(post("/dead-letters/reprocess").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value(0));
+
+        verify(deadLetterService, times(1)).reprocess(100);
+    }
+
+}
@@ -0,0 +1,71 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link ExtrinsicController} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the lookup of extrinsics by hash, and the rejection of malformed hashes.
+ * - Ensure interactions with the {@link ExtrinsicService} are correct.
+ *
+ * @author Cypherfury
+ */
+class ExtrinsicControllerTest {
+
+    private static final String HASH = "0x" + "03".repeat(32);
+
+    private MockMvc mockMvc;
+    private ExtrinsicService extrinsicService;
+
+    @BeforeEach
+    void setUp() {
+        extrinsicService = Mockito.mock(ExtrinsicService.class);
+        ExtrinsicController extrinsicController = new ExtrinsicController(extrinsicService);
+        mockMvc = MockMvcBuilders.standaloneSetup(extrinsicController).build();
+    }
+
+    @Test
+    void testGetByHash_ReturnsExtrinsicsWithTheirBlockNumber() throws Exception {
+        // Arrange
+        Block block = new Block();
+        block.setNumber(100);
+        Extrinsic extrinsic = Extrinsic.builder().hash(HASH).block(block).build();
+        when(extrinsicService.findByHash(HASH)).thenReturn(List.of(extrinsic));
+
+        // Act & Assert
+        mockMvc.perform(get("/extrinsic?hash=" + HASH)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].hash").value(HASH))
+                .andExpect(jsonPath("$[0].blockNumber").value(100))
+                .andExpect(jsonPath("$[0].block").doesNotExist());
+
+        verify(extrinsicService, times(1)).findByHash(HASH);
+    }
+
+    @Test
+    void testGetByHash_WhenHashIsMalformed() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/extrinsic?hash=0x" + "zz".repeat(32))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(extrinsicService);
+    }
+
+}
@@ -0,0 +1,95 @@
+package dev.cypherfury.juniscan.controller;
+
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.dto.IngestStatsDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import dev.cypherfury.juniscan.dto.RetryStatsDTO;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link IngestController} class.
+ * <p>
+ * Responsibilities:
+ * - Validate HTTP endpoints exposed by the controller.
+ * - Ensure interactions with the {@link BlockIngestService}, {@link ChainEventBus} and {@link BlockRetryService} are correct.
+ *
+ * @author Cypherfury
+ */
+class IngestControllerTest {
+
+    private MockMvc mockMvc;
+    private BlockIngestService ingestService;
+    private ChainEventBus eventBus;
+    private BlockRetryService retryService;
+
+    @BeforeEach
+    void setUp() {
+        ingestService = Mockito.mock(BlockIngestService.class);
+        eventBus = Mockito.mock(ChainEventBus.class);
+        retryService = Mockito.mock(BlockRetryService.class);
+        IngestController ingestController = new IngestController(ingestService, eventBus, retryService);
+        mockMvc = MockMvcBuilders.standaloneSetup(ingestController).build();
+    }
+
+    @Test
+    void testGetStats_ReturnsQueueMetrics() throws Exception {
+        // Arrange
+        when(ingestService.stats()).thenReturn(new IngestStatsDTO(IngestOverflowPolicy.PARK, 1024, 12, 4, 100, 85, 1, 0, 3));
+
+        // Act & Assert
+        mockMvc.perform(get("/ingest/stats").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overflowPolicy").value("PARK"))
+                .andExpect(jsonPath("$.capacity").value(1024))
+                .andExpect(jsonPath("$.depth").value(12))
+                .andExpect(jsonPath("$.processed").value(85))
+                .andExpect(jsonPath("$.parked").value(3));
+
+        verify(ingestService, times(1)).stats();
+    }
+
+    @Test
+    void testGetPublisherStats_ReturnsPublisherMetrics() throws Exception {
+        // Arrange
+        when(eventBus.stats()).thenReturn(new PublishStatsDTO(100, 97, 1, 2, 4.5, 31.0));
+
+        // Act & Assert
+        mockMvc.perform(get("/ingest/publisher").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sent").value(100))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.pending").value(2))
+                .andExpect(jsonPath("$.averageLatencyMs").value(4.5));
+
+        verify(eventBus, times(1)).stats();
+    }
+
+    @Test
+    void testGetRetryStats_ReturnsRetryMetrics() throws Exception {
+        // Arrange
+        when(retryService.stats()).thenReturn(new RetryStatsDTO(5, 2, 14, 9, 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/ingest/retries").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxAttempts").value(5))
+                .andExpect(jsonPath("$.pending").value(2))
+                .andExpect(jsonPath("$.recovered").value(9))
+                .andExpect(jsonPath("$.deadLettered").value(1));
+
+        verify(retryService, times(1)).stats();
+    }
+
+}
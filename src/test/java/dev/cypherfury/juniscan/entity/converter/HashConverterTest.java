@@ -0,0 +1,64 @@
+package dev.cypherfury.juniscan.entity.converter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link HashConverter} class.
+ * <p>
+ * These tests cover:
+ * - Round trips of 32-byte hashes between their hex strings and their bytes.
+ * - Null values, and hex strings that are not 32-byte hashes.
+ * </p>
+ *
+ * @author Cypherfury
+ */
+class HashConverterTest {
+
+    private static final String HASH = "0x00112233445566778899aabbccddeeff00112233445566778899aabbccddeeff";
+
+    private final HashConverter converter = new HashConverter();
+
+    @Test
+    void testConvertToDatabaseColumn() {
+        // Act
+        byte[] bytes = converter.convertToDatabaseColumn(HASH);
+
+        // Assert
+        assertThat(bytes).hasSize(HashConverter.HASH_LENGTH);
+        assertThat(bytes[1]).isEqualTo((byte) 0x11);
+        assertThat(bytes[31]).isEqualTo((byte) 0xff);
+    }
+
+    @Test
+    void testRoundTrip() {
+        // Arrange
+        String upperCase = "0x" + HASH.substring(2).toUpperCase();
+
+        // Act
+        String hash = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(upperCase));
+
+        // Assert
+        assertThat(hash).isEqualTo(HASH);
+    }
+
+    @Test
+    void testNullValues() {
+        // Act & Assert
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void testInvalidHashThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> converter.convertToDatabaseColumn("0x0011"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid hash length");
+        assertThatThrownBy(() -> converter.convertToDatabaseColumn(HASH.replace('a', 'z')))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,252 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.bus.RingBufferEventBus;
+import dev.cypherfury.juniscan.bus.RingBufferProcessor;
+import dev.cypherfury.juniscan.capture.FrameCaptureLog;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.entity.enums.IngestMode;
+import dev.cypherfury.juniscan.entity.enums.KafkaSerdeFormat;
+import dev.cypherfury.juniscan.kafka.KafkaConsumerConfig;
+import dev.cypherfury.juniscan.kafka.KafkaProcessor;
+import dev.cypherfury.juniscan.kafka.KafkaProducerConfig;
+import dev.cypherfury.juniscan.kafka.KafkaPublisher;
+import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.rpc.AdaptiveBatchSizer;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.service.BlockIndexService;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import dev.cypherfury.juniscan.service.BlockService;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.DeadLetterService;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import dev.cypherfury.juniscan.service.GapRepairService;
+import dev.cypherfury.juniscan.service.OutboxService;
+import dev.cypherfury.juniscan.service.WebSocketConnectionManager;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark of the latency from a new head to the persistence of its parent block, through each {@link ChainEventBus}.
+ * <p>
+ * Responsibilities:
+ * - Measure the head-to-persisted latency through the in-memory {@link RingBufferEventBus}.
+ * - Measure the same latency through Kafka, with an embedded broker, the {@link KafkaPublisher} and the
+ *   {@link KafkaProcessor} configured as in production.
+ * <p>
+ * The node is a {@link FakeSubstrateNode} producing a block every 10 ms and the database is replaced by a stub,
+ * so the latencies only differ by the transport of the new heads. They are logged rather than asserted, to keep
+ * the test stable on slow machines.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+class EventBusLatencyBenchmarkTest {
+
+    private static final Duration BLOCK_INTERVAL = Duration.ofMillis(10);
+    private static final Duration WARMUP = Duration.ofSeconds(1);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(3);
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private final Map<Long, Long> publishedAt = new ConcurrentHashMap<>();
+    private final Map<Long, Long> persistedAt = new ConcurrentHashMap<>();
+    private WebSocketConnectionManager connectionManager;
+    private BlockRetryService retryService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (AutoCloseable resource : resources.reversed()) {
+            resource.close();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testRingBufferLatency() throws InterruptedException {
+        // Arrange
+        RingBufferEventBus eventBus = new RingBufferEventBus(1024);
+        WebSocketNodeService nodeService = pipeline(eventBus);
+        RingBufferProcessor processor = new RingBufferProcessor(eventBus, nodeService, retryService, 100);
+        processor.start();
+        resources.add(processor::stop);
+
+        // Act
+        List<Long> latencies = measure();
+
+        // Assert
+        report("Ring buffer", latencies, eventBus.stats());
+        assertFalse(latencies.isEmpty());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testKafkaLatency() throws Exception {
+        // Arrange
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, 1, KafkaPublisher.NEW_HEAD_TOPIC);
+        broker.afterPropertiesSet();
+        resources.add(broker::destroy);
+        String brokers = broker.getBrokersAsString();
+        KafkaProducerConfig producerConfig = new KafkaProducerConfig(brokers, 20, 131072, "lz4", true, KafkaSerdeFormat.BINARY);
+        KafkaPublisher publisher = new KafkaPublisher(producerConfig.kafkaTemplate(), producerConfig.blockKafkaTemplate());
+        WebSocketNodeService nodeService = pipeline(publisher);
+        KafkaProcessor processor = new KafkaProcessor(nodeService, mock(BlockIngestService.class), retryService);
+        KafkaConsumerConfig consumerConfig = new KafkaConsumerConfig(brokers, "benchmark", 1, 100, KafkaSerdeFormat.BINARY,
+                3, 10, 2.0, 100);
+        ConcurrentMessageListenerContainer<String, NewHeadDTO> container =
+                consumerConfig.kafkaListenerContainerFactory().createContainer(KafkaPublisher.NEW_HEAD_TOPIC);
+        container.getContainerProperties().setGroupId("benchmark");
+        container.setupMessageListener((BatchAcknowledgingMessageListener<String, NewHeadDTO>) (records, acknowledgment) ->
+                processor.processNewHeads(records.stream().map(ConsumerRecord::value).toList(), acknowledgment));
+        container.start();
+        resources.add(container::stop);
+        ContainerTestUtils.waitForAssignment(container, 1);
+
+        // Act
+        List<Long> latencies = measure();
+
+        // Assert
+        report("Kafka", latencies, publisher.stats());
+        assertFalse(latencies.isEmpty());
+    }
+
+    /**
+     * Connects to a fake node producing new heads, then collects the head-to-persisted latencies of the
+     * new heads published after a warmup.
+     *
+     * @return the latencies, in nanoseconds.
+     */
+    private List<Long> measure() throws InterruptedException {
+        connectionManager.initializeConnection();
+        Thread.sleep(WARMUP.toMillis());
+        long from = System.nanoTime();
+        Thread.sleep(MEASUREMENT.toMillis());
+        long to = System.nanoTime();
+        Thread.sleep(WARMUP.toMillis());
+        List<Long> latencies = new ArrayList<>();
+        publishedAt.forEach((head, published) -> {
+            Long persisted = persistedAt.get(head - 1);
+            if (published >= from && published < to && persisted != null) {
+                latencies.add(persisted - published);
+            }
+        });
+        return latencies;
+    }
+
+    /**
+     * Logs the average and percentiles of the latencies.
+     */
+    private static void report(String bus, List<Long> latencies, PublishStatsDTO stats) {
+        List<Long> sorted = latencies.stream().sorted().toList();
+        if (sorted.isEmpty()) {
+            log.warn("{}: no block persisted.", bus);
+            return;
+        }
+        log.info("{} head-to-persisted latency over {} blocks: avg {} ms, p50 {} ms, p99 {} ms, max {} ms (publish avg {} ms).",
+                bus, sorted.size(),
+                toMillis((long) sorted.stream().mapToLong(Long::longValue).average().orElse(0)),
+                toMillis(sorted.get(sorted.size() / 2)),
+                toMillis(sorted.get(Math.min(sorted.size() - 1, sorted.size() * 99 / 100))),
+                toMillis(sorted.getLast()),
+                String.format("%.3f", stats.getAverageLatencyMs()));
+    }
+
+    /**
+     * Wires the node subscriber to the given bus, recording when every new head is published, and a
+     * {@link BlockRetryService} over a stub repository, recording when every block is persisted.
+     */
+    private WebSocketNodeService pipeline(ChainEventBus eventBus) {
+        FakeSubstrateNode node = new FakeSubstrateNode(SyntheticChain.small())
+                .head(1_000)
+                .blockInterval(BLOCK_INTERVAL)
+                .latency(Duration.ofMillis(1))
+                .start();
+        resources.add(node);
+        ObjectMapper objectMapper = new ObjectMapper();
+        connectionManager = new WebSocketConnectionManager(List.of(node.url()), null, new Sleeper(),
+                16 * 1024 * 1024, new FrameCaptureLog(false, Path.of("capture"), 1), false);
+        JsonRpcClient rpcClient = new JsonRpcClient(connectionManager, objectMapper,
+                new AdaptiveBatchSizer(1, 100, 500, 4 * 1024 * 1024), 10_000);
+
+        BlockRepository blockRepository = mock(BlockRepository.class, withSettings().stubOnly());
+        when(blockRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Block> blocks = invocation.getArgument(0);
+            long now = System.nanoTime();
+            blocks.forEach(block -> persistedAt.put(block.getNumber(), now));
+            return blocks;
+        });
+        FunctionCatalogService functionCatalogService = mock(FunctionCatalogService.class, withSettings().stubOnly());
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mock(Module.class));
+        when(functionCatalogService.getFunction(anyInt(), anyInt())).thenReturn(mock(Function.class));
+        ExtrinsicService extrinsicService = new ExtrinsicService(functionCatalogService, mock(CallDecoderRegistry.class),
+                mock(ExtrinsicRepository.class));
+        BlockService blockService = new BlockService(blockRepository, extrinsicService, mock(OutboxService.class),
+                mock(BlockIndexService.class));
+        retryService = new BlockRetryService(blockService, mock(DeadLetterService.class), 3, 10, 2.0, 100);
+        resources.add(retryService::stop);
+
+        WebSocketNodeService nodeService = new WebSocketNodeService(connectionManager, recording(eventBus), objectMapper,
+                mock(BlockIngestService.class), rpcClient, mock(GapRepairService.class), IngestMode.HEAD);
+        ReflectionTestUtils.setField(connectionManager, "nodeService", nodeService);
+        return nodeService;
+    }
+
+    /**
+     * Decorates a bus to record the time every new head is published.
+     */
+    private ChainEventBus recording(ChainEventBus eventBus) {
+        return new ChainEventBus() {
+            @Override
+            public CompletableFuture<Void> publishNewHead(NewHeadDTO newHead) {
+                publishedAt.put(Long.decode(newHead.getParams().getResult().getNumber()), System.nanoTime());
+                return eventBus.publishNewHead(newHead);
+            }
+
+            @Override
+            public CompletableFuture<Void> publishBlock(BlockDetailsDTO.Block block) {
+                return eventBus.publishBlock(block);
+            }
+
+            @Override
+            public PublishStatsDTO stats() {
+                return eventBus.stats();
+            }
+        };
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+}
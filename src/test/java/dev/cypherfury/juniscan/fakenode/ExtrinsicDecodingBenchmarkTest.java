@@ -0,0 +1,203 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.FunctionParameter;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.repository.FunctionParameterRepository;
+import dev.cypherfury.juniscan.repository.FunctionRepository;
+import dev.cypherfury.juniscan.repository.ModuleRepository;
+import dev.cypherfury.juniscan.scale.ScaleReader;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark of the decoding of SCALE compact integers and extrinsics.
+ * <p>
+ * Responsibilities:
+ * - Measure the time {@link ScaleReader#readCompact()} takes to decode a compact integer in each of its modes.
+ * - Measure the time {@link ExtrinsicService} takes to decode synthetic extrinsics whose length prefix
+ *   is encoded in the single, two and four-byte modes.
+ * - Measure the time the compiled decoders of the {@link CallDecoderRegistry} take to decode the arguments
+ *   of a transfer, and of a batch of transfers.
+ * <p>
+ * Timings are logged rather than asserted, to keep the test stable on slow machines.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+class ExtrinsicDecodingBenchmarkTest {
+
+    private static final int COMPACTS_PER_BUFFER = 1_000;
+    private static final int COMPACT_WARMUP_ROUNDS = 2_000;
+    private static final int COMPACT_MEASURED_ROUNDS = 10_000;
+    private static final int EXTRINSICS_PER_ROUND = 100;
+    private static final int EXTRINSIC_WARMUP_ROUNDS = 100;
+    private static final int EXTRINSIC_MEASURED_ROUNDS = 200;
+    private static final int TRANSFERS_PER_BATCH = 100;
+    private static final String TRANSFER_CALL = "0603" + "00" + "d43593c715fdd31c61141abd04a99fd6822c8558854ccde39a5684e7a56da27d"
+            + "0b00407a10f35a";
+    private static final String TRANSFER_ARGUMENTS = "{\"dest\":{\"Id\":\"0xd43593c715fdd31c61141abd04a99fd6822c8558854ccde39a5684e7a56da27d\"},"
+            + "\"value\":100000000000000}";
+
+    @Test
+    void testCompactDecodingPerMode() {
+        // Arrange
+        String[] modes = {"single-byte", "two-byte", "four-byte", "big-integer"};
+        String[] encodings = {"a8", "a901", "02093d00", "0b00407a10f35a"};
+        long[] values = {42, 106, 1_000_000, 100_000_000_000_000L};
+
+        for (int mode = 0; mode < modes.length; mode++) {
+            ByteBuffer buffer = ByteBuffer.wrap(ByteUtils.getBytes("0x" + encodings[mode].repeat(COMPACTS_PER_BUFFER)));
+            ScaleReader reader = new ScaleReader();
+            decodeCompacts(reader, buffer, COMPACT_WARMUP_ROUNDS);
+
+            // Act
+            long start = System.nanoTime();
+            long sum = decodeCompacts(reader, buffer, COMPACT_MEASURED_ROUNDS);
+            long elapsed = System.nanoTime() - start;
+
+            // Assert
+            long decoded = (long) COMPACT_MEASURED_ROUNDS * COMPACTS_PER_BUFFER;
+            log.info("Compact decoding, {} mode: {} ns/value.", modes[mode], (double) elapsed / decoded);
+            assertEquals(values[mode] * decoded, sum);
+        }
+    }
+
+    @Test
+    void testExtrinsicDecodingPerLengthMode() {
+        // Arrange
+        ExtrinsicService extrinsicService = extrinsicService();
+        int[] sizes = {60, 200, 20_000};
+
+        for (int size : sizes) {
+            String extrinsic = new SyntheticChain(1, size, 6, 3).block(0).get("block").get("extrinsics").get(0).asText();
+            decodeExtrinsics(extrinsicService, extrinsic, EXTRINSIC_WARMUP_ROUNDS);
+
+            // Act
+            long elapsed = decodeExtrinsics(extrinsicService, extrinsic, EXTRINSIC_MEASURED_ROUNDS);
+
+            // Assert
+            long decoded = (long) EXTRINSIC_MEASURED_ROUNDS * EXTRINSICS_PER_ROUND;
+            log.info("Extrinsic decoding, {} bytes: {} ns/extrinsic.", size, elapsed / decoded);
+            assertEquals(size, ByteUtils.getBytes(extrinsic).length);
+        }
+    }
+
+    @Test
+    void testArgumentDecoding() {
+        // Arrange
+        ExtrinsicService extrinsicService = extrinsicServiceWithArguments();
+        String transfer = "0x" + "ac" + "04" + TRANSFER_CALL;
+        String batch = "0x" + "b541" + "04" + "0100" + "9101" + TRANSFER_CALL.repeat(TRANSFERS_PER_BATCH);
+        String[] names = {"transfer", "batch of " + TRANSFERS_PER_BATCH + " transfers"};
+        String[] extrinsics = {transfer, batch};
+
+        for (int i = 0; i < extrinsics.length; i++) {
+            decodeExtrinsics(extrinsicService, extrinsics[i], EXTRINSIC_WARMUP_ROUNDS);
+
+            // Act
+            long elapsed = decodeExtrinsics(extrinsicService, extrinsics[i], EXTRINSIC_MEASURED_ROUNDS);
+
+            // Assert
+            long decoded = (long) EXTRINSIC_MEASURED_ROUNDS * EXTRINSICS_PER_ROUND;
+            log.info("Argument decoding, {}: {} ns/extrinsic.", names[i], elapsed / decoded);
+        }
+        String arguments = extrinsicService.decode(List.of(ExtrinsicBytes.of(batch))).getFirst().getArguments();
+        assertTrue(arguments.startsWith("{\"calls\":[{\"call\":\"Balances.transfer_keep_alive\",\"args\":" + TRANSFER_ARGUMENTS));
+        assertEquals(TRANSFER_ARGUMENTS, extrinsicService.decode(List.of(ExtrinsicBytes.of(transfer))).getFirst().getArguments());
+    }
+
+    /**
+     * Decodes every compact integer of the buffer the given number of times.
+     *
+     * @return the sum of the decoded values, so that the decoding is not optimized away.
+     */
+    private static long decodeCompacts(ScaleReader reader, ByteBuffer buffer, int rounds) {
+        long sum = 0;
+        for (int i = 0; i < rounds; i++) {
+            reader.reset(buffer.clear());
+            while (reader.remaining() > 0) {
+                sum += reader.readCompact();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Decodes rounds of freshly parsed copies of an extrinsic. Parsing is not timed.
+     *
+     * @return the time spent decoding, in nanoseconds.
+     */
+    private static long decodeExtrinsics(ExtrinsicService extrinsicService, String hex, int rounds) {
+        long elapsed = 0;
+        for (int i = 0; i < rounds; i++) {
+            List<ExtrinsicBytes> extrinsics = new ArrayList<>(EXTRINSICS_PER_ROUND);
+            for (int j = 0; j < EXTRINSICS_PER_ROUND; j++) {
+                extrinsics.add(ExtrinsicBytes.of(hex));
+            }
+            long start = System.nanoTime();
+            List<Extrinsic> decoded = extrinsicService.decode(extrinsics);
+            elapsed += System.nanoTime() - start;
+            assertEquals(EXTRINSICS_PER_ROUND, decoded.size());
+            extrinsics.forEach(ExtrinsicBytes::close);
+        }
+        return elapsed;
+    }
+
+    /**
+     * Creates a {@link FunctionCatalogService} over stub repositories, knowing `Utility.batch` (module 1, call 0)
+     * and `Balances.transfer_keep_alive` (module 6, call 3).
+     */
+    private static FunctionCatalogService functionCatalogService() {
+        ModuleRepository moduleRepository = mock(ModuleRepository.class, withSettings().stubOnly());
+        FunctionRepository functionRepository = mock(FunctionRepository.class, withSettings().stubOnly());
+        Module utility = Module.builder().id(1).name("Utility").build();
+        Module balances = Module.builder().id(6).name("Balances").build();
+        when(moduleRepository.findAll()).thenReturn(List.of(utility, balances));
+        when(functionRepository.findAllWithModule()).thenReturn(List.of(
+                Function.builder().id(1).callIndex(0).name("batch").module(utility).build(),
+                Function.builder().id(2).callIndex(3).name("transfer_keep_alive").module(balances).build()));
+        FunctionCatalogService functionCatalogService = new FunctionCatalogService(moduleRepository, functionRepository);
+        functionCatalogService.start();
+        return functionCatalogService;
+    }
+
+    /**
+     * Wires an {@link ExtrinsicService} over the catalogue, without argument decoding.
+     */
+    private static ExtrinsicService extrinsicService() {
+        return new ExtrinsicService(functionCatalogService(), mock(CallDecoderRegistry.class, withSettings().stubOnly()),
+                mock(ExtrinsicRepository.class));
+    }
+
+    /**
+     * Wires an {@link ExtrinsicService} over the catalogue, decoding the arguments with a {@link CallDecoderRegistry}
+     * compiled from the parameters of `Utility.batch` and `Balances.transfer_keep_alive`.
+     */
+    private static ExtrinsicService extrinsicServiceWithArguments() {
+        FunctionCatalogService functionCatalogService = functionCatalogService();
+        FunctionParameterRepository parameterRepository = mock(FunctionParameterRepository.class, withSettings().stubOnly());
+        when(parameterRepository.findByFunctionOrderByIdAsc(functionCatalogService.getFunction(1, 0))).thenReturn(List.of(
+                FunctionParameter.builder().name("calls").type("Vec<Call>").build()));
+        when(parameterRepository.findByFunctionOrderByIdAsc(functionCatalogService.getFunction(6, 3))).thenReturn(List.of(
+                FunctionParameter.builder().name("dest").type("MultiAddress").build(),
+                FunctionParameter.builder().name("value").type("Compact<u64>").build()));
+        return new ExtrinsicService(functionCatalogService,
+                new CallDecoderRegistry(functionCatalogService, parameterRepository), mock(ExtrinsicRepository.class));
+    }
+
+}
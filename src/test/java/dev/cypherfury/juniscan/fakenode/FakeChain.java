@@ -0,0 +1,62 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Source of the blocks served by a {@link FakeSubstrateNode}.
+ * <p>
+ * Responsibilities:
+ * - Provides the hash, header and body of every block of the fake chain, by number.
+ * - Bounds the range of blocks the fake node can produce.
+ *
+ * @author Cypherfury
+ */
+public interface FakeChain {
+
+    /**
+     * Returns the number of the first block of the chain.
+     *
+     * @return the first block number.
+     */
+    long first();
+
+    /**
+     * Returns the number of the last block of the chain, or {@link Long#MAX_VALUE} if unbounded.
+     *
+     * @return the last block number.
+     */
+    long last();
+
+    /**
+     * Returns the hash of a block.
+     *
+     * @param number the block number.
+     * @return the "0x"-prefixed hash, or `null` if the chain has no such block.
+     */
+    String hash(long number);
+
+    /**
+     * Returns the number of the block with the given hash.
+     *
+     * @param hash the "0x"-prefixed hash of the block.
+     * @return the block number, or -1 if the chain has no such block.
+     */
+    long number(String hash);
+
+    /**
+     * Returns the header of a block, as sent in a `chain_newHead` notification.
+     *
+     * @param number the block number, between {@link #first()} and {@link #last()}.
+     * @return the JSON header.
+     */
+    ObjectNode header(long number);
+
+    /**
+     * Returns the block, as returned by `chain_getBlock`.
+     *
+     * @param number the block number, between {@link #first()} and {@link #last()}.
+     * @return the JSON block, with its header and extrinsics.
+     */
+    ObjectNode block(long number);
+
+}
@@ -0,0 +1,395 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.websocket.server.WsSci;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded WebSocket server faking a Substrate RPC node, for integration and load tests.
+ * <p>
+ * Responsibilities:
+ * - Answers `chain_subscribeNewHeads`, `chain_getBlockHash` and `chain_getBlock`, on their own or in
+ *   JSON-RPC batches, from a {@link FakeChain}.
+ * - Produces a new head every {@code blockInterval} and notifies every subscribed session.
+ * - Delays every response by a configurable latency.
+ * - Injects disconnects, on demand or periodically.
+ * <p>
+ * Typical usage:
+ * <pre>
+ *     try (FakeSubstrateNode node = new FakeSubstrateNode(SyntheticChain.small())
+ *             .blockInterval(Duration.ofMillis(10))
+ *             .latency(Duration.ofMillis(2))
+ *             .start()) {
+ *         // connect to node.url()
+ *     }
+ * </pre>
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+public class FakeSubstrateNode implements AutoCloseable {
+
+    private static final String SUBSCRIPTION_ID = "fake-subscription";
+
+    private final FakeChain chain;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final Set<Session> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final AtomicLong head;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private Duration blockInterval;
+    private Duration latency = Duration.ZERO;
+    private Duration disconnectInterval;
+    private Tomcat tomcat;
+    private Path baseDir;
+
+    /**
+     * Constructor for `FakeSubstrateNode`.
+     * The head of the chain starts at its first block.
+     *
+     * @param chain the blocks served by the node.
+     */
+    public FakeSubstrateNode(FakeChain chain) {
+        this.chain = chain;
+        this.head = new AtomicLong(chain.first());
+    }
+
+    /**
+     * Sets the time between two new heads. No new head is produced if not set.
+     *
+     * @param blockInterval the block time, the inverse of the block rate.
+     * @return this node.
+     */
+    public FakeSubstrateNode blockInterval(Duration blockInterval) {
+        this.blockInterval = blockInterval;
+        return this;
+    }
+
+    /**
+     * Sets the delay before every response is sent.
+     *
+     * @param latency the response latency.
+     * @return this node.
+     */
+    public FakeSubstrateNode latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Closes every connection periodically.
+     *
+     * @param disconnectInterval the time between two disconnects.
+     * @return this node.
+     */
+    public FakeSubstrateNode disconnectEvery(Duration disconnectInterval) {
+        this.disconnectInterval = disconnectInterval;
+        return this;
+    }
+
+    /**
+     * Sets the current head of the chain.
+     *
+     * @param number the number of the head.
+     * @return this node.
+     */
+    public FakeSubstrateNode head(long number) {
+        head.set(number);
+        return this;
+    }
+
+    /**
+     * Starts the server on a free local port, and the production of new heads.
+     *
+     * @return this node.
+     * @throws IllegalStateException if the server cannot be started.
+     */
+    public FakeSubstrateNode start() {
+        try {
+            baseDir = Files.createTempDirectory("fake-substrate-node");
+            tomcat = new Tomcat();
+            tomcat.setBaseDir(baseDir.toString());
+            tomcat.setPort(0);
+            Context context = tomcat.addContext("", baseDir.toString());
+            context.addServletContainerInitializer(new WsSci(), null);
+            Tomcat.addServlet(context, "default", new HttpServlet() {
+            });
+            context.addServletMappingDecoded("/", "default");
+            tomcat.getConnector();
+            tomcat.start();
+            ServerContainer container = (ServerContainer) context.getServletContext()
+                    .getAttribute(ServerContainer.class.getName());
+            container.addEndpoint(ServerEndpointConfig.Builder.create(NodeEndpoint.class, "/")
+                    .configurator(new ServerEndpointConfig.Configurator() {
+                        @Override
+                        public <T> T getEndpointInstance(Class<T> endpointClass) {
+                            return endpointClass.cast(new NodeEndpoint());
+                        }
+                    })
+                    .build());
+        } catch (IOException | LifecycleException | DeploymentException e) {
+            throw new IllegalStateException("Unable to start the fake node", e);
+        }
+        if (blockInterval != null) {
+            long period = blockInterval.toNanos();
+            scheduler.scheduleAtFixedRate(this::produceHead, period, period, TimeUnit.NANOSECONDS);
+        }
+        if (disconnectInterval != null) {
+            long period = disconnectInterval.toNanos();
+            scheduler.scheduleAtFixedRate(this::dropConnections, period, period, TimeUnit.NANOSECONDS);
+        }
+        log.info("Fake Substrate node listening on {}.", url());
+        return this;
+    }
+
+    /**
+     * Returns the WebSocket URL of the node.
+     *
+     * @return the URL to connect to.
+     */
+    public String url() {
+        return "ws://localhost:" + tomcat.getConnector().getLocalPort() + "/";
+    }
+
+    /**
+     * Returns the number of the current head.
+     *
+     * @return the head block number.
+     */
+    public long head() {
+        return head.get();
+    }
+
+    /**
+     * Returns the number of JSON-RPC requests received, each request of a batch being counted.
+     *
+     * @return the number of requests.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the number of connections accepted since the node started.
+     *
+     * @return the number of connections.
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Returns the number of sessions currently open.
+     *
+     * @return the number of open sessions.
+     */
+    public int openSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Closes every open connection, as a node restart would.
+     */
+    public void dropConnections() {
+        for (Session session : sessions) {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "Fake node disconnect"));
+            } catch (IOException e) {
+                log.debug("Unable to close fake node session: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the production of new heads and the server.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            if (tomcat != null) {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        } catch (LifecycleException e) {
+            log.warn("Unable to stop the fake node: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the head to the next block and notifies the subscribers.
+     */
+    private void produceHead() {
+        if (head.get() >= chain.last()) {
+            return;
+        }
+        long number = head.incrementAndGet();
+        ObjectNode notification = objectMapper.createObjectNode();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", "chain_newHead");
+        ObjectNode params = notification.putObject("params");
+        params.put("subscription", SUBSCRIPTION_ID);
+        params.set("result", chain.header(number));
+        String message = notification.toString();
+        subscribers.forEach(session -> send(session, message));
+    }
+
+    /**
+     * Answers a request or a batch of requests after the configured latency.
+     *
+     * @param session the session the message was received on.
+     * @param message the JSON-RPC message.
+     */
+    private void handle(Session session, String message) {
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(message);
+        } catch (IOException e) {
+            log.warn("Fake node received invalid JSON: {}", message);
+            return;
+        }
+        String response;
+        boolean subscribe = false;
+        if (request.isArray()) {
+            ArrayNode responses = objectMapper.createArrayNode();
+            for (JsonNode element : request) {
+                responses.add(answer(element));
+                subscribe |= isSubscription(element);
+            }
+            response = responses.toString();
+        } else {
+            response = answer(request).toString();
+            subscribe = isSubscription(request);
+        }
+        boolean subscribed = subscribe;
+        if (latency.isZero()) {
+            respond(session, response, subscribed);
+        } else {
+            scheduler.schedule(() -> respond(session, response, subscribed), latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Sends a response, then subscribes the session to the new heads if it asked to, so that, as with a
+     * Substrate node, no notification is received before the subscription id.
+     *
+     * @param session   the session the request was received on.
+     * @param response  the JSON-RPC response.
+     * @param subscribe whether the request subscribed to the new heads.
+     */
+    private void respond(Session session, String response, boolean subscribe) {
+        send(session, response);
+        if (subscribe && session.isOpen()) {
+            subscribers.add(session);
+        }
+    }
+
+    private static boolean isSubscription(JsonNode request) {
+        return "chain_subscribeNewHeads".equals(request.path("method").asText());
+    }
+
+    /**
+     * Computes the response to a single request, written with the `result` before the `id` like a Substrate node.
+     *
+     * @param request the JSON-RPC request.
+     * @return the JSON-RPC response.
+     */
+    private ObjectNode answer(JsonNode request) {
+        requests.incrementAndGet();
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("jsonrpc", "2.0");
+        JsonNode params = request.path("params");
+        switch (request.path("method").asText()) {
+            case "chain_subscribeNewHeads" -> response.put("result", SUBSCRIPTION_ID);
+            case "chain_getBlockHash" -> {
+                long number = params.path(0).asLong(head.get());
+                response.put("result", number <= head.get() ? chain.hash(number) : null);
+            }
+            case "chain_getBlock" -> {
+                long number = chain.number(params.path(0).asText());
+                if (number >= chain.first() && number <= head.get()) {
+                    response.set("result", chain.block(number));
+                } else {
+                    response.putNull("result");
+                }
+            }
+            default -> {
+                ObjectNode error = response.putObject("error");
+                error.put("code", -32601);
+                error.put("message", "Method not found");
+            }
+        }
+        response.set("id", request.path("id"));
+        return response;
+    }
+
+    /**
+     * Sends a message to a session, sends on a session being serialized.
+     *
+     * @param session the session to send the message to.
+     * @param message the JSON message.
+     */
+    private void send(Session session, String message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            synchronized (session) {
+                session.getBasicRemote().sendText(message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Unable to send from fake node: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The server endpoint handling a connection to the fake node.
+     */
+    private class NodeEndpoint extends Endpoint {
+
+        @Override
+        public void onOpen(Session session, EndpointConfig config) {
+            session.setMaxTextMessageBufferSize(1 << 20);
+            sessions.add(session);
+            connections.incrementAndGet();
+            session.addMessageHandler(String.class, (MessageHandler.Whole<String>) message -> handle(session, message));
+        }
+
+        @Override
+        public void onClose(Session session, CloseReason closeReason) {
+            sessions.remove(session);
+            subscribers.remove(session);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ClientEndpointConfig;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link FakeSubstrateNode} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the JSON-RPC methods answered by the fake node, on their own and in batches.
+ * - Ensure new heads are notified to subscribers at the configured rate.
+ * - Verify that disconnects are injected on demand.
+ *
+ * @author Cypherfury
+ */
+class FakeSubstrateNodeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private FakeSubstrateNode node;
+    private Session session;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (session != null && session.isOpen()) {
+            session.close();
+        }
+        node.close();
+    }
+
+    @Test
+    void testGetBlockHashAndBlockFromFixtures() throws Exception {
+        // Arrange
+        node = new FakeSubstrateNode(new FixtureChain("/fakenode/blocks.json")).head(0x46568e).start();
+        connect();
+
+        // Act
+        JsonNode hash = request("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlockHash\",\"params\":[4609678]}");
+        JsonNode block = request("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"chain_getBlock\",\"params\":[\"" + hash.get("result").asText() + "\"]}");
+        JsonNode unknown = request("{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"chain_getBlockHash\",\"params\":[4609679]}");
+
+        // Assert
+        assertEquals("0x7f1f26388fb2f99e402ff629c594cc4104537f5f0e0f52a5939a20b7b116be00", hash.get("result").asText());
+        assertEquals(3, block.get("id").asLong());
+        assertEquals("0x46568e", block.at("/result/block/header/number").asText());
+        assertEquals("0x280404000b68d5d4a49401", block.at("/result/block/extrinsics/0").asText());
+        assertTrue(unknown.get("result").isNull());
+    }
+
+    @Test
+    void testBatchRequestIsAnsweredWithArray() throws Exception {
+        // Arrange
+        node = new FakeSubstrateNode(SyntheticChain.small()).head(10).latency(Duration.ofMillis(5)).start();
+        connect();
+
+        // Act
+        JsonNode responses = request("[{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlockHash\",\"params\":[1]},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"chain_getBlockHash\",\"params\":[2]},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"unknown_method\",\"params\":[]}]");
+
+        // Assert
+        assertEquals(3, responses.size());
+        assertEquals(SyntheticChain.small().hash(1), responses.get(0).get("result").asText());
+        assertEquals(3, responses.get(1).get("id").asLong());
+        assertEquals(-32601, responses.get(2).at("/error/code").asInt());
+        assertEquals(3, node.requests());
+    }
+
+    @Test
+    void testSubscriptionReceivesNewHeads() throws Exception {
+        // Arrange
+        node = new FakeSubstrateNode(SyntheticChain.small()).head(100).blockInterval(Duration.ofMillis(10)).start();
+        connect();
+
+        // Act
+        JsonNode subscription = request("{\"id\":1,\"jsonrpc\":\"2.0\",\"method\":\"chain_subscribeNewHeads\",\"params\":[]}");
+        JsonNode first = next();
+        JsonNode second = next();
+
+        // Assert
+        assertEquals("fake-subscription", subscription.get("result").asText());
+        assertEquals("chain_newHead", first.get("method").asText());
+        long number = Long.decode(first.at("/params/result/number").asText());
+        assertTrue(number > 100);
+        assertEquals(number + 1, Long.decode(second.at("/params/result/number").asText()));
+        assertEquals(first.at("/params/result/parentHash").asText(), SyntheticChain.small().hash(number - 1));
+    }
+
+    @Test
+    void testDropConnectionsClosesSessions() throws Exception {
+        // Arrange
+        node = new FakeSubstrateNode(SyntheticChain.small()).start();
+        connect();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (node.openSessions() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Act
+        node.dropConnections();
+
+        // Assert
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, node.connections());
+    }
+
+    private void connect() throws Exception {
+        session = ContainerProvider.getWebSocketContainer().connectToServer(new Endpoint() {
+            @Override
+            public void onOpen(Session session, EndpointConfig config) {
+                session.addMessageHandler(String.class, (MessageHandler.Whole<String>) received::add);
+            }
+
+            @Override
+            public void onClose(Session session, CloseReason closeReason) {
+                closed.countDown();
+            }
+        }, ClientEndpointConfig.Builder.create().build(), URI.create(node.url()));
+    }
+
+    private JsonNode request(String message) throws Exception {
+        session.getBasicRemote().sendText(message);
+        return next();
+    }
+
+    private JsonNode next() throws Exception {
+        String message = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message, "No message received from the fake node");
+        return objectMapper.readTree(message);
+    }
+
+}
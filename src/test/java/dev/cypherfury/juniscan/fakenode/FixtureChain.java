@@ -0,0 +1,122 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.scale.ChainHasher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FakeChain} serving synthetic blocks, loaded from a classpath resource.
+ * <p>
+ * The resource holds a JSON array of consecutive blocks, each of them given as
+ * <pre>
+ *     {"hash": "0x...", "block": {"header": {...}, "extrinsics": ["0x..."]}}
+ * </pre>
+ * The roots and extrinsics are made up, in the format of a Substrate node, but the hashes are real: each block
+ * hash is the BLAKE2b-256 hash of its header, as computed by {@link ChainHasher}, and is the parent hash of the
+ * next block. Both are checked on load, so that the fixture is served as a consistent chain.
+ *
+ * @author Cypherfury
+ */
+public class FixtureChain implements FakeChain {
+
+    private final long first;
+    private final List<String> hashes = new ArrayList<>();
+    private final List<ObjectNode> blocks = new ArrayList<>();
+    private final Map<String, Long> numbers = new HashMap<>();
+
+    /**
+     * Loads the fixture blocks from a classpath resource.
+     *
+     * @param resource the path of the resource, e.g. "/fakenode/blocks.json".
+     * @throws UncheckedIOException if the resource cannot be read.
+     * @throws IllegalArgumentException if the resource is empty, or its blocks are not consecutive or not chained
+     *                                  by their hashes.
+     */
+    public FixtureChain(String resource) {
+        JsonNode fixtures;
+        try (InputStream input = FixtureChain.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Fixture not found: " + resource);
+            }
+            fixtures = new ObjectMapper().readTree(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (fixtures.isEmpty()) {
+            throw new IllegalArgumentException("Fixture without blocks: " + resource);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        ChainHasher hasher = new ChainHasher();
+        first = Long.decode(fixtures.get(0).at("/block/header/number").asText());
+        for (JsonNode fixture : fixtures) {
+            long number = Long.decode(fixture.at("/block/header/number").asText());
+            if (number != first + blocks.size()) {
+                throw new IllegalArgumentException("Fixture blocks are not consecutive at " + number);
+            }
+            BlockDetailsDTO.Block.Header header = readHeader(objectMapper, fixture);
+            if (!hashes.isEmpty() && !hashes.getLast().equals(header.getParentHash())) {
+                throw new IllegalArgumentException("Fixture block " + number + " is not a child of the previous one");
+            }
+            String hash = fixture.get("hash").asText();
+            if (!hasher.hashHeader(header, number).equals(hash)) {
+                throw new IllegalArgumentException("Fixture block " + number + " does not match its hash " + hash);
+            }
+            ObjectNode block = ((ObjectNode) fixture).deepCopy();
+            block.remove("hash");
+            block.putNull("justifications");
+            hashes.add(hash);
+            blocks.add(block);
+            numbers.put(hash, number);
+        }
+    }
+
+    private static BlockDetailsDTO.Block.Header readHeader(ObjectMapper objectMapper, JsonNode fixture) {
+        try {
+            return objectMapper.treeToValue(fixture.at("/block/header"), BlockDetailsDTO.Block.Header.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid fixture header: " + fixture.at("/block/header/number"), e);
+        }
+    }
+
+    @Override
+    public long first() {
+        return first;
+    }
+
+    @Override
+    public long last() {
+        return first + blocks.size() - 1;
+    }
+
+    @Override
+    public String hash(long number) {
+        return number < first || number > last() ? null : hashes.get((int) (number - first));
+    }
+
+    @Override
+    public long number(String hash) {
+        return numbers.getOrDefault(hash, -1L);
+    }
+
+    @Override
+    public ObjectNode header(long number) {
+        return (ObjectNode) block(number).at("/block/header");
+    }
+
+    @Override
+    public ObjectNode block(long number) {
+        return blocks.get((int) (number - first));
+    }
+
+}
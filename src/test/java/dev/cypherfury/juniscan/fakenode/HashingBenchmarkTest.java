@@ -0,0 +1,151 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.scale.ChainHasher;
+import dev.cypherfury.juniscan.utils.Blake2b;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the BLAKE2b-256 hashing of blocks and extrinsics.
+ * <p>
+ * Responsibilities:
+ * - Measure the throughput of {@link Blake2b} on a single core, for messages the size of an extrinsic,
+ *   of a block header and of a large batch call.
+ * - Measure the throughput per core with every core hashing at once, to check that hashing scales with
+ *   the indexing workers.
+ * - Measure the time {@link ChainHasher} takes to hash a block header, from its hex fields.
+ * <p>
+ * Timings are logged rather than asserted, to keep the test stable on slow machines. The correctness of the
+ * hashes is covered by the unit tests of {@link Blake2b} and {@link ChainHasher}.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Tag("benchmark")
+class HashingBenchmarkTest {
+
+    private static final int[] MESSAGE_SIZES = {150, 250, 16_384};
+    private static final long WARMUP_BYTES = 64L << 20;
+    private static final long MEASURED_BYTES = 256L << 20;
+    private static final int HEADER_WARMUP_ROUNDS = 50_000;
+    private static final int HEADER_MEASURED_ROUNDS = 200_000;
+
+    @Test
+    void testThroughputOnOneCore() {
+        for (int size : MESSAGE_SIZES) {
+            // Arrange
+            byte[] message = message(size);
+            hash(message, WARMUP_BYTES);
+
+            // Act
+            long start = System.nanoTime();
+            byte checksum = hash(message, MEASURED_BYTES);
+            long elapsed = System.nanoTime() - start;
+
+            // Assert
+            log.info("BLAKE2b-256, {} bytes, 1 core: {} MB/s, {} ns/hash.", size, megabytesPerSecond(MEASURED_BYTES, elapsed),
+                    elapsed / (MEASURED_BYTES / size));
+            assertEquals(Blake2b.hash256(message, 0, size)[0], checksum);
+        }
+    }
+
+    @Test
+    void testThroughputPerCoreOnEveryCore() throws Exception {
+        // Arrange
+        int cores = Runtime.getRuntime().availableProcessors();
+        byte[] message = message(MESSAGE_SIZES[0]);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(cores)) {
+            run(executor, cores, message, WARMUP_BYTES);
+
+            // Act
+            long start = System.nanoTime();
+            run(executor, cores, message, MEASURED_BYTES);
+            long elapsed = System.nanoTime() - start;
+
+            // Assert
+            log.info("BLAKE2b-256, {} bytes, {} cores: {} MB/s per core.", message.length, cores,
+                    megabytesPerSecond(MEASURED_BYTES, elapsed));
+        }
+    }
+
+    @Test
+    void testHeaderHashing() throws Exception {
+        // Arrange
+        SyntheticChain chain = new SyntheticChain(1, 150, 6, 3);
+        ObjectMapper objectMapper = new ObjectMapper();
+        BlockDetailsDTO.Block.Header header = objectMapper.treeToValue(chain.header(1_000_000),
+                BlockDetailsDTO.Block.Header.class);
+        header.getDigest().setLogs(new String[]{"0x0642414245b501" + "aa".repeat(20), "0x05424142450101" + "bb".repeat(64)});
+        ChainHasher hasher = new ChainHasher();
+        hashHeaders(hasher, header, HEADER_WARMUP_ROUNDS);
+
+        // Act
+        long start = System.nanoTime();
+        String hash = hashHeaders(hasher, header, HEADER_MEASURED_ROUNDS);
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        log.info("Header hashing: {} ns/header.", elapsed / HEADER_MEASURED_ROUNDS);
+        assertEquals(hasher.hashHeader(header, 1_000_000), hash);
+    }
+
+    /**
+     * Hashes the message over and over, until the given number of bytes is hashed.
+     *
+     * @return the first byte of the last digest, so that the hashing is not optimized away.
+     */
+    private static byte hash(byte[] message, long bytes) {
+        Blake2b blake2b = new Blake2b(32);
+        byte[] digest = new byte[32];
+        for (long hashed = 0; hashed < bytes; hashed += message.length) {
+            blake2b.update(message, 0, message.length).digest(digest, 0);
+        }
+        return digest[0];
+    }
+
+    /**
+     * Hashes the given number of bytes on every core at once.
+     */
+    private static void run(ExecutorService executor, int cores, byte[] message, long bytes) throws Exception {
+        List<Future<Byte>> futures = new ArrayList<>(cores);
+        for (int i = 0; i < cores; i++) {
+            futures.add(executor.submit(() -> hash(message, bytes)));
+        }
+        for (Future<Byte> future : futures) {
+            assertEquals(Blake2b.hash256(message, 0, message.length)[0], future.get());
+        }
+    }
+
+    private static String hashHeaders(ChainHasher hasher, BlockDetailsDTO.Block.Header header, int rounds) {
+        String hash = null;
+        for (int i = 0; i < rounds; i++) {
+            hash = hasher.hashHeader(header, 1_000_000);
+        }
+        return hash;
+    }
+
+    private static long megabytesPerSecond(long bytes, long elapsedNanos) {
+        return bytes * 1_000 / elapsedNanos;
+    }
+
+    private static byte[] message(int size) {
+        byte[] message = new byte[size];
+        for (int i = 0; i < size; i++) {
+            message[i] = (byte) (i * 31);
+        }
+        return message;
+    }
+
+}
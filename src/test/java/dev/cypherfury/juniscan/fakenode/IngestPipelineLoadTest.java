@@ -0,0 +1,226 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.bus.ChainEventBus;
+import dev.cypherfury.juniscan.capture.FrameCaptureLog;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import dev.cypherfury.juniscan.entity.enums.IngestMode;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.repository.BackfillCheckpointRepository;
+import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.rpc.AdaptiveBatchSizer;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.rpc.RpcNode;
+import dev.cypherfury.juniscan.service.BackfillService;
+import dev.cypherfury.juniscan.service.BlockIndexService;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
+import dev.cypherfury.juniscan.service.BlockService;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import dev.cypherfury.juniscan.service.GapRepairService;
+import dev.cypherfury.juniscan.service.OutboxService;
+import dev.cypherfury.juniscan.service.WebSocketConnectionManager;
+import dev.cypherfury.juniscan.service.WebSocketNodeService;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * End-to-end tests of the ingest pipeline against {@link FakeSubstrateNode}s.
+ * <p>
+ * Responsibilities:
+ * - Measure the sustained throughput of live indexing, from the new heads subscription to the block repository.
+ * - Measure the throughput of a backfill through JSON-RPC batches.
+ * - Ensure live indexing survives a node disconnect by failing over to another node.
+ * <p>
+ * The event bus and the database are replaced by mocks, every other component of the pipeline being real.
+ * Throughputs are logged rather than asserted, to keep the tests stable on slow machines.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Tag("benchmark")
+class IngestPipelineLoadTest {
+
+    private final List<FakeSubstrateNode> nodes = new ArrayList<>();
+    private final AtomicLong saved = new AtomicLong();
+    private BlockIngestService ingestService;
+    private WebSocketConnectionManager connectionManager;
+    private JsonRpcClient rpcClient;
+    private AdaptiveBatchSizer batchSizer;
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(FakeSubstrateNode::close);
+        if (ingestService != null) {
+            ingestService.stop();
+        }
+    }
+
+    @Test
+    void testLiveIndexingThroughput() throws InterruptedException {
+        // Arrange
+        FakeSubstrateNode node = node(1_000, Duration.ofMillis(5));
+        pipeline(node);
+        awaitAtLeast(saved::get, 1, Duration.ofSeconds(10));
+        long savedAtStart = saved.get();
+        long headAtStart = node.head();
+        long start = System.nanoTime();
+
+        // Act
+        Thread.sleep(2_000);
+        long produced = node.head() - headAtStart;
+        awaitAtLeast(saved::get, savedAtStart + produced, Duration.ofSeconds(10));
+
+        // Assert
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long indexed = saved.get() - savedAtStart;
+        log.info("Live indexing: {} heads produced, {} blocks indexed in {} ms ({} blocks/s).",
+                produced, indexed, elapsedMs, indexed * 1000 / Math.max(1, elapsedMs));
+        assertTrue(produced > 0);
+        assertTrue(indexed >= produced);
+        assertEquals(0, ingestService.stats().getFailed());
+    }
+
+    @Test
+    void testBackfillThroughput() throws InterruptedException {
+        // Arrange
+        FakeSubstrateNode node = node(10_000, null);
+        pipeline(node);
+        BackfillCheckpointRepository checkpointRepository = mock(BackfillCheckpointRepository.class);
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        BackfillService backfillService = new BackfillService(rpcClient, batchSizer, ingestService,
+                checkpointRepository, connectionManager, new Sleeper(), 4, 500);
+        long start = System.nanoTime();
+
+        // Act
+        BackfillCheckpoint checkpoint = backfillService.start(1, 3_000);
+        awaitAtLeast(() -> backfillService.isRunning() ? 0 : 1, 1, Duration.ofSeconds(60));
+
+        // Assert
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Backfill: {} blocks indexed in {} ms ({} blocks/s), final batch size {}, {} requests.",
+                saved.get(), elapsedMs, saved.get() * 1000 / Math.max(1, elapsedMs), batchSizer.current(), node.requests());
+        assertEquals(BackfillStatus.COMPLETED, checkpoint.getStatus());
+        assertEquals(3_000, saved.get());
+    }
+
+    @Test
+    void testLiveIndexingFailsOverOnDisconnect() throws InterruptedException {
+        // Arrange
+        FakeSubstrateNode first = node(1_000, Duration.ofMillis(10));
+        FakeSubstrateNode second = node(1_000, Duration.ofMillis(10));
+        pipeline(first, second);
+        awaitAtLeast(saved::get, 5, Duration.ofSeconds(10));
+        awaitAtLeast(() -> first.openSessions() + second.openSessions(), 2, Duration.ofSeconds(10));
+        String primaryUrl = primaryUrl();
+        FakeSubstrateNode primary = primaryUrl.equals(first.url()) ? first : second;
+
+        // Act
+        primary.dropConnections();
+        long savedAfterDisconnect = saved.get();
+
+        // Assert
+        awaitAtLeast(saved::get, savedAfterDisconnect + 20, Duration.ofSeconds(10));
+        assertTrue(saved.get() >= savedAfterDisconnect + 20);
+        assertNotEquals(primaryUrl, primaryUrl());
+    }
+
+    /**
+     * Starts a fake node producing synthetic blocks.
+     */
+    private FakeSubstrateNode node(long head, Duration blockInterval) {
+        FakeSubstrateNode node = new FakeSubstrateNode(SyntheticChain.small())
+                .head(head)
+                .latency(Duration.ofMillis(1));
+        if (blockInterval != null) {
+            node.blockInterval(blockInterval);
+        }
+        nodes.add(node.start());
+        return node;
+    }
+
+    /**
+     * Wires the pipeline to the given nodes, with the event bus and the database replaced by mocks,
+     * and connects to the nodes.
+     */
+    private void pipeline(FakeSubstrateNode... fakeNodes) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        connectionManager = new WebSocketConnectionManager(
+                Arrays.stream(fakeNodes).map(FakeSubstrateNode::url).toList(),
+                null, new Sleeper(), 16 * 1024 * 1024, new FrameCaptureLog(false, Path.of("capture"), 1), false);
+        batchSizer = new AdaptiveBatchSizer(1, 100, 500, 4 * 1024 * 1024);
+        rpcClient = new JsonRpcClient(connectionManager, objectMapper, batchSizer, 10_000);
+
+        BlockRepository blockRepository = mock(BlockRepository.class);
+        when(blockRepository.save(any())).thenAnswer(invocation -> {
+            saved.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+        FunctionCatalogService functionCatalogService = mock(FunctionCatalogService.class);
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mock(Module.class));
+        when(functionCatalogService.getFunction(anyInt(), anyInt())).thenReturn(mock(Function.class));
+        ExtrinsicService extrinsicService = new ExtrinsicService(functionCatalogService, mock(CallDecoderRegistry.class),
+                mock(ExtrinsicRepository.class));
+        BlockService blockService = new BlockService(blockRepository, extrinsicService, mock(OutboxService.class),
+                mock(BlockIndexService.class));
+        ingestService = new BlockIngestService(blockService, mock(BlockRetryService.class), 1024, 4, true, IngestOverflowPolicy.PARK);
+        ingestService.start();
+
+        ChainEventBus publisher = mock(ChainEventBus.class);
+        WebSocketNodeService nodeService = new WebSocketNodeService(connectionManager, publisher, objectMapper,
+                ingestService, rpcClient, mock(GapRepairService.class), IngestMode.HEAD);
+        doAnswer(invocation -> {
+            NewHeadDTO newHead = invocation.getArgument(0);
+            nodeService.fetchBlockDetails(newHead.getParams().getResult().getParentHash());
+            return null;
+        }).when(publisher).publishNewHead(any());
+        ReflectionTestUtils.setField(connectionManager, "nodeService", nodeService);
+        connectionManager.initializeConnection();
+    }
+
+    /**
+     * Returns the URL of the node holding the new heads subscription.
+     */
+    private String primaryUrl() {
+        WebSocketSession primary = connectionManager.getCurrentSession();
+        return connectionManager.getNodes().stream().filter(node -> node.getSession() == primary)
+                .map(RpcNode::getUrl).findFirst().orElseThrow();
+    }
+
+    /**
+     * Waits until a counter reaches the expected value, or the timeout elapses.
+     */
+    private static void awaitAtLeast(LongSupplier counter, long expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (counter.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+}
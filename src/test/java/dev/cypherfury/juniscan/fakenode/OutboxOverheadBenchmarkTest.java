@@ -0,0 +1,147 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.repository.FunctionRepository;
+import dev.cypherfury.juniscan.repository.ModuleRepository;
+import dev.cypherfury.juniscan.repository.OutboxEventRepository;
+import dev.cypherfury.juniscan.service.BlockIndexService;
+import dev.cypherfury.juniscan.service.BlockService;
+import dev.cypherfury.juniscan.service.CallDecoderRegistry;
+import dev.cypherfury.juniscan.service.ExtrinsicService;
+import dev.cypherfury.juniscan.service.FunctionCatalogService;
+import dev.cypherfury.juniscan.service.OutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark of the overhead of the transactional outbox on the indexing of a block.
+ * <p>
+ * Responsibilities:
+ * - Measure the time {@link BlockService} takes to decode and save batches of synthetic blocks, and the
+ *   extra time {@link OutboxService} takes to write their decoded block events, per committed block.
+ * <p>
+ * The repositories are replaced by stubs, so the overhead measured is the building and serialization of
+ * the events; the cost of inserting them, one row per block in the same transaction, comes on top.
+ * Timings are logged rather than asserted, to keep the test stable on slow machines.
+ *
+ * @author Cypherfury
+ */
+@Slf4j
+@Tag("benchmark")
+class OutboxOverheadBenchmarkTest {
+
+    private static final int BLOCKS_PER_BATCH = 100;
+    private static final int WARMUP_BATCHES = 50;
+    private static final int MEASURED_BATCHES = 200;
+    private static final int EXTRINSICS_PER_BLOCK = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SyntheticChain chain = new SyntheticChain(EXTRINSICS_PER_BLOCK, 60, 5, 0);
+
+    @Test
+    void testOutboxOverheadPerBlock() throws Exception {
+        // Arrange
+        List<Block> saved = new ArrayList<>();
+        AtomicLong events = new AtomicLong();
+        BlockService blockService = blockService(saved);
+        OutboxService outboxService = new OutboxService(outboxEventRepository(events), objectMapper, true);
+        run(blockService, outboxService, saved, WARMUP_BATCHES);
+        events.set(0);
+
+        // Act
+        long[] elapsed = run(blockService, outboxService, saved, MEASURED_BATCHES);
+
+        // Assert
+        long blocks = (long) MEASURED_BATCHES * BLOCKS_PER_BATCH;
+        log.info("Outbox overhead: {} ns/block to decode and save, {} ns/block extra to write the event ({} extrinsics/block).",
+                elapsed[0] / blocks, elapsed[1] / blocks, EXTRINSICS_PER_BLOCK);
+        assertEquals(blocks, events.get());
+    }
+
+    /**
+     * Wires a {@link BlockService} over stub repositories, with the outbox disabled, collecting the saved blocks.
+     */
+    private BlockService blockService(List<Block> saved) {
+        BlockRepository blockRepository = mock(BlockRepository.class, withSettings().stubOnly());
+        when(blockRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Block> blocks = invocation.getArgument(0);
+            blocks.forEach(saved::add);
+            return blocks;
+        });
+        ModuleRepository moduleRepository = mock(ModuleRepository.class, withSettings().stubOnly());
+        FunctionRepository functionRepository = mock(FunctionRepository.class, withSettings().stubOnly());
+        Module module = Module.builder().id(5).name("Balances").build();
+        when(moduleRepository.findAll()).thenReturn(List.of(module));
+        when(functionRepository.findAllWithModule())
+                .thenReturn(List.of(Function.builder().name("transfer_allow_death").module(module).build()));
+        FunctionCatalogService functionCatalogService = new FunctionCatalogService(moduleRepository, functionRepository);
+        functionCatalogService.start();
+        ExtrinsicService extrinsicService = new ExtrinsicService(functionCatalogService, mock(CallDecoderRegistry.class),
+                mock(ExtrinsicRepository.class));
+        return new BlockService(blockRepository, extrinsicService,
+                new OutboxService(outboxEventRepository(new AtomicLong()), objectMapper, false),
+                mock(BlockIndexService.class, withSettings().stubOnly()));
+    }
+
+    /**
+     * Creates a stub outbox repository counting the events written.
+     */
+    private static OutboxEventRepository outboxEventRepository(AtomicLong events) {
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class, withSettings().stubOnly());
+        when(outboxEventRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<?> written = invocation.getArgument(0);
+            written.forEach(event -> events.incrementAndGet());
+            return written;
+        });
+        return outboxEventRepository;
+    }
+
+    /**
+     * Decodes and saves the given number of batches of freshly parsed blocks, then writes their events to
+     * the outbox, as {@link BlockService} does in the same transaction. Parsing is not timed.
+     *
+     * @return the time spent decoding and saving, and the time spent writing the events, in nanoseconds.
+     */
+    private long[] run(BlockService blockService, OutboxService outboxService, List<Block> saved, int count) throws Exception {
+        long[] elapsed = new long[2];
+        for (int i = 0; i < count; i++) {
+            List<BlockDetailsDTO.Block> batch = batch(i);
+            saved.clear();
+            long start = System.nanoTime();
+            assertEquals(BLOCKS_PER_BATCH, blockService.decodeAndSaveAll(batch));
+            long decoded = System.nanoTime();
+            outboxService.recordDecodedBlocks(saved);
+            elapsed[0] += decoded - start;
+            elapsed[1] += System.nanoTime() - decoded;
+        }
+        return elapsed;
+    }
+
+    /**
+     * Parses a batch of synthetic blocks, as received from a node.
+     */
+    private List<BlockDetailsDTO.Block> batch(int index) throws Exception {
+        List<BlockDetailsDTO.Block> blocks = new ArrayList<>(BLOCKS_PER_BATCH);
+        for (int i = 0; i < BLOCKS_PER_BATCH; i++) {
+            blocks.add(objectMapper.treeToValue(chain.block((long) index * BLOCKS_PER_BATCH + i).get("block"),
+                    BlockDetailsDTO.Block.class));
+        }
+        return blocks;
+    }
+
+}
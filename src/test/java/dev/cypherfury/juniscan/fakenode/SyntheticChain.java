@@ -0,0 +1,146 @@
+package dev.cypherfury.juniscan.fakenode;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+
+/**
+ * Unbounded {@link FakeChain} generating deterministic blocks of a configurable size.
+ * <p>
+ * Every block holds the same number of unsigned extrinsics of the same size, each of them calling
+ * the given module and function so that they can be decoded by the indexer. Hashes encode the block number,
+ * so that any block can be generated again from its hash.
+ *
+ * @author Cypherfury
+ */
+public class SyntheticChain implements FakeChain {
+
+    private static final String HASH_PREFIX = "0xfa4e";
+    private static final String STATE_ROOT_PREFIX = "0x5747";
+    private static final String EXTRINSICS_ROOT_PREFIX = "0xe47f";
+    private static final String GENESIS_PARENT_HASH = "0x" + "0".repeat(64);
+    private static final int HASH_DIGITS = 60;
+    private static final byte UNSIGNED_VERSION = 4;
+
+    private final JsonNodeFactory json = JsonNodeFactory.instance;
+    private final int extrinsicsPerBlock;
+    private final String extrinsic;
+
+    /**
+     * Constructor for `SyntheticChain`.
+     *
+     * @param extrinsicsPerBlock the number of extrinsics of every block.
+     * @param extrinsicBytes     the size of every extrinsic, including its length prefix and call index.
+     * @param moduleIndex        the module called by the extrinsics.
+     * @param functionIndex      the function of the module called by the extrinsics.
+     */
+    public SyntheticChain(int extrinsicsPerBlock, int extrinsicBytes, int moduleIndex, int functionIndex) {
+        this.extrinsicsPerBlock = extrinsicsPerBlock;
+        this.extrinsic = extrinsic(extrinsicBytes, moduleIndex, functionIndex);
+    }
+
+    /**
+     * Creates a chain of blocks holding a single small extrinsic calling `Timestamp.set`.
+     *
+     * @return the synthetic chain.
+     */
+    public static SyntheticChain small() {
+        return new SyntheticChain(1, 11, 4, 0);
+    }
+
+    @Override
+    public long first() {
+        return 0;
+    }
+
+    @Override
+    public long last() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String hash(long number) {
+        return hash(HASH_PREFIX, number);
+    }
+
+    @Override
+    public long number(String hash) {
+        if (hash == null || !hash.startsWith(HASH_PREFIX) || hash.length() != HASH_PREFIX.length() + HASH_DIGITS) {
+            return -1;
+        }
+        try {
+            return Long.parseUnsignedLong(hash.substring(HASH_PREFIX.length()), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public ObjectNode header(long number) {
+        ObjectNode header = json.objectNode();
+        header.put("parentHash", number == 0 ? GENESIS_PARENT_HASH : hash(number - 1));
+        header.put("number", "0x" + Long.toHexString(number));
+        header.put("stateRoot", hash(STATE_ROOT_PREFIX, number));
+        header.put("extrinsicsRoot", hash(EXTRINSICS_ROOT_PREFIX, number));
+        header.putObject("digest").putArray("logs");
+        return header;
+    }
+
+    @Override
+    public ObjectNode block(long number) {
+        ObjectNode result = json.objectNode();
+        ObjectNode block = result.putObject("block");
+        block.set("header", header(number));
+        ArrayNode extrinsics = block.putArray("extrinsics");
+        for (int i = 0; i < extrinsicsPerBlock; i++) {
+            extrinsics.add(extrinsic);
+        }
+        result.putNull("justifications");
+        return result;
+    }
+
+    /**
+     * Builds a 32 bytes hash from a prefix and the block number.
+     */
+    private static String hash(String prefix, long number) {
+        String digits = Long.toHexString(number);
+        return prefix + "0".repeat(HASH_DIGITS - digits.length()) + digits;
+    }
+
+    /**
+     * Encodes an unsigned extrinsic of the given size: its SCALE compact length, version, call index and
+     * zero-filled arguments. The length prefix counts the bytes that follow it, so the body is shortened
+     * by the size of the prefix.
+     */
+    private static String extrinsic(int size, int moduleIndex, int functionIndex) {
+        int length = Math.max(size - 1, 3);
+        byte[] prefix = compact(length);
+        if (prefix.length > 1) {
+            length = Math.max(size - prefix.length, 3);
+            prefix = compact(length);
+        }
+        byte[] bytes = new byte[prefix.length + length];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        bytes[prefix.length] = UNSIGNED_VERSION;
+        bytes[prefix.length + 1] = (byte) moduleIndex;
+        bytes[prefix.length + 2] = (byte) functionIndex;
+        return ByteUtils.toHex(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Encodes a length in the SCALE compact format.
+     */
+    private static byte[] compact(int value) {
+        if (value < 1 << 6) {
+            return new byte[]{(byte) (value << 2)};
+        }
+        if (value < 1 << 14) {
+            int encoded = value << 2 | 1;
+            return new byte[]{(byte) encoded, (byte) (encoded >> 8)};
+        }
+        int encoded = value << 2 | 2;
+        return new byte[]{(byte) encoded, (byte) (encoded >> 8), (byte) (encoded >> 16), (byte) (encoded >> 24)};
+    }
+
+}
@@ -0,0 +1,153 @@
+package dev.cypherfury.juniscan.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ChainEventCodec} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the round trip of new heads and blocks through the binary format.
+ * - Ensure the binary format is much smaller than JSON.
+ * - Verify the handling of missing fields, unknown schema versions and invalid events.
+ *
+ * @author Cypherfury
+ */
+class ChainEventCodecTest {
+
+    private static final String PARENT_HASH = "0x99de319d965142828a978808e33c02464d6ad338c6fbbe867bf96968db25a01b";
+    private static final String STATE_ROOT = "0xee500e75018fd0ebe48fa79894ec8ff5b39e86c068b835efac0acdcb9aea0773";
+    private static final String EXTRINSICS_ROOT = "0x913d0424ad712200de78533f7cf680452c424c600a3fcc095033ea14e5305420";
+
+    @Test
+    void testNewHeadRoundTrip() {
+        // Arrange
+        NewHeadDTO newHead = newHead();
+
+        // Act
+        byte[] encoded = ChainEventCodec.encodeNewHead(newHead);
+        NewHeadDTO decoded = ChainEventCodec.decodeNewHead(encoded);
+
+        // Assert
+        assertEquals(ChainEventCodec.SCHEMA_VERSION, encoded[0]);
+        assertEquals(newHead, decoded);
+    }
+
+    @Test
+    void testBlockRoundTrip() {
+        // Arrange
+        BlockDetailsDTO.Block block = block();
+
+        // Act
+        BlockDetailsDTO.Block decoded = ChainEventCodec.decodeBlock(ChainEventCodec.encodeBlock(block));
+
+        // Assert
+        assertEquals(block.getHeader(), decoded.getHeader());
+        assertEquals(2, decoded.getExtrinsics().length);
+        assertEquals("0x280404000b80c1d4a49401", decoded.getExtrinsics()[0].toHex());
+        assertEquals("0x0400", decoded.getExtrinsics()[1].toHex());
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJson() throws Exception {
+        // Arrange
+        BlockDetailsDTO.Block block = block();
+
+        // Act
+        int binary = ChainEventCodec.encodeBlock(block).length;
+        int json = new ObjectMapper().writeValueAsBytes(block).length;
+
+        // Assert
+        assertTrue(binary * 2 < json, () -> binary + " bytes in binary, " + json + " bytes in JSON");
+    }
+
+    @Test
+    void testMissingFieldsRoundTrip() {
+        // Arrange
+        NewHeadDTO newHead = new NewHeadDTO();
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        block.setHeader(new BlockDetailsDTO.Block.Header());
+
+        // Act
+        NewHeadDTO decodedNewHead = ChainEventCodec.decodeNewHead(ChainEventCodec.encodeNewHead(newHead));
+        BlockDetailsDTO.Block decodedBlock = ChainEventCodec.decodeBlock(ChainEventCodec.encodeBlock(block));
+
+        // Assert
+        assertEquals(newHead, decodedNewHead);
+        assertEquals(block.getHeader(), decodedBlock.getHeader());
+        assertNull(decodedBlock.getExtrinsics());
+    }
+
+    @Test
+    void testDecodeRejectsUnknownVersion() {
+        // Arrange
+        byte[] encoded = ChainEventCodec.encodeNewHead(newHead());
+        encoded[0] = 2;
+
+        // Act & Assert
+        assertThrows(SerializationException.class, () -> ChainEventCodec.decodeNewHead(encoded));
+    }
+
+    @Test
+    void testDecodeRejectsTruncatedEvent() {
+        // Arrange
+        byte[] encoded = ChainEventCodec.encodeBlock(block());
+
+        // Act & Assert
+        assertThrows(SerializationException.class,
+                () -> ChainEventCodec.decodeBlock(Arrays.copyOf(encoded, encoded.length - 3)));
+    }
+
+    @Test
+    void testEncodeRejectsNonHexNumber() {
+        // Arrange
+        BlockDetailsDTO.Block block = block();
+        block.getHeader().setNumber("1234");
+
+        // Act & Assert
+        assertThrows(SerializationException.class, () -> ChainEventCodec.encodeBlock(block));
+    }
+
+    private static NewHeadDTO newHead() {
+        NewHeadDTO.Params.Result.Digest digest = new NewHeadDTO.Params.Result.Digest();
+        digest.setLogs(new String[]{"0x0661757261", "0x05617572610101"});
+        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+        result.setParentHash(PARENT_HASH);
+        result.setNumber("0x46568e");
+        result.setStateRoot(STATE_ROOT);
+        result.setExtrinsicsRoot(EXTRINSICS_ROOT);
+        result.setDigest(digest);
+        NewHeadDTO.Params params = new NewHeadDTO.Params();
+        params.setSubscription("SbT5GcmsjCM4vPby");
+        params.setResult(result);
+        NewHeadDTO newHead = new NewHeadDTO();
+        newHead.setJsonrpc("2.0");
+        newHead.setMethod("chain_newHead");
+        newHead.setParams(params);
+        return newHead;
+    }
+
+    private static BlockDetailsDTO.Block block() {
+        BlockDetailsDTO.Block.Header.Digest digest = new BlockDetailsDTO.Block.Header.Digest();
+        digest.setLogs(new String[]{"0x0661757261"});
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setParentHash(PARENT_HASH);
+        header.setNumber("0x46568d");
+        header.setStateRoot(STATE_ROOT);
+        header.setExtrinsicsRoot(EXTRINSICS_ROOT);
+        header.setDigest(digest);
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        block.setHeader(header);
+        block.setExtrinsics(new ExtrinsicBytes[]{ExtrinsicBytes.of("0x280404000b80c1d4a49401"), ExtrinsicBytes.of("0x0400")});
+        return block;
+    }
+
+}
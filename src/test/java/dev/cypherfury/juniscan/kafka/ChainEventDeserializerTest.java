@@ -0,0 +1,70 @@
+package dev.cypherfury.juniscan.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ChainEventDeserializer} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the deserialization of binary records written by the {@link ChainEventSerializer}.
+ * - Ensure records written as JSON are handed over to the JSON fallback.
+ *
+ * @author Cypherfury
+ */
+class ChainEventDeserializerTest {
+
+    private final ChainEventDeserializer<NewHeadDTO> deserializer =
+            new ChainEventDeserializer<>(ChainEventCodec::decodeNewHead, new JsonDeserializer<>(NewHeadDTO.class));
+
+    @Test
+    void testDeserializeBinary() {
+        // Arrange
+        NewHeadDTO newHead = newHead();
+        byte[] data = new ChainEventSerializer<>(ChainEventCodec::encodeNewHead).serialize("topic", newHead);
+
+        // Act
+        NewHeadDTO deserialized = deserializer.deserialize("topic", data);
+
+        // Assert
+        assertEquals(newHead, deserialized);
+    }
+
+    @Test
+    void testDeserializeJsonFallback() throws Exception {
+        // Arrange
+        NewHeadDTO newHead = newHead();
+        byte[] data = new ObjectMapper().writeValueAsBytes(newHead);
+
+        // Act
+        NewHeadDTO deserialized = deserializer.deserialize("topic", data);
+
+        // Assert
+        assertEquals(newHead, deserialized);
+    }
+
+    @Test
+    void testDeserializeNull() {
+        // Act & Assert
+        assertNull(deserializer.deserialize("topic", null));
+    }
+
+    private static NewHeadDTO newHead() {
+        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+        result.setParentHash("0x99de319d965142828a978808e33c02464d6ad338c6fbbe867bf96968db25a01b");
+        result.setNumber("0x46568e");
+        NewHeadDTO.Params params = new NewHeadDTO.Params();
+        params.setSubscription("SbT5GcmsjCM4vPby");
+        params.setResult(result);
+        NewHeadDTO newHead = new NewHeadDTO();
+        newHead.setJsonrpc("2.0");
+        newHead.setMethod("chain_newHead");
+        newHead.setParams(params);
+        return newHead;
+    }
+
+}
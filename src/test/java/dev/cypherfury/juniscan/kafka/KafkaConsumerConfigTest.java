@@ -1,6 +1,8 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.enums.KafkaSerdeFormat;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,7 +12,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Map;
 
@@ -21,7 +26,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * <p>
  * Responsibilities:
  * - Validate the correct configuration of the Kafka ConsumerFactory.
- * - Ensure the KafkaListenerContainerFactory is properly configured.
+ * - Ensure the KafkaListenerContainerFactory is properly configured as a concurrent batch listener with manual commits.
  * - Test the initialization and behavior of the JsonDeserializer.
  * - Verify the correctness of configuration properties like server address and group ID.
  * These tests ensure the reliability and correctness of the Kafka consumer configuration.
@@ -38,7 +43,7 @@ class KafkaConsumerConfigTest {
 
     @BeforeEach
     void setup() {
-        kafkaConsumerConfig = new KafkaConsumerConfig(serverAddress, groupId);
+        kafkaConsumerConfig = new KafkaConsumerConfig(serverAddress, groupId, 3, 100, KafkaSerdeFormat.JSON, 3, 10, 2.0, 100);
         MockitoAnnotations.openMocks(this);
     }
 
@@ -57,7 +62,10 @@ class KafkaConsumerConfigTest {
         assertEquals(serverAddress, configs.get(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG));
         assertEquals(groupId, configs.get(ConsumerConfig.GROUP_ID_CONFIG));
         assertEquals(StringDeserializer.class, configs.get(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG));
-        assertInstanceOf(JsonDeserializer.class, configs.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG));
+        assertFalse(configs.containsKey(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG));
+        assertInstanceOf(JsonDeserializer.class, valueDeserializer(consumerFactory));
+        assertEquals(false, configs.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG));
+        assertEquals(100, configs.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
     }
 
     @Test
@@ -72,6 +80,9 @@ class KafkaConsumerConfigTest {
         assertNotNull(factory);
         assertNotNull(factory.getConsumerFactory());
         assertEquals(DefaultKafkaConsumerFactory.class, factory.getConsumerFactory().getClass());
+        assertTrue(factory.isBatchListener());
+        assertEquals(ContainerProperties.AckMode.MANUAL_IMMEDIATE, factory.getContainerProperties().getAckMode());
+        assertEquals(3, ReflectionTestUtils.getField(factory, "concurrency"));
     }
 
     @Test
@@ -86,4 +97,39 @@ class KafkaConsumerConfigTest {
         assertDoesNotThrow(() -> new JsonDeserializer<>(NewHeadDTO.class));
         assertNotNull(deserializer);
     }
+
+    @Test
+    void testBlockKafkaListenerContainerFactoryConfiguration() {
+        // Act
+        ConcurrentKafkaListenerContainerFactory<String, BlockDetailsDTO.Block> factory = kafkaConsumerConfig.blockKafkaListenerContainerFactory();
+
+        // Assert
+        assertNotNull(factory);
+        assertTrue(factory.isBatchListener());
+        assertEquals(ContainerProperties.AckMode.MANUAL_IMMEDIATE, factory.getContainerProperties().getAckMode());
+        Map<String, Object> configs = factory.getConsumerFactory().getConfigurationProperties();
+        assertEquals(groupId, configs.get(ConsumerConfig.GROUP_ID_CONFIG));
+        assertInstanceOf(JsonDeserializer.class, valueDeserializer(factory.getConsumerFactory()));
+    }
+
+    @Test
+    void testConsumerFactoryWithBinaryFormat() {
+        // Arrange
+        kafkaConsumerConfig = new KafkaConsumerConfig(serverAddress, groupId, 3, 100, KafkaSerdeFormat.BINARY, 3, 10, 2.0, 100);
+
+        // Act
+        ConsumerFactory<String, NewHeadDTO> consumerFactory = kafkaConsumerConfig.consumerFactory();
+
+        // Assert
+        assertInstanceOf(ChainEventDeserializer.class, valueDeserializer(consumerFactory));
+    }
+
+    /**
+     * Returns the deserializer wrapped by the {@link ErrorHandlingDeserializer} of a consumer factory.
+     */
+    private static Object valueDeserializer(ConsumerFactory<?, ?> consumerFactory) {
+        Object deserializer = ((DefaultKafkaConsumerFactory<?, ?>) consumerFactory).getValueDeserializer();
+        assertInstanceOf(ErrorHandlingDeserializer.class, deserializer);
+        return ReflectionTestUtils.getField(deserializer, "delegate");
+    }
 }
@@ -0,0 +1,130 @@
+package dev.cypherfury.juniscan.kafka;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link KafkaDeadLetterQueue} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that dead letters are sent to the dead-letter topic, keyed by block number, and their extrinsics released.
+ * - Verify that dead letters are read back up to the requested number, the offsets of those handed out being committed
+ * and the consumer rewound to the first one left.
+ * - Ensure nothing is read while the topic does not exist.
+ *
+ * @author Cypherfury
+ */
+class KafkaDeadLetterQueueTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition(KafkaPublisher.DEAD_LETTER_TOPIC, 0);
+
+    private KafkaTemplate<String, DeadLetterDTO> kafkaTemplate;
+    private ConsumerFactory<String, DeadLetterDTO> consumerFactory;
+    private MockConsumer<String, DeadLetterDTO> consumer;
+    private KafkaDeadLetterQueue deadLetterQueue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        consumerFactory = mock(ConsumerFactory.class);
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        deadLetterQueue = new KafkaDeadLetterQueue(kafkaTemplate, consumerFactory, 10);
+    }
+
+    @Test
+    void testPublishSendsKeyedDeadLetterAndReleasesBlock() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0400");
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        block.setExtrinsics(new ExtrinsicBytes[]{extrinsic});
+        DeadLetterDTO deadLetter = deadLetter("0x1", block);
+        when(kafkaTemplate.send(KafkaPublisher.DEAD_LETTER_TOPIC, "0x1", deadLetter))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        CompletableFuture<Void> future = deadLetterQueue.publish(deadLetter);
+
+        // Assert
+        assertTrue(future.isDone());
+        assertFalse(future.isCompletedExceptionally());
+        verify(kafkaTemplate).send(KafkaPublisher.DEAD_LETTER_TOPIC, "0x1", deadLetter);
+        assertThrows(IllegalStateException.class, extrinsic::array);
+    }
+
+    @Test
+    void testPollReadsUpToMaxAndCommitsThem() {
+        // Arrange
+        topicExists();
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i < 3; i++) {
+                consumer.addRecord(new ConsumerRecord<>(PARTITION.topic(), 0, i, "0x" + i, deadLetter("0x" + i, null)));
+            }
+        });
+
+        // Act
+        List<DeadLetterDTO> polled = deadLetterQueue.poll(2);
+
+        // Assert
+        assertEquals(List.of("0x0", "0x1"), polled.stream().map(DeadLetterDTO::getNumber).toList());
+        assertEquals(2, consumer.committed(Set.of(PARTITION)).get(PARTITION).offset());
+        assertEquals(2, consumer.position(PARTITION));
+    }
+
+    @Test
+    void testPollSkipsUnreadableDeadLetters() {
+        // Arrange
+        topicExists();
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(PARTITION.topic(), 0, 0, "0x0", null));
+            consumer.addRecord(new ConsumerRecord<>(PARTITION.topic(), 0, 1, "0x1", deadLetter("0x1", null)));
+        });
+
+        // Act
+        List<DeadLetterDTO> polled = deadLetterQueue.poll(10);
+
+        // Assert
+        assertEquals(List.of("0x1"), polled.stream().map(DeadLetterDTO::getNumber).toList());
+    }
+
+    @Test
+    void testPollWithoutTopic() {
+        // Act
+        List<DeadLetterDTO> polled = deadLetterQueue.poll(10);
+
+        // Assert
+        assertTrue(polled.isEmpty());
+        assertTrue(consumer.closed());
+    }
+
+    private void topicExists() {
+        consumer.updatePartitions(PARTITION.topic(), List.of(new PartitionInfo(PARTITION.topic(), 0, Node.noNode(), new Node[0], new Node[0])));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+    }
+
+    private static DeadLetterDTO deadLetter(String number, BlockDetailsDTO.Block block) {
+        return new DeadLetterDTO(number, block, IllegalStateException.class.getName(), "Module not found", 5, 1L);
+    }
+
+}
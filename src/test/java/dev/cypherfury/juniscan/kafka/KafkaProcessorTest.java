@@ -1,22 +1,35 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.exception.BlockRetryingException;
+import dev.cypherfury.juniscan.exception.IngestQueueFullException;
+import dev.cypherfury.juniscan.service.BlockIngestService;
+import dev.cypherfury.juniscan.service.BlockRetryService;
 import dev.cypherfury.juniscan.service.WebSocketNodeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for the {@link KafkaProcessor} class.
  * <p>
  * Responsibilities:
- * - Validate the processing of NewHeadDTO messages.
- * - Ensure integration with WebSocketNodeService for fetching block details.
+ * - Validate the processing of batches of NewHeadDTO messages.
+ * - Ensure integration with WebSocketNodeService for fetching block details in a single batch.
+ * - Ensure the batch is saved through BlockRetryService before being acknowledged, and only then.
+ * - Ensure consumed blocks are submitted to the BlockIngestService, and acknowledged only once indexed or retried.
  * - Verify the presence and correctness of the @KafkaListener annotation.
  * These tests ensure the functionality and reliability of the NewHeadProcessor.
  *
@@ -27,33 +40,52 @@ class KafkaProcessorTest {
     @Mock
     private WebSocketNodeService webSocketNodeService;
 
+    @Mock
+    private BlockIngestService ingestService;
+
+    @Mock
+    private BlockRetryService retryService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
     @InjectMocks
     private KafkaProcessor kafkaProcessor;
 
-    @Captor
-    private ArgumentCaptor<String> blockHashCaptor;
-
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
     }
 
     @Test
-    void testProcessNewHead() {
+    void testProcessNewHeads() {
         // Arrange
-        NewHeadDTO newHead = new NewHeadDTO();
-        NewHeadDTO.Params params = new NewHeadDTO.Params();
-        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
-        result.setParentHash("testParentHash");
-        params.setResult(result);
-        newHead.setParams(params);
+        List<NewHeadDTO> newHeads = List.of(newHead("parentHash1"), newHead("parentHash2"), newHead("parentHash2"));
+        List<BlockDetailsDTO.Block> blocks = List.of(new BlockDetailsDTO.Block(), new BlockDetailsDTO.Block());
+        when(webSocketNodeService.fetchBlocks(anyList())).thenReturn(CompletableFuture.completedFuture(blocks));
+        when(retryService.decodeAndSaveAll(blocks)).thenReturn(2);
 
         // Act
-        kafkaProcessor.processNewHead(newHead);
+        kafkaProcessor.processNewHeads(newHeads, acknowledgment);
 
         // Assert
-        verify(webSocketNodeService, times(1)).fetchBlockDetails(blockHashCaptor.capture());
-        assertEquals("testParentHash", blockHashCaptor.getValue());
+        verify(webSocketNodeService, times(1)).fetchBlocks(List.of("parentHash1", "parentHash2"));
+        InOrder inOrder = inOrder(retryService, acknowledgment);
+        inOrder.verify(retryService).decodeAndSaveAll(blocks);
+        inOrder.verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testProcessNewHeadsDoesNotAcknowledgeOnFailure() {
+        // Arrange
+        List<NewHeadDTO> newHeads = List.of(newHead("parentHash1"));
+        when(webSocketNodeService.fetchBlocks(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("node down")));
+
+        // Act & Assert
+        assertThrows(CompletionException.class, () -> kafkaProcessor.processNewHeads(newHeads, acknowledgment));
+        verifyNoInteractions(retryService);
+        verify(acknowledgment, never()).acknowledge();
     }
 
     @Test
@@ -63,7 +95,7 @@ class KafkaProcessorTest {
 
         // Act
         KafkaListener kafkaListener = KafkaProcessor.class
-                .getMethod("processNewHead", NewHeadDTO.class)
+                .getMethod("processNewHeads", List.class, Acknowledgment.class)
                 .getAnnotation(KafkaListener.class);
 
         // Assert
@@ -71,4 +103,60 @@ class KafkaProcessorTest {
         assertEquals("chain-new-head", kafkaListener.topics()[0]);
         assertEquals("chain-group", kafkaListener.groupId());
     }
+
+    @Test
+    void testProcessBlocks() {
+        // Arrange
+        BlockDetailsDTO.Block indexed = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block retried = new BlockDetailsDTO.Block();
+        when(ingestService.submit(indexed)).thenReturn(CompletableFuture.completedFuture(null));
+        when(ingestService.submit(retried)).thenReturn(CompletableFuture.failedFuture(
+                new BlockRetryingException("0x2", new IllegalStateException("Module not found"))));
+
+        // Act
+        kafkaProcessor.processBlocks(Arrays.asList(indexed, null, retried), acknowledgment);
+
+        // Assert
+        InOrder inOrder = inOrder(ingestService, acknowledgment);
+        inOrder.verify(ingestService).submit(indexed);
+        inOrder.verify(ingestService).submit(retried);
+        inOrder.verify(acknowledgment).acknowledge();
+        verifyNoInteractions(webSocketNodeService);
+    }
+
+    @Test
+    void testProcessBlocksDoesNotAcknowledgeDroppedBlock() {
+        // Arrange
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        when(ingestService.submit(block)).thenReturn(CompletableFuture.failedFuture(new IngestQueueFullException("0x1", 16)));
+
+        // Act & Assert
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> kafkaProcessor.processBlocks(List.of(block), acknowledgment));
+        assertInstanceOf(IngestQueueFullException.class, exception.getCause());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void testBlockKafkaListenerAnnotation() throws NoSuchMethodException {
+        // Act
+        KafkaListener kafkaListener = KafkaProcessor.class
+                .getMethod("processBlocks", List.class, Acknowledgment.class)
+                .getAnnotation(KafkaListener.class);
+
+        // Assert
+        assertNotNull(kafkaListener);
+        assertEquals("chain-block", kafkaListener.topics()[0]);
+        assertEquals("blockKafkaListenerContainerFactory", kafkaListener.containerFactory());
+    }
+
+    private static NewHeadDTO newHead(String parentHash) {
+        NewHeadDTO newHead = new NewHeadDTO();
+        NewHeadDTO.Params params = new NewHeadDTO.Params();
+        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+        result.setParentHash(parentHash);
+        params.setResult(result);
+        newHead.setParams(params);
+        return newHead;
+    }
 }
@@ -1,6 +1,8 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.entity.enums.KafkaSerdeFormat;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,7 +24,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * Responsibilities:
  * - Validate the correct configuration of the Kafka ProducerFactory.
  * - Ensure the KafkaTemplate is properly initialized.
- * - Verify the correctness of configuration properties like server address.
+ * - Verify the correctness of configuration properties like server address, batching, compression and idempotence.
  * These tests ensure the reliability and correctness of the Kafka producer configuration.
  *
  * @author Cypherfury
@@ -36,7 +38,7 @@ class KafkaProducerConfigTest {
 
     @BeforeEach
     void setup() {
-        kafkaProducerConfig = new KafkaProducerConfig(serverAddress);
+        kafkaProducerConfig = new KafkaProducerConfig(serverAddress, 20, 131072, "lz4", true, KafkaSerdeFormat.JSON);
         MockitoAnnotations.openMocks(this);
     }
 
@@ -55,6 +57,24 @@ class KafkaProducerConfigTest {
         assertEquals(serverAddress, configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
         assertEquals(StringSerializer.class, configs.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG));
         assertEquals(JsonSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+        assertEquals(20, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(131072, configs.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals("lz4", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(true, configs.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", configs.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void testProducerFactoryWithoutIdempotence() {
+        // Arrange
+        kafkaProducerConfig = new KafkaProducerConfig(serverAddress, 0, 16384, "none", false, KafkaSerdeFormat.JSON);
+
+        // Act
+        Map<String, Object> configs = kafkaProducerConfig.producerFactory().getConfigurationProperties();
+
+        // Assert
+        assertEquals(false, configs.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertFalse(configs.containsKey(ProducerConfig.ACKS_CONFIG));
     }
 
     @Test
@@ -70,4 +90,42 @@ class KafkaProducerConfigTest {
         assertNotNull(kafkaTemplate.getProducerFactory());
         assertEquals(DefaultKafkaProducerFactory.class, kafkaTemplate.getProducerFactory().getClass());
     }
+
+    @Test
+    void testBlockKafkaTemplateInitialization() {
+        // Act
+        KafkaTemplate<String, BlockDetailsDTO.Block> kafkaTemplate = kafkaProducerConfig.blockKafkaTemplate();
+
+        // Assert
+        assertNotNull(kafkaTemplate);
+        Map<String, Object> configs = kafkaTemplate.getProducerFactory().getConfigurationProperties();
+        assertEquals(serverAddress, configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+        assertEquals(JsonSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    }
+
+    @Test
+    void testOutboxKafkaTemplateInitialization() {
+        // Act
+        KafkaTemplate<String, String> kafkaTemplate = kafkaProducerConfig.outboxKafkaTemplate();
+
+        // Assert
+        DefaultKafkaProducerFactory<String, String> producerFactory =
+                (DefaultKafkaProducerFactory<String, String>) kafkaTemplate.getProducerFactory();
+        assertInstanceOf(StringSerializer.class, producerFactory.getValueSerializerSupplier().get());
+        assertEquals(true, producerFactory.getConfigurationProperties().get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+    }
+
+    @Test
+    void testProducerFactoryWithBinaryFormat() {
+        // Arrange
+        kafkaProducerConfig = new KafkaProducerConfig(serverAddress, 20, 131072, "lz4", true, KafkaSerdeFormat.BINARY);
+
+        // Act
+        DefaultKafkaProducerFactory<String, BlockDetailsDTO.Block> producerFactory =
+                (DefaultKafkaProducerFactory<String, BlockDetailsDTO.Block>) kafkaProducerConfig.blockProducerFactory();
+
+        // Assert
+        assertInstanceOf(ChainEventSerializer.class, producerFactory.getValueSerializerSupplier().get());
+        assertFalse(producerFactory.getConfigurationProperties().containsKey(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    }
 }
@@ -1,12 +1,20 @@
 package dev.cypherfury.juniscan.kafka;
 
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
+import dev.cypherfury.juniscan.dto.PublishStatsDTO;
+import dev.cypherfury.juniscan.utils.ByteBufferPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -16,6 +24,8 @@ import static org.mockito.Mockito.*;
  * - Validate the correct publishing of NewHeadDTO messages to Kafka.
  * - Ensure the KafkaTemplate is used appropriately.
  * - Capture and verify the correctness of the published NewHeadDTO objects.
+ * - Validate the publishing of messages keyed by block number, and the release of block extrinsics.
+ * - Verify the tracking of acknowledgements, latencies and failures.
  * These tests ensure the reliability of the Kafka publishing mechanism.
  *
  * @author Cypherfury
@@ -25,45 +35,105 @@ class KafkaPublisherTest {
     @Mock
     private KafkaTemplate<String, NewHeadDTO> kafkaTemplate;
 
-    @InjectMocks
+    @Mock
+    private KafkaTemplate<String, BlockDetailsDTO.Block> blockKafkaTemplate;
+
     private KafkaPublisher kafkaPublisher;
 
     @Captor
     private ArgumentCaptor<NewHeadDTO> newHeadCaptor;
 
+    private CompletableFuture<SendResult<String, NewHeadDTO>> newHeadResult;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        kafkaPublisher = new KafkaPublisher(kafkaTemplate, blockKafkaTemplate);
+        newHeadResult = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), any(), any(NewHeadDTO.class))).thenReturn(newHeadResult);
+        when(blockKafkaTemplate.send(anyString(), any(), any(BlockDetailsDTO.Block.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @Test
     void testPublishNewHead() {
         // Arrange
-        NewHeadDTO mockNewHead = new NewHeadDTO();
-        mockNewHead.setJsonrpc("2.0");
-        mockNewHead.setMethod("chain_newHead");
+        NewHeadDTO mockNewHead = newHead("0x46568e");
 
         // Act
         kafkaPublisher.publishNewHead(mockNewHead);
 
         // Assert
-        verify(kafkaTemplate, times(1)).send(eq(KafkaPublisher.NEW_HEAD_TOPIC), newHeadCaptor.capture());
+        verify(kafkaTemplate, times(1)).send(eq(KafkaPublisher.NEW_HEAD_TOPIC), eq("0x46568e"), newHeadCaptor.capture());
         NewHeadDTO capturedNewHead = newHeadCaptor.getValue();
         assertEquals("2.0", capturedNewHead.getJsonrpc());
         assertEquals("chain_newHead", capturedNewHead.getMethod());
     }
 
     @Test
-    void testPublishNewHeadLogsMessage() {
+    void testPublishNewHeadCompletesOnAcknowledgement() {
         // Arrange
-        NewHeadDTO mockNewHead = new NewHeadDTO();
-        mockNewHead.setJsonrpc("2.0");
-        mockNewHead.setMethod("chain_newHead");
+        CompletableFuture<Void> published = kafkaPublisher.publishNewHead(newHead("0x46568e"));
+        assertFalse(published.isDone());
+        assertEquals(1, kafkaPublisher.stats().getPending());
 
         // Act
-        kafkaPublisher.publishNewHead(mockNewHead);
+        newHeadResult.complete(null);
 
         // Assert
-        verify(kafkaTemplate, times(1)).send(eq(KafkaPublisher.NEW_HEAD_TOPIC), any(NewHeadDTO.class));
+        assertTrue(published.isDone());
+        assertFalse(published.isCompletedExceptionally());
+        PublishStatsDTO stats = kafkaPublisher.stats();
+        assertEquals(1, stats.getSent());
+        assertEquals(1, stats.getAcknowledged());
+        assertEquals(0, stats.getPending());
+        assertTrue(stats.getMaxLatencyMs() >= stats.getAverageLatencyMs());
+    }
+
+    @Test
+    void testPublishNewHeadRecordsFailure() {
+        // Arrange
+        CompletableFuture<Void> published = kafkaPublisher.publishNewHead(newHead("0x46568e"));
+
+        // Act
+        newHeadResult.completeExceptionally(new IllegalStateException("broker down"));
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, published::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(1, kafkaPublisher.stats().getFailed());
+        assertEquals(0, kafkaPublisher.stats().getAcknowledged());
+    }
+
+    @Test
+    void testPublishBlockKeyedByNumber() {
+        // Arrange
+        ByteBufferPool pool = new ByteBufferPool(4);
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setNumber("0x46568d");
+        block.setHeader(header);
+        block.setExtrinsics(new ExtrinsicBytes[]{ExtrinsicBytes.decode("0x0400", pool)});
+
+        // Act
+        CompletableFuture<Void> published = kafkaPublisher.publishBlock(block);
+
+        // Assert
+        verify(blockKafkaTemplate, times(1)).send(KafkaPublisher.BLOCK_TOPIC, "0x46568d", block);
+        verifyNoInteractions(kafkaTemplate);
+        assertTrue(published.isDone());
+        assertThrows(IllegalStateException.class, () -> block.getExtrinsics()[0].array());
+    }
+
+    private static NewHeadDTO newHead(String number) {
+        NewHeadDTO newHead = new NewHeadDTO();
+        newHead.setJsonrpc("2.0");
+        newHead.setMethod("chain_newHead");
+        NewHeadDTO.Params params = new NewHeadDTO.Params();
+        NewHeadDTO.Params.Result result = new NewHeadDTO.Params.Result();
+        result.setNumber(number);
+        params.setResult(result);
+        newHead.setParams(params);
+        return newHead;
     }
 }
@@ -0,0 +1,107 @@
+package dev.cypherfury.juniscan.kafka;
+
+import dev.cypherfury.juniscan.entity.OutboxEvent;
+import dev.cypherfury.juniscan.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link OutboxRelayService} class.
+ * <p>
+ * Responsibilities:
+ * - Verify that outbox events are sent to their topic, keyed by their message key, then deleted.
+ * - Ensure the outbox is drained batch after batch.
+ * - Ensure events of a failed batch are kept for the next poll.
+ *
+ * @author Cypherfury
+ */
+class OutboxRelayServiceTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private OutboxRelayService relayService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        relayService = new OutboxRelayService(outboxEventRepository, kafkaTemplate, 2, 1_000);
+    }
+
+    @Test
+    void testRelay_SendsAndDeletesEveryBatch() {
+        // Arrange
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(events(1, 2), events(3))
+                .thenThrow(new AssertionError("The outbox is already drained"));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        int relayed = relayService.relay();
+
+        // Assert
+        assertEquals(3, relayed);
+        assertEquals(3, relayService.getRelayed());
+        verify(kafkaTemplate, times(1)).send(KafkaPublisher.DECODED_BLOCK_TOPIC, "0x1", "{\"number\":\"0x1\"}");
+        verify(kafkaTemplate, times(3)).send(anyString(), anyString(), anyString());
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(1L, 2L));
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(3L));
+    }
+
+    @Test
+    void testRelay_WhenOutboxIsEmpty() {
+        // Arrange
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(List.of());
+
+        // Act
+        int relayed = relayService.relay();
+
+        // Assert
+        assertEquals(0, relayed);
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testRelay_KeepsEventsWhenSendFails() {
+        // Arrange
+        when(outboxEventRepository.findByOrderByIdAsc(Limit.of(2))).thenReturn(events(1, 2));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        // Act
+        int relayed = relayService.relay();
+
+        // Assert
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+        verify(outboxEventRepository, times(1)).findByOrderByIdAsc(any());
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .topic(KafkaPublisher.DECODED_BLOCK_TOPIC)
+                        .messageKey("0x" + Long.toHexString(id))
+                        .payload("{\"number\":\"0x" + Long.toHexString(id) + "\"}")
+                        .build())
+                .toList();
+    }
+
+}
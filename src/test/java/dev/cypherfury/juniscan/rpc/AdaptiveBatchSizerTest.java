@@ -0,0 +1,115 @@
+package dev.cypherfury.juniscan.rpc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AdaptiveBatchSizer} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that the batch size grows while full batches are answered quickly.
+ * - Ensure the batch size shrinks on slow or oversized responses.
+ * - Test that the batch size stays within its bounds.
+ *
+ * @author Cypherfury
+ */
+class AdaptiveBatchSizerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    private AdaptiveBatchSizer batchSizer;
+
+    @BeforeEach
+    void setUp() {
+        batchSizer = new AdaptiveBatchSizer(1, 20, 500, 1000);
+    }
+
+    @Test
+    void testStartsAtMinimumSize() {
+        // Assert
+        assertEquals(1, batchSizer.current());
+    }
+
+    @Test
+    void testGrowsOnFastFullBatches() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            batchSizer.record(batchSizer.current(), FAST, 100);
+        }
+
+        // Assert
+        assertEquals(6, batchSizer.current());
+    }
+
+    @Test
+    void testDoesNotGrowOnPartialBatches() {
+        // Arrange
+        batchSizer.record(1, FAST, 100);
+        batchSizer.record(2, FAST, 100);
+
+        // Act
+        batchSizer.record(1, FAST, 100);
+
+        // Assert
+        assertEquals(3, batchSizer.current());
+    }
+
+    @Test
+    void testNeverExceedsMaximumSize() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            batchSizer.record(batchSizer.current(), FAST, 100);
+        }
+
+        // Assert
+        assertEquals(20, batchSizer.current());
+    }
+
+    @Test
+    void testHalvesOnSlowBatch() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            batchSizer.record(batchSizer.current(), FAST, 100);
+        }
+
+        // Act
+        batchSizer.record(20, SLOW, 100);
+
+        // Assert
+        assertEquals(10, batchSizer.current());
+    }
+
+    @Test
+    void testHalvesOnOversizedPayload() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            batchSizer.record(batchSizer.current(), FAST, 100);
+        }
+
+        // Act
+        batchSizer.record(20, FAST, 5000);
+
+        // Assert
+        assertEquals(10, batchSizer.current());
+    }
+
+    @Test
+    void testNeverGoesBelowMinimumSize() {
+        // Act
+        batchSizer.record(1, SLOW, 100);
+
+        // Assert
+        assertEquals(1, batchSizer.current());
+    }
+
+    @Test
+    void testRejectsInvalidBounds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchSizer(10, 5, 500, 1000));
+    }
+}
@@ -0,0 +1,301 @@
+package dev.cypherfury.juniscan.rpc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.exception.JsonRpcErrorException;
+import dev.cypherfury.juniscan.exception.RpcConnectionClosedException;
+import dev.cypherfury.juniscan.exception.SendSocketMessageException;
+import dev.cypherfury.juniscan.service.WebSocketConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link JsonRpcClient} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the generation of unique request identifiers.
+ * - Ensure responses are correlated with their pending requests.
+ * - Validate the sending and demultiplexing of batches.
+ * - Test error, timeout and connection loss handling.
+ *
+ * @author Cypherfury
+ */
+class JsonRpcClientTest {
+
+    private WebSocketConnectionManager connectionManager;
+    private ObjectMapper objectMapper;
+    private AdaptiveBatchSizer batchSizer;
+    private RpcNode node;
+    private JsonRpcClient rpcClient;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = mock(WebSocketConnectionManager.class);
+        objectMapper = new ObjectMapper();
+        batchSizer = mock(AdaptiveBatchSizer.class);
+        node = new RpcNode("ws://localhost:9944");
+        when(connectionManager.selectNode()).thenReturn(node);
+        rpcClient = new JsonRpcClient(connectionManager, objectMapper, batchSizer, 1000);
+    }
+
+    @Test
+    void testCallSendsRequestsWithUniqueIds() throws IOException {
+        // Act
+        rpcClient.call("chain_getBlockHash", String.class, 1);
+        rpcClient.call("chain_getBlockHash", String.class, 2);
+
+        // Assert
+        ArgumentCaptor<String> requestCaptor = ArgumentCaptor.forClass(String.class);
+        verify(connectionManager, times(2)).sendMessage(eq(node), requestCaptor.capture());
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlockHash\",\"params\":[1]}", requestCaptor.getAllValues().get(0));
+        assertEquals("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"chain_getBlockHash\",\"params\":[2]}", requestCaptor.getAllValues().get(1));
+        assertEquals(2, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCompleteMatchesResponsesOutOfOrder() throws Exception {
+        // Arrange
+        CompletableFuture<String> first = rpcClient.call("chain_getBlockHash", String.class, 1);
+        CompletableFuture<String> second = rpcClient.call("chain_getBlockHash", String.class, 2);
+
+        // Act
+        boolean secondMatched = rpcClient.complete(3, result("\"0x02\""), 6);
+        boolean firstMatched = rpcClient.complete(2, result("\"0x01\""), 6);
+
+        // Assert
+        assertTrue(firstMatched);
+        assertTrue(secondMatched);
+        assertEquals("0x01", first.get());
+        assertEquals("0x02", second.get());
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCompleteReturnsFalseForUnknownId() throws Exception {
+        // Act
+        boolean matched = rpcClient.complete(42, result("\"0x01\""), 6);
+
+        // Assert
+        assertFalse(matched);
+    }
+
+    @Test
+    void testCompleteWithErrorFailsTheRequest() throws Exception {
+        // Arrange
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Act
+        rpcClient.fail(2, objectMapper.readTree("{\"code\": -32601}"));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(JsonRpcErrorException.class, exception.getCause());
+    }
+
+    @Test
+    void testCompleteWithNullResult() throws Exception {
+        // Arrange
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Act
+        rpcClient.complete(2, result("null"), 4);
+
+        // Assert
+        assertNull(future.get());
+    }
+
+    @Test
+    void testCallTimesOut() {
+        // Arrange
+        rpcClient = new JsonRpcClient(connectionManager, objectMapper, batchSizer, 10);
+
+        // Act
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testFailAllFailsPendingRequests() {
+        // Arrange
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Act
+        rpcClient.failAll(node, new RpcConnectionClosedException());
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RpcConnectionClosedException.class, exception.getCause());
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCallThrowsWhenSendFails() throws IOException {
+        // Arrange
+        doThrow(IOException.class).when(connectionManager).sendMessage(eq(node), anyString());
+
+        // Act & Assert
+        assertThrows(SendSocketMessageException.class, () -> rpcClient.call("chain_getBlockHash", String.class, 1));
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCallBatchSendsASingleFrame() throws IOException {
+        // Act
+        List<CompletableFuture<String>> futures = rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2));
+
+        // Assert
+        verify(connectionManager).sendMessage(node, "[{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlockHash\",\"params\":[1]},"
+                + "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"chain_getBlockHash\",\"params\":[2]}]");
+        assertEquals(2, futures.size());
+        assertEquals(2, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCallBatchWithNoParamsSendsNothing() {
+        // Act
+        List<CompletableFuture<String>> futures = rpcClient.callBatch("chain_getBlockHash", String.class, List.of());
+
+        // Assert
+        assertTrue(futures.isEmpty());
+        verify(connectionManager, never()).selectNode();
+    }
+
+    @Test
+    void testCompleteWithoutResult() throws Exception {
+        // Arrange
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Act
+        rpcClient.complete(2, null, 0);
+
+        // Assert
+        assertNull(future.get());
+    }
+
+    @Test
+    void testCompleteBindsResultToTheExpectedType() throws Exception {
+        // Arrange
+        CompletableFuture<BlockDetailsDTO> future = rpcClient.call("chain_getBlock", BlockDetailsDTO.class, "0x01");
+
+        // Act
+        rpcClient.complete(2, result("{\"block\": {\"extrinsics\": [\"0x04\"]}}"), 34);
+
+        // Assert
+        assertEquals("0x04", future.get().getBlock().getExtrinsics()[0].toHex());
+    }
+
+    @Test
+    void testBatchIsRecordedOnceEveryResponseIsReceived() throws Exception {
+        // Arrange
+        List<CompletableFuture<String>> futures = rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2));
+
+        // Act
+        rpcClient.complete(3, result("\"0x02\""), 6);
+        verifyNoInteractions(batchSizer);
+        rpcClient.complete(2, result("\"0x01\""), 6);
+
+        // Assert
+        assertEquals("0x01", futures.get(0).get());
+        assertEquals("0x02", futures.get(1).get());
+        verify(batchSizer).record(eq(2), anyLong(), eq(12L));
+    }
+
+    @Test
+    void testBatchIsNotRecordedWhenItCannotBeSent() throws IOException {
+        // Arrange
+        doThrow(IOException.class).when(connectionManager).sendMessage(eq(node), anyString());
+
+        // Act
+        assertThrows(SendSocketMessageException.class, () -> rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2)));
+
+        // Assert
+        verifyNoInteractions(batchSizer);
+    }
+
+    @Test
+    void testCallBatchThrowsWhenSendFails() throws IOException {
+        // Arrange
+        doThrow(IOException.class).when(connectionManager).sendMessage(eq(node), anyString());
+
+        // Act & Assert
+        assertThrows(SendSocketMessageException.class, () -> rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2)));
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testFailAllOnlyFailsRequestsOfTheClosedNode() {
+        // Arrange
+        RpcNode otherNode = new RpcNode("ws://localhost:9945");
+        CompletableFuture<String> closed = rpcClient.call("chain_getBlockHash", String.class, 1);
+        when(connectionManager.selectNode()).thenReturn(otherNode);
+        CompletableFuture<String> open = rpcClient.call("chain_getBlockHash", String.class, 2);
+
+        // Act
+        rpcClient.failAll(node, new RpcConnectionClosedException());
+
+        // Assert
+        assertTrue(closed.isCompletedExceptionally());
+        assertFalse(open.isDone());
+        assertEquals(1, rpcClient.pendingCount());
+    }
+
+    @Test
+    void testCompleteRecordsLatencyOnTheNode() throws Exception {
+        // Arrange
+        rpcClient.call("chain_getBlockHash", String.class, 1);
+        assertEquals(1, node.inFlight());
+
+        // Act
+        rpcClient.complete(2, result("\"0x01\""), 6);
+
+        // Assert
+        assertEquals(0, node.inFlight());
+        assertEquals(0, node.errorRate());
+    }
+
+    @Test
+    void testTimeoutRecordsFailureOnTheNode() {
+        // Arrange
+        rpcClient = new JsonRpcClient(connectionManager, objectMapper, batchSizer, 10);
+
+        // Act
+        CompletableFuture<String> future = rpcClient.call("chain_getBlockHash", String.class, 1);
+
+        // Assert
+        assertThrows(ExecutionException.class, future::get);
+        assertTrue(node.errorRate() > 0);
+        assertEquals(0, node.inFlight());
+    }
+
+    @Test
+    void testCallThrowsWhenNoNodeIsOpen() {
+        // Arrange
+        when(connectionManager.selectNode()).thenThrow(new IllegalStateException("WebSocket session is closed."));
+
+        // Act & Assert
+        assertThrows(SendSocketMessageException.class, () -> rpcClient.call("chain_getBlockHash", String.class, 1));
+        assertEquals(0, rpcClient.pendingCount());
+    }
+
+    private JsonParser result(String json) throws IOException {
+        JsonParser parser = objectMapper.createParser(json);
+        parser.nextToken();
+        return parser;
+    }
+
+}
@@ -0,0 +1,97 @@
+package dev.cypherfury.juniscan.rpc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RpcNode} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the tracking of latency, error rate and requests in flight.
+ * - Ensure the health score favours fast, reliable and idle nodes.
+ * - Test sending messages on open and closed sessions.
+ *
+ * @author Cypherfury
+ */
+class RpcNodeTest {
+
+    private RpcNode node;
+
+    @BeforeEach
+    void setUp() {
+        node = new RpcNode("ws://localhost:9944");
+    }
+
+    @Test
+    void testRecordSuccessUpdatesLatency() {
+        // Arrange
+        node.requestSent();
+
+        // Act
+        node.recordSuccess(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Assert
+        assertEquals(20, node.latencyMs(), 0.001);
+        assertEquals(0, node.inFlight());
+    }
+
+    @Test
+    void testRecordFailureRaisesErrorRate() {
+        // Arrange
+        node.requestSent();
+
+        // Act
+        node.recordFailure();
+
+        // Assert
+        assertEquals(0.2, node.errorRate(), 0.001);
+        assertEquals(0, node.inFlight());
+    }
+
+    @Test
+    void testScoreFavoursHealthyNodes() {
+        // Arrange
+        RpcNode failing = new RpcNode("ws://localhost:9945");
+        failing.recordFailure();
+        RpcNode slow = new RpcNode("ws://localhost:9946");
+        slow.recordSuccess(TimeUnit.MILLISECONDS.toNanos(500));
+        RpcNode busy = new RpcNode("ws://localhost:9947");
+        busy.requestSent();
+
+        // Assert
+        assertTrue(node.score() < failing.score());
+        assertTrue(node.score() < slow.score());
+        assertTrue(node.score() < busy.score());
+    }
+
+    @Test
+    void testSendOnOpenSession() throws IOException {
+        // Arrange
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        node.setSession(session);
+
+        // Act
+        node.send("Test Message");
+
+        // Assert
+        verify(session).sendMessage(any(TextMessage.class));
+        assertTrue(node.isOpen());
+    }
+
+    @Test
+    void testSendThrowsWhenSessionIsClosed() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> node.send("Test Message"));
+        assertFalse(node.isOpen());
+    }
+}
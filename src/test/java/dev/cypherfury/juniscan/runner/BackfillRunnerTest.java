@@ -0,0 +1,47 @@
+package dev.cypherfury.juniscan.runner;
+
+import dev.cypherfury.juniscan.service.BackfillService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BackfillRunner} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that a backfill is started when the range options are given.
+ * - Ensure nothing is started otherwise.
+ *
+ * @author Cypherfury
+ */
+class BackfillRunnerTest {
+
+    private BackfillService backfillService;
+    private BackfillRunner backfillRunner;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = mock(BackfillService.class);
+        backfillRunner = new BackfillRunner(backfillService);
+    }
+
+    @Test
+    void testRunStartsBackfillWhenRangeIsGiven() {
+        // Act
+        backfillRunner.run(new DefaultApplicationArguments("--backfill.from=10", "--backfill.to=20"));
+
+        // Assert
+        verify(backfillService).start(10, 20);
+    }
+
+    @Test
+    void testRunDoesNothingWithoutRange() {
+        // Act
+        backfillRunner.run(new DefaultApplicationArguments("--backfill.from=10"));
+
+        // Assert
+        verifyNoInteractions(backfillService);
+    }
+}
@@ -0,0 +1,58 @@
+package dev.cypherfury.juniscan.runner;
+
+import dev.cypherfury.juniscan.capture.CaptureReplayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.nio.file.Path;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ReplayRunner} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that a capture is replayed when its directory is given, at the requested pace.
+ * - Ensure nothing is replayed otherwise.
+ *
+ * @author Cypherfury
+ */
+class ReplayRunnerTest {
+
+    private CaptureReplayer captureReplayer;
+    private ReplayRunner replayRunner;
+
+    @BeforeEach
+    void setUp() {
+        captureReplayer = mock(CaptureReplayer.class);
+        replayRunner = new ReplayRunner(captureReplayer);
+    }
+
+    @Test
+    void testRunReplaysAtFullSpeedByDefault() throws InterruptedException {
+        // Act
+        replayRunner.run(new DefaultApplicationArguments("--replay.from=capture"));
+
+        // Assert
+        verify(captureReplayer).replay(Path.of("capture"), false);
+    }
+
+    @Test
+    void testRunReplaysAtRecordedPace() throws InterruptedException {
+        // Act
+        replayRunner.run(new DefaultApplicationArguments("--replay.from=capture", "--replay.pace=recorded"));
+
+        // Assert
+        verify(captureReplayer).replay(Path.of("capture"), true);
+    }
+
+    @Test
+    void testRunDoesNothingWithoutDirectory() throws InterruptedException {
+        // Act
+        replayRunner.run(new DefaultApplicationArguments("--replay.pace=recorded"));
+
+        // Assert
+        verifyNoInteractions(captureReplayer);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link ChainHasher} class.
+ * <p>
+ * These tests cover:
+ * - The hash of the Polkadot genesis block, computed from its header.
+ * - Header hashes with a block number in every compact mode, and digest logs.
+ * - The hash of raw extrinsic bytes, and headers that cannot be hashed.
+ * </p>
+ *
+ * @author Cypherfury
+ */
+class ChainHasherTest {
+
+    private static final String[] LOGS = {
+            "0x0642414245b501" + "aa".repeat(20),
+            "0x05424142450101" + "bb".repeat(64)
+    };
+
+    private final ChainHasher hasher = new ChainHasher();
+
+    @Test
+    void testHashHeader_PolkadotGenesis() {
+        // Arrange
+        BlockDetailsDTO.Block.Header header = header("0x" + "00".repeat(32),
+                "0x29d0d972cd27cbc511e9589fcb7a4506d5eb6a9e8df205f00472e5ab354a4e17",
+                "0x03170a2e7597b7b7e3d84c05391d139a62b157e78786d8c082f29dcf4c111314", new String[0]);
+
+        // Act
+        String hash = hasher.hashHeader(header, 0);
+
+        // Assert
+        assertThat(hash).isEqualTo("0x91b171bb158e2d3848fa23a9f1c25182fb8e20313b2c1eb49219da7a70ce90c3");
+    }
+
+    @Test
+    void testHashHeader_PerCompactMode() {
+        // Arrange
+        BlockDetailsDTO.Block.Header header = header("0x" + "01".repeat(32), "0x" + "02".repeat(32),
+                "0x" + "03".repeat(32), LOGS);
+        long[] numbers = {42, 0x3fff, 0x46568d, 1L << 40};
+        String[] expected = {
+                "0x0d934512a8bd7e9e6bb2c6230209c92b631b67fabd6253b8f1ce7eeaefd046a1",
+                "0xa7116143648972233c8d48de442b76cb31db1f16532ce45972170fd4dd375e6d",
+                "0xf8e4246cce01587c2ffcdceffa4b60c10ff5ab6c616de3bb6dfcd6893515429b",
+                "0x4cbd3089aa1d68b133b221c4757510e84445100fe95b5d638987b2d1f14be182"
+        };
+
+        for (int i = 0; i < numbers.length; i++) {
+            // Act
+            String hash = hasher.hashHeader(header, numbers[i]);
+
+            // Assert
+            assertThat(hash).isEqualTo(expected[i]);
+        }
+    }
+
+    @Test
+    void testHashExtrinsic() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x280404000b80c1d4a49401");
+
+        // Act
+        String hash = hasher.hashExtrinsic(extrinsic);
+
+        // Assert
+        assertThat(hash).isEqualTo("0xadce156f818abfb5e89b18c097457d70a88ab9d66b2d5483ac459ddac8b26c2f");
+    }
+
+    @Test
+    void testHashHeader_InvalidHeader() {
+        // Arrange
+        BlockDetailsDTO.Block.Header shortRoot = header("0x" + "01".repeat(32), "0x02", "0x" + "03".repeat(32), LOGS);
+        BlockDetailsDTO.Block.Header invalidLog = header("0x" + "01".repeat(32), "0x" + "02".repeat(32),
+                "0x" + "03".repeat(32), new String[]{"log"});
+
+        // Act & Assert
+        assertThatThrownBy(() -> hasher.hashHeader(shortRoot, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> hasher.hashHeader(invalidLog, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BlockDetailsDTO.Block.Header header(String parentHash, String stateRoot, String extrinsicsRoot,
+                                                       String[] logs) {
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        BlockDetailsDTO.Block.Header.Digest digest = new BlockDetailsDTO.Block.Header.Digest();
+        digest.setLogs(logs);
+        header.setParentHash(parentHash);
+        header.setStateRoot(stateRoot);
+        header.setExtrinsicsRoot(extrinsicsRoot);
+        header.setDigest(digest);
+        return header;
+    }
+
+}
@@ -0,0 +1,209 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScaleReader} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the decoding of fixed-width little-endian integers.
+ * - Validate the decoding of compact integers in each of their modes, and their range checks.
+ * - Ensure reading past the end of the data fails with a {@link ScaleDecodingException}.
+ * - Replay the compact integer corpus of `scale/compact-corpus.txt`, and fuzz the compact decoder with
+ *   random bytes and random values.
+ *
+ * @author Cypherfury
+ */
+class ScaleReaderTest {
+
+    private static final String COMPACT_CORPUS = "/scale/compact-corpus.txt";
+    private static final int FUZZ_ITERATIONS = 100_000;
+
+    @Test
+    void testReadFixedWidthIntegers() {
+        // Arrange
+        ScaleReader reader = reader("0xff" + "3412" + "78563412" + "efcdab8967452301");
+
+        // Act & Assert
+        assertEquals(255, reader.readUByte());
+        assertEquals(0x1234, reader.readU16());
+        assertEquals(0x12345678L, reader.readU32());
+        assertEquals(0x0123456789abcdefL, reader.readU64());
+        assertEquals(0, reader.remaining());
+    }
+
+    @Test
+    void testReadCompactModes() {
+        // Act & Assert
+        assertEquals(0, reader("0x00").readCompact());
+        assertEquals(63, reader("0xfc").readCompact());
+        assertEquals(64, reader("0x0101").readCompact());
+        assertEquals(16383, reader("0xfdff").readCompact());
+        assertEquals(16384, reader("0x02000100").readCompact());
+        assertEquals((1L << 30) - 1, reader("0xfeffffff").readCompact());
+        assertEquals(1L << 30, reader("0x0300000040").readCompact());
+        assertEquals(100_000_000_000_000L, reader("0x0b00407a10f35a").readCompact());
+        assertEquals(Long.MAX_VALUE, reader("0x13ffffffffffffff7f").readCompact());
+    }
+
+    @Test
+    void testReadCompactRejectsValuesBeyondLong() {
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> reader("0x13ffffffffffffffff").readCompact());
+        assertThrows(ScaleDecodingException.class, () -> reader("0x170000000000000000" + "01").readCompact());
+        assertThrows(ScaleDecodingException.class, () -> reader("0x0300000080").readCompactInt());
+    }
+
+    @Test
+    void testReadHexAndSkip() {
+        // Arrange
+        ScaleReader reader = reader("0x0102030405");
+
+        // Act
+        reader.skip(1);
+        String hex = reader.readHex(3);
+
+        // Assert
+        assertEquals("0x020304", hex);
+        assertEquals(4, reader.position());
+        assertEquals(1, reader.remaining());
+    }
+
+    @Test
+    void testReadRespectsBufferBounds() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.wrap(ByteUtils.getBytes("0xaa0102bb"), 1, 2);
+        ScaleReader reader = new ScaleReader(buffer);
+
+        // Act & Assert
+        assertEquals("0x0102", reader.readHex(2));
+        ScaleDecodingException exception = assertThrows(ScaleDecodingException.class, reader::readUByte);
+        assertTrue(exception.getMessage().contains("offset 3"));
+    }
+
+    @Test
+    void testReadTruncatedCompact() {
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> reader("0x01").readCompact());
+        assertThrows(ScaleDecodingException.class, () -> reader("0x0b0040").readCompact());
+    }
+
+    @Test
+    void testResetReusesReader() {
+        // Arrange
+        ScaleReader reader = new ScaleReader();
+
+        // Act & Assert
+        assertEquals(0, reader.remaining());
+        assertEquals(7, reader.reset(ByteBuffer.wrap(new byte[]{7})).readUByte());
+    }
+
+    @Test
+    void testReadCompactCorpus() throws IOException {
+        // Arrange
+        List<String[]> entries = corpus();
+
+        // Act & Assert
+        assertFalse(entries.isEmpty());
+        for (String[] entry : entries) {
+            ScaleReader reader = reader(entry[0]);
+            if ("error".equals(entry[1])) {
+                assertThrows(ScaleDecodingException.class, reader::readCompact, entry[0]);
+            } else {
+                assertEquals(Long.parseLong(entry[1]), reader.readCompact(), entry[0]);
+                assertEquals(0, reader.remaining(), entry[0]);
+            }
+        }
+    }
+
+    @Test
+    void testReadCompactFuzzRandomBytes() {
+        // Arrange
+        Random random = new Random(42);
+        byte[] bytes = new byte[16];
+
+        // Act & Assert: any input either decodes to a non-negative value or fails with a ScaleDecodingException
+        for (int i = 0; i < FUZZ_ITERATIONS; i++) {
+            random.nextBytes(bytes);
+            ScaleReader reader = new ScaleReader(ByteBuffer.wrap(bytes, 0, random.nextInt(bytes.length + 1)));
+            int start = reader.remaining();
+            try {
+                long value = reader.readCompact();
+                assertTrue(value >= 0);
+                assertTrue(start - reader.remaining() >= 1);
+            } catch (ScaleDecodingException e) {
+                assertTrue(e.getMessage().startsWith("Invalid SCALE data"));
+            }
+        }
+    }
+
+    @Test
+    void testReadCompactFuzzRoundTrip() {
+        // Arrange
+        Random random = new Random(42);
+
+        // Act & Assert
+        for (int i = 0; i < FUZZ_ITERATIONS; i++) {
+            long value = random.nextLong() >>> 1 + random.nextInt(63);
+            byte[] encoded = compact(value);
+            ScaleReader reader = new ScaleReader(ByteBuffer.wrap(encoded));
+            assertEquals(value, reader.readCompact(), Long.toString(value));
+            assertEquals(0, reader.remaining());
+        }
+    }
+
+    /**
+     * Reads the entries of the compact integer corpus, skipping blank lines and comments.
+     */
+    private static List<String[]> corpus() throws IOException {
+        try (InputStream input = ScaleReaderTest.class.getResourceAsStream(COMPACT_CORPUS)) {
+            assertNotNull(input, COMPACT_CORPUS);
+            return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)).lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(line -> line.split("\\s+"))
+                    .toList();
+        }
+    }
+
+    /**
+     * Encodes a non-negative value in the canonical SCALE compact format.
+     */
+    private static byte[] compact(long value) {
+        if (value < 1L << 6) {
+            return new byte[]{(byte) (value << 2)};
+        }
+        if (value < 1L << 14) {
+            return ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort((short) (value << 2 | 1)).array();
+        }
+        if (value < 1L << 30) {
+            return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt((int) (value << 2 | 2)).array();
+        }
+        int length = (64 - Long.numberOfLeadingZeros(value) + 7) / 8;
+        byte[] encoded = new byte[length + 1];
+        encoded[0] = (byte) ((length - 4) << 2 | 3);
+        for (int i = 0; i < length; i++) {
+            encoded[i + 1] = (byte) (value >>> (8 * i));
+        }
+        return encoded;
+    }
+
+    private static ScaleReader reader(String hex) {
+        return new ScaleReader(ByteBuffer.wrap(ByteUtils.getBytes(hex)));
+    }
+
+}
@@ -0,0 +1,117 @@
+package dev.cypherfury.juniscan.scale;
+
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.exception.ScaleTypeException;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ScaleTypeParser} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the compilation of primitive, byte, generic, tuple, array, struct and enum type strings,
+ *   and the JSON written by their codecs.
+ * - Ensure the codec of a type string is compiled once and shared.
+ * - Ensure malformed or unknown types fail with a {@link ScaleTypeException}, and invalid data with a
+ *   {@link ScaleDecodingException}.
+ *
+ * @author Cypherfury
+ */
+class ScaleTypeParserTest {
+
+    private static final String ACCOUNT = "d43593c715fdd31c61141abd04a99fd6822c8558854ccde39a5684e7a56da27d";
+
+    private ScaleTypeParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ScaleTypeParser((reader, json) -> json.append("\"call:").append(reader.readUByte()).append('"'));
+    }
+
+    @Test
+    void testDecodePrimitives() {
+        // Act & Assert
+        assertEquals("255", decode("u8", "0xff"));
+        assertEquals("4660", decode("u16", "0x3412"));
+        assertEquals("4294967295", decode("u32", "0xffffffff"));
+        assertEquals("18446744073709551615", decode("u64", "0xffffffffffffffff"));
+        assertEquals("18446744073709551616", decode("u128", "0x0000000000000000" + "0100000000000000"));
+        assertEquals("-1", decode("i32", "0xffffffff"));
+        assertEquals("true", decode("bool", "0x01"));
+        assertEquals("null", decode("Null", "0x"));
+    }
+
+    @Test
+    void testDecodeBytesAndHashes() {
+        // Act & Assert
+        assertEquals("\"0x0102\"", decode("Bytes", "0x080102"));
+        assertEquals("\"0x0102\"", decode("Vec<u8>", "0x080102"));
+        assertEquals("\"0x" + ACCOUNT + "\"", decode("AccountId32", "0x" + ACCOUNT));
+        assertEquals("\"0x" + ACCOUNT + "\"", decode("H256", "0x" + ACCOUNT));
+        assertEquals("\"0x" + ACCOUNT + "\"", decode("[u8;32]", "0x" + ACCOUNT));
+    }
+
+    @Test
+    void testDecodeGenericTypes() {
+        // Act & Assert
+        assertEquals("100000000000000", decode("Compact<u64>", "0x0b00407a10f35a"));
+        assertEquals("[1,2]", decode("Vec<u32>", "0x08" + "01000000" + "02000000"));
+        assertEquals("null", decode("Option<u32>", "0x00"));
+        assertEquals("[7,8]", decode("Option<(u32,u32)>", "0x01" + "07000000" + "08000000"));
+        assertEquals("[\"0x01\",[2,3]]", decode("(Bytes, [u16;2])", "0x0401" + "0200" + "0300"));
+        assertEquals("[\"call:5\",\"call:6\"]", decode("Vec<Call>", "0x08" + "05" + "06"));
+    }
+
+    @Test
+    void testDecodeStructsAndEnums() {
+        // Act & Assert
+        assertEquals("{\"refTime\":1,\"proofSize\":2}",
+                decode("{\"refTime\":\"Compact<u64>\",\"proofSize\":\"Compact<u64>\"}", "0x04" + "08"));
+        assertEquals("\"CancelProxy\"",
+                decode("{\"_enum\":[\"AlmostAny\",\"TransferOnly\",\"CancelProxy\"]}", "0x02"));
+        assertEquals("{\"Id\":\"0x" + ACCOUNT + "\"}", decode("MultiAddress", "0x00" + ACCOUNT));
+        assertEquals("{\"Index\":42}", decode("MultiAddress", "0x01" + "a8"));
+        assertEquals("\"__Unused0\"", decode("{\"_enum\":{\"__Unused0\":\"Null\",\"V1\":\"u8\"}}", "0x00"));
+    }
+
+    @Test
+    void testParseCachesCodecs() {
+        // Act & Assert
+        assertSame(parser.parse("Vec<AccountId32>"), parser.parse(" Vec<AccountId32> "));
+        assertSame(parser.parse("AccountId32"), parser.parse("H256"));
+    }
+
+    @Test
+    void testParseRejectsUnsupportedTypes() {
+        // Act & Assert
+        assertThrows(ScaleTypeException.class, () -> parser.parse("SpRuntimeHeader"));
+        assertThrows(ScaleTypeException.class, () -> parser.parse("BTreeMap<u32,u32>"));
+        assertThrows(ScaleTypeException.class, () -> parser.parse("[u8;x]"));
+        assertThrows(ScaleTypeException.class, () -> parser.parse("{\"a\":"));
+        assertThrows(ScaleTypeException.class, () -> parser.parse("{\"setId\":\"u64\",\"equivocation\":\"SpConsensusGrandpaEquivocation\"}"));
+    }
+
+    @Test
+    void testDecodeRejectsInvalidData() {
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> decode("bool", "0x02"));
+        assertThrows(ScaleDecodingException.class, () -> decode("Option<u8>", "0x02"));
+        assertThrows(ScaleDecodingException.class, () -> decode("MultiAddress", "0x05"));
+        assertThrows(ScaleDecodingException.class, () -> decode("Vec<u32>", "0xfeffffff03"));
+        assertThrows(ScaleDecodingException.class, () -> decode("u64", "0x0100"));
+    }
+
+    private String decode(String type, String hex) {
+        StringBuilder json = new StringBuilder();
+        ScaleReader reader = new ScaleReader(ByteBuffer.wrap(hex.length() > 2 ? ByteUtils.getBytes(hex) : new byte[0]));
+        parser.parse(type).decode(reader, json);
+        assertEquals(0, reader.remaining());
+        return json.toString();
+    }
+
+}
@@ -0,0 +1,230 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.entity.BackfillCheckpoint;
+import dev.cypherfury.juniscan.entity.enums.BackfillStatus;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.exception.BackfillCheckpointNotFoundException;
+import dev.cypherfury.juniscan.repository.BackfillCheckpointRepository;
+import dev.cypherfury.juniscan.rpc.AdaptiveBatchSizer;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.utils.Sleeper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BackfillService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that every block of a range is resolved, fetched and saved in batches.
+ * - Ensure checkpoints are persisted on completion and on failure, and stay below the blocks being retried.
+ * - Test the validation of ranges and the resumption of existing checkpoints.
+ *
+ * @author Cypherfury
+ */
+class BackfillServiceTest {
+
+    private JsonRpcClient rpcClient;
+    private AdaptiveBatchSizer batchSizer;
+    private BlockService blockService;
+    private BlockIngestService ingestService;
+    private BackfillCheckpointRepository checkpointRepository;
+    private WebSocketConnectionManager connectionManager;
+    private BackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        rpcClient = mock(JsonRpcClient.class);
+        blockService = mock(BlockService.class);
+        ingestService = new BlockIngestService(blockService, mock(BlockRetryService.class), 16, 1, true, IngestOverflowPolicy.PARK);
+        ingestService.start();
+        checkpointRepository = mock(BackfillCheckpointRepository.class);
+        connectionManager = mock(WebSocketConnectionManager.class);
+        when(connectionManager.isConnected()).thenReturn(true);
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        batchSizer = mock(AdaptiveBatchSizer.class);
+        when(batchSizer.current()).thenReturn(2);
+        backfillService = new BackfillService(rpcClient, batchSizer, ingestService, checkpointRepository, connectionManager, mock(Sleeper.class), 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestService.stop();
+    }
+
+    @Test
+    void testRunIndexesEveryBlockOfTheRange() {
+        // Arrange
+        BackfillCheckpoint checkpoint = checkpoint(10, 14, 10);
+        when(rpcClient.callBatch(eq("chain_getBlockHash"), eq(String.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), number -> "0x" + number));
+        when(rpcClient.callBatch(eq("chain_getBlock"), eq(BlockDetailsDTO.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), hash -> blockDetails()));
+
+        // Act
+        backfillService.run(checkpoint);
+
+        // Assert
+        verify(rpcClient).callBatch("chain_getBlockHash", String.class, List.of(10L, 11L));
+        verify(rpcClient).callBatch("chain_getBlockHash", String.class, List.of(12L, 13L));
+        verify(rpcClient).callBatch("chain_getBlockHash", String.class, List.of(14L));
+        verify(rpcClient).callBatch("chain_getBlock", BlockDetailsDTO.class, List.of("0x12", "0x13"));
+        verify(blockService, times(5)).decodeAndSave(any());
+        assertEquals(BackfillStatus.COMPLETED, checkpoint.getStatus());
+        assertEquals(15, checkpoint.getNextBlock());
+    }
+
+    @Test
+    void testRunSkipsExistingBlocks() {
+        // Arrange
+        BackfillCheckpoint checkpoint = checkpoint(1, 1, 1);
+        when(rpcClient.callBatch(eq("chain_getBlockHash"), eq(String.class), any()))
+                .thenReturn(List.of(CompletableFuture.completedFuture("0x01")));
+        when(rpcClient.callBatch(eq("chain_getBlock"), eq(BlockDetailsDTO.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), hash -> blockDetails()));
+        when(blockService.alreadyExist(any())).thenReturn(true);
+
+        // Act
+        backfillService.run(checkpoint);
+
+        // Assert
+        verify(blockService, never()).decodeAndSave(any());
+        assertEquals(BackfillStatus.COMPLETED, checkpoint.getStatus());
+    }
+
+    @Test
+    void testRunStopsAndPersistsCheckpointOnFailure() {
+        // Arrange
+        BackfillCheckpoint checkpoint = checkpoint(1, 100, 1);
+        when(rpcClient.callBatch(eq("chain_getBlockHash"), eq(String.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), number -> null));
+
+        // Act
+        backfillService.run(checkpoint);
+
+        // Assert
+        assertEquals(BackfillStatus.FAILED, checkpoint.getStatus());
+        assertEquals(1, checkpoint.getNextBlock());
+        verify(blockService, never()).decodeAndSave(any());
+    }
+
+    @Test
+    void testRunKeepsCheckpointBelowRetriedBlocks() {
+        // Arrange
+        BackfillCheckpoint checkpoint = checkpoint(10, 14, 10);
+        when(rpcClient.callBatch(eq("chain_getBlockHash"), eq(String.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), number -> "0x" + number));
+        when(rpcClient.callBatch(eq("chain_getBlock"), eq(BlockDetailsDTO.class), any()))
+                .thenAnswer(invocation -> completed(invocation.<List<?>>getArgument(2), hash -> blockDetails((String) hash)));
+        doThrow(new IllegalStateException("Decoding failed")).when(blockService)
+                .decodeAndSave(argThat(block -> "0x12".equals(block.getHeader().getNumber())));
+
+        // Act
+        backfillService.run(checkpoint);
+
+        // Assert
+        verify(blockService, times(5)).decodeAndSave(any());
+        assertEquals(BackfillStatus.FAILED, checkpoint.getStatus());
+        assertEquals(12, checkpoint.getNextBlock());
+    }
+
+    @Test
+    void testStartRejectsInvalidRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> backfillService.start(10, 5));
+        verifyNoInteractions(checkpointRepository);
+    }
+
+    @Test
+    void testStartResumesUnfinishedCheckpoint() {
+        // Arrange
+        BackfillCheckpoint existing = checkpoint(0, 10, 5);
+        existing.setStatus(BackfillStatus.FAILED);
+        when(checkpointRepository.findFirstByFromBlockAndToBlockAndStatusNot(0, 10, BackfillStatus.COMPLETED))
+                .thenReturn(Optional.of(existing));
+        when(rpcClient.callBatch(any(), any(), any())).thenReturn(List.of(new CompletableFuture<>()));
+
+        // Act
+        BackfillCheckpoint result = backfillService.start(0, 10);
+
+        // Assert
+        assertSame(existing, result);
+        assertEquals(5, result.getNextBlock());
+    }
+
+    @Test
+    void testResumeDoesNotRunCheckpointTwice() {
+        // Arrange
+        BackfillCheckpoint existing = checkpoint(0, 10, 5);
+        existing.setId(7);
+        when(checkpointRepository.findById(7L)).thenReturn(Optional.of(existing));
+        when(rpcClient.callBatch(any(), any(), any())).thenReturn(List.of(new CompletableFuture<>()));
+        backfillService.resume(7L);
+
+        // Act
+        BackfillCheckpoint result = backfillService.resume(7L);
+
+        // Assert
+        assertSame(existing, result);
+        assertTrue(backfillService.isRunning());
+        verify(rpcClient, after(200).times(1)).callBatch("chain_getBlockHash", String.class, List.of(5L, 6L));
+    }
+
+    @Test
+    void testResumeThrowsWhenCheckpointNotFound() {
+        // Arrange
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BackfillCheckpointNotFoundException.class, () -> backfillService.resume(1L));
+    }
+
+    @Test
+    void testResumeDoesNothingWhenCompleted() {
+        // Arrange
+        BackfillCheckpoint completed = checkpoint(0, 10, 11);
+        completed.setStatus(BackfillStatus.COMPLETED);
+        when(checkpointRepository.findById(1L)).thenReturn(Optional.of(completed));
+
+        // Act
+        BackfillCheckpoint result = backfillService.resume(1L);
+
+        // Assert
+        assertSame(completed, result);
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    private BackfillCheckpoint checkpoint(long from, long to, long next) {
+        return BackfillCheckpoint.builder().fromBlock(from).toBlock(to).nextBlock(next).status(BackfillStatus.RUNNING).build();
+    }
+
+    private <T> List<CompletableFuture<T>> completed(List<?> params, Function<Object, T> result) {
+        return params.stream().map(param -> CompletableFuture.completedFuture(result.apply(param))).toList();
+    }
+
+    private BlockDetailsDTO blockDetails() {
+        BlockDetailsDTO blockDetails = new BlockDetailsDTO();
+        blockDetails.setBlock(new BlockDetailsDTO.Block());
+        return blockDetails;
+    }
+
+    private BlockDetailsDTO blockDetails(String number) {
+        BlockDetailsDTO blockDetails = blockDetails();
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setNumber(number);
+        blockDetails.getBlock().setHeader(header);
+        return blockDetails;
+    }
+}
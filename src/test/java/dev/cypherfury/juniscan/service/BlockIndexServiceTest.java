@@ -0,0 +1,147 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.utils.BlockBitmap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BlockIndexService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the loading of the indexed block numbers, page by page, at startup or on first use.
+ * - Ensure saved blocks are added once their transaction commits, and not when it rolls back.
+ * - Verify the existence checks, the highest block and the missing ranges, without querying the database.
+ *
+ * @author Cypherfury
+ */
+class BlockIndexServiceTest {
+
+    private BlockRepository blockRepository;
+    private BlockIndexService blockIndexService;
+
+    @BeforeEach
+    void setUp() {
+        blockRepository = mock(BlockRepository.class);
+        when(blockRepository.findNumbersAfter(-1, Limit.of(50_000))).thenReturn(List.of(1L, 2L, 5L));
+        blockIndexService = new BlockIndexService(blockRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testStart_LoadsIndexedNumbers() {
+        // Act
+        blockIndexService.start();
+
+        // Assert
+        assertTrue(blockIndexService.contains(1));
+        assertTrue(blockIndexService.contains(5));
+        assertFalse(blockIndexService.contains(3));
+        assertEquals(3, blockIndexService.size());
+        verify(blockRepository, times(1)).findNumbersAfter(anyLong(), any());
+    }
+
+    @Test
+    void testStart_LoadsEveryPage() {
+        // Arrange
+        List<Long> page = new ArrayList<>();
+        for (long number = 0; number < 50_000; number++) {
+            page.add(number);
+        }
+        when(blockRepository.findNumbersAfter(-1, Limit.of(50_000))).thenReturn(page);
+        when(blockRepository.findNumbersAfter(49_999, Limit.of(50_000))).thenReturn(List.of(60_000L));
+
+        // Act
+        blockIndexService.start();
+
+        // Assert
+        assertEquals(50_001, blockIndexService.size());
+        assertEquals(Optional.of(60_000L), blockIndexService.findMaxNumber());
+        assertEquals(List.of(new BlockBitmap.Range(50_000, 59_999)), blockIndexService.findGaps());
+    }
+
+    @Test
+    void testStart_LoadsOnFirstUseWhenDatabaseUnavailable() {
+        // Arrange
+        when(blockRepository.findNumbersAfter(-1, Limit.of(50_000))).thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(List.of(1L));
+
+        // Act
+        blockIndexService.start();
+        boolean exists = blockIndexService.contains(1);
+
+        // Assert
+        assertTrue(exists);
+        verify(blockRepository, times(2)).findNumbersAfter(-1, Limit.of(50_000));
+    }
+
+    @Test
+    void testAddOnCommit_AddsOutsideTransaction() {
+        // Act
+        blockIndexService.addOnCommit(List.of(3L, 4L));
+
+        // Assert
+        assertTrue(blockIndexService.contains(3));
+        assertTrue(blockIndexService.findGaps().isEmpty());
+    }
+
+    @Test
+    void testAddOnCommit_WaitsForCommit() {
+        // Arrange
+        blockIndexService.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        blockIndexService.addOnCommit(List.of(3L));
+        boolean beforeCommit = blockIndexService.contains(3);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertFalse(beforeCommit);
+        assertTrue(blockIndexService.contains(3));
+    }
+
+    @Test
+    void testAddOnCommit_IgnoresRollback() {
+        // Arrange
+        blockIndexService.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        blockIndexService.addOnCommit(List.of(3L));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertFalse(blockIndexService.contains(3));
+    }
+
+    @Test
+    void testFindMissing() {
+        // Act
+        List<BlockBitmap.Range> missing = blockIndexService.findMissing(0, 7);
+
+        // Assert
+        assertEquals(List.of(new BlockBitmap.Range(0, 0), new BlockBitmap.Range(3, 4), new BlockBitmap.Range(6, 7)), missing);
+        assertEquals(List.of(new BlockBitmap.Range(3, 4)), blockIndexService.findGaps());
+    }
+
+}
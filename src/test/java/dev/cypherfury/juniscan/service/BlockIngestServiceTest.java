@@ -0,0 +1,196 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.IngestStatsDTO;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
+import dev.cypherfury.juniscan.exception.BlockRetryingException;
+import dev.cypherfury.juniscan.exception.IngestQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BlockIngestService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that queued blocks are decoded and saved by the workers, unless they already exist or are saved concurrently.
+ * - Ensure blocks that cannot be indexed are handed to the BlockRetryService, their future failing with a BlockRetryingException.
+ * - Ensure the `PARK` and `DROP` overflow policies are applied when the queue is full.
+ * - Verify the metrics exposed by the service.
+ *
+ * @author Cypherfury
+ */
+class BlockIngestServiceTest {
+
+    private BlockService blockService;
+    private BlockRetryService retryService;
+    private BlockIngestService ingestService;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        blockService = mock(BlockService.class);
+        retryService = mock(BlockRetryService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (ingestService != null) {
+            ingestService.stop();
+        }
+    }
+
+    @Test
+    void testSubmitIndexesBlockOnWorker() throws Exception {
+        // Arrange
+        ingestService = start(4, IngestOverflowPolicy.PARK);
+        BlockDetailsDTO.Block block = block("0x1");
+
+        // Act
+        ingestService.submit(block).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(blockService).decodeAndSave(block);
+        IngestStatsDTO stats = ingestService.stats();
+        assertEquals(1, stats.getSubmitted());
+        assertEquals(1, stats.getProcessed());
+        assertEquals(0, stats.getDepth());
+    }
+
+    @Test
+    void testSubmitSkipsExistingBlock() throws Exception {
+        // Arrange
+        ingestService = start(4, IngestOverflowPolicy.PARK);
+        when(blockService.alreadyExist(any())).thenReturn(true);
+
+        // Act
+        ingestService.submit(block("0x1")).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(blockService, never()).decodeAndSave(any());
+        assertEquals(1, ingestService.stats().getProcessed());
+    }
+
+    @Test
+    void testSubmitHandsFailedBlockToRetryTier() throws Exception {
+        // Arrange
+        ingestService = start(4, IngestOverflowPolicy.PARK);
+        BlockDetailsDTO.Block block = block("0x1");
+        IllegalStateException failure = new IllegalStateException("Decoding failed");
+        doThrow(failure).when(blockService).decodeAndSave(any());
+
+        // Act
+        CompletableFuture<Void> future = ingestService.submit(block);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BlockRetryingException.class, exception.getCause());
+        assertSame(failure, exception.getCause().getCause());
+        verify(retryService).retry(block, failure);
+        assertEquals(1, ingestService.stats().getFailed());
+        assertEquals(0, ingestService.stats().getProcessed());
+    }
+
+    @Test
+    void testSubmitSkipsBlockSavedConcurrently() throws Exception {
+        // Arrange
+        ingestService = start(4, IngestOverflowPolicy.PARK);
+        BlockDetailsDTO.Block block = block("0x1");
+        doThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_block_number'"))
+                .when(blockService).decodeAndSave(any());
+        when(blockService.existsInDatabase(block)).thenReturn(true);
+
+        // Act
+        ingestService.submit(block).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(retryService, never()).retry(any(), any());
+        assertEquals(1, ingestService.stats().getProcessed());
+        assertEquals(0, ingestService.stats().getFailed());
+    }
+
+    @Test
+    void testDropPolicyRejectsBlockWhenQueueIsFull() throws Exception {
+        // Arrange
+        ingestService = start(1, IngestOverflowPolicy.DROP);
+        CountDownLatch indexing = blockWorker();
+        CompletableFuture<Void> first = ingestService.submit(block("0x1"));
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> queued = ingestService.submit(block("0x2"));
+
+        // Act
+        CompletableFuture<Void> dropped = ingestService.submit(block("0x3"));
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> dropped.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IngestQueueFullException.class, exception.getCause());
+        assertEquals(1, ingestService.stats().getDropped());
+        assertEquals(1, ingestService.stats().getDepth());
+        release.countDown();
+        CompletableFuture.allOf(first, queued).get(5, TimeUnit.SECONDS);
+        verify(blockService, times(2)).decodeAndSave(any());
+    }
+
+    @Test
+    void testParkPolicyBlocksProducerUntilQueueHasRoom() throws Exception {
+        // Arrange
+        ingestService = start(1, IngestOverflowPolicy.PARK);
+        CountDownLatch indexing = blockWorker();
+        ingestService.submit(block("0x1"));
+        assertTrue(indexing.await(5, TimeUnit.SECONDS));
+        ingestService.submit(block("0x2"));
+
+        // Act
+        CompletableFuture<CompletableFuture<Void>> parked = CompletableFuture.supplyAsync(() -> ingestService.submit(block("0x3")));
+
+        // Assert
+        Thread.sleep(100);
+        assertFalse(parked.isDone());
+        release.countDown();
+        parked.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        verify(blockService, times(3)).decodeAndSave(any());
+        assertEquals(1, ingestService.stats().getParked());
+        assertEquals(0, ingestService.stats().getDropped());
+    }
+
+    private BlockIngestService start(int capacity, IngestOverflowPolicy policy) {
+        BlockIngestService service = new BlockIngestService(blockService, retryService, capacity, 1, true, policy);
+        service.start();
+        return service;
+    }
+
+    /**
+     * Makes the first indexed block hold the single worker until {@link #release} is counted down.
+     *
+     * @return a latch counted down once the worker is indexing the first block.
+     */
+    private CountDownLatch blockWorker() {
+        CountDownLatch indexing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            indexing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(blockService).decodeAndSave(any());
+        return indexing;
+    }
+
+    private BlockDetailsDTO.Block block(String number) {
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setNumber(number);
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        block.setHeader(header);
+        return block;
+    }
+
+}
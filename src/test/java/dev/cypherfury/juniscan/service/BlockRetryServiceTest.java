@@ -0,0 +1,146 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.RetryStatsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link BlockRetryService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the exponential backoff between attempts, capped at the maximum backoff.
+ * - Ensure a failed block is retried until it is indexed, or sent to the dead letters once every attempt failed.
+ * - Ensure the blocks that cannot be decoded are retried rather than failing their batch.
+ * - Verify the metrics exposed by the service.
+ *
+ * @author Cypherfury
+ */
+class BlockRetryServiceTest {
+
+    private BlockService blockService;
+    private DeadLetterService deadLetterService;
+    private BlockRetryService retryService;
+
+    @BeforeEach
+    void setUp() {
+        blockService = mock(BlockService.class);
+        deadLetterService = mock(DeadLetterService.class);
+        retryService = new BlockRetryService(blockService, deadLetterService, 3, 10, 2.0, 25);
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryService.stop();
+    }
+
+    @Test
+    void testBackoffGrowsExponentiallyUpToMax() {
+        // Act & Assert
+        assertEquals(10, retryService.backoff(1));
+        assertEquals(20, retryService.backoff(2));
+        assertEquals(25, retryService.backoff(3));
+        assertEquals(25, retryService.backoff(10));
+    }
+
+    @Test
+    void testRetryRecoversBlock() {
+        // Arrange
+        BlockDetailsDTO.Block block = block("0x1");
+        doThrow(new IllegalStateException("Database down")).doNothing().when(blockService).decodeAndSave(block);
+
+        // Act
+        retryService.retry(block, new IllegalStateException("Database down"));
+
+        // Assert
+        verify(blockService, timeout(5_000).times(2)).decodeAndSave(block);
+        RetryStatsDTO stats = awaitStats(1);
+        assertEquals(1, stats.getRecovered());
+        assertEquals(0, stats.getPending());
+        assertEquals(2, stats.getAttempts());
+        verifyNoInteractions(deadLetterService);
+    }
+
+    @Test
+    void testRetrySkipsBlockIndexedMeanwhile() {
+        // Arrange
+        BlockDetailsDTO.Block block = block("0x1");
+        when(blockService.alreadyExist(block)).thenReturn(true);
+
+        // Act
+        retryService.retry(block, new IllegalStateException("Database down"));
+
+        // Assert
+        assertEquals(1, awaitStats(1).getRecovered());
+        verify(blockService, never()).decodeAndSave(any());
+    }
+
+    @Test
+    void testRetryDeadLettersBlockAfterMaxAttempts() {
+        // Arrange
+        BlockDetailsDTO.Block block = block("0x1");
+        IllegalStateException failure = new IllegalStateException("Module not found");
+        doThrow(failure).when(blockService).decodeAndSave(block);
+
+        // Act
+        retryService.retry(block, failure);
+
+        // Assert
+        verify(deadLetterService, timeout(5_000)).deadLetter(block, failure, 3);
+        verify(blockService, times(3)).decodeAndSave(block);
+        RetryStatsDTO stats = retryService.stats();
+        assertEquals(1, stats.getDeadLettered());
+        assertEquals(0, stats.getPending());
+        assertEquals(0, stats.getRecovered());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDecodeAndSaveAllRetriesUndecodableBlocks() {
+        // Arrange
+        BlockDetailsDTO.Block block = block("0x1");
+        IllegalStateException failure = new IllegalStateException("Module not found");
+        when(blockService.decodeAndSaveAll(anyList(), any())).thenAnswer(invocation -> {
+            invocation.<BiConsumer<BlockDetailsDTO.Block, RuntimeException>>getArgument(1).accept(block, failure);
+            return 0;
+        });
+
+        // Act
+        int saved = retryService.decodeAndSaveAll(List.of(block));
+
+        // Assert
+        assertEquals(0, saved);
+        verify(blockService, timeout(5_000)).decodeAndSave(block);
+        verify(blockService).decodeAndSaveAll(eq(List.of(block)), any(BiConsumer.class));
+    }
+
+    /**
+     * Waits until the expected number of blocks is recovered, then returns the metrics.
+     */
+    private RetryStatsDTO awaitStats(long recovered) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (retryService.stats().getRecovered() < recovered && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        return retryService.stats();
+    }
+
+    private static BlockDetailsDTO.Block block(String number) {
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setNumber(number);
+        block.setHeader(header);
+        return block;
+    }
+
+}
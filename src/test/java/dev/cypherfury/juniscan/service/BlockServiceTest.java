@@ -1,15 +1,32 @@
 package dev.cypherfury.juniscan.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
 import dev.cypherfury.juniscan.entity.Block;
 import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.exception.InvalidBlockNumberException;
 import dev.cypherfury.juniscan.repository.BlockRepository;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
+import dev.cypherfury.juniscan.scale.ChainHasher;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -19,22 +36,40 @@ import static org.mockito.Mockito.*;
  * <p>
  * Responsibilities:
  * - Test the decoding and persistence of blocks.
- * - Verify interactions with dependencies such as {@link BlockRepository} and {@link ExtrinsicService}.
+ * - Verify interactions with dependencies such as {@link BlockRepository}, {@link ExtrinsicService}, {@link OutboxService}
+ *   and {@link BlockIndexService}.
  * - Validate utility methods for block management.
+ * - Ensure the extrinsic bytes of a block are only released once it is committed, so that a failed block can be
+ *   retried and dead-lettered.
  *
  * @author Cypherfury
  */
 class BlockServiceTest {
 
+    private static final String PARENT_HASH = "0x" + "01".repeat(32);
+    private static final String STATE_ROOT = "0x" + "02".repeat(32);
+    private static final String EXTRINSICS_ROOT = "0x" + "03".repeat(32);
+
     private BlockRepository blockRepository;
     private ExtrinsicService extrinsicService;
+    private OutboxService outboxService;
+    private BlockIndexService blockIndexService;
     private BlockService blockService;
 
     @BeforeEach
     void setUp() {
         blockRepository = mock(BlockRepository.class);
         extrinsicService = mock(ExtrinsicService.class);
-        blockService = new BlockService(blockRepository, extrinsicService);
+        outboxService = mock(OutboxService.class);
+        blockIndexService = mock(BlockIndexService.class);
+        blockService = new BlockService(blockRepository, extrinsicService, outboxService, blockIndexService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
@@ -45,17 +80,155 @@ class BlockServiceTest {
         BlockDetailsDTO.Block.Header.Digest digest = mock(BlockDetailsDTO.Block.Header.Digest.class);
         when(blockDTO.getHeader()).thenReturn(header);
         when(blockDTO.getHeader().getDigest()).thenReturn(digest);
-        when(blockDTO.getHeader().getDigest().getLogs()).thenReturn(new String[]{"log"});
-        when(header.getNumber()).thenReturn("123");
-        when(blockDTO.getExtrinsics()).thenReturn(new String[]{"extrinsic-data"});
-        when(extrinsicService.decode(List.of("extrinsic-data"))).thenReturn(Collections.singletonList(mock(Extrinsic.class)));
-        when(blockRepository.existsByNumber("123")).thenReturn(false);
+        when(blockDTO.getHeader().getDigest().getLogs()).thenReturn(new String[]{"0x0401"});
+        when(header.getNumber()).thenReturn("0x7b");
+        when(header.getParentHash()).thenReturn(PARENT_HASH);
+        when(header.getStateRoot()).thenReturn(STATE_ROOT);
+        when(header.getExtrinsicsRoot()).thenReturn(EXTRINSICS_ROOT);
+        ExtrinsicBytes extrinsicBytes = ExtrinsicBytes.of("0x0400");
+        when(blockDTO.getExtrinsics()).thenReturn(new ExtrinsicBytes[]{extrinsicBytes});
+        when(extrinsicService.decode(List.of(extrinsicBytes))).thenReturn(Collections.singletonList(mock(Extrinsic.class)));
+
+        // Act
+        blockService.decodeAndSave(blockDTO);
+
+        // Assert
+        ArgumentCaptor<Block> captor = ArgumentCaptor.forClass(Block.class);
+        verify(blockRepository, times(1)).save(captor.capture());
+        verify(outboxService, times(1)).recordDecodedBlocks(List.of(captor.getValue()));
+        verify(blockIndexService, times(1)).addOnCommit(List.of(123L));
+    }
+
+    @Test
+    void testDecodeAndSave_WhenBlockWasSavedMeanwhile() {
+        // Arrange
+        BlockDetailsDTO.Block blockDTO = block("0x7b");
+        when(blockIndexService.contains(123)).thenReturn(true);
 
         // Act
         blockService.decodeAndSave(blockDTO);
 
         // Assert
-        verify(blockRepository, times(1)).save(any(Block.class));
+        verify(blockRepository, never()).save(any());
+        verify(outboxService, never()).recordDecodedBlocks(any());
+        verify(blockIndexService, never()).addOnCommit(any());
+    }
+
+    @Test
+    void testDecodeAndSave_KeepsExtrinsicsWhenSaveFails() throws JsonProcessingException {
+        // Arrange
+        useDecodingExtrinsicService();
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c040a0b");
+        BlockDetailsDTO.Block blockDTO = block("0x7b");
+        blockDTO.setExtrinsics(new ExtrinsicBytes[]{extrinsic});
+        when(blockRepository.save(any())).thenThrow(new DataAccessResourceFailureException("Database down")).thenReturn(null);
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> blockService.decodeAndSave(blockDTO));
+        String deadLetterPayload = new ObjectMapper().writeValueAsString(blockDTO);
+        blockService.decodeAndSave(blockDTO);
+
+        // Assert
+        assertTrue(deadLetterPayload.contains("\"0x0c040a0b\""));
+        verify(blockRepository, times(2)).save(any());
+        assertThrows(IllegalStateException.class, extrinsic::array);
+    }
+
+    @Test
+    void testDecodeAndSave_ReleasesExtrinsicsOnCommit() {
+        // Arrange
+        useDecodingExtrinsicService();
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c040a0b");
+        BlockDetailsDTO.Block blockDTO = block("0x7b");
+        blockDTO.setExtrinsics(new ExtrinsicBytes[]{extrinsic});
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        blockService.decodeAndSave(blockDTO);
+        String beforeCommit = extrinsic.toString();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals("0x0c040a0b", beforeCommit);
+        assertThrows(IllegalStateException.class, extrinsic::array);
+    }
+
+    @Test
+    void testExistsInDatabase() {
+        // Arrange
+        when(blockRepository.existsByNumber(123)).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(blockService.existsInDatabase(block("0x7b")));
+        assertFalse(blockService.existsInDatabase(block("0x7c")));
+    }
+
+    @Test
+    void testDecodeAndSaveAll_SkipsExistingAndDuplicateBlocks() {
+        // Arrange
+        BlockDetailsDTO.Block existing = block("0x1");
+        BlockDetailsDTO.Block missing = block("0x2");
+        when(blockIndexService.contains(1)).thenReturn(true);
+        when(extrinsicService.decode(anyList())).thenReturn(List.of());
+
+        // Act
+        int saved = blockService.decodeAndSaveAll(List.of(existing, missing, block("0x2")));
+
+        // Assert
+        assertEquals(1, saved);
+        ArgumentCaptor<List<Block>> captor = ArgumentCaptor.captor();
+        verify(blockRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(2, captor.getValue().getFirst().getNumber());
+        verify(blockRepository, never()).save(any());
+        verify(outboxService, times(1)).recordDecodedBlocks(captor.getValue());
+        verify(blockIndexService, times(1)).addOnCommit(List.of(2L));
+    }
+
+    @Test
+    void testDecodeAndSaveAll_HandsUndecodableBlocksToHandler() {
+        // Arrange
+        BlockDetailsDTO.Block decodable = block("0x1");
+        BlockDetailsDTO.Block undecodable = block("0x2");
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0400");
+        undecodable.setExtrinsics(new ExtrinsicBytes[]{extrinsic});
+        IllegalStateException failure = new IllegalStateException("Module not found");
+        when(extrinsicService.decode(List.of())).thenReturn(List.of());
+        when(extrinsicService.decode(List.of(extrinsic))).thenThrow(failure);
+        List<BlockDetailsDTO.Block> failed = new ArrayList<>();
+
+        // Act
+        int saved = blockService.decodeAndSaveAll(List.of(decodable, undecodable), (blockDTO, e) -> {
+            assertSame(failure, e);
+            failed.add(blockDTO);
+        });
+
+        // Assert
+        assertEquals(1, saved);
+        assertEquals(List.of(undecodable), failed);
+        ArgumentCaptor<List<Block>> captor = ArgumentCaptor.captor();
+        verify(blockRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().getFirst().getNumber());
+    }
+
+    @Test
+    void testDecodeAndSaveAll_FailsBatchWithoutHandler() {
+        // Arrange
+        when(extrinsicService.decode(anyList())).thenThrow(new IllegalStateException("Module not found"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> blockService.decodeAndSaveAll(List.of(block("0x1"))));
+        verify(blockRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testDecodeAndSaveAll_IsTransactional() throws NoSuchMethodException {
+        // Act
+        Transactional transactional = BlockService.class.getMethod("decodeAndSaveAll", List.class)
+                .getAnnotation(Transactional.class);
+
+        // Assert
+        assertNotNull(transactional);
     }
 
     @Test
@@ -64,8 +237,8 @@ class BlockServiceTest {
         BlockDetailsDTO.Block blockDTO = mock(BlockDetailsDTO.Block.class);
         BlockDetailsDTO.Block.Header header = mock(BlockDetailsDTO.Block.Header.class);
         when(blockDTO.getHeader()).thenReturn(header);
-        when(header.getNumber()).thenReturn("123");
-        when(blockRepository.existsByNumber("123")).thenReturn(true);
+        when(header.getNumber()).thenReturn("0x7b");
+        when(blockIndexService.contains(123)).thenReturn(true);
 
         // Act
         boolean exists = blockService.alreadyExist(blockDTO);
@@ -80,8 +253,8 @@ class BlockServiceTest {
         BlockDetailsDTO.Block blockDTO = mock(BlockDetailsDTO.Block.class);
         BlockDetailsDTO.Block.Header header = mock(BlockDetailsDTO.Block.Header.class);
         when(blockDTO.getHeader()).thenReturn(header);
-        when(header.getNumber()).thenReturn("123");
-        when(blockRepository.existsByNumber("123")).thenReturn(false);
+        when(header.getNumber()).thenReturn("0x7b");
+        when(blockIndexService.contains(123)).thenReturn(false);
 
         // Act
         boolean exists = blockService.alreadyExist(blockDTO);
@@ -90,6 +263,98 @@ class BlockServiceTest {
         assertFalse(exists);
     }
 
+    @Test
+    void testAlreadyExist_WhenNumberIsInvalid() {
+        // Act & Assert
+        assertFalse(blockService.alreadyExist(block("123")));
+        assertFalse(blockService.alreadyExist(block("0x")));
+        assertFalse(blockService.alreadyExist(block("0xffffffffffffffff")));
+        verifyNoInteractions(blockIndexService);
+    }
+
+    @Test
+    void testDecodeAndSaveAll_HandsBlocksWithInvalidNumberToHandler() {
+        // Arrange
+        BlockDetailsDTO.Block invalid = block("block-number");
+        when(extrinsicService.decode(anyList())).thenReturn(List.of());
+        List<RuntimeException> failures = new ArrayList<>();
+
+        // Act
+        int saved = blockService.decodeAndSaveAll(List.of(invalid), (blockDTO, e) -> failures.add(e));
+
+        // Assert
+        assertEquals(0, saved);
+        assertInstanceOf(InvalidBlockNumberException.class, failures.getFirst());
+    }
+
+    @Test
+    void testFindRange_CapsLimit() {
+        // Arrange
+        List<Block> blocks = List.of(mock(Block.class));
+        when(blockRepository.findByNumberBetweenOrderByNumberAsc(10, 20, Limit.of(1000))).thenReturn(blocks);
+
+        // Act
+        List<Block> result = blockService.findRange(10, 20, 5000);
+
+        // Assert
+        assertEquals(blocks, result);
+    }
+
+    @Test
+    void testFindBefore() {
+        // Arrange
+        List<Block> blocks = List.of(mock(Block.class));
+        when(blockRepository.findByNumberLessThanOrderByNumberDesc(100, Limit.of(10))).thenReturn(blocks);
+
+        // Act
+        List<Block> result = blockService.findBefore(100, 10);
+
+        // Assert
+        assertEquals(blocks, result);
+    }
+
+    @Test
+    void testFindChildren() {
+        // Arrange
+        List<Block> blocks = List.of(mock(Block.class));
+        when(blockRepository.findByParentHash("0x01")).thenReturn(blocks);
+
+        // Act
+        List<Block> result = blockService.findChildren("0x01");
+
+        // Assert
+        assertEquals(blocks, result);
+    }
+
+    @Test
+    void testFindByHash() {
+        // Arrange
+        Block block = mock(Block.class);
+        when(blockRepository.findByHash("0x01")).thenReturn(Optional.of(block));
+
+        // Act
+        Optional<Block> result = blockService.findByHash("0x01");
+
+        // Assert
+        assertEquals(Optional.of(block), result);
+    }
+
+    @Test
+    void testDecodeAndSaveAll_HandsBlocksWithInvalidHashToHandler() {
+        // Arrange
+        BlockDetailsDTO.Block invalid = block("0x1");
+        invalid.getHeader().setStateRoot("0x01");
+        when(extrinsicService.decode(anyList())).thenReturn(List.of());
+        List<RuntimeException> failures = new ArrayList<>();
+
+        // Act
+        int saved = blockService.decodeAndSaveAll(List.of(invalid), (blockDTO, e) -> failures.add(e));
+
+        // Assert
+        assertEquals(0, saved);
+        assertInstanceOf(IllegalArgumentException.class, failures.getFirst());
+    }
+
     @Test
     void testFindAll() {
         // Arrange
@@ -110,24 +375,53 @@ class BlockServiceTest {
         BlockDetailsDTO.Block blockDTO = mock(BlockDetailsDTO.Block.class);
         BlockDetailsDTO.Block.Header header = mock(BlockDetailsDTO.Block.Header.class);
         when(blockDTO.getHeader()).thenReturn(header);
-        when(header.getParentHash()).thenReturn("parent-hash");
-        when(header.getExtrinsicsRoot()).thenReturn("extrinsics-root");
-        when(header.getStateRoot()).thenReturn("state-root");
-        when(header.getNumber()).thenReturn("block-number");
+        when(header.getParentHash()).thenReturn(PARENT_HASH);
+        when(header.getExtrinsicsRoot()).thenReturn(EXTRINSICS_ROOT);
+        when(header.getStateRoot()).thenReturn(STATE_ROOT);
+        when(header.getNumber()).thenReturn("0x1a2b");
         when(header.getDigest()).thenReturn(mock(BlockDetailsDTO.Block.Header.Digest.class));
-        when(header.getDigest().getLogs()).thenReturn(new String[]{"log1", "log2"});
+        when(header.getDigest().getLogs()).thenReturn(new String[]{"0x0401", "0x0402"});
         List<Extrinsic> extrinsics = List.of(mock(Extrinsic.class), mock(Extrinsic.class));
 
         // Act
-        Block result = ReflectionTestUtils.invokeMethod(blockService, "build", blockDTO, extrinsics);
+        Block result = ReflectionTestUtils.invokeMethod(blockService, "build", blockDTO, extrinsics, new ChainHasher());
 
         // Assert
         assertNotNull(result);
-        assertEquals("parent-hash", result.getParentHash());
-        assertEquals("extrinsics-root", result.getExtrinsicsRoot());
-        assertEquals("state-root", result.getStateRoot());
-        assertEquals("block-number", result.getNumber());
-        assertEquals(List.of("log1", "log2"), result.getLogs());
+        assertEquals(new ChainHasher().hashHeader(header, 0x1a2b), result.getHash());
+        assertEquals(PARENT_HASH, result.getParentHash());
+        assertEquals(EXTRINSICS_ROOT, result.getExtrinsicsRoot());
+        assertEquals(STATE_ROOT, result.getStateRoot());
+        assertEquals(0x1a2b, result.getNumber());
+        assertEquals(List.of("0x0401", "0x0402"), result.getLogs());
         assertEquals(extrinsics, result.getExtrinsics());
     }
+
+    /**
+     * Replaces the mocked {@link ExtrinsicService} with one decoding the extrinsics, for any module and function.
+     */
+    private void useDecodingExtrinsicService() {
+        FunctionCatalogService functionCatalogService = mock(FunctionCatalogService.class);
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mock(Module.class));
+        when(functionCatalogService.getFunction(anyInt(), anyInt())).thenReturn(mock(Function.class));
+        extrinsicService = new ExtrinsicService(functionCatalogService, mock(CallDecoderRegistry.class),
+                mock(ExtrinsicRepository.class));
+        blockService = new BlockService(blockRepository, extrinsicService, outboxService, blockIndexService);
+    }
+
+    private static BlockDetailsDTO.Block block(String number) {
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        BlockDetailsDTO.Block.Header.Digest digest = new BlockDetailsDTO.Block.Header.Digest();
+        digest.setLogs(new String[0]);
+        header.setNumber(number);
+        header.setParentHash(PARENT_HASH);
+        header.setStateRoot(STATE_ROOT);
+        header.setExtrinsicsRoot(EXTRINSICS_ROOT);
+        header.setDigest(digest);
+        block.setHeader(header);
+        block.setExtrinsics(new ExtrinsicBytes[0]);
+        return block;
+    }
+
 }
@@ -0,0 +1,122 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.FunctionParameter;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.repository.FunctionParameterRepository;
+import dev.cypherfury.juniscan.scale.ScaleReader;
+import dev.cypherfury.juniscan.utils.ByteUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CallDecoderRegistry} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the decoding of call arguments, nested calls included, into JSON objects.
+ * - Ensure the decoder of a function is compiled once, including when its types are unsupported, until cleared.
+ * - Ensure arguments that cannot be decoded are left out rather than failing the extrinsic.
+ *
+ * @author Cypherfury
+ */
+class CallDecoderRegistryTest {
+
+    private static final String ACCOUNT = "d43593c715fdd31c61141abd04a99fd6822c8558854ccde39a5684e7a56da27d";
+    private static final String TRANSFER = "00" + ACCOUNT + "0b00407a10f35a";
+    private static final String TRANSFER_ARGUMENTS = "{\"dest\":{\"Id\":\"0x" + ACCOUNT + "\"},\"value\":100000000000000}";
+
+    private FunctionParameterRepository functionParameterRepository;
+    private CallDecoderRegistry callDecoderRegistry;
+
+    @BeforeEach
+    void setUp() {
+        FunctionCatalogService functionCatalogService = mock(FunctionCatalogService.class);
+        functionParameterRepository = mock(FunctionParameterRepository.class);
+        Module utility = Module.builder().id(1).name("Utility").build();
+        Module balances = Module.builder().id(6).name("Balances").build();
+        Function batch = Function.builder().id(1).callIndex(0).name("batch").module(utility).build();
+        Function transfer = Function.builder().id(2).callIndex(3).name("transfer_keep_alive").module(balances).build();
+        Function reportEquivocation = Function.builder().id(3).callIndex(4).name("report_equivocation").module(balances).build();
+        when(functionCatalogService.getFunction(1, 0)).thenReturn(batch);
+        when(functionCatalogService.getFunction(6, 3)).thenReturn(transfer);
+        when(functionCatalogService.getFunction(6, 4)).thenReturn(reportEquivocation);
+        when(functionParameterRepository.findByFunctionOrderByIdAsc(batch)).thenReturn(List.of(
+                parameter("calls", "Vec<Call>")));
+        when(functionParameterRepository.findByFunctionOrderByIdAsc(transfer)).thenReturn(List.of(
+                parameter("dest", "MultiAddress"), parameter("value", "Compact<u64>")));
+        when(functionParameterRepository.findByFunctionOrderByIdAsc(reportEquivocation)).thenReturn(List.of(
+                parameter("equivocationProof", "SpConsensusGrandpaEquivocationProof")));
+        callDecoderRegistry = new CallDecoderRegistry(functionCatalogService, functionParameterRepository);
+    }
+
+    @Test
+    void testDecodeArguments() {
+        // Act
+        String arguments = callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER));
+
+        // Assert
+        assertEquals(TRANSFER_ARGUMENTS, arguments);
+    }
+
+    @Test
+    void testDecodeArguments_NestedCalls() {
+        // Act
+        String arguments = callDecoderRegistry.decodeArguments(1, 0, reader("0x08" + "0603" + TRANSFER + "0603" + TRANSFER));
+
+        // Assert
+        String call = "{\"call\":\"Balances.transfer_keep_alive\",\"args\":" + TRANSFER_ARGUMENTS + "}";
+        assertEquals("{\"calls\":[" + call + "," + call + "]}", arguments);
+    }
+
+    @Test
+    void testDecoder_CompiledOnce() {
+        // Act
+        callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER));
+        callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER));
+        callDecoderRegistry.decodeArguments(6, 4, reader("0x00"));
+        callDecoderRegistry.decodeArguments(6, 4, reader("0x00"));
+
+        // Assert
+        assertTrue(callDecoderRegistry.decoder(6, 3).isPresent());
+        assertTrue(callDecoderRegistry.decoder(6, 4).isEmpty());
+        verify(functionParameterRepository, times(2)).findByFunctionOrderByIdAsc(any());
+    }
+
+    @Test
+    void testClear_CompilesDecodersAgain() {
+        // Arrange
+        callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER));
+
+        // Act
+        callDecoderRegistry.clear();
+        callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER));
+
+        // Assert
+        verify(functionParameterRepository, times(2)).findByFunctionOrderByIdAsc(any());
+    }
+
+    @Test
+    void testDecodeArguments_Undecodable() {
+        // Act & Assert
+        assertNull(callDecoderRegistry.decodeArguments(6, 4, reader("0x00")));
+        assertNull(callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER + "00")));
+        assertNull(callDecoderRegistry.decodeArguments(6, 3, reader("0x" + TRANSFER.substring(0, 20))));
+        assertNull(callDecoderRegistry.decodeArguments(1, 0, reader("0x04" + "0604" + "00")));
+        assertNull(callDecoderRegistry.decodeArguments(1, 0, reader("0x04" + "0900")));
+    }
+
+    private static FunctionParameter parameter(String name, String type) {
+        return FunctionParameter.builder().name(name).type(type).build();
+    }
+
+    private static ScaleReader reader(String hex) {
+        return new ScaleReader(ByteBuffer.wrap(ByteUtils.getBytes(hex)));
+    }
+
+}
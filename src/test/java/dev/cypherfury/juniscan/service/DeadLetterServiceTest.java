@@ -0,0 +1,121 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.bus.DeadLetterQueue;
+import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.DeadLetterDTO;
+import dev.cypherfury.juniscan.dto.ReprocessResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link DeadLetterService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the dead letters built from a failed block, keeping the raw block and the failure cause.
+ * - Ensure replayed dead letters are saved, skipped if already indexed, or sent back to the queue if they fail again.
+ * - Ensure a failure to store a dead letter is not propagated.
+ *
+ * @author Cypherfury
+ */
+class DeadLetterServiceTest {
+
+    private BlockService blockService;
+    private DeadLetterQueue deadLetterQueue;
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        blockService = mock(BlockService.class);
+        deadLetterQueue = mock(DeadLetterQueue.class);
+        when(deadLetterQueue.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+        deadLetterService = new DeadLetterService(blockService, deadLetterQueue, 4);
+    }
+
+    @Test
+    void testDeadLetterKeepsBlockAndCause() {
+        // Arrange
+        BlockDetailsDTO.Block block = block("0x1");
+
+        // Act
+        deadLetterService.deadLetter(block, new IllegalStateException("Module not found"), 5);
+
+        // Assert
+        ArgumentCaptor<DeadLetterDTO> captor = ArgumentCaptor.forClass(DeadLetterDTO.class);
+        verify(deadLetterQueue).publish(captor.capture());
+        DeadLetterDTO deadLetter = captor.getValue();
+        assertEquals("0x1", deadLetter.getNumber());
+        assertSame(block, deadLetter.getBlock());
+        assertEquals(IllegalStateException.class.getName(), deadLetter.getException());
+        assertEquals("Module not found", deadLetter.getMessage());
+        assertEquals(5, deadLetter.getAttempts());
+        assertTrue(deadLetter.getFailedAt() > 0);
+    }
+
+    @Test
+    void testDeadLetterLogsStorageFailure() {
+        // Arrange
+        when(deadLetterQueue.publish(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker down")));
+
+        // Act
+        CompletableFuture<Void> future = deadLetterService.deadLetter(block("0x1"), new IllegalStateException("Module not found"), 5);
+
+        // Assert
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void testReprocessSavesSkipsAndRequeues() {
+        // Arrange
+        DeadLetterDTO fixed = deadLetter("0x1");
+        DeadLetterDTO indexed = deadLetter("0x2");
+        DeadLetterDTO broken = deadLetter("0x3");
+        when(deadLetterQueue.poll(10)).thenReturn(List.of(fixed, indexed, broken));
+        when(blockService.alreadyExist(indexed.getBlock())).thenReturn(true);
+        doThrow(new IllegalStateException("Function not found")).when(blockService).decodeAndSave(broken.getBlock());
+
+        // Act
+        ReprocessResultDTO result = deadLetterService.reprocess(10);
+
+        // Assert
+        assertEquals(new ReprocessResultDTO(3, 1, 1, 1), result);
+        verify(blockService).decodeAndSave(fixed.getBlock());
+        verify(blockService, never()).decodeAndSave(indexed.getBlock());
+        verify(deadLetterQueue).publish(broken);
+        assertEquals(2, broken.getAttempts());
+        assertEquals("Function not found", broken.getMessage());
+    }
+
+    @Test
+    void testReprocessWithoutDeadLetters() {
+        // Arrange
+        when(deadLetterQueue.poll(10)).thenReturn(List.of());
+
+        // Act
+        ReprocessResultDTO result = deadLetterService.reprocess(10);
+
+        // Assert
+        assertEquals(new ReprocessResultDTO(0, 0, 0, 0), result);
+        verifyNoInteractions(blockService);
+    }
+
+    private static DeadLetterDTO deadLetter(String number) {
+        return new DeadLetterDTO(number, block(number), IllegalStateException.class.getName(), "Module not found", 1, 1L);
+    }
+
+    private static BlockDetailsDTO.Block block(String number) {
+        BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
+        BlockDetailsDTO.Block.Header header = new BlockDetailsDTO.Block.Header();
+        header.setNumber(number);
+        block.setHeader(header);
+        return block;
+    }
+
+}
@@ -1,8 +1,13 @@
 package dev.cypherfury.juniscan.service;
 
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
 import dev.cypherfury.juniscan.entity.Extrinsic;
 import dev.cypherfury.juniscan.entity.Function;
 import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.exception.FunctionNotFoundException;
+import dev.cypherfury.juniscan.exception.ModuleNotFoundException;
+import dev.cypherfury.juniscan.exception.ScaleDecodingException;
+import dev.cypherfury.juniscan.repository.ExtrinsicRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -15,58 +20,278 @@ import static org.mockito.Mockito.*;
  * Unit tests for the {@link ExtrinsicService} class.
  * <p>
  * Responsibilities:
- * - Validate the decoding of extrinsics from raw byte arrays and string representations.
+ * - Validate the decoding of extrinsics from their raw bytes, which are kept until the block is committed.
+ * - Validate the decoding of the signer, signature, era, nonce and tip of signed extrinsics.
+ * - Validate the decoding of the compact length prefix in every mode, and of the version byte.
+ * - Ensure the arguments of the call are decoded by the {@link CallDecoderRegistry}.
+ * - Validate the hashes of the extrinsics, and their lookup by hash.
  * - Ensure proper construction of {@link Extrinsic} entities with associated {@link Module} and {@link Function}.
- * - Test interactions with dependencies such as {@link ModuleService} and {@link FunctionService}.
+ * - Test interactions with dependencies such as {@link FunctionCatalogService}.
  * - Cover edge cases for empty or invalid extrinsic data.
  *
  * @author Cypher
  */
 class ExtrinsicServiceTest {
 
-    private FunctionService functionService;
-    private ModuleService moduleService;
+    private FunctionCatalogService functionCatalogService;
+    private CallDecoderRegistry callDecoderRegistry;
+    private ExtrinsicRepository extrinsicRepository;
     private ExtrinsicService extrinsicService;
 
     @BeforeEach
     void setUp() {
-        functionService = mock(FunctionService.class);
-        moduleService = mock(ModuleService.class);
-        extrinsicService = new ExtrinsicService(functionService, moduleService);
+        functionCatalogService = mock(FunctionCatalogService.class);
+        when(functionCatalogService.getFunction(anyInt(), anyInt())).thenReturn(mock(Function.class));
+        callDecoderRegistry = mock(CallDecoderRegistry.class);
+        extrinsicRepository = mock(ExtrinsicRepository.class);
+        extrinsicService = new ExtrinsicService(functionCatalogService, callDecoderRegistry, extrinsicRepository);
     }
 
     @Test
     void testDecode_ValidExtrinsics() {
         // Arrange
         String extrinsicString = "abcd1234";
-        List<String> extrinsics = List.of(extrinsicString);
+        List<ExtrinsicBytes> extrinsics = List.of(ExtrinsicBytes.of(extrinsicString));
 
         Module mockModule = mock(Module.class);
         Function mockFunction = mock(Function.class);
 
-        when(moduleService.getById(anyInt())).thenReturn(mockModule);
-        when(functionService.getByModuleAndId(any(), anyInt())).thenReturn(mockFunction);
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mockModule);
+        when(functionCatalogService.getFunction(anyInt(), anyInt())).thenReturn(mockFunction);
 
         // Act
         List<Extrinsic> result = extrinsicService.decode(extrinsics);
 
         // Assert
         assertEquals(1, result.size());
-        verify(moduleService).getById(anyLong());
-        verify(functionService).getByModuleAndId(any(), anyInt());
+        verify(functionCatalogService).getModule(anyInt());
+        verify(functionCatalogService).getFunction(anyInt(), anyInt());
     }
 
     @Test
     void testDecode_EmptyList() {
         // Arrange
-        List<String> extrinsics = List.of();
+        List<ExtrinsicBytes> extrinsics = List.of();
 
         // Act
         List<Extrinsic> result = extrinsicService.decode(extrinsics);
 
         // Assert
         assertTrue(result.isEmpty());
-        verifyNoInteractions(moduleService, functionService);
+        verifyNoInteractions(functionCatalogService);
+    }
+
+    @Test
+    void testDecode_KeepsExtrinsicBytes() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c040a0b");
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mock(Module.class));
+
+        // Act
+        extrinsicService.decode(List.of(extrinsic));
+
+        // Assert
+        assertDoesNotThrow(extrinsic::array);
+    }
+
+    @Test
+    void testDecode_HashesExtrinsicBytes() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c040a0b");
+        when(functionCatalogService.getModule(anyInt())).thenReturn(mock(Module.class));
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertEquals("0xa1369ef01f20fffa007ee8463ce8e64e408b501ff35850389e03fb103d0f6ff0", result.getHash());
+    }
+
+    @Test
+    void testFindByHash() {
+        // Arrange
+        List<Extrinsic> extrinsics = List.of(mock(Extrinsic.class));
+        when(extrinsicRepository.findByHash("0x01")).thenReturn(extrinsics);
+
+        // Act
+        List<Extrinsic> result = extrinsicService.findByHash("0x01");
+
+        // Assert
+        assertEquals(extrinsics, result);
+    }
+
+    @Test
+    void testDecode_KeepsExtrinsicBytesOnFailure() {
+        // Arrange
+        ExtrinsicBytes decodable = ExtrinsicBytes.of("0x0c040a0b");
+        ExtrinsicBytes undecodable = ExtrinsicBytes.of("0x0c040b0b");
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+
+        // Act
+        assertThrows(ModuleNotFoundException.class, () -> extrinsicService.decode(List.of(decodable, undecodable)));
+
+        // Assert
+        assertDoesNotThrow(decodable::array);
+        assertDoesNotThrow(undecodable::array);
+    }
+
+    @Test
+    void testDecode_SignedExtrinsic() {
+        // Arrange
+        String signer = "d43593c715fdd31c61141abd04a99fd6822c8558854ccde39a5684e7a56da27d";
+        String signature = "ab".repeat(64);
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0xa901" + "84" + "00" + signer + "01" + signature
+                + "f502" + "14" + "00" + "0500" + "00");
+        Module module = mock(Module.class);
+        Function function = mock(Function.class);
+        when(functionCatalogService.getModule(5)).thenReturn(module);
+        when(functionCatalogService.getFunction(5, 0)).thenReturn(function);
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertTrue(result.isSigned());
+        assertEquals(4, result.getVersion());
+        assertEquals(106, result.getSize());
+        assertEquals("Id", result.getAddressPrefix());
+        assertEquals("0x" + signer, result.getIssuerAddress());
+        assertEquals("Sr25519", result.getSignatureType());
+        assertEquals("0x" + signature, result.getSignature());
+        assertEquals(64, result.getEraPeriod());
+        assertEquals(47, result.getEraPhase());
+        assertEquals(5L, result.getNonce());
+        assertEquals(0L, result.getTip());
+        assertSame(module, result.getModule());
+        assertSame(function, result.getFunction());
+    }
+
+    @Test
+    void testDecode_SignedExtrinsicWithImmortalEra() {
+        // Arrange
+        String signer = "f24ff3a9cf04c71dbc94d0b566f7a27b94566cac";
+        String signature = "cd".repeat(65);
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x9101" + "84" + "04" + signer + "02" + signature
+                + "00" + "0101" + "0b00407a10f35a" + "0a00");
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertEquals("Address20", result.getAddressPrefix());
+        assertEquals("0x" + signer, result.getIssuerAddress());
+        assertEquals("ECDSA", result.getSignatureType());
+        assertEquals("0x" + signature, result.getSignature());
+        assertNull(result.getEraPeriod());
+        assertNull(result.getEraPhase());
+        assertEquals(64L, result.getNonce());
+        assertEquals(100_000_000_000_000L, result.getTip());
+    }
+
+    @Test
+    void testDecode_TruncatedSignedExtrinsic() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x1084" + "00" + "d435");
+
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(extrinsic)));
+    }
+
+    @Test
+    void testDecode_UnknownFunction() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c040a0b");
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+        when(functionCatalogService.getFunction(10, 11)).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(FunctionNotFoundException.class, () -> extrinsicService.decode(List.of(extrinsic)));
+        verifyNoInteractions(callDecoderRegistry);
+    }
+
+    @Test
+    void testDecode_CallArguments() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x14040a0b2a00");
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+        when(callDecoderRegistry.decodeArguments(eq(10), eq(11), any())).thenReturn("{\"value\":42}");
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertEquals("{\"value\":42}", result.getArguments());
+        verify(callDecoderRegistry).decodeArguments(eq(10), eq(11), argThat(reader -> reader.position() == 4));
+    }
+
+    @Test
+    void testDecode_ExtrinsicWithTwoByteLength() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x" + "0101" + "04" + "0a0b" + "00".repeat(61));
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertFalse(result.isSigned());
+        assertEquals(4, result.getVersion());
+        assertEquals(64, result.getSize());
+        verify(functionCatalogService).getFunction(10, 11);
+    }
+
+    @Test
+    void testDecode_ExtrinsicWithFourByteLength() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x" + "02000100" + "04" + "0a0b" + "00".repeat(16_381));
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertEquals(16_384, result.getSize());
+    }
+
+    @Test
+    void testDecode_BareVersion5Extrinsic() {
+        // Arrange
+        ExtrinsicBytes extrinsic = ExtrinsicBytes.of("0x0c050a0b");
+        when(functionCatalogService.getModule(10)).thenReturn(mock(Module.class));
+
+        // Act
+        Extrinsic result = extrinsicService.decode(List.of(extrinsic)).getFirst();
+
+        // Assert
+        assertFalse(result.isSigned());
+        assertEquals(5, result.getVersion());
+    }
+
+    @Test
+    void testDecode_UnsupportedVersions() {
+        // Arrange
+        ExtrinsicBytes general = ExtrinsicBytes.of("0x1045000a0b");
+        ExtrinsicBytes signedVersion5 = ExtrinsicBytes.of("0x0c850a0b");
+        ExtrinsicBytes version3 = ExtrinsicBytes.of("0x0c030a0b");
+
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(general)));
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(signedVersion5)));
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(version3)));
+        verifyNoInteractions(functionCatalogService);
+    }
+
+    @Test
+    void testDecode_LengthMismatch() {
+        // Arrange
+        ExtrinsicBytes tooLong = ExtrinsicBytes.of("0x10040a0b");
+        ExtrinsicBytes tooShort = ExtrinsicBytes.of("0x08040a0b");
+
+        // Act & Assert
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(tooLong)));
+        assertThrows(ScaleDecodingException.class, () -> extrinsicService.decode(List.of(tooShort)));
+        verifyNoInteractions(functionCatalogService);
     }
 
     @Test
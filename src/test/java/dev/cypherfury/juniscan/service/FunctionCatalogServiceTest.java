@@ -0,0 +1,122 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.dto.CatalogStatsDTO;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.repository.FunctionRepository;
+import dev.cypherfury.juniscan.repository.ModuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link FunctionCatalogService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the lookup of modules and functions by index, without querying the repositories.
+ * - Ensure misses return `null` and are counted once in the negative cache, until the next refresh.
+ * - Ensure a refresh reloads the catalogue, and that a catalogue that could not be preloaded is loaded on first use.
+ *
+ * @author Cypherfury
+ */
+class FunctionCatalogServiceTest {
+
+    private ModuleRepository moduleRepository;
+    private FunctionRepository functionRepository;
+    private FunctionCatalogService functionCatalogService;
+    private Module balances;
+
+    @BeforeEach
+    void setUp() {
+        moduleRepository = mock(ModuleRepository.class);
+        functionRepository = mock(FunctionRepository.class);
+        balances = Module.builder().id(6).name("Balances").build();
+        Module invalid = Module.builder().id(300).name("Invalid").build();
+        when(moduleRepository.findAll()).thenReturn(List.of(balances, invalid));
+        when(functionRepository.findAllWithModule()).thenReturn(List.of(
+                function(1, "transfer_allow_death", 0, Module.builder().id(6).build()),
+                function(2, "transfer_keep_alive", 3, Module.builder().id(6).build()),
+                function(3, "orphan", 0, Module.builder().id(7).build())));
+        functionCatalogService = new FunctionCatalogService(moduleRepository, functionRepository);
+    }
+
+    @Test
+    void testStart_PreloadsCatalog() {
+        // Act
+        functionCatalogService.start();
+        Module module = functionCatalogService.getModule(6);
+        Function function = functionCatalogService.getFunction(6, 3);
+
+        // Assert
+        assertSame(balances, module);
+        assertEquals("transfer_keep_alive", function.getName());
+        assertSame(balances, function.getModule());
+        CatalogStatsDTO stats = functionCatalogService.stats();
+        assertEquals(1, stats.getModules());
+        assertEquals(2, stats.getFunctions());
+        verify(moduleRepository, times(1)).findAll();
+        verify(functionRepository, times(1)).findAllWithModule();
+    }
+
+    @Test
+    void testLookup_MissesGoToNegativeCache() {
+        // Arrange
+        functionCatalogService.start();
+
+        // Act
+        Module unknownModule = functionCatalogService.getModule(7);
+        Function unknownFunction = functionCatalogService.getFunction(6, 9);
+        functionCatalogService.getFunction(6, 9);
+        functionCatalogService.getFunction(7, 0);
+
+        // Assert
+        assertNull(unknownModule);
+        assertNull(unknownFunction);
+        assertNull(functionCatalogService.getModule(-1));
+        assertNull(functionCatalogService.getFunction(6, 256));
+        assertEquals(5, functionCatalogService.stats().getMisses());
+        verify(moduleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testRefresh_ReloadsCatalogAndClearsMisses() {
+        // Arrange
+        functionCatalogService.start();
+        functionCatalogService.getFunction(6, 9);
+        when(functionRepository.findAllWithModule()).thenReturn(List.of(
+                function(4, "new_call", 9, Module.builder().id(6).build())));
+
+        // Act
+        CatalogStatsDTO stats = functionCatalogService.refresh();
+
+        // Assert
+        assertEquals(1, stats.getFunctions());
+        assertEquals(0, stats.getMisses());
+        assertEquals("new_call", functionCatalogService.getFunction(6, 9).getName());
+        assertNull(functionCatalogService.getFunction(6, 3));
+    }
+
+    @Test
+    void testStart_LoadsOnFirstUseWhenDatabaseUnavailable() {
+        // Arrange
+        when(moduleRepository.findAll()).thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(List.of(balances));
+
+        // Act
+        functionCatalogService.start();
+        Module module = functionCatalogService.getModule(6);
+
+        // Assert
+        assertSame(balances, module);
+        verify(moduleRepository, times(2)).findAll();
+    }
+
+    private static Function function(long id, String name, int callIndex, Module module) {
+        return Function.builder().id(id).name(name).callIndex(callIndex).module(module).build();
+    }
+
+}
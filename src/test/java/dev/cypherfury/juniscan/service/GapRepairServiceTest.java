@@ -0,0 +1,144 @@
+package dev.cypherfury.juniscan.service;
+
+import dev.cypherfury.juniscan.utils.BlockBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link GapRepairService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate that the blocks missed during an outage are backfilled once the subscription is back.
+ * - Ensure the highest indexed block is used as reference after a restart.
+ * - Verify the periodic audit of the indexed blocks, and that it is disabled in replay mode.
+ *
+ * @author Cypherfury
+ */
+class GapRepairServiceTest {
+
+    private BlockIndexService blockIndexService;
+    private BackfillService backfillService;
+    private GapRepairService gapRepairService;
+
+    @BeforeEach
+    void setUp() {
+        blockIndexService = mock(BlockIndexService.class);
+        backfillService = mock(BackfillService.class);
+        gapRepairService = new GapRepairService(blockIndexService, backfillService, false);
+    }
+
+    @Test
+    void testOnNewHeadBackfillsRangeMissedDuringOutage() {
+        // Arrange
+        gapRepairService.onNewHead("0x64");
+        gapRepairService.onResubscribe();
+
+        // Act
+        gapRepairService.onNewHead("0x6e");
+
+        // Assert
+        verify(backfillService).start(100, 108);
+        verifyNoInteractions(blockIndexService);
+        assertEquals(109, gapRepairService.getLastIndexed());
+    }
+
+    @Test
+    void testOnNewHeadUsesHighestIndexedBlockAfterRestart() {
+        // Arrange
+        when(blockIndexService.findMaxNumber()).thenReturn(Optional.of(50L));
+        gapRepairService.onResubscribe();
+
+        // Act
+        gapRepairService.onNewHead("0x3c");
+
+        // Assert
+        verify(backfillService).start(51, 58);
+    }
+
+    @Test
+    void testOnNewHeadDoesNothingWithoutGap() {
+        // Arrange
+        gapRepairService.onNewHead("0x64");
+        gapRepairService.onResubscribe();
+
+        // Act
+        gapRepairService.onNewHead("0x65");
+
+        // Assert
+        verify(backfillService, never()).start(anyLong(), anyLong());
+    }
+
+    @Test
+    void testOnNewHeadChecksOnlyFirstHeadAfterResubscribe() {
+        // Arrange
+        when(blockIndexService.findMaxNumber()).thenReturn(Optional.empty());
+        gapRepairService.onResubscribe();
+
+        // Act
+        gapRepairService.onNewHead("0x64");
+        gapRepairService.onNewHead("0x70");
+
+        // Assert
+        verify(blockIndexService, times(1)).findMaxNumber();
+        verify(backfillService, never()).start(anyLong(), anyLong());
+    }
+
+    @Test
+    void testOnNewHeadIgnoresInvalidNumber() {
+        // Arrange
+        gapRepairService.onResubscribe();
+
+        // Act
+        gapRepairService.onNewHead("not a number");
+
+        // Assert
+        verifyNoInteractions(blockIndexService, backfillService);
+        assertEquals(-1, gapRepairService.getLastIndexed());
+    }
+
+    @Test
+    void testAuditBackfillsEveryGap() {
+        // Arrange
+        when(blockIndexService.findGaps()).thenReturn(List.of(new BlockBitmap.Range(5, 7), new BlockBitmap.Range(20, 20)));
+
+        // Act
+        gapRepairService.audit();
+
+        // Assert
+        verify(backfillService).start(5, 7);
+        verify(backfillService).start(20, 20);
+    }
+
+    @Test
+    void testAuditSkippedWhileBackfillRuns() {
+        // Arrange
+        when(backfillService.isRunning()).thenReturn(true);
+
+        // Act
+        gapRepairService.audit();
+
+        // Assert
+        verifyNoInteractions(blockIndexService);
+        verify(backfillService, never()).start(anyLong(), anyLong());
+    }
+
+    @Test
+    void testAuditSkippedInReplayMode() {
+        // Arrange
+        gapRepairService = new GapRepairService(blockIndexService, backfillService, true);
+
+        // Act
+        gapRepairService.audit();
+
+        // Assert
+        verifyNoInteractions(blockIndexService, backfillService);
+    }
+
+}
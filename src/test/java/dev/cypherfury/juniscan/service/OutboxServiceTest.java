@@ -0,0 +1,113 @@
+package dev.cypherfury.juniscan.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.cypherfury.juniscan.entity.Block;
+import dev.cypherfury.juniscan.entity.Extrinsic;
+import dev.cypherfury.juniscan.entity.Function;
+import dev.cypherfury.juniscan.entity.Module;
+import dev.cypherfury.juniscan.entity.OutboxEvent;
+import dev.cypherfury.juniscan.kafka.KafkaPublisher;
+import dev.cypherfury.juniscan.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link OutboxService} class.
+ * <p>
+ * Responsibilities:
+ * - Validate the payload and key of the decoded block events written to the outbox.
+ * - Ensure nothing is written when the outbox is disabled or no block was saved.
+ * - Ensure events are only written within the transaction saving the blocks.
+ *
+ * @author Cypherfury
+ */
+class OutboxServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxEventRepository outboxEventRepository;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        outboxService = new OutboxService(outboxEventRepository, objectMapper, true);
+    }
+
+    @Test
+    void testRecordDecodedBlocks_WritesOneEventPerBlock() throws Exception {
+        // Arrange
+        Extrinsic extrinsic = Extrinsic.builder()
+                .signed(true)
+                .issuerAddress("5GrwvaEF5zXb26Fz9rcQpDWS57CtERHpNehXCPcNoHGKutQY")
+                .size(143)
+                .module(Module.builder().name("Balances").build())
+                .function(Function.builder().name("transfer").build())
+                .build();
+        Block block = Block.builder().number(42).parentHash("0x01").extrinsics(List.of(extrinsic)).build();
+
+        // Act
+        outboxService.recordDecodedBlocks(List.of(block, Block.builder().number(43).build()));
+
+        // Assert
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.captor();
+        verify(outboxEventRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        OutboxEvent event = captor.getValue().getFirst();
+        assertEquals(KafkaPublisher.DECODED_BLOCK_TOPIC, event.getTopic());
+        assertEquals("0x2a", event.getMessageKey());
+        assertNotNull(event.getCreatedAt());
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertEquals("0x2a", payload.path("number").asText());
+        assertEquals("0x01", payload.path("parentHash").asText());
+        JsonNode decoded = payload.path("extrinsics").path(0);
+        assertEquals(0, decoded.path("index").asInt());
+        assertEquals("Balances", decoded.path("module").asText());
+        assertEquals("transfer", decoded.path("function").asText());
+        assertTrue(decoded.path("signed").asBoolean());
+        assertEquals("5GrwvaEF5zXb26Fz9rcQpDWS57CtERHpNehXCPcNoHGKutQY", decoded.path("signer").asText());
+        assertEquals(143, decoded.path("size").asLong());
+        assertEquals(0, objectMapper.readTree(captor.getValue().get(1).getPayload()).path("extrinsics").size());
+    }
+
+    @Test
+    void testRecordDecodedBlocks_WhenDisabled() {
+        // Arrange
+        outboxService = new OutboxService(outboxEventRepository, objectMapper, false);
+
+        // Act
+        outboxService.recordDecodedBlocks(List.of(Block.builder().number(42).build()));
+
+        // Assert
+        verify(outboxEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testRecordDecodedBlocks_WhenNoBlock() {
+        // Act
+        outboxService.recordDecodedBlocks(List.of());
+
+        // Assert
+        verify(outboxEventRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testRecordDecodedBlocks_RequiresTransaction() throws NoSuchMethodException {
+        // Act
+        Transactional transactional = OutboxService.class.getMethod("recordDecodedBlocks", List.class)
+                .getAnnotation(Transactional.class);
+
+        // Assert
+        assertEquals(Propagation.MANDATORY, transactional.propagation());
+    }
+
+}
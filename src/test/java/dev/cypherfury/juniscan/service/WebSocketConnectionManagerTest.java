@@ -1,7 +1,9 @@
 package dev.cypherfury.juniscan.service;
 
+import dev.cypherfury.juniscan.capture.FrameCaptureLog;
 import dev.cypherfury.juniscan.exception.HandleTransportException;
 import dev.cypherfury.juniscan.exception.ReconnectWebSocketException;
+import dev.cypherfury.juniscan.rpc.RpcNode;
 import dev.cypherfury.juniscan.utils.Sleeper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,8 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,12 +34,16 @@ class WebSocketConnectionManagerTest {
     @Mock
     private Sleeper sleeper;
 
+    @Mock
+    private FrameCaptureLog captureLog;
+
     private static final String RPC_URL = "ws://localhost:8080/websocket";
+    private static final String BACKUP_URL = "ws://localhost:8081/websocket";
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        manager = new WebSocketConnectionManager(RPC_URL, nodeService, sleeper);
+        manager = new WebSocketConnectionManager(List.of(RPC_URL, BACKUP_URL), nodeService, sleeper, 65536, captureLog, false);
     }
 
     @Test
@@ -89,6 +97,7 @@ class WebSocketConnectionManagerTest {
         manager.handleTextMessage(session, textMessage);
 
         // Assert
+        verify(captureLog).append(payload);
         verify(nodeService).processMessage(payload);
     }
 
@@ -227,5 +236,80 @@ class WebSocketConnectionManagerTest {
         assertEquals("WebSocket session is closed.", exception.getMessage());
     }
 
+    @Test
+    void testAfterConnectionEstablishedKeepsPrimarySession() {
+        // Arrange
+        WebSocketSession primary = openSession(RPC_URL);
+        WebSocketSession backup = openSession(BACKUP_URL);
+
+        // Act
+        manager.afterConnectionEstablished(primary);
+        manager.afterConnectionEstablished(backup);
+
+        // Assert
+        assertEquals(primary, manager.getCurrentSession());
+        verify(nodeService, times(1)).onConnectionEstablished();
+        assertEquals(backup, manager.getNodes().get(1).getSession());
+    }
+
+    @Test
+    void testAfterConnectionClosedFailsOverToAnotherNode() {
+        // Arrange
+        WebSocketSession primary = openSession(RPC_URL);
+        WebSocketSession backup = openSession(BACKUP_URL);
+        manager.afterConnectionEstablished(primary);
+        manager.afterConnectionEstablished(backup);
+        RpcNode primaryNode = manager.getNodes().get(0);
+
+        // Act
+        manager.afterConnectionClosed(primary, CloseStatus.SERVER_ERROR);
+
+        // Assert
+        assertEquals(backup, manager.getCurrentSession());
+        assertNull(primaryNode.getSession());
+        verify(nodeService).onConnectionClosed(primaryNode);
+        verify(nodeService, times(2)).onConnectionEstablished();
+    }
+
+    @Test
+    void testSelectNodeReturnsHealthiestOpenNode() {
+        // Arrange
+        manager.afterConnectionEstablished(openSession(RPC_URL));
+        manager.afterConnectionEstablished(openSession(BACKUP_URL));
+        manager.getNodes().get(0).recordFailure();
+
+        // Act
+        RpcNode node = manager.selectNode();
+
+        // Assert
+        assertEquals(BACKUP_URL, node.getUrl());
+    }
+
+    @Test
+    void testSelectNodeThrowsWhenNoSessionIsOpen() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> manager.selectNode());
+        assertFalse(manager.isConnected());
+    }
+
+    @Test
+    void testSendMessageToNode() throws IOException {
+        // Arrange
+        WebSocketSession backup = openSession(BACKUP_URL);
+        manager.afterConnectionEstablished(backup);
+
+        // Act
+        manager.sendMessage(manager.getNodes().get(1), "Test Message");
+
+        // Assert
+        verify(backup).sendMessage(any(TextMessage.class));
+    }
+
+    private WebSocketSession openSession(String url) {
+        WebSocketSession openSession = mock(WebSocketSession.class);
+        when(openSession.isOpen()).thenReturn(true);
+        when(openSession.getUri()).thenReturn(URI.create(url));
+        return openSession;
+    }
 
 }
@@ -1,24 +1,34 @@
 package dev.cypherfury.juniscan.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import dev.cypherfury.juniscan.kafka.KafkaPublisher;
+import dev.cypherfury.juniscan.bus.ChainEventBus;
 import dev.cypherfury.juniscan.dto.BlockDetailsDTO;
+import dev.cypherfury.juniscan.dto.ExtrinsicBytes;
 import dev.cypherfury.juniscan.dto.NewHeadDTO;
-import dev.cypherfury.juniscan.exception.HandleBlockDetailsException;
+import dev.cypherfury.juniscan.entity.enums.IngestMode;
+import dev.cypherfury.juniscan.entity.enums.IngestOverflowPolicy;
 import dev.cypherfury.juniscan.exception.HandleHeadNotificationException;
 import dev.cypherfury.juniscan.exception.HandleWebSocketTextException;
+import dev.cypherfury.juniscan.exception.JsonRpcErrorException;
+import dev.cypherfury.juniscan.exception.RpcConnectionClosedException;
 import dev.cypherfury.juniscan.exception.SendSocketMessageException;
+import dev.cypherfury.juniscan.rpc.AdaptiveBatchSizer;
+import dev.cypherfury.juniscan.rpc.JsonRpcClient;
+import dev.cypherfury.juniscan.rpc.RpcNode;
 import joptsimple.internal.Strings;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,18 +46,33 @@ import static org.mockito.Mockito.*;
 class WebSocketNodeServiceTest {
 
     private BlockService blockService;
-    private KafkaPublisher eventPublisher;
+    private BlockIngestService ingestService;
+    private ChainEventBus eventPublisher;
     private WebSocketConnectionManager connectionManager;
     private WebSocketNodeService webSocketNodeService;
     private ObjectMapper objectMapper;
+    private JsonRpcClient rpcClient;
+    private RpcNode node;
+    private GapRepairService gapRepairService;
 
     @BeforeEach
     void setUp() {
-        eventPublisher = mock(KafkaPublisher.class);
+        eventPublisher = mock(ChainEventBus.class);
         connectionManager = mock(WebSocketConnectionManager.class);
         objectMapper = mock(ObjectMapper.class);
         blockService = mock(BlockService.class);
-        webSocketNodeService = new WebSocketNodeService(connectionManager, eventPublisher, objectMapper, blockService);
+        ingestService = new BlockIngestService(blockService, mock(BlockRetryService.class), 16, 1, true, IngestOverflowPolicy.PARK);
+        ingestService.start();
+        node = new RpcNode("ws://localhost:9944");
+        when(connectionManager.selectNode()).thenReturn(node);
+        rpcClient = new JsonRpcClient(connectionManager, new ObjectMapper(), mock(AdaptiveBatchSizer.class), 1000);
+        gapRepairService = mock(GapRepairService.class);
+        webSocketNodeService = new WebSocketNodeService(connectionManager, eventPublisher, objectMapper, ingestService, rpcClient, gapRepairService, IngestMode.HEAD);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestService.stop();
     }
 
     @Test
@@ -56,7 +81,9 @@ class WebSocketNodeServiceTest {
         webSocketNodeService.onConnectionEstablished();
 
         // Assert
-        verify(connectionManager).sendMessage("{\"id\": 1,\"jsonrpc\":\"2.0\",\"method\":\"chain_subscribeNewHeads\",\"params\":[]}");
+        InOrder inOrder = inOrder(gapRepairService, connectionManager);
+        inOrder.verify(gapRepairService).onResubscribe();
+        inOrder.verify(connectionManager).sendMessage("{\"id\": 1,\"jsonrpc\":\"2.0\",\"method\":\"chain_subscribeNewHeads\",\"params\":[]}");
     }
 
     @Test
@@ -83,7 +110,7 @@ class WebSocketNodeServiceTest {
     }
 
     @Test
-    void testProcessMessageHandlesNewHeadNotification() throws JsonProcessingException {
+    void testProcessMessageHandlesNewHeadNotification() {
         // Arrange
         String notificationPayload = """
                 {
@@ -103,26 +130,69 @@ class WebSocketNodeServiceTest {
                   }
                 }
                 """;
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode jsonNode = mapper.readTree(notificationPayload);
-        NewHeadDTO newHeadDTO = new NewHeadDTO();
-        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", mapper);
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        ArgumentCaptor<NewHeadDTO> newHeadCaptor = ArgumentCaptor.forClass(NewHeadDTO.class);
 
-        when(objectMapper.treeToValue(eq(jsonNode), eq(NewHeadDTO.class))).thenReturn(newHeadDTO);
+        // Act
+        webSocketNodeService.processMessage(notificationPayload);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishNewHead(newHeadCaptor.capture());
+        NewHeadDTO newHead = newHeadCaptor.getValue();
+        assertEquals("chain_newHead", newHead.getMethod());
+        assertEquals("SbT5GcmsjCM4vPby", newHead.getParams().getSubscription());
+        assertEquals("0x46568e", newHead.getParams().getResult().getNumber());
+        verify(gapRepairService).onNewHead("0x46568e");
+    }
+
+    @Test
+    void testNewHeadNotificationPublishesParentBlockInBlockMode() throws Exception {
+        // Arrange
+        webSocketNodeService = new WebSocketNodeService(connectionManager, eventPublisher, new ObjectMapper(),
+                ingestService, rpcClient, gapRepairService, IngestMode.BLOCK);
+        String notificationPayload = "{\"jsonrpc\":\"2.0\",\"method\":\"chain_newHead\",\"params\":{\"subscription\":\"s\","
+                + "\"result\":{\"parentHash\":\"0xparent\",\"number\":\"0x46568e\"}}}";
+        String responsePayload = "{\"jsonrpc\":\"2.0\",\"result\":{\"block\":{\"header\":{\"number\":\"0x46568d\"},"
+                + "\"extrinsics\":[\"0x0400\"]}},\"id\":2}";
+        ArgumentCaptor<BlockDetailsDTO.Block> blockCaptor = ArgumentCaptor.forClass(BlockDetailsDTO.Block.class);
+        when(eventPublisher.publishBlock(any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         webSocketNodeService.processMessage(notificationPayload);
+        webSocketNodeService.processMessage(responsePayload);
 
         // Assert
-        verify(eventPublisher, times(1)).publishNewHead(any());
+        verify(connectionManager).sendMessage(node, "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlock\",\"params\":[\"0xparent\"]}");
+        verify(eventPublisher).publishBlock(blockCaptor.capture());
+        assertEquals("0x46568d", blockCaptor.getValue().getHeader().getNumber());
+        verify(eventPublisher, never()).publishNewHead(any());
+        verify(gapRepairService).onNewHead("0x46568e");
+        verifyNoInteractions(blockService);
     }
 
     @Test
-    void testHandleBlockDetailsResponse_BlockAlreadyExists() throws JsonProcessingException {
+    void testFetchBlocksSendsSingleBatch() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        CompletableFuture<List<BlockDetailsDTO.Block>> future = webSocketNodeService.fetchBlocks(List.of("0xa", "0xb"));
+
+        // Act
+        webSocketNodeService.processMessage("[{\"jsonrpc\":\"2.0\",\"result\":null,\"id\":3},"
+                + "{\"jsonrpc\":\"2.0\",\"result\":{\"block\":{\"header\":{\"number\":\"0xa\"},\"extrinsics\":[]}},\"id\":2}]");
+
+        // Assert
+        verify(connectionManager, times(1)).sendMessage(eq(node), anyString());
+        List<BlockDetailsDTO.Block> blocks = future.get();
+        assertEquals(1, blocks.size());
+        assertEquals("0xa", blocks.getFirst().getHeader().getNumber());
+    }
+
+    @Test
+    void testHandleBlockDetailsResponse_BlockAlreadyExists() throws Exception {
         // Arrange
         String responsePayload = """
             {
-              "id": 2,
+              "jsonrpc": "2.0",
               "result": {
                 "block": {
                   "header": {
@@ -134,33 +204,179 @@ class WebSocketNodeServiceTest {
                       "logs": []
                     }
                   },
-                  "extrinsics": ["extrinsic1", "extrinsic2"]
+                  "extrinsics": ["0x280403000b", "0x0400"]
                 }
-              }
+              },
+              "id": 2
             }
             """;
-        BlockDetailsDTO.Block mockBlock = new BlockDetailsDTO.Block();
-        mockBlock.setExtrinsics(new String[]{"extrinsic1", "extrinsic2"});
-        mockBlock.setHeader(new BlockDetailsDTO.Block.Header());
-        mockBlock.getHeader().setNumber("1234");
-        BlockDetailsDTO blockDetailsDTO = mock(BlockDetailsDTO.class);
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode jsonNode = mapper.readTree(responsePayload);
-
-        when(objectMapper.readTree(anyString())).thenReturn(jsonNode);
-        when(objectMapper.treeToValue(jsonNode.get("result"), BlockDetailsDTO.class))
-                .thenReturn(blockDetailsDTO);
-        when(blockService.alreadyExist(mockBlock)).thenReturn(true);
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        when(blockService.alreadyExist(any())).thenReturn(true);
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
 
         // Act
         webSocketNodeService.processMessage(responsePayload);
 
         // Assert
-        verify(blockService, times(1)).alreadyExist(mockBlock);
-        verify(blockService, never()).decodeAndSave(mockBlock); // Should not decode or save
+        future.get();
+        verify(blockService, times(1)).alreadyExist(any());
+        verify(blockService, never()).decodeAndSave(any()); // Should not decode or save
         verifyNoInteractions(eventPublisher);
     }
 
+    @Test
+    void testHandleBlockDetailsResponse_BlockDoesNotExist() throws Exception {
+        // Arrange
+        String responsePayload = "{\"jsonrpc\": \"2.0\", \"result\": {\"block\": {\"extrinsics\": [\"0x0400\"]}}, \"id\": 2}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        when(blockService.alreadyExist(any())).thenReturn(false);
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
+
+        // Act
+        webSocketNodeService.processMessage(responsePayload);
+
+        // Assert
+        future.get();
+        verify(blockService, times(1)).decodeAndSave(any(BlockDetailsDTO.Block.class));
+    }
+
+    @Test
+    void testHandleBlockDetailsResponse_ErrorCompletesExceptionally() {
+        // Arrange
+        String responsePayload = "{\"jsonrpc\": \"2.0\", \"error\": {\"code\": -32602, \"message\": \"Invalid params\"}, \"id\": 2}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
+
+        // Act
+        webSocketNodeService.processMessage(responsePayload);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(JsonRpcErrorException.class, exception.getCause());
+        verifyNoInteractions(blockService);
+    }
+
+    @Test
+    void testProcessMessageDemultiplexesBatchResponse() throws Exception {
+        // Arrange
+        String responsePayload = "[{\"jsonrpc\": \"2.0\", \"result\": \"0x02\", \"id\": 3},"
+                + " {\"jsonrpc\": \"2.0\", \"result\": \"0x01\", \"id\": 2}]";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        List<CompletableFuture<String>> futures = rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2));
+
+        // Act
+        webSocketNodeService.processMessage(responsePayload);
+
+        // Assert
+        assertEquals("0x01", futures.get(0).get());
+        assertEquals("0x02", futures.get(1).get());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testProcessMessageHandlesNewHeadWithParamsBeforeMethod() {
+        // Arrange
+        String notificationPayload = "{\"params\": {\"subscription\": \"abc\", \"result\": {\"number\": \"0x01\"}},"
+                + " \"method\": \"chain_newHead\", \"jsonrpc\": \"2.0\"}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        ArgumentCaptor<NewHeadDTO> newHeadCaptor = ArgumentCaptor.forClass(NewHeadDTO.class);
+
+        // Act
+        webSocketNodeService.processMessage(notificationPayload);
+
+        // Assert
+        verify(eventPublisher).publishNewHead(newHeadCaptor.capture());
+        assertEquals("0x01", newHeadCaptor.getValue().getParams().getResult().getNumber());
+    }
+
+    @Test
+    void testProcessMessageBindsResultBeforeOrAfterId() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        List<CompletableFuture<String>> futures = rpcClient.callBatch("chain_getBlockHash", String.class, List.of(1, 2));
+
+        // Act
+        webSocketNodeService.processMessage("[{\"id\": 2, \"result\": \"0x01\"},"
+                + " {\"error\": {\"code\": -32602, \"message\": \"Invalid params\"}, \"id\": 3}]");
+
+        // Assert
+        assertEquals("0x01", futures.get(0).get());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> futures.get(1).get());
+        assertInstanceOf(JsonRpcErrorException.class, exception.getCause());
+    }
+
+    @Test
+    void testProcessMessageBindsBlocksFromTheirOffsetInTheBatch() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        CompletableFuture<List<BlockDetailsDTO.Block>> future = webSocketNodeService.fetchBlocks(List.of("0x01", "0x02"));
+
+        // Act
+        webSocketNodeService.processMessage("[{\"jsonrpc\": \"2.0\", \"result\": {\"block\": {\"extrinsics\": [\"0x0400\"]}}, \"id\": 2},"
+                + " {\"jsonrpc\": \"2.0\", \"result\": {\"block\": {\"extrinsics\": [\"0x0401\", \"0x0402\"]}}, \"id\": 3}]");
+
+        // Assert
+        List<BlockDetailsDTO.Block> blocks = future.get();
+        assertEquals("0x0400", blocks.get(0).getExtrinsics()[0].toHex());
+        assertEquals("0x0402", blocks.get(1).getExtrinsics()[1].toHex());
+    }
+
+    @Test
+    void testReplayMessageSubmitsCapturedBlocks() {
+        // Arrange
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+
+        // Act
+        webSocketNodeService.replayMessage("[{\"jsonrpc\": \"2.0\", \"result\": {\"block\": {\"extrinsics\": [\"0x0400\"]}}, \"id\": 2},"
+                + " {\"jsonrpc\": \"2.0\", \"result\": \"0x01\", \"id\": 3}]");
+
+        // Assert
+        ArgumentCaptor<BlockDetailsDTO.Block> block = ArgumentCaptor.forClass(BlockDetailsDTO.Block.class);
+        verify(blockService, timeout(1000)).decodeAndSave(block.capture());
+        assertEquals("0x0400", block.getValue().getExtrinsics()[0].toHex());
+    }
+
+    @Test
+    void testReplayMessageIgnoresNewHeadsAndSubscription() {
+        // Arrange
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+
+        // Act
+        webSocketNodeService.replayMessage("{\"jsonrpc\": \"2.0\", \"result\": \"sub-1\", \"id\": 1}");
+        webSocketNodeService.replayMessage("{\"jsonrpc\": \"2.0\", \"method\": \"chain_newHead\","
+                + " \"params\": {\"result\": {\"number\": \"0x10\", \"parentHash\": \"0x1234\"}}}");
+
+        // Assert
+        verifyNoInteractions(eventPublisher, gapRepairService, connectionManager, blockService);
+    }
+
+    @Test
+    void testHandleBlockDetailsResponse_InvalidExtrinsicHex() {
+        // Arrange
+        String responsePayload = "{\"jsonrpc\": \"2.0\", \"result\": {\"block\": {\"extrinsics\": [\"0xzz\"]}}, \"id\": 2}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
+
+        // Act
+        webSocketNodeService.processMessage(responsePayload);
+
+        // Assert
+        assertThrows(ExecutionException.class, future::get);
+        verifyNoInteractions(blockService);
+    }
+
+    @Test
+    void testOnConnectionClosedFailsPendingRequests() {
+        // Arrange
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
+
+        // Act
+        webSocketNodeService.onConnectionClosed(node);
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RpcConnectionClosedException.class, exception.getCause());
+    }
 
     @Test
     void testProcessMessageThrowsOnInvalidJson() {
@@ -182,15 +398,15 @@ class WebSocketNodeServiceTest {
         webSocketNodeService.fetchBlockDetails(blockHash);
 
         // Assert
-        String expectedRequest = String.format("{\"id\": 2,\"jsonrpc\":\"2.0\",\"method\":\"chain_getBlock\",\"params\":[\"%s\"]}", blockHash);
-        verify(connectionManager).sendMessage(expectedRequest);
+        String expectedRequest = String.format("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"chain_getBlock\",\"params\":[\"%s\"]}", blockHash);
+        verify(connectionManager).sendMessage(node, expectedRequest);
     }
 
     @Test
     void testFetchBlockDetailsThrowsExceptionOnSendError() throws IOException {
         // Arrange
         String blockHash = "abcd1234";
-        doThrow(IOException.class).when(connectionManager).sendMessage(anyString());
+        doThrow(IOException.class).when(connectionManager).sendMessage(eq(node), anyString());
 
         // Act & Assert
         assertThrows(SendSocketMessageException.class, () -> webSocketNodeService.fetchBlockDetails(blockHash));
@@ -199,10 +415,10 @@ class WebSocketNodeServiceTest {
     @Test
     void testHandleBlockDetailsResponse_RealInstance() {
         // Arrange
-        String responsePayload = "{\"id\": 2, \"result\": {\"block\": {\"extrinsics\": [\"data\"]}}}";
+        String responsePayload = "{\"id\": 2, \"result\": {\"block\": {\"extrinsics\": [\"0x0400\"]}}}";
         BlockDetailsDTO blockDetailsDTO = new BlockDetailsDTO();
         BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
-        block.setExtrinsics(new String[]{"data"});
+        block.setExtrinsics(new ExtrinsicBytes[]{ExtrinsicBytes.of("0x0400")});
         blockDetailsDTO.setBlock(block);
         ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
 
@@ -210,7 +426,7 @@ class WebSocketNodeServiceTest {
         webSocketNodeService.processMessage(responsePayload);
 
         // Assert
-        assertEquals("data", block.getExtrinsics()[0]);
+        assertEquals("0x0400", block.getExtrinsics()[0].toHex());
     }
 
     @Test
@@ -219,7 +435,7 @@ class WebSocketNodeServiceTest {
         String responsePayload = "{\"id\": 2, \"result\": {}}}";
         BlockDetailsDTO blockDetailsDTO = new BlockDetailsDTO();
         BlockDetailsDTO.Block block = new BlockDetailsDTO.Block();
-        block.setExtrinsics(new String[]{"data"});
+        block.setExtrinsics(new ExtrinsicBytes[]{ExtrinsicBytes.of("0x0400")});
         blockDetailsDTO.setBlock(block);
         ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
 
@@ -227,33 +443,29 @@ class WebSocketNodeServiceTest {
         webSocketNodeService.processMessage(responsePayload);
 
         // Assert
-        assertEquals("data", block.getExtrinsics()[0]);
+        assertEquals("0x0400", block.getExtrinsics()[0].toHex());
     }
 
     @Test
-    void testHandleBlockDetailsResponseThrowsException() throws JsonProcessingException {
+    void testHandleBlockDetailsResponseThrowsException() {
         // Arrange
-        String responsePayload = "{\"id\": 2, \"result\": {}}";
-        JsonNode mockJsonNode = new ObjectMapper().readTree(responsePayload);
-        ObjectMapper mockObjectMapper = mock(ObjectMapper.class);
-        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", mockObjectMapper);
+        String responsePayload = "{\"jsonrpc\": \"2.0\", \"result\": \"not-a-block\", \"id\": 2}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
+        CompletableFuture<Void> future = webSocketNodeService.fetchBlockDetails("0x1234");
 
-        when(mockObjectMapper.readTree(responsePayload)).thenReturn(mockJsonNode);
-        doThrow(JsonProcessingException.class)
-                .when(mockObjectMapper)
-                .treeToValue(any(JsonNode.class), eq(BlockDetailsDTO.class));
+        // Act
+        webSocketNodeService.processMessage(responsePayload);
 
-        // Act & Assert
-        assertThrows(HandleBlockDetailsException.class, () -> webSocketNodeService.processMessage(responsePayload));
+        // Assert
+        assertThrows(ExecutionException.class, future::get);
+        verifyNoInteractions(blockService);
     }
 
     @Test
-    void testHandleWrongSubscriptionResult() throws JsonProcessingException {
+    void testHandleWrongSubscriptionResult() {
         // Arrange
         String responsePayload = "{\"id\": 1, \"toto\": {}}";
-        JsonNode mockJsonNode = new ObjectMapper().readTree(responsePayload);
-
-        when(objectMapper.readTree(responsePayload)).thenReturn(mockJsonNode);
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
 
         // Act
         webSocketNodeService.processMessage(responsePayload);
@@ -264,12 +476,10 @@ class WebSocketNodeServiceTest {
     }
 
     @Test
-    void testHandleWrongBlockInfoResult() throws JsonProcessingException {
+    void testHandleWrongBlockInfoResult() {
         // Arrange
         String responsePayload = "{\"id\": 2, \"toto\": {}}";
-        JsonNode mockJsonNode = new ObjectMapper().readTree(responsePayload);
-
-        when(objectMapper.readTree(responsePayload)).thenReturn(mockJsonNode);
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
 
 
         // Act
@@ -295,14 +505,10 @@ class WebSocketNodeServiceTest {
     }
 
     @Test
-    void testHandleNewHeadNotificationThrowsException() throws JsonProcessingException {
+    void testHandleNewHeadNotificationThrowsException() {
         // Arrange
-        String notificationPayload = "{\"jsonrpc\": \"2.0\", \"method\": \"chain_newHead\", \"params\": {}}";
-        ObjectMapper realObjectMapper = spy(new ObjectMapper());
-        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", realObjectMapper);
-
-        JsonNode jsonNode = realObjectMapper.readTree(notificationPayload);
-        doThrow(JsonProcessingException.class).when(realObjectMapper).treeToValue(jsonNode, NewHeadDTO.class);
+        String notificationPayload = "{\"jsonrpc\": \"2.0\", \"method\": \"chain_newHead\", \"params\": {\"result\": \"not-a-head\"}}";
+        ReflectionTestUtils.setField(webSocketNodeService, "objectMapper", new ObjectMapper());
 
         // Act & Assert
         assertThrows(HandleHeadNotificationException.class, () -> webSocketNodeService.processMessage(notificationPayload));
@@ -0,0 +1,110 @@
+package dev.cypherfury.juniscan.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link Blake2b} class.
+ * <p>
+ * These tests cover:
+ * - Digests of the RFC 7693 test vector and of messages around the 128-byte block boundaries.
+ * - Messages fed in several updates, byte by byte or in chunks, and the reuse of a digest.
+ * - Invalid digest lengths and output arrays.
+ * </p>
+ *
+ * @author Cypherfury
+ */
+class Blake2bTest {
+
+    @Test
+    void testRfc7693Vector() {
+        // Arrange
+        Blake2b blake2b = new Blake2b(64);
+        byte[] digest = new byte[64];
+
+        // Act
+        blake2b.update((byte) 'a').update((byte) 'b').update((byte) 'c').digest(digest, 0);
+
+        // Assert
+        assertThat(ByteUtils.toHex(digest, 0, 64)).isEqualTo("0xba80a53f981c4d0d6a2797b69f12f6e94c212f14685ac4b74b12bb6fdbffa2d1"
+                + "7d87c5392aab792dc252d5de4533cc9518d38aa8dbf1925ab92386edd4009923");
+    }
+
+    @Test
+    void testHash256AroundBlockBoundaries() {
+        // Arrange
+        int[] lengths = {0, 1, 127, 128, 129, 256, 1000};
+        String[] expected = {
+                "0x0e5751c026e543b2e8ab2eb06099daa1d1e5df47778f7787faab45cdf12fe3a8",
+                "0x03170a2e7597b7b7e3d84c05391d139a62b157e78786d8c082f29dcf4c111314",
+                "0xf2fe67ff342e21b8f45e8f2e0bcd1d9243245d50ee6c78042e9c491388791c72",
+                "0xc3582f71ebb2be66fa5dd750f80baae97554f3b015663c8be377cfcb2488c1d1",
+                "0xf7f3c46ba2564ff4c4c162da1f5b605f9f1c4aa6a20652a9f9a337c1a2f5b9c9",
+                "0x39a7eb9fedc19aabc83425c6755dd90e6f9d0c804964a1f4aaeea3b9fb599835",
+                "0xc636324d47d89f2b2434dc2c994100663fbbaea880ff020fc5de89dd0f77a1ec"
+        };
+
+        for (int i = 0; i < lengths.length; i++) {
+            byte[] message = message(lengths[i]);
+
+            // Act
+            byte[] digest = Blake2b.hash256(message, 0, message.length);
+
+            // Assert
+            assertThat(ByteUtils.toHex(digest, 0, 32)).isEqualTo(expected[i]);
+        }
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        // Arrange
+        byte[] message = message(1000);
+        byte[] expected = Blake2b.hash256(message, 0, message.length);
+        Blake2b blake2b = new Blake2b(32);
+        byte[] digest = new byte[32];
+
+        // Act
+        for (int offset = 0, chunk = 1; offset < message.length; offset += chunk, chunk = chunk % 200 + 37) {
+            blake2b.update(message, offset, Math.min(chunk, message.length - offset));
+        }
+        blake2b.digest(digest, 0);
+
+        // Assert
+        assertThat(digest).isEqualTo(expected);
+    }
+
+    @Test
+    void testDigestResetsState() {
+        // Arrange
+        byte[] message = message(129);
+        Blake2b blake2b = new Blake2b(32);
+        byte[] first = new byte[32];
+        byte[] second = new byte[32];
+
+        // Act
+        blake2b.update(message, 0, message.length).digest(first, 0);
+        blake2b.update(message, 0, message.length).digest(second, 0);
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Act & Assert
+        assertThatThrownBy(() -> new Blake2b(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Blake2b(65)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Blake2b(32).digest(new byte[40], 10)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    private static byte[] message(int length) {
+        byte[] message = new byte[length];
+        for (int i = 0; i < length; i++) {
+            message[i] = (byte) i;
+        }
+        return message;
+    }
+
+}
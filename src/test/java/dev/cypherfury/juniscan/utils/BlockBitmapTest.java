@@ -0,0 +1,137 @@
+package dev.cypherfury.juniscan.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link BlockBitmap} class.
+ * <p>
+ * These tests cover:
+ * - Additions and lookups in sparse, dense and full chunks, and across chunk boundaries.
+ * - The ranges of missing numbers, the lowest and highest numbers, and the cardinality.
+ * - Random additions checked against a {@link BitSet}.
+ * </p>
+ *
+ * @author Cypherfury
+ */
+class BlockBitmapTest {
+
+    private BlockBitmap bitmap;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new BlockBitmap();
+    }
+
+    @Test
+    void testAddAndContains() {
+        // Act
+        boolean added = bitmap.add(70_000);
+        boolean addedAgain = bitmap.add(70_000);
+
+        // Assert
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.contains(69_999)).isFalse();
+        assertThat(bitmap.contains(4_464)).isFalse();
+        assertThat(bitmap.contains(-1)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void testAddRejectsNegativeNumbers() {
+        // Act & Assert
+        assertThatThrownBy(() -> bitmap.add(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testEmptyBitmap() {
+        // Act & Assert
+        assertThat(bitmap.first()).isEqualTo(-1);
+        assertThat(bitmap.last()).isEqualTo(-1);
+        assertThat(bitmap.missing(0, 9)).containsExactly(new BlockBitmap.Range(0, 9));
+    }
+
+    @Test
+    void testContiguousNumbersFillChunks() {
+        // Arrange
+        for (long number = 0; number < 200_000; number++) {
+            bitmap.add(number);
+        }
+
+        // Act & Assert
+        assertThat(bitmap.cardinality()).isEqualTo(200_000);
+        assertThat(bitmap.contains(65_535)).isTrue();
+        assertThat(bitmap.contains(196_607)).isTrue();
+        assertThat(bitmap.contains(200_000)).isFalse();
+        assertThat(bitmap.first()).isZero();
+        assertThat(bitmap.last()).isEqualTo(199_999);
+        assertThat(bitmap.missing(0, 199_999)).isEmpty();
+        assertThat(bitmap.missing(199_990, 200_010)).containsExactly(new BlockBitmap.Range(200_000, 200_010));
+    }
+
+    @Test
+    void testMissingRanges() {
+        // Arrange
+        for (long number = 10; number <= 20; number++) {
+            bitmap.add(number);
+        }
+        bitmap.add(25);
+        bitmap.add(65_535);
+        bitmap.add(65_536);
+        bitmap.add(300_000);
+
+        // Act
+        List<BlockBitmap.Range> missing = bitmap.missing(bitmap.first(), bitmap.last());
+
+        // Assert
+        assertThat(missing).containsExactly(
+                new BlockBitmap.Range(21, 24),
+                new BlockBitmap.Range(26, 65_534),
+                new BlockBitmap.Range(65_537, 299_999));
+        assertThat(bitmap.missing(12, 18)).isEmpty();
+        assertThat(bitmap.missing(0, 11)).containsExactly(new BlockBitmap.Range(0, 9));
+        assertThat(bitmap.missing(300_000, 300_002)).containsExactly(new BlockBitmap.Range(300_001, 300_002));
+        assertThat(bitmap.missing(5, 4)).isEmpty();
+    }
+
+    @Test
+    void testRandomNumbersMatchBitSet() {
+        // Arrange
+        Random random = new Random(42);
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 50_000; i++) {
+            int number = random.nextInt(i % 2 == 0 ? 20_000 : 400_000);
+            expected.set(number);
+            bitmap.add(number);
+        }
+        for (int number = 100_000; number < 170_000; number++) {
+            expected.set(number);
+            bitmap.add(number);
+        }
+
+        // Act & Assert
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(bitmap.first()).isEqualTo(expected.nextSetBit(0));
+        assertThat(bitmap.last()).isEqualTo(expected.length() - 1);
+        for (int number = 0; number < 410_000; number++) {
+            assertThat(bitmap.contains(number)).isEqualTo(expected.get(number));
+        }
+        long position = 0;
+        for (BlockBitmap.Range range : bitmap.missing(0, expected.length() - 1)) {
+            assertThat(range.from()).isEqualTo(expected.nextClearBit((int) position));
+            assertThat(range.to()).isEqualTo(expected.nextSetBit((int) range.from()) - 1);
+            position = range.to() + 1;
+        }
+        assertThat(expected.nextClearBit((int) position)).isEqualTo(expected.length());
+    }
+
+}
@@ -0,0 +1,88 @@
+package dev.cypherfury.juniscan.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ByteBufferPool} class.
+ * <p>
+ * These tests cover:
+ * - Acquisition of buffers rounded up to a power-of-two capacity.
+ * - Reuse of released buffers.
+ * - The bounds on pooled capacities and on the number of pooled buffers.
+ * </p>
+ *
+ * @author Cypherfury
+ */
+class ByteBufferPoolTest {
+
+    private ByteBufferPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ByteBufferPool(2);
+    }
+
+    @Test
+    void testAcquireRoundsCapacityUp() {
+        // Act
+        ByteBuffer buffer = pool.acquire(100);
+
+        // Assert
+        assertThat(buffer.capacity()).isEqualTo(128);
+        assertThat(buffer.limit()).isEqualTo(100);
+        assertThat(buffer.hasArray()).isTrue();
+    }
+
+    @Test
+    void testAcquireSmallBufferUsesMinimumCapacity() {
+        // Act
+        ByteBuffer buffer = pool.acquire(1);
+
+        // Assert
+        assertThat(buffer.capacity()).isEqualTo(64);
+    }
+
+    @Test
+    void testReleasedBufferIsReused() {
+        // Arrange
+        ByteBuffer buffer = pool.acquire(100);
+        pool.release(buffer);
+
+        // Act
+        ByteBuffer reused = pool.acquire(120);
+
+        // Assert
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.limit()).isEqualTo(120);
+        assertThat(pool.available()).isZero();
+    }
+
+    @Test
+    void testLargeBuffersAreNotPooled() {
+        // Arrange
+        ByteBuffer buffer = pool.acquire(1 << 20);
+
+        // Act
+        pool.release(buffer);
+
+        // Assert
+        assertThat(buffer.capacity()).isEqualTo(1 << 20);
+        assertThat(pool.available()).isZero();
+    }
+
+    @Test
+    void testPoolKeepsABoundedNumberOfBuffers() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            pool.release(ByteBuffer.allocate(64));
+        }
+
+        // Assert
+        assertThat(pool.available()).isEqualTo(2);
+    }
+}
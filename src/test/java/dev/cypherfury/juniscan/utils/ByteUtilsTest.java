@@ -3,6 +3,8 @@ package dev.cypherfury.juniscan.utils;
 import dev.cypherfury.juniscan.exception.GetBytesException;
 import org.junit.jupiter.api.Test;
 
+import java.nio.CharBuffer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -134,4 +136,62 @@ class ByteUtilsTest {
                 .isInstanceOf(GetBytesException.class)
                 .hasMessageContaining("0x123");
     }
+
+    @Test
+    void testDecodeHexFromCharBuffer() {
+        // Arrange
+        char[] chars = "[\"0xdeadbeef\"]".toCharArray();
+        byte[] dest = new byte[8];
+
+        // Act
+        int length = ByteUtils.decodeHex(CharBuffer.wrap(chars, 2, 10), dest);
+
+        // Assert
+        assertThat(length).isEqualTo(4);
+        assertThat(dest).startsWith((byte) 0xDE, (byte) 0xAD, (byte) 0xBE, (byte) 0xEF);
+    }
+
+    @Test
+    void testDecodeHexRejectsInvalidCharacters() {
+        // Act & Assert
+        assertThatThrownBy(() -> ByteUtils.decodeHex("0xdeadbeeg", new byte[4]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("0xdeadbeeg");
+    }
+
+    @Test
+    void testDecodeHexRejectsOddLength() {
+        // Act & Assert
+        assertThatThrownBy(() -> ByteUtils.decodeHex("0x123", new byte[4]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testDecodeHexRejectsTooSmallDestination() {
+        // Act & Assert
+        assertThatThrownBy(() -> ByteUtils.decodeHex("0xdeadbeef", new byte[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testToHex() {
+        // Arrange
+        byte[] bytes = {(byte) 0x00, (byte) 0xDE, (byte) 0xAD, (byte) 0xFF};
+
+        // Act
+        String hex = ByteUtils.toHex(bytes, 1, 2);
+
+        // Assert
+        assertThat(hex).isEqualTo("0xdead");
+    }
+
+    @Test
+    void testIsHex() {
+        // Act & Assert
+        assertThat(ByteUtils.isHex("0x" + "aB".repeat(32), 32)).isTrue();
+        assertThat(ByteUtils.isHex("0x" + "ab".repeat(31), 32)).isFalse();
+        assertThat(ByteUtils.isHex("ab".repeat(33), 32)).isFalse();
+        assertThat(ByteUtils.isHex("0x" + "ag".repeat(32), 32)).isFalse();
+        assertThat(ByteUtils.isHex(null, 32)).isFalse();
+    }
 }